@@ -33,24 +33,60 @@ import java.util.concurrent.TimeUnit;
 @Testable
 public class PostgresqlSqlParserBenchmarks extends BenchmarkSettings {
 
+    private static final String SIMPLE_STATEMENT = "SELECT * FROM FOO";
+
+    private static final String PARAMETRIZED_STATEMENT = "SELECT * FROM FOO WHERE $2 = $1";
+
+    private static final String CREATE_OR_REPLACE_FUNCTION = "CREATE OR REPLACE FUNCTION asterisks(n int)\n" +
+        "  RETURNS SETOF text\n" +
+        "  LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE\n" +
+        "BEGIN ATOMIC\n" +
+        "SELECT repeat('*', g) FROM generate_series (1, n) g; -- <-- Note this semicolon\n" +
+        "END;";
+
+    private static final String LONG_STATEMENT = "SELECT o.id, o.customer_id, o.status, o.total, o.created_at, c.name, c.email, a.street, a.city, a.zip " +
+        "FROM orders o JOIN customers c ON c.id = o.customer_id LEFT JOIN addresses a ON a.customer_id = c.id AND a.kind = 'shipping' " +
+        "WHERE o.status = $1 AND o.created_at BETWEEN $2 AND $3 AND (c.region = $4 OR c.region IS NULL) " +
+        "ORDER BY o.created_at DESC, o.id LIMIT $5 OFFSET $6";
+
     @Benchmark
     public void simpleStatement(Blackhole blackhole) {
-        blackhole.consume(PostgresqlSqlParser.parse("SELECT * FROM FOO"));
+        blackhole.consume(PostgresqlSqlParser.parse(SIMPLE_STATEMENT));
     }
 
     @Benchmark
     public void parametrizedStatement(Blackhole blackhole) {
-        blackhole.consume(PostgresqlSqlParser.parse("SELECT * FROM FOO WHERE $2 = $1"));
+        blackhole.consume(PostgresqlSqlParser.parse(PARAMETRIZED_STATEMENT));
     }
 
     @Benchmark
     public void createOrReplaceFunction(Blackhole blackhole) {
-        blackhole.consume(PostgresqlSqlParser.parse("CREATE OR REPLACE FUNCTION asterisks(n int)\n" +
-            "  RETURNS SETOF text\n" +
-            "  LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE\n" +
-            "BEGIN ATOMIC\n" +
-            "SELECT repeat('*', g) FROM generate_series (1, n) g; -- <-- Note this semicolon\n" +
-            "END;"));
+        blackhole.consume(PostgresqlSqlParser.parse(CREATE_OR_REPLACE_FUNCTION));
+    }
+
+    @Benchmark
+    public void longStatement(Blackhole blackhole) {
+        blackhole.consume(PostgresqlSqlParser.parse(LONG_STATEMENT));
+    }
+
+    @Benchmark
+    public void simpleStatementCached(Blackhole blackhole) {
+        blackhole.consume(PostgresqlSqlParser.parseCached(SIMPLE_STATEMENT));
+    }
+
+    @Benchmark
+    public void parametrizedStatementCached(Blackhole blackhole) {
+        blackhole.consume(PostgresqlSqlParser.parseCached(PARAMETRIZED_STATEMENT));
+    }
+
+    @Benchmark
+    public void createOrReplaceFunctionCached(Blackhole blackhole) {
+        blackhole.consume(PostgresqlSqlParser.parseCached(CREATE_OR_REPLACE_FUNCTION));
+    }
+
+    @Benchmark
+    public void longStatementCached(Blackhole blackhole) {
+        blackhole.consume(PostgresqlSqlParser.parseCached(LONG_STATEMENT));
     }
 
 }
@@ -38,13 +38,16 @@ import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Benchmarks for Statement execution modes across various result sizes.
+ * Benchmarks for Statement execution modes across various result sizes. The {@code wide} benchmarks consume rows with {@link #WIDE_COLUMN_COUNT} columns; run them with {@code -prof gc} to compare
+ * per-row allocations.
  */
 @BenchmarkMode(Mode.Throughput)
 @OutputTimeUnit(TimeUnit.SECONDS)
 @Testable
 public class StagedResultSizeBenchmarks extends BenchmarkSettings {
 
+    static final int WIDE_COLUMN_COUNT = 40;
+
     private static PostgresqlServerExtension extension = new PostgresqlServerExtension();
 
     @State(Scope.Benchmark)
@@ -81,6 +84,20 @@ public class StagedResultSizeBenchmarks extends BenchmarkSettings {
                 for (int i = 0; i < resultSize; i++) {
                     statement.execute(String.format("INSERT INTO result_sizes VALUES(%d, '%s')", i, UUID.randomUUID().toString()));
                 }
+
+                StringBuilder columns = new StringBuilder("id int");
+                StringBuilder values = new StringBuilder("%d");
+                for (int i = 1; i < WIDE_COLUMN_COUNT; i++) {
+                    columns.append(", col").append(i).append(" int");
+                    values.append(", ").append(i);
+                }
+
+                statement.execute("DROP TABLE IF EXISTS wide_result_sizes");
+                statement.execute(String.format("CREATE TABLE wide_result_sizes (%s)", columns));
+
+                for (int i = 0; i < resultSize; i++) {
+                    statement.execute(String.format("INSERT INTO wide_result_sizes VALUES(" + values + ")", i));
+                }
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
@@ -140,4 +157,34 @@ public class StagedResultSizeBenchmarks extends BenchmarkSettings {
         voodoo.consume(name);
     }
 
+    @Benchmark
+    public void simpleR2dbcWide(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        io.r2dbc.spi.Statement statement = connectionHolder.r2dbc.createStatement("SELECT * FROM wide_result_sizes");
+
+        Flux.from(statement.execute()).flatMap(it -> it.map((row, rowMetadata) -> {
+
+            for (int i = 0; i < WIDE_COLUMN_COUNT; i++) {
+                voodoo.consume(row.get(i, Integer.class));
+            }
+
+            return row;
+        })).blockLast();
+    }
+
+    @Benchmark
+    public void extendedR2dbcWide(ConnectionHolder connectionHolder, Blackhole voodoo) {
+
+        io.r2dbc.spi.Statement statement = connectionHolder.r2dbc.createStatement("SELECT * FROM wide_result_sizes WHERE id != $1").bind("$1", -1);
+
+        Flux.from(statement.execute()).flatMap(it -> it.map((row, rowMetadata) -> {
+
+            for (int i = 0; i < WIDE_COLUMN_COUNT; i++) {
+                voodoo.consume(row.get(i, Integer.class));
+            }
+
+            return row;
+        })).blockLast();
+    }
+
 }
@@ -16,6 +16,7 @@
 
 package io.r2dbc.postgresql.codec;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import io.r2dbc.postgresql.BenchmarkSettings;
@@ -28,12 +29,18 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.infra.Blackhole;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
 import java.time.ZoneId;
 import java.util.concurrent.TimeUnit;
 
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.DATE;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT4;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT8;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT8_ARRAY;
@@ -41,7 +48,10 @@ import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT2;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT2_ARRAY;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.TIME;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.TIMESTAMP;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.TIMESTAMPTZ;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.TIMETZ;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.VARCHAR;
 import static io.r2dbc.postgresql.message.Format.FORMAT_BINARY;
 import static io.r2dbc.postgresql.message.Format.FORMAT_TEXT;
@@ -71,6 +81,97 @@ public class CodecRegistryBenchmarks extends BenchmarkSettings {
 
     }
 
+    @State(Scope.Benchmark)
+    public static class CodecLookupHolder {
+
+        final DefaultCodecs codecs = new DefaultCodecs(new UnpooledByteBufAllocator(false, true));
+
+        final CachedCodecLookup cachedLookup = new CachedCodecLookup(this.codecs);
+
+        final DefaultCodecLookup defaultLookup = new DefaultCodecLookup(this.codecs);
+
+        final BoundDecoder<Integer> int4Decoder = this.codecs.bind(INT4.getObjectId(), FORMAT_BINARY, Integer.class);
+
+        final BoundDecoder<String> varcharDecoder = this.codecs.bind(VARCHAR.getObjectId(), FORMAT_TEXT, String.class);
+
+        public CodecLookupHolder() {
+            this.cachedLookup.afterCodecAdded();
+        }
+
+    }
+
+    private void lookup(CodecLookup lookup, Blackhole voodoo) {
+        voodoo.consume(lookup.findDecodeCodec(INT4.getObjectId(), FORMAT_BINARY, Integer.class));
+        voodoo.consume(lookup.findDecodeCodec(INT2.getObjectId(), FORMAT_TEXT, Short.class));
+        voodoo.consume(lookup.findDecodeCodec(FLOAT8.getObjectId(), FORMAT_TEXT, Double.class));
+        voodoo.consume(lookup.findDecodeCodec(VARCHAR.getObjectId(), FORMAT_TEXT, String.class));
+        voodoo.consume(lookup.findDecodeCodec(TIMESTAMP.getObjectId(), FORMAT_TEXT, LocalDateTime.class));
+        voodoo.consume(lookup.findDecodeCodec(INT4_ARRAY.getObjectId(), FORMAT_TEXT, Object.class));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void lookupWithCachedLookupConcurrently(CodecLookupHolder holder, Blackhole voodoo) {
+        lookup(holder.cachedLookup, voodoo);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void lookupWithDefaultLookupConcurrently(CodecLookupHolder holder, Blackhole voodoo) {
+        lookup(holder.defaultLookup, voodoo);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void decodeWithRegistryConcurrently(CodecLookupHolder holder, Blackhole voodoo) {
+        ByteBuf int4 = TEST.buffer(4).writeInt(200);
+        ByteBuf varchar = ByteBufUtils.encode(TEST, "test");
+
+        voodoo.consume(holder.codecs.decode(int4, INT4.getObjectId(), FORMAT_BINARY, Integer.class));
+        voodoo.consume(holder.codecs.decode(varchar, VARCHAR.getObjectId(), FORMAT_TEXT, String.class));
+
+        int4.release();
+        varchar.release();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void decodeWithBoundDecodersConcurrently(CodecLookupHolder holder, Blackhole voodoo) {
+        ByteBuf int4 = TEST.buffer(4).writeInt(200);
+        ByteBuf varchar = ByteBufUtils.encode(TEST, "test");
+
+        voodoo.consume(holder.int4Decoder.decode(int4));
+        voodoo.consume(holder.varcharDecoder.decode(varchar));
+
+        int4.release();
+        varchar.release();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void decodeTextTemporalsConcurrently(CodecLookupHolder holder, Blackhole voodoo) {
+        ByteBuf date = ByteBufUtils.encode(TEST, "2018-11-04");
+        ByteBuf time = ByteBufUtils.encode(TEST, "15:35:00.847108");
+        ByteBuf timetz = ByteBufUtils.encode(TEST, "15:35:00.847108+05:30");
+        ByteBuf timestamp = ByteBufUtils.encode(TEST, "2018-11-04 15:35:00.847108");
+        ByteBuf timestamptz = ByteBufUtils.encode(TEST, "2018-11-04 15:35:00.847108+01");
+        ByteBuf timestampBc = ByteBufUtils.encode(TEST, "0001-12-31 01:01:00+00 BC");
+
+        voodoo.consume(holder.codecs.decode(date, DATE.getObjectId(), FORMAT_TEXT, LocalDate.class));
+        voodoo.consume(holder.codecs.decode(time, TIME.getObjectId(), FORMAT_TEXT, LocalTime.class));
+        voodoo.consume(holder.codecs.decode(timetz, TIMETZ.getObjectId(), FORMAT_TEXT, OffsetTime.class));
+        voodoo.consume(holder.codecs.decode(timestamp, TIMESTAMP.getObjectId(), FORMAT_TEXT, LocalDateTime.class));
+        voodoo.consume(holder.codecs.decode(timestamptz, TIMESTAMPTZ.getObjectId(), FORMAT_TEXT, OffsetDateTime.class));
+        voodoo.consume(holder.codecs.decode(timestampBc, TIMESTAMPTZ.getObjectId(), FORMAT_TEXT, OffsetDateTime.class));
+
+        date.release();
+        time.release();
+        timetz.release();
+        timestamp.release();
+        timestamptz.release();
+        timestampBc.release();
+    }
+
     private void decode(Codecs codecs, int iterations, Blackhole voodoo) {
         for (int i = 0; i < iterations; i++) {
             voodoo.consume(codecs.decode(
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.postgresql.codec.BoundDecoder;
+import io.r2dbc.postgresql.codec.Codecs;
+import io.r2dbc.postgresql.message.backend.RowDescription;
+import io.r2dbc.postgresql.util.Assert;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decoder for the columns of a {@link RowDescription}. Resolves the {@link BoundDecoder} of a column on first access and reuses it for subsequent rows of the same result as long as the
+ * requested type does not change. Also provides the {@link ColumnNameIndex} to resolve columns by name. Instances are shared across all rows that originate from the same
+ * {@link RowDescription}.
+ */
+final class BoundRowDecoder {
+
+    private final Codecs codecs;
+
+    private final List<RowDescription.Field> fields;
+
+    private final ColumnNameIndex columnNameIndex;
+
+    private final ColumnDecoder[] decoders;
+
+    BoundRowDecoder(Codecs codecs, List<RowDescription.Field> fields) {
+        this(codecs, fields, ColumnNameIndex.of(getNames(Assert.requireNonNull(fields, "fields must not be null"))));
+    }
+
+    BoundRowDecoder(Codecs codecs, List<RowDescription.Field> fields, ColumnNameIndex columnNameIndex) {
+        this.codecs = Assert.requireNonNull(codecs, "codecs must not be null");
+        this.fields = Assert.requireNonNull(fields, "fields must not be null");
+        this.columnNameIndex = Assert.requireNonNull(columnNameIndex, "columnNameIndex must not be null");
+        this.decoders = new ColumnDecoder[fields.size()];
+    }
+
+    List<RowDescription.Field> getFields() {
+        return this.fields;
+    }
+
+    ColumnNameIndex getColumnNameIndex() {
+        return this.columnNameIndex;
+    }
+
+    /**
+     * Decode the value of the column at {@code index} to {@code type}.
+     *
+     * @param index  the column index
+     * @param buffer the column value
+     * @param type   the type to decode to
+     * @param <T>    the type of item being returned
+     * @return the decoded value
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    <T> T decode(int index, @Nullable ByteBuf buffer, Class<? extends T> type) {
+
+        ColumnDecoder decoder = this.decoders[index];
+
+        if (decoder == null || decoder.type != type) {
+
+            RowDescription.Field field = this.fields.get(index);
+            decoder = new ColumnDecoder(type, this.codecs.bind(field.getDataType(), field.getFormat(), type));
+
+            // racy publication is fine as ColumnDecoder is immutable
+            this.decoders[index] = decoder;
+        }
+
+        return (T) decoder.decoder.decode(buffer);
+    }
+
+    private static List<String> getNames(List<RowDescription.Field> fields) {
+
+        List<String> names = new ArrayList<>(fields.size());
+
+        for (RowDescription.Field field : fields) {
+            names.add(field.getName());
+        }
+
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundRowDecoder{" +
+            "fields=" + this.fields +
+            '}';
+    }
+
+    /**
+     * The {@link BoundDecoder} of a column for a requested type.
+     */
+    static final class ColumnDecoder {
+
+        final Class<?> type;
+
+        final BoundDecoder<?> decoder;
+
+        ColumnDecoder(Class<?> type, BoundDecoder<?> decoder) {
+            this.type = type;
+            this.decoder = decoder;
+        }
+
+    }
+
+}
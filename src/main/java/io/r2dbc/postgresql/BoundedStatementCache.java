@@ -19,6 +19,7 @@ package io.r2dbc.postgresql;
 import io.r2dbc.postgresql.client.Binding;
 import io.r2dbc.postgresql.client.Client;
 import io.r2dbc.postgresql.client.ExtendedQueryMessageFlow;
+import io.r2dbc.postgresql.message.backend.BackendMessage;
 import io.r2dbc.postgresql.util.Assert;
 import reactor.util.Logger;
 import reactor.util.Loggers;
@@ -40,7 +41,7 @@ final class BoundedStatementCache implements StatementCache {
 
     private static final Logger LOGGER = Loggers.getLogger(BoundedStatementCache.class);
 
-    private final Map<CacheKey, String> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<CacheKey, CachedStatement> cache = new LinkedHashMap<>(16, 0.75f, true);
 
     private final Client client;
 
@@ -61,10 +62,10 @@ final class BoundedStatementCache implements StatementCache {
         Assert.requireNonNull(binding, "binding must not be null");
         Assert.requireNonNull(sql, "sql must not be null");
 
-        String name = get(new CacheKey(sql, binding.getParameterTypes()));
+        CachedStatement statement = get(new CacheKey(sql, binding.getParameterTypes()));
 
-        if (name != null) {
-            return name;
+        if (statement != null) {
+            return statement.name;
         }
 
         return "S_" + this.counter.getAndIncrement();
@@ -84,15 +85,15 @@ final class BoundedStatementCache implements StatementCache {
 
         CacheKey key = new CacheKey(sql, binding.getParameterTypes());
 
-        put(key, name);
+        put(key, new CachedStatement(name));
 
         if (getCacheSize() <= this.limit) {
             return;
         }
 
-        Map.Entry<CacheKey, String> lastAccessedStatement = getAndRemoveEldest();
+        Map.Entry<CacheKey, CachedStatement> lastAccessedStatement = getAndRemoveEldest();
         ExceptionFactory factory = ExceptionFactory.withSql(lastAccessedStatement.getKey().sql);
-        String statementName = lastAccessedStatement.getValue();
+        String statementName = lastAccessedStatement.getValue().name;
 
         close(lastAccessedStatement, factory, statementName);
     }
@@ -103,7 +104,7 @@ final class BoundedStatementCache implements StatementCache {
         synchronized (this.cache) {
 
             List<CacheKey> toRemove = new ArrayList<>();
-            for (Map.Entry<CacheKey, String> entry : this.cache.entrySet()) {
+            for (Map.Entry<CacheKey, CachedStatement> entry : this.cache.entrySet()) {
                 if (entry.getKey().sql.equals(name)) {
                     toRemove.add(entry.getKey());
                 }
@@ -113,12 +114,29 @@ final class BoundedStatementCache implements StatementCache {
         }
     }
 
-    private void close(Map.Entry<CacheKey, String> lastAccessedStatement, ExceptionFactory factory, String statementName) {
+    @Override
+    @Nullable
+    public BackendMessage getDescription(Binding binding, String sql) {
+
+        CachedStatement statement = get(new CacheKey(sql, binding.getParameterTypes()));
+        return statement != null ? statement.description : null;
+    }
+
+    @Override
+    public void putDescription(Binding binding, String sql, BackendMessage description) {
+
+        CachedStatement statement = get(new CacheKey(sql, binding.getParameterTypes()));
+        if (statement != null) {
+            statement.description = description;
+        }
+    }
+
+    private void close(Map.Entry<CacheKey, CachedStatement> lastAccessedStatement, ExceptionFactory factory, String statementName) {
         ExtendedQueryMessageFlow
             .closeStatement(this.client, statementName)
             .handle(factory::handleErrorResponse)
             .subscribe(it -> {
-            }, err -> LOGGER.warn(String.format("Cannot close statement %s (%s)", lastAccessedStatement.getValue(), lastAccessedStatement.getKey().sql), err));
+            }, err -> LOGGER.warn(String.format("Cannot close statement %s (%s)", statementName, lastAccessedStatement.getKey().sql), err));
     }
 
     /**
@@ -129,7 +147,9 @@ final class BoundedStatementCache implements StatementCache {
     Collection<String> getCachedStatementNames() {
         synchronized (this.cache) {
             List<String> names = new ArrayList<>(this.cache.size());
-            names.addAll(this.cache.values());
+            for (CachedStatement statement : this.cache.values()) {
+                names.add(statement.name);
+            }
             return names;
         }
     }
@@ -142,7 +162,7 @@ final class BoundedStatementCache implements StatementCache {
      * @return statement name by key
      */
     @Nullable
-    private String get(CacheKey key) {
+    private CachedStatement get(CacheKey key) {
         synchronized (this.cache) {
             return this.cache.get(key);
         }
@@ -153,10 +173,10 @@ final class BoundedStatementCache implements StatementCache {
      *
      * @return least recently used entry
      */
-    private Map.Entry<CacheKey, String> getAndRemoveEldest() {
+    private Map.Entry<CacheKey, CachedStatement> getAndRemoveEldest() {
         synchronized (this.cache) {
-            Iterator<Map.Entry<CacheKey, String>> iterator = this.cache.entrySet().iterator();
-            Map.Entry<CacheKey, String> entry = iterator.next();
+            Iterator<Map.Entry<CacheKey, CachedStatement>> iterator = this.cache.entrySet().iterator();
+            Map.Entry<CacheKey, CachedStatement> entry = iterator.next();
             iterator.remove();
             return entry;
         }
@@ -165,9 +185,9 @@ final class BoundedStatementCache implements StatementCache {
     /**
      * Synchronized cache access: Store prepared statement.
      */
-    private void put(CacheKey key, String preparedName) {
+    private void put(CacheKey key, CachedStatement statement) {
         synchronized (this.cache) {
-            this.cache.put(key, preparedName);
+            this.cache.put(key, statement);
         }
     }
 
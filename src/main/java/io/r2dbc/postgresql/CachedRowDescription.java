@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.codec.Codecs;
+import io.r2dbc.postgresql.message.Format;
+import io.r2dbc.postgresql.message.backend.RowDescription;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link RowDescription} retained by a {@link StatementCache} for a prepared statement. Executions of the cached statement reuse the description instead of describing the portal and reuse the
+ * {@link PostgresqlRowMetadata} derived from it.
+ */
+final class CachedRowDescription extends RowDescription {
+
+    @Nullable
+    private final List<Format> resultFormats;
+
+    @Nullable
+    private volatile PostgresqlRowMetadata metadata;
+
+    CachedRowDescription(RowDescription rowDescription) {
+        this(rowDescription.getFields(), null);
+    }
+
+    private CachedRowDescription(List<Field> fields, @Nullable List<Format> resultFormats) {
+        super(fields);
+        this.resultFormats = resultFormats;
+    }
+
+    /**
+     * Create a description that requests binary results for all columns whose type {@code codecs} can decode from its binary representation and text results for all other columns. Columns
+     * keep the text format unless their binary representation can also be read as {@link String} so that reading a column as {@link String} works regardless of the negotiated format.
+     *
+     * @param rowDescription the description of the statement
+     * @param codecs         the codecs to consult
+     * @return the description reflecting the negotiated formats. Returns a description using the default result formats if no column can be decoded from its binary representation.
+     */
+    static CachedRowDescription negotiateResultFormats(RowDescription rowDescription, Codecs codecs) {
+
+        List<Field> fields = rowDescription.getFields();
+        List<Field> negotiatedFields = new ArrayList<>(fields.size());
+        List<Format> resultFormats = new ArrayList<>(fields.size());
+        boolean binary = false;
+
+        for (Field field : fields) {
+
+            Format format = supportsBinary(field.getDataType(), codecs) ? Format.FORMAT_BINARY : Format.FORMAT_TEXT;
+            binary |= format == Format.FORMAT_BINARY;
+
+            resultFormats.add(format);
+            negotiatedFields.add(field.getFormat() == format ? field : new Field(field.getColumn(), field.getDataType(), field.getDataTypeModifier(), field.getDataTypeSize(), format,
+                field.getName(), field.getTable()));
+        }
+
+        return binary ? new CachedRowDescription(negotiatedFields, resultFormats) : new CachedRowDescription(rowDescription);
+    }
+
+    private static boolean supportsBinary(int dataType, Codecs codecs) {
+        return codecs.preferredType(dataType, Format.FORMAT_BINARY) != null && codecs.canDecode(dataType, Format.FORMAT_BINARY, String.class);
+    }
+
+    /**
+     * Return the per-column result formats to request when binding the statement or {@code null} to request the default result formats.
+     *
+     * @return the per-column result formats
+     */
+    @Nullable
+    List<Format> getResultFormats() {
+        return this.resultFormats;
+    }
+
+    /**
+     * Return the row metadata for this description. The metadata is created once and reused by subsequent calls. Statement caches are scoped to a connection and therefore to a single
+     * {@link Codecs} instance.
+     *
+     * @param codecs the codecs to create the metadata with
+     * @return the row metadata
+     */
+    PostgresqlRowMetadata getMetadata(Codecs codecs) {
+
+        PostgresqlRowMetadata metadata = this.metadata;
+        if (metadata == null) {
+            metadata = PostgresqlRowMetadata.createRowMetadata(codecs, this);
+            this.metadata = metadata;
+        }
+
+        return metadata;
+    }
+
+}
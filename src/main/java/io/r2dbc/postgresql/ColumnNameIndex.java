@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.util.Assert;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of column names to column positions. The index is built once per {@link io.r2dbc.postgresql.message.backend.RowDescription} and shared by all rows of a result so that name-based
+ * access does not depend on the number of columns.
+ * <p>
+ * Name resolution follows {@link EscapeAwareColumnMatcher}: names are compared case-insensitively unless either side is escaped with double-quotes. An exact match takes precedence over a
+ * case-insensitive one. Among columns with the same name, the first column wins.
+ */
+final class ColumnNameIndex {
+
+    static final int NOT_FOUND = -1;
+
+    private final Map<String, Integer> exact;
+
+    private final String[] foldedNames;
+
+    private final int[] foldedIndexes;
+
+    private final int mask;
+
+    private ColumnNameIndex(List<String> names) {
+
+        this.exact = new HashMap<>((int) (names.size() / 0.75f) + 1);
+
+        int capacity = Integer.highestOneBit(Math.max(names.size(), 1) * 2 - 1) << 1;
+        this.foldedNames = new String[capacity];
+        this.foldedIndexes = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < names.size(); i++) {
+
+            String name = names.get(i);
+            this.exact.putIfAbsent(name, i);
+
+            if (EscapeAwareColumnMatcher.isQuoted(name)) {
+                this.exact.putIfAbsent(EscapeAwareColumnMatcher.unquote(name), i);
+            } else {
+                putFoldedIfAbsent(name, i);
+            }
+        }
+    }
+
+    /**
+     * Create a new {@link ColumnNameIndex} for {@code names}.
+     *
+     * @param names the column names in column order
+     * @return the index
+     * @throws IllegalArgumentException if {@code names} is {@code null}
+     */
+    static ColumnNameIndex of(List<String> names) {
+        Assert.requireNonNull(names, "names must not be null");
+
+        return new ColumnNameIndex(names);
+    }
+
+    /**
+     * Resolve the position of the column identified by {@code name}.
+     *
+     * @param name the column name, optionally escaped with double-quotes
+     * @return the column index or {@link #NOT_FOUND} if there is no such column
+     */
+    int indexOf(String name) {
+
+        Integer index = this.exact.get(name);
+
+        if (index != null) {
+            return index;
+        }
+
+        if (EscapeAwareColumnMatcher.isQuoted(name)) {
+            index = this.exact.get(EscapeAwareColumnMatcher.unquote(name));
+            return index != null ? index : NOT_FOUND;
+        }
+
+        for (int slot = foldedHash(name) & this.mask; this.foldedNames[slot] != null; slot = (slot + 1) & this.mask) {
+            if (this.foldedNames[slot].equalsIgnoreCase(name)) {
+                return this.foldedIndexes[slot];
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    private void putFoldedIfAbsent(String name, int index) {
+
+        int slot = foldedHash(name) & this.mask;
+
+        for (; this.foldedNames[slot] != null; slot = (slot + 1) & this.mask) {
+            if (this.foldedNames[slot].equalsIgnoreCase(name)) {
+                return;
+            }
+        }
+
+        this.foldedNames[slot] = name;
+        this.foldedIndexes[slot] = index;
+    }
+
+    /**
+     * Compute a hash code that is consistent with {@link String#equalsIgnoreCase(String)} by folding each character the same way.
+     */
+    private static int foldedHash(String name) {
+
+        int hash = 0;
+
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+
+}
@@ -39,6 +39,8 @@ final class ConnectionResources {
 
     private final PortalNameSupplier portalNameSupplier;
 
+    private final DeferredCommands deferredCommands = new DeferredCommands();
+
     ConnectionResources(Client client, Codecs codecs, PostgresqlConnection connection, PostgresqlConnectionConfiguration configuration, PortalNameSupplier portalNameSupplier,
                         StatementCache statementCache) {
         this.client = client;
@@ -73,6 +75,10 @@ final class ConnectionResources {
         return this.statementCache;
     }
 
+    public DeferredCommands getDeferredCommands() {
+        return this.deferredCommands;
+    }
+
     @Override
     public String toString() {
         return "ConnectionContext{" +
@@ -82,6 +88,7 @@ final class ConnectionResources {
             ", configuration=" + this.configuration +
             ", portalNameSupplier=" + this.portalNameSupplier +
             ", statementCache=" + this.statementCache +
+            ", deferredCommands=" + this.deferredCommands +
             '}';
     }
 
@@ -17,12 +17,14 @@
 package io.r2dbc.postgresql;
 
 import io.netty.channel.unix.DomainSocketAddress;
+import io.r2dbc.postgresql.authentication.ScramKeyCache;
 import io.r2dbc.postgresql.client.Client;
 import io.r2dbc.postgresql.client.ConnectionSettings;
 import io.r2dbc.postgresql.client.MultiHostConfiguration;
 import io.r2dbc.postgresql.client.SSLConfig;
 import io.r2dbc.postgresql.client.SSLMode;
 import io.r2dbc.postgresql.client.SingleHostConfiguration;
+import reactor.util.annotation.Nullable;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
@@ -44,7 +46,20 @@ final class ConnectionStrategyFactory {
      * @return the connection strategy to use.
      */
     public static ConnectionStrategy getConnectionStrategy(ConnectionFunction connectionFunction, PostgresqlConnectionConfiguration configuration, ConnectionSettings connectionSettings) {
-        return doGetConnectionStrategy(new SingleHostConnectionFunction(connectionFunction, configuration), configuration, connectionSettings);
+        return getConnectionStrategy(connectionFunction, configuration, connectionSettings, null);
+    }
+
+    /**
+     * Create a {@link ConnectionStrategy} that is able to connect to the specified {@link PostgresqlConnectionConfiguration configuration}.
+     *
+     * @param connectionFunction the raw connection function to use to create a {@link Client}. The connection function is enhanced during the connect phase to perform a handshake with the database.
+     * @param configuration      the configuration object
+     * @param scramKeyCache      the cache for derived SCRAM keys, can be {@code null}
+     * @return the connection strategy to use.
+     */
+    public static ConnectionStrategy getConnectionStrategy(ConnectionFunction connectionFunction, PostgresqlConnectionConfiguration configuration, ConnectionSettings connectionSettings,
+                                                           @Nullable ScramKeyCache scramKeyCache) {
+        return doGetConnectionStrategy(new SingleHostConnectionFunction(connectionFunction, configuration, scramKeyCache), configuration, connectionSettings);
     }
 
     private static ConnectionStrategy doGetConnectionStrategy(ConnectionFunction connectionFunction, PostgresqlConnectionConfiguration configuration, ConnectionSettings connectionSettings) {
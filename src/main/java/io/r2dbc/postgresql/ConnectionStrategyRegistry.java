@@ -0,0 +1,231 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.client.MultiHostConfiguration;
+import io.r2dbc.postgresql.client.SSLMode;
+import io.r2dbc.postgresql.client.SingleHostConfiguration;
+import io.r2dbc.postgresql.util.Assert;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Registry of load-balancing {@link UniformLoadBalancerConnectionStrategy strategies} and their {@link ControlConnection}. Entries are keyed by cluster identity (seed hosts and ports, database
+ * and topology keys) along with the settings that affect how the cluster is accessed (credentials, SSL mode and load-balancing options) so that connection factories pointing to the same cluster
+ * with the same settings share host load accounting while all other factories remain isolated.
+ * <p>
+ * Entries are reference-counted. Each {@link #acquire(PostgresqlConnectionConfiguration, Function) acquisition} must be paired with a {@link #release(Entry) release}. Releasing the last
+ * reference evicts the entry and closes its control connection.
+ */
+final class ConnectionStrategyRegistry {
+
+    private static final Map<ClusterKey, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private ConnectionStrategyRegistry() {
+    }
+
+    /**
+     * Acquire the registry entry for the cluster described by {@code configuration}, creating it if necessary.
+     *
+     * @param configuration the connection configuration
+     * @param entryFactory  function creating a new entry if there is none yet for the cluster
+     * @return the registry entry
+     */
+    static Entry acquire(PostgresqlConnectionConfiguration configuration, Function<ClusterKey, Entry> entryFactory) {
+        Assert.requireNonNull(configuration, "configuration must not be null");
+        Assert.requireNonNull(entryFactory, "entryFactory must not be null");
+
+        return ENTRIES.compute(ClusterKey.of(configuration), (key, entry) -> {
+
+            Entry acquired = entry != null ? entry : entryFactory.apply(key);
+            acquired.references++;
+            return acquired;
+        });
+    }
+
+    /**
+     * Release a previously {@link #acquire(PostgresqlConnectionConfiguration, Function) acquired} entry. The entry is evicted and its control connection is closed once the last reference is
+     * released.
+     *
+     * @param entry the entry to release
+     * @return a {@link Mono} that completes once the entry is released
+     */
+    static Mono<Void> release(Entry entry) {
+        Assert.requireNonNull(entry, "entry must not be null");
+
+        return Mono.defer(() -> {
+
+            AtomicBoolean evicted = new AtomicBoolean();
+            ENTRIES.computeIfPresent(entry.key, (key, current) -> {
+
+                if (current != entry || --current.references > 0) {
+                    return current;
+                }
+
+                evicted.set(true);
+                return null;
+            });
+
+            return evicted.get() ? entry.getControlConnection().close() : Mono.empty();
+        });
+    }
+
+    /**
+     * Return the number of registered entries.
+     */
+    static int size() {
+        return ENTRIES.size();
+    }
+
+    /**
+     * A registered load balancer along with the control connection used to refresh it.
+     */
+    static final class Entry {
+
+        private final ClusterKey key;
+
+        private final UniformLoadBalancerConnectionStrategy strategy;
+
+        private final ControlConnection controlConnection;
+
+        // guarded by ENTRIES.compute(…)
+        private int references;
+
+        Entry(ClusterKey key, UniformLoadBalancerConnectionStrategy strategy, ControlConnection controlConnection) {
+            this.key = Assert.requireNonNull(key, "key must not be null");
+            this.strategy = Assert.requireNonNull(strategy, "strategy must not be null");
+            this.controlConnection = Assert.requireNonNull(controlConnection, "controlConnection must not be null");
+        }
+
+        UniformLoadBalancerConnectionStrategy getStrategy() {
+            return this.strategy;
+        }
+
+        ControlConnection getControlConnection() {
+            return this.controlConnection;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                "key=" + this.key +
+                ", strategy=" + this.strategy +
+                ", controlConnection=" + this.controlConnection +
+                '}';
+        }
+
+    }
+
+    /**
+     * Identity of a cluster along with the settings used to access it.
+     */
+    static final class ClusterKey {
+
+        private final List<String> seeds;
+
+        @Nullable
+        private final String database;
+
+        @Nullable
+        private final String topologyKeys;
+
+        private final String username;
+
+        @Nullable
+        private final String password;
+
+        private final SSLMode sslMode;
+
+        private final int refreshInterval;
+
+        ClusterKey(List<String> seeds, @Nullable String database, @Nullable String topologyKeys, String username, @Nullable String password, SSLMode sslMode,
+                   int refreshInterval) {
+            this.seeds = seeds;
+            this.database = database;
+            this.topologyKeys = topologyKeys;
+            this.username = username;
+            this.password = password;
+            this.sslMode = sslMode;
+            this.refreshInterval = refreshInterval;
+        }
+
+        static ClusterKey of(PostgresqlConnectionConfiguration configuration) {
+
+            List<String> seeds = new ArrayList<>();
+            SingleHostConfiguration singleHostConfiguration = configuration.getSingleHostConfiguration();
+            MultiHostConfiguration multiHostConfiguration = configuration.getMultiHostConfiguration();
+
+            if (singleHostConfiguration != null) {
+                seeds.add(singleHostConfiguration.isUseSocket() ? singleHostConfiguration.getRequiredSocket() : singleHostConfiguration.getRequiredHost() + ":" + singleHostConfiguration.getPort());
+            }
+
+            if (multiHostConfiguration != null) {
+                for (MultiHostConfiguration.ServerHost host : multiHostConfiguration.getHosts()) {
+                    seeds.add(host.getHost() + ":" + host.getPort());
+                }
+            }
+
+            Collections.sort(seeds);
+            CharSequence password = configuration.getPassword();
+
+            return new ClusterKey(Collections.unmodifiableList(seeds), configuration.getDatabase(), configuration.getTopologyKeys(), configuration.getUsername(),
+                password != null ? password.toString() : null, configuration.getSslConfig().getSslMode(), configuration.getYBServersRefreshInterval());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClusterKey)) {
+                return false;
+            }
+            ClusterKey that = (ClusterKey) o;
+            return this.refreshInterval == that.refreshInterval && this.seeds.equals(that.seeds) && Objects.equals(this.database, that.database)
+                && Objects.equals(this.topologyKeys, that.topologyKeys) && Objects.equals(this.username, that.username) && Objects.equals(this.password, that.password)
+                && this.sslMode == that.sslMode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.seeds, this.database, this.topologyKeys, this.username, this.password, this.sslMode, this.refreshInterval);
+        }
+
+        @Override
+        public String toString() {
+            return "ClusterKey{" +
+                "seeds=" + this.seeds +
+                ", database='" + this.database + '\'' +
+                ", topologyKeys='" + this.topologyKeys + '\'' +
+                ", username='" + this.username + '\'' +
+                ", sslMode=" + this.sslMode +
+                ", refreshInterval=" + this.refreshInterval +
+                '}';
+        }
+
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Connection used to query cluster metadata such as {@code yb_servers()}. The connection is established lazily against the first reachable host and shared by all callers. A broken connection is
+ * re-established on the next access.
+ * <p>
+ * If no host is reachable, further connection attempts are suppressed for a backoff period that doubles with each consecutive failure (starting at {@link #INITIAL_RECONNECT_DELAY}, capped at
+ * {@link #MAX_RECONNECT_DELAY}). Callers within the backoff period fail fast with the last connection error.
+ * <p>
+ * Once {@link #close() closed}, the control connection is not re-established anymore.
+ */
+final class ControlConnection {
+
+    static final Duration INITIAL_RECONNECT_DELAY = Duration.ofMillis(100);
+
+    static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(10);
+
+    private final List<String> hosts;
+
+    private final Function<String, Mono<PostgresqlConnection>> connector;
+
+    private final AtomicReference<Mono<PostgresqlConnection>> connection = new AtomicReference<>();
+
+    @Nullable
+    private volatile PostgresqlConnection established;
+
+    private volatile int consecutiveFailures;
+
+    private volatile boolean closed;
+
+    private volatile long retryNotBefore;
+
+    @Nullable
+    private volatile Throwable lastFailure;
+
+    /**
+     * Create a new {@link ControlConnection}.
+     *
+     * @param hosts     the hosts to connect to, in order of preference. The list is read on each connection attempt and may change over time.
+     * @param connector function connecting to a single host
+     */
+    ControlConnection(List<String> hosts, Function<String, Mono<PostgresqlConnection>> connector) {
+        this.hosts = Assert.requireNonNull(hosts, "hosts must not be null");
+        this.connector = Assert.requireNonNull(connector, "connector must not be null");
+    }
+
+    /**
+     * Obtain the control connection, connecting if necessary. Concurrent callers share a single connection attempt.
+     *
+     * @return a {@link Mono} emitting the control connection
+     */
+    Mono<PostgresqlConnection> get() {
+        return get(true);
+    }
+
+    private Mono<PostgresqlConnection> get(boolean reconnectIfDisconnected) {
+        return Mono.defer(() -> {
+
+            if (this.closed) {
+                return Mono.error(new PostgresqlConnectionFactory.PostgresConnectionException("Control connection is closed", null));
+            }
+
+            Mono<PostgresqlConnection> current = this.connection.get();
+            if (current != null) {
+                return current.flatMap(connection -> {
+
+                    if (connection.getClient().isConnected()) {
+                        return Mono.just(connection);
+                    }
+
+                    discard(current, connection);
+
+                    if (!reconnectIfDisconnected) {
+                        return Mono.error(new PostgresqlConnectionFactory.PostgresConnectionException("Control connection is disconnected", null));
+                    }
+
+                    return get(false);
+                });
+            }
+
+            Throwable failure = this.lastFailure;
+            if (failure != null && System.nanoTime() - this.retryNotBefore < 0) {
+                return Mono.error(new PostgresqlConnectionFactory.PostgresConnectionException("Control connection unavailable, reconnect is deferred", failure));
+            }
+
+            AtomicReference<Mono<PostgresqlConnection>> self = new AtomicReference<>();
+            Mono<PostgresqlConnection> attempt = connect()
+                .doOnNext(this::onConnected)
+                .doOnError(e -> {
+                    onFailure(e);
+                    this.connection.compareAndSet(self.get(), null);
+                })
+                .cache();
+            self.set(attempt);
+
+            if (!this.connection.compareAndSet(null, attempt)) {
+                return get(reconnectIfDisconnected);
+            }
+
+            return attempt;
+        });
+    }
+
+    /**
+     * Discard {@code failed} if it is the current control connection. The next call to {@link #get()} reconnects.
+     *
+     * @param failed the connection that has failed
+     */
+    void invalidate(PostgresqlConnection failed) {
+
+        Mono<PostgresqlConnection> current = this.connection.get();
+        if (current != null && this.established == failed) {
+            discard(current, failed);
+        }
+    }
+
+    /**
+     * Close the control connection. Subsequent calls to {@link #get()} fail.
+     *
+     * @return a {@link Mono} that completes once the connection is closed
+     */
+    Mono<Void> close() {
+        return Mono.defer(() -> {
+
+            this.closed = true;
+            this.established = null;
+
+            Mono<PostgresqlConnection> current = this.connection.getAndSet(null);
+            if (current == null) {
+                return Mono.empty();
+            }
+
+            return current.flatMap(PostgresqlConnection::close).onErrorResume(e -> Mono.empty());
+        });
+    }
+
+    /**
+     * Clear {@code slot} if it is still the current connection attempt and close the {@code failed} connection it has resolved to.
+     */
+    private void discard(Mono<PostgresqlConnection> slot, PostgresqlConnection failed) {
+
+        if (this.connection.compareAndSet(slot, null)) {
+
+            if (this.established == failed) {
+                this.established = null;
+            }
+            failed.close().onErrorResume(e -> Mono.empty()).subscribe();
+        }
+    }
+
+    private Mono<PostgresqlConnection> connect() {
+
+        AtomicReference<Throwable> exceptionRef = new AtomicReference<>();
+
+        return Flux.fromIterable(new ArrayList<>(this.hosts))
+            .concatMap(host -> this.connector.apply(host)
+                .onErrorResume(e -> {
+                    if (!exceptionRef.compareAndSet(null, e)) {
+                        exceptionRef.get().addSuppressed(e);
+                    }
+                    return Mono.empty();
+                }))
+            .next()
+            .switchIfEmpty(Mono.error(() -> {
+                Throwable error = exceptionRef.get();
+                return error != null ? error : new PostgresqlConnectionFactory.PostgresConnectionException(String.format("Cannot connect to any of %s", this.hosts), null);
+            }));
+    }
+
+    private void onConnected(PostgresqlConnection connection) {
+        this.established = connection;
+        this.consecutiveFailures = 0;
+        this.lastFailure = null;
+    }
+
+    private void onFailure(Throwable e) {
+
+        int failures = Math.min(this.consecutiveFailures + 1, 30);
+        long delay = Math.min(INITIAL_RECONNECT_DELAY.toNanos() << (failures - 1), MAX_RECONNECT_DELAY.toNanos());
+
+        this.consecutiveFailures = failures;
+        this.retryNotBefore = System.nanoTime() + delay;
+        this.lastFailure = e;
+    }
+
+    @Override
+    public String toString() {
+        return "ControlConnection{" +
+            "hosts=" + this.hosts +
+            ", closed=" + this.closed +
+            ", established=" + this.established +
+            ", consecutiveFailures=" + this.consecutiveFailures +
+            '}';
+    }
+
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.NotificationHub;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.postgresql.util.Assert;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default {@link NotificationHub} implementation. Reconciliation of {@code LISTEN} registrations with the subscribed channels is serialized: Subscription changes request a reconciliation
+ * round and rounds that are requested while a round is running are coalesced into a single subsequent round.
+ * <p>
+ * If the connection cannot be established or is lost, reconnect attempts are delayed by a backoff period that doubles with each consecutive failure (starting at
+ * {@link #INITIAL_RECONNECT_DELAY}, capped at {@link #MAX_RECONNECT_DELAY}).
+ * <p>
+ * {@link #close() Closing} the hub completes all subscribers, closes the connection and stops reconnect attempts.
+ */
+final class DefaultNotificationHub implements NotificationHub {
+
+    static final Duration INITIAL_RECONNECT_DELAY = Duration.ofMillis(100);
+
+    static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(10);
+
+    private final Logger logger = Loggers.getLogger(this.getClass());
+
+    private final Mono<? extends PostgresqlConnection> connector;
+
+    private final Duration initialReconnectDelay;
+
+    private final Map<String, Set<FluxSink<Notification>>> channels = new HashMap<>();
+
+    /**
+     * Channels registered on the current connection. Accessed only by the reconciliation round.
+     */
+    private final Set<String> listening = new HashSet<>();
+
+    private final AtomicInteger reconcileRequests = new AtomicInteger();
+
+    @Nullable
+    private volatile PostgresqlConnection connection;
+
+    @Nullable
+    private volatile Disposable notifications;
+
+    @Nullable
+    private volatile Disposable reconnect;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile boolean closed;
+
+    /**
+     * Create a new {@link DefaultNotificationHub}.
+     *
+     * @param connector {@link Mono} creating a new connection upon subscription
+     */
+    DefaultNotificationHub(Mono<? extends PostgresqlConnection> connector) {
+        this(connector, INITIAL_RECONNECT_DELAY);
+    }
+
+    DefaultNotificationHub(Mono<? extends PostgresqlConnection> connector, Duration initialReconnectDelay) {
+        this.connector = Assert.requireNonNull(connector, "connector must not be null");
+        this.initialReconnectDelay = Assert.requireNonNull(initialReconnectDelay, "initialReconnectDelay must not be null");
+    }
+
+    @Override
+    public Flux<Notification> listen(String channel, int bufferSize, BufferOverflowStrategy overflowStrategy) {
+        Assert.requireNotEmpty(channel, "channel must not be null or empty");
+        Assert.isTrue(bufferSize > 0, "bufferSize must be greater than zero");
+        Assert.requireNonNull(overflowStrategy, "overflowStrategy must not be null");
+
+        return Flux.<Notification>create(sink -> {
+            subscribe(channel, sink);
+            sink.onDispose(() -> unsubscribe(channel, sink));
+        }).onBackpressureBuffer(bufferSize, dropped -> this.logger.warn("Dropping notification on channel {} because the subscriber does not keep up", channel), overflowStrategy);
+    }
+
+    /**
+     * Close this hub. Completes all subscribers, closes the connection and stops reconnect attempts. Subsequent {@link #listen(String) listen} subscriptions fail with
+     * {@link IllegalStateException}.
+     *
+     * @return a {@link Mono} that completes once the connection is closed
+     */
+    Mono<Void> close() {
+        return Mono.defer(() -> {
+
+            this.closed = true;
+
+            Disposable reconnect = this.reconnect;
+            if (reconnect != null) {
+                reconnect.dispose();
+            }
+
+            List<FluxSink<Notification>> subscribers = new ArrayList<>();
+            synchronized (this.channels) {
+                this.channels.values().forEach(subscribers::addAll);
+                this.channels.clear();
+            }
+
+            subscribers.forEach(FluxSink::complete);
+
+            PostgresqlConnection connection = this.connection;
+            return connection != null ? disconnect(connection) : Mono.empty();
+        });
+    }
+
+    /**
+     * Return the connection used to listen to notifications or {@code null} if the hub is not connected.
+     */
+    @Nullable
+    PostgresqlConnection getConnection() {
+        return this.connection;
+    }
+
+    private void subscribe(String channel, FluxSink<Notification> sink) {
+
+        boolean added;
+        synchronized (this.channels) {
+
+            if (this.closed) {
+                sink.error(new IllegalStateException("Notification hub is closed"));
+                return;
+            }
+
+            Set<FluxSink<Notification>> subscribers = this.channels.computeIfAbsent(channel, it -> new CopyOnWriteArraySet<>());
+            subscribers.add(sink);
+            added = subscribers.size() == 1;
+        }
+
+        if (added) {
+            requestReconcile();
+        }
+    }
+
+    private void unsubscribe(String channel, FluxSink<Notification> sink) {
+
+        boolean removed = false;
+        synchronized (this.channels) {
+            Set<FluxSink<Notification>> subscribers = this.channels.get(channel);
+            if (subscribers != null && subscribers.remove(sink) && subscribers.isEmpty()) {
+                this.channels.remove(channel);
+                removed = true;
+            }
+        }
+
+        if (removed) {
+            requestReconcile();
+        }
+    }
+
+    private Set<String> getChannels() {
+        synchronized (this.channels) {
+            return new HashSet<>(this.channels.keySet());
+        }
+    }
+
+    private void route(Notification notification) {
+
+        Set<FluxSink<Notification>> subscribers;
+        synchronized (this.channels) {
+            subscribers = this.channels.get(notification.getName());
+        }
+
+        if (subscribers != null) {
+            for (FluxSink<Notification> subscriber : subscribers) {
+                subscriber.next(notification);
+            }
+        }
+    }
+
+    private void requestReconcile() {
+        if (this.reconcileRequests.getAndIncrement() == 0) {
+            runReconcile();
+        }
+    }
+
+    private void runReconcile() {
+
+        int requests = this.reconcileRequests.get();
+
+        reconcile().doFinally(ignore -> {
+            if (this.reconcileRequests.addAndGet(-requests) != 0) {
+                runReconcile();
+            }
+        }).subscribe();
+    }
+
+    /**
+     * Reconcile {@code LISTEN} registrations with the subscribed channels. Connects if channels are subscribed and closes the connection if no channel is subscribed.
+     */
+    private Mono<Void> reconcile() {
+        return Mono.defer(() -> {
+
+            Set<String> channels = getChannels();
+            PostgresqlConnection connection = this.connection;
+
+            if (channels.isEmpty()) {
+                return connection != null ? disconnect(connection) : Mono.empty();
+            }
+
+            return (connection != null ? Mono.just(connection) : connect()).flatMap(it -> synchronize(it, channels));
+        }).onErrorResume(e -> {
+            onFailure(e);
+            return Mono.empty();
+        });
+    }
+
+    private Mono<PostgresqlConnection> connect() {
+        return this.connector.flatMap(connection -> {
+
+            this.listening.clear();
+            this.connection = connection;
+            this.notifications = connection.getNotifications().subscribe(this::route, e -> onConnectionLost(connection, e), () -> onConnectionLost(connection, null));
+
+            // the hub was closed while connecting
+            if (this.closed) {
+                return disconnect(connection).then(Mono.empty());
+            }
+
+            return Mono.just(connection);
+        });
+    }
+
+    private Mono<Void> disconnect(PostgresqlConnection connection) {
+
+        this.connection = null;
+        this.listening.clear();
+
+        Disposable notifications = this.notifications;
+        if (notifications != null) {
+            notifications.dispose();
+        }
+
+        return connection.close().onErrorResume(e -> {
+            this.logger.debug("Failed to close notification connection", e);
+            return Mono.empty();
+        });
+    }
+
+    private Mono<Void> synchronize(PostgresqlConnection connection, Set<String> channels) {
+
+        List<String> commands = new ArrayList<>();
+        for (String channel : channels) {
+            if (!this.listening.contains(channel)) {
+                commands.add("LISTEN " + quote(channel));
+            }
+        }
+
+        for (String channel : this.listening) {
+            if (!channels.contains(channel)) {
+                commands.add("UNLISTEN " + quote(channel));
+            }
+        }
+
+        if (commands.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return connection.createStatement(String.join("; ", commands)).execute()
+            .flatMap(PostgresqlResult::getRowsUpdated)
+            .then()
+            .doOnSuccess(ignore -> {
+                this.listening.clear();
+                this.listening.addAll(channels);
+                this.consecutiveFailures.set(0);
+            });
+    }
+
+    private void onConnectionLost(PostgresqlConnection connection, @Nullable Throwable cause) {
+
+        if (this.connection != connection || this.closed) {
+            return;
+        }
+
+        this.connection = null;
+
+        if (cause != null) {
+            this.logger.warn("Notification connection lost, reconnecting", cause);
+        } else {
+            this.logger.debug("Notification connection closed, reconnecting");
+        }
+
+        scheduleReconcile();
+    }
+
+    private void onFailure(Throwable e) {
+
+        this.logger.warn("Cannot register notification channels, retrying", e);
+
+        PostgresqlConnection connection = this.connection;
+        if (connection != null) {
+            disconnect(connection).subscribe();
+        }
+
+        scheduleReconcile();
+    }
+
+    private void scheduleReconcile() {
+
+        if (this.closed) {
+            return;
+        }
+
+        int failures = this.consecutiveFailures.getAndIncrement();
+        long delay = Math.min(this.initialReconnectDelay.toMillis() << Math.min(failures, 16), MAX_RECONNECT_DELAY.toMillis());
+
+        this.reconnect = Mono.delay(Duration.ofMillis(delay)).subscribe(ignore -> {
+            if (!this.closed && !getChannels().isEmpty()) {
+                requestReconcile();
+            }
+        });
+    }
+
+    static String quote(String channel) {
+        return "\"" + channel.replace("\"", "\"\"") + "\"";
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultNotificationHub{" +
+            "channels=" + getChannels() +
+            ", connection=" + this.connection +
+            '}';
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.codec.Codec;
+import io.r2dbc.postgresql.codec.CodecRegistry;
+import io.r2dbc.postgresql.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link CodecRegistry} that records registrations of a single {@link io.r2dbc.postgresql.extension.CodecRegistrar} and applies them to the target registry on {@link #apply()}. Allows
+ * registrars to perform their type lookups concurrently while registering their codecs in a deterministic order. Registrations after {@link #apply()} are applied immediately.
+ */
+final class DeferredCodecRegistry implements CodecRegistry {
+
+    private final CodecRegistry target;
+
+    private final List<Consumer<CodecRegistry>> registrations = new ArrayList<>();
+
+    private boolean applied;
+
+    DeferredCodecRegistry(CodecRegistry target) {
+        this.target = Assert.requireNonNull(target, "target must not be null");
+    }
+
+    @Override
+    public void addFirst(Codec<?> codec) {
+        Assert.requireNonNull(codec, "codec must not be null");
+        register(registry -> registry.addFirst(codec));
+    }
+
+    @Override
+    public void addLast(Codec<?> codec) {
+        Assert.requireNonNull(codec, "codec must not be null");
+        register(registry -> registry.addLast(codec));
+    }
+
+    @Override
+    public Iterator<Codec<?>> iterator() {
+        return this.target.iterator();
+    }
+
+    /**
+     * Apply the recorded registrations to the target registry in the order they were made.
+     */
+    synchronized void apply() {
+
+        this.applied = true;
+        this.registrations.forEach(registration -> registration.accept(this.target));
+        this.registrations.clear();
+    }
+
+    private synchronized void register(Consumer<CodecRegistry> registration) {
+
+        if (this.applied) {
+            registration.accept(this.target);
+        } else {
+            this.registrations.add(registration);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DeferredCodecRegistry{" +
+            "target=" + this.target +
+            ", applied=" + this.applied +
+            '}';
+    }
+
+}
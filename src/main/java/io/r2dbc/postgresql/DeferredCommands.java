@@ -0,0 +1,257 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.message.backend.BackendMessage;
+import io.r2dbc.postgresql.message.backend.CommandComplete;
+import io.r2dbc.postgresql.message.backend.ErrorResponse;
+import io.r2dbc.postgresql.message.backend.ReadyForQuery;
+import io.r2dbc.postgresql.message.frontend.Bind;
+import io.r2dbc.postgresql.message.frontend.Execute;
+import io.r2dbc.postgresql.message.frontend.FrontendMessage;
+import io.r2dbc.postgresql.message.frontend.Parse;
+import io.r2dbc.postgresql.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SynchronousSink;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.r2dbc.postgresql.message.frontend.Execute.NO_LIMIT;
+
+/**
+ * Queue of transaction start commands ({@code BEGIN} and transaction-scoped {@code SET} commands) whose execution is deferred until the next statement. Deferred commands are
+ * {@link Pending#prepend(List) prepended} to the next extended query flow or {@link Pending#prepend(String) prepended} to the next simple query so that they are sent with the same write.
+ */
+final class DeferredCommands {
+
+    private final List<String> commands = new ArrayList<>();
+
+    private boolean begin;
+
+    /**
+     * Queue a {@code BEGIN} command.
+     *
+     * @param sql the {@code BEGIN} command
+     */
+    synchronized void addBegin(String sql) {
+        Assert.requireNonNull(sql, "sql must not be null");
+        this.commands.add(sql);
+        this.begin = true;
+    }
+
+    /**
+     * Queue a command.
+     *
+     * @param sql the command
+     */
+    synchronized void add(String sql) {
+        Assert.requireNonNull(sql, "sql must not be null");
+        this.commands.add(sql);
+    }
+
+    /**
+     * Return whether a {@code BEGIN} command is queued. The transaction is considered open while the {@code BEGIN} command is pending.
+     */
+    synchronized boolean hasPendingBegin() {
+        return this.begin;
+    }
+
+    synchronized boolean isEmpty() {
+        return this.commands.isEmpty();
+    }
+
+    /**
+     * Discard all queued commands.
+     */
+    synchronized void clear() {
+        this.commands.clear();
+        this.begin = false;
+    }
+
+    /**
+     * Remove all queued commands and return these as {@link Pending} for execution.
+     *
+     * @return the pending commands. {@link Pending#NONE} if no commands are queued.
+     */
+    synchronized Pending drain() {
+
+        if (this.commands.isEmpty()) {
+            return Pending.NONE;
+        }
+
+        Pending pending = new Pending(new ArrayList<>(this.commands), this.begin);
+        clear();
+        return pending;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "DeferredCommands{" +
+            "commands=" + this.commands +
+            ", begin=" + this.begin +
+            '}';
+    }
+
+    /**
+     * Commands removed from {@link DeferredCommands} to be executed ahead of a statement. Ahead of an extended query flow, each command is sent as {@code Parse/Bind/Execute} on the unnamed
+     * statement and portal without {@code Sync} so that it is processed in the same implicit or explicit transaction as the statement that carries it. Ahead of a simple query, the commands
+     * are sent as part of the same query string. Responses to these commands are filtered from the response stream. If a command fails, the server skips the remainder of the statement and
+     * the error is associated with the failed command.
+     */
+    static final class Pending {
+
+        static final Pending NONE = new Pending(Collections.emptyList(), false);
+
+        private final List<String> commands;
+
+        private final boolean begin;
+
+        @Nullable
+        private volatile String failedCommand;
+
+        private Pending(List<String> commands, boolean begin) {
+            this.commands = commands;
+            this.begin = begin;
+        }
+
+        boolean isEmpty() {
+            return this.commands.isEmpty();
+        }
+
+        /**
+         * Return whether the pending commands start a transaction.
+         */
+        boolean hasBegin() {
+            return this.begin;
+        }
+
+        List<String> getCommands() {
+            return Collections.unmodifiableList(this.commands);
+        }
+
+        /**
+         * Prepend the pending commands to {@code messages}.
+         *
+         * @param messages the messages of the statement
+         * @return the messages to send
+         */
+        List<FrontendMessage.DirectEncoder> prepend(List<FrontendMessage.DirectEncoder> messages) {
+
+            if (isEmpty()) {
+                return messages;
+            }
+
+            List<FrontendMessage.DirectEncoder> result = new ArrayList<>(this.commands.size() * 3 + messages.size());
+
+            for (String command : this.commands) {
+                result.add(new Parse("", new int[0], command));
+                result.add(new Bind("", Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), ""));
+                result.add(new Execute("", NO_LIMIT));
+            }
+
+            result.addAll(messages);
+            return result;
+        }
+
+        /**
+         * Prepend the pending commands to the simple query {@code sql}.
+         *
+         * @param sql the simple query of the statement
+         * @return the query to send
+         */
+        String prepend(String sql) {
+
+            if (isEmpty()) {
+                return sql;
+            }
+
+            return String.join("; ", this.commands) + "; " + sql;
+        }
+
+        /**
+         * Filter responses to the pending commands from {@code responses}. {@link ErrorResponse} is propagated to let the flow observe the failure and to terminate with
+         * {@link ReadyForQuery}.
+         *
+         * @param responses the response stream
+         * @return the response stream of the statement
+         */
+        Flux<BackendMessage> filterResponses(Flux<BackendMessage> responses) {
+
+            if (isEmpty()) {
+                return responses;
+            }
+
+            return Flux.defer(() -> {
+
+                AtomicInteger completed = new AtomicInteger();
+
+                return responses.handle((BackendMessage message, SynchronousSink<BackendMessage> sink) -> {
+
+                    int index = completed.get();
+
+                    if (index >= this.commands.size()) {
+                        sink.next(message);
+                        return;
+                    }
+
+                    if (message instanceof ErrorResponse) {
+                        this.failedCommand = getCommand(index);
+                        completed.set(this.commands.size());
+                        sink.next(message);
+                        return;
+                    }
+
+                    if (message instanceof CommandComplete) {
+                        completed.incrementAndGet();
+                    }
+                });
+            });
+        }
+
+        /**
+         * Return the {@link ExceptionFactory} to translate an {@link ErrorResponse}. Errors caused by a pending command are associated with the failed command.
+         *
+         * @param factory the exception factory of the statement
+         * @return the exception factory to use
+         */
+        ExceptionFactory getExceptionFactory(ExceptionFactory factory) {
+            String failedCommand = this.failedCommand;
+            return failedCommand != null ? ExceptionFactory.withSql(failedCommand) : factory;
+        }
+
+        /**
+         * Return the SQL to associate with an {@link ErrorResponse}. Errors caused by a pending command are associated with the failed command.
+         *
+         * @param sql the SQL of the statement
+         * @return the SQL to report
+         */
+        String getFailedSql(String sql) {
+            String failedCommand = this.failedCommand;
+            return failedCommand != null ? failedCommand : sql;
+        }
+
+        private String getCommand(int index) {
+            return this.commands.get(Math.min(index, this.commands.size() - 1));
+        }
+
+    }
+
+}
@@ -17,6 +17,8 @@
 package io.r2dbc.postgresql;
 
 import io.r2dbc.postgresql.client.Binding;
+import io.r2dbc.postgresql.message.backend.BackendMessage;
+import reactor.util.annotation.Nullable;
 
 class DisabledStatementCache implements StatementCache {
 
@@ -45,6 +47,16 @@ class DisabledStatementCache implements StatementCache {
     public void evict(String sql) {
     }
 
+    @Override
+    @Nullable
+    public BackendMessage getDescription(Binding binding, String sql) {
+        return null;
+    }
+
+    @Override
+    public void putDescription(Binding binding, String sql, BackendMessage description) {
+    }
+
     @Override
     public String toString() {
         return "DisabledStatementCache";
@@ -42,17 +42,31 @@ final class EscapeAwareColumnMatcher {
 
         boolean exactMatch = false;
 
-        if (o1.startsWith("\"") && o1.endsWith("\"")) {
+        if (isQuoted(o1)) {
             exactMatch = true;
-            o1 = o1.substring(1, o1.length() - 1);
+            o1 = unquote(o1);
         }
 
-        if (o2.startsWith("\"") && o2.endsWith("\"")) {
+        if (isQuoted(o2)) {
             exactMatch = true;
-            o2 = o2.substring(1, o2.length() - 1);
+            o2 = unquote(o2);
         }
 
         return exactMatch ? o1.equals(o2) : o1.equalsIgnoreCase(o2);
     }
 
+    /**
+     * Returns whether {@code name} is escaped with double-quotes and therefore subject to case-sensitive comparison.
+     */
+    static boolean isQuoted(String name) {
+        return name.length() > 1 && name.charAt(0) == '"' && name.charAt(name.length() - 1) == '"';
+    }
+
+    /**
+     * Remove the enclosing double-quotes from a {@link #isQuoted(String) quoted} {@code name}.
+     */
+    static String unquote(String name) {
+        return name.substring(1, name.length() - 1);
+    }
+
 }
@@ -25,6 +25,8 @@ import io.r2dbc.postgresql.client.Client;
 import io.r2dbc.postgresql.client.ExtendedQueryMessageFlow;
 import io.r2dbc.postgresql.client.QueryLogger;
 import io.r2dbc.postgresql.client.TransactionStatus;
+import io.r2dbc.postgresql.codec.Codecs;
+import io.r2dbc.postgresql.message.Format;
 import io.r2dbc.postgresql.message.backend.BackendMessage;
 import io.r2dbc.postgresql.message.backend.BindComplete;
 import io.r2dbc.postgresql.message.backend.CloseComplete;
@@ -34,6 +36,7 @@ import io.r2dbc.postgresql.message.backend.NoData;
 import io.r2dbc.postgresql.message.backend.ParseComplete;
 import io.r2dbc.postgresql.message.backend.PortalSuspended;
 import io.r2dbc.postgresql.message.backend.ReadyForQuery;
+import io.r2dbc.postgresql.message.backend.RowDescription;
 import io.r2dbc.postgresql.message.frontend.Bind;
 import io.r2dbc.postgresql.message.frontend.Close;
 import io.r2dbc.postgresql.message.frontend.CompositeFrontendMessage;
@@ -50,10 +53,12 @@ import reactor.core.publisher.SynchronousSink;
 import reactor.util.annotation.Nullable;
 import reactor.util.concurrent.Queues;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
@@ -66,12 +71,15 @@ import static io.r2dbc.postgresql.util.PredicateUtils.or;
 
 /**
  * Utility to execute the {@code Parse/Bind/Describe/Execute/Sync} portion of the <a href="https://www.postgresql.org/docs/current/static/protocol-flow.html#PROTOCOL-FLOW-EXT-QUERY">Extended query</a>
- * message flow.
+ * message flow. Executions of cached prepared statements whose result description is known skip {@code Describe}.
  */
 class ExtendedFlowDelegate {
 
     static final Predicate<BackendMessage> RESULT_FRAME_FILTER = not(or(BindComplete.class::isInstance, NoData.class::isInstance));
 
+    static final Predicate<BackendMessage> PIPELINED_RESULT_FRAME_FILTER = not(or(BindComplete.class::isInstance, NoData.class::isInstance, ParseComplete.class::isInstance,
+        ReadyForQuery.class::isInstance));
+
     /**
      * Execute the {@code Parse/Bind/Describe/Execute/Sync} portion of the <a href="https://www.postgresql.org/docs/current/static/protocol-flow.html#PROTOCOL-FLOW-EXT-QUERY">Extended query</a>
      * message flow.
@@ -88,6 +96,14 @@ class ExtendedFlowDelegate {
      * @throws IllegalArgumentException if {@code bindings}, {@code client}, {@code portalNameSupplier}, or {@code statementName} is {@code null}
      */
     public static Flux<BackendMessage> runQuery(ConnectionResources resources, ExceptionFactory factory, String query, Binding binding, List<ByteBuf> values, int fetchSize, AtomicBoolean isCanceled) {
+        return Flux.defer(() -> runQuery(resources, factory, query, binding, values, fetchSize, isCanceled, resources.getDeferredCommands().drain()));
+    }
+
+    /**
+     * Execute the extended query flow and send {@link DeferredCommands.Pending pending commands} ahead of the query within the same write.
+     */
+    private static Flux<BackendMessage> runQuery(ConnectionResources resources, ExceptionFactory factory, String query, Binding binding, List<ByteBuf> values, int fetchSize,
+                                                 AtomicBoolean isCanceled, DeferredCommands.Pending pending) {
 
         StatementCache cache = resources.getStatementCache();
         Client client = resources.getClient();
@@ -95,23 +111,23 @@ class ExtendedFlowDelegate {
 
         Flux<BackendMessage> exchange;
         boolean compatibilityMode = resources.getConfiguration().isCompatibilityMode();
-        boolean implicitTransactions = resources.getClient().getTransactionStatus() == TransactionStatus.IDLE;
+        boolean implicitTransactions = !pending.hasBegin() && resources.getClient().getTransactionStatus() == TransactionStatus.IDLE;
 
-        ExtendedFlowOperator operator = new ExtendedFlowOperator(query, binding, cache, values, portal, resources.getConfiguration().isForceBinary());
+        ExtendedFlowOperator operator = new ExtendedFlowOperator(query, binding, cache, values, portal, resources.getConfiguration().isForceBinary(), getResultFormatCodecs(resources));
 
         if (compatibilityMode) {
 
             if (fetchSize == NO_LIMIT || implicitTransactions) {
-                exchange = fetchAll(operator, client, portal);
+                exchange = fetchAll(operator, client, portal, pending);
             } else {
-                exchange = fetchCursoredWithSync(operator, client, portal, fetchSize, isCanceled);
+                exchange = fetchCursoredWithSync(operator, client, portal, fetchSize, isCanceled, pending);
             }
         } else {
 
             if (fetchSize == NO_LIMIT) {
-                exchange = fetchAll(operator, client, portal);
+                exchange = fetchAll(operator, client, portal, pending);
             } else {
-                exchange = fetchCursoredWithFlush(operator, client, portal, fetchSize, isCanceled);
+                exchange = fetchCursoredWithFlush(operator, client, portal, fetchSize, isCanceled, pending);
             }
         }
 
@@ -122,7 +138,8 @@ class ExtendedFlowDelegate {
             }
         });
 
-        return exchange.doOnSubscribe(it -> QueryLogger.logQuery(client.getContext(), query)).doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release).filter(RESULT_FRAME_FILTER).handle(factory::handleErrorResponse);
+        return exchange.doOnSubscribe(it -> QueryLogger.logQuery(client.getContext(), query)).doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release).filter(RESULT_FRAME_FILTER)
+            .handle((BackendMessage message, SynchronousSink<BackendMessage> sink) -> pending.getExceptionFactory(factory).handleErrorResponse(message, sink));
     }
 
     /**
@@ -131,14 +148,17 @@ class ExtendedFlowDelegate {
      * @param operator the flow operator
      * @param client   client to use
      * @param portal   the portal
+     * @param pending    commands to send ahead of the query
      * @return the resulting message stream
      */
-    private static Flux<BackendMessage> fetchAll(ExtendedFlowOperator operator, Client client, String portal) {
+    private static Flux<BackendMessage> fetchAll(ExtendedFlowOperator operator, Client client, String portal, DeferredCommands.Pending pending) {
 
         Sinks.Many<FrontendMessage> requests = Sinks.many().unicast().onBackpressureBuffer(Queues.<FrontendMessage>small().get());
         MessageFactory factory = () -> operator.getMessages(Arrays.asList(new Execute(portal, NO_LIMIT), new Close(portal, PORTAL), Sync.INSTANCE));
 
-        return client.exchange(operator.takeUntil(), Flux.<FrontendMessage>just(new CompositeFrontendMessage(factory.createMessages())).concatWith(requests.asFlux()))
+        return client.exchange(operator.takeUntil(), Flux.<FrontendMessage>just(new CompositeFrontendMessage(pending.prepend(factory.createMessages()))).concatWith(requests.asFlux()))
+            .transform(pending::filterResponses)
+            .map(operator::applyDescription)
             .handle(handleReprepare(requests, operator, factory))
             .doFinally(ignore -> operator.close(requests))
             .as(Operators::discardOnCancel);
@@ -152,9 +172,10 @@ class ExtendedFlowDelegate {
      * @param portal     the portal
      * @param fetchSize  fetch size per roundtrip
      * @param isCanceled whether the conversation is canceled
+     * @param pending    commands to send ahead of the query
      * @return the resulting message stream
      */
-    private static Flux<BackendMessage> fetchCursoredWithSync(ExtendedFlowOperator operator, Client client, String portal, int fetchSize, AtomicBoolean isCanceled) {
+    private static Flux<BackendMessage> fetchCursoredWithSync(ExtendedFlowOperator operator, Client client, String portal, int fetchSize, AtomicBoolean isCanceled, DeferredCommands.Pending pending) {
 
         Sinks.Many<FrontendMessage> requests = Sinks.many().unicast().onBackpressureBuffer(Queues.<FrontendMessage>small().get());
         AtomicBoolean done = new AtomicBoolean(false);
@@ -162,7 +183,9 @@ class ExtendedFlowDelegate {
         MessageFactory factory = () -> operator.getMessages(Arrays.asList(new Execute(portal, fetchSize), Sync.INSTANCE));
         Predicate<BackendMessage> takeUntil = operator.takeUntil();
 
-        return client.exchange(it -> done.get() && takeUntil.test(it), Flux.<FrontendMessage>just(new CompositeFrontendMessage(factory.createMessages())).concatWith(requests.asFlux()))
+        return client.exchange(it -> done.get() && takeUntil.test(it), Flux.<FrontendMessage>just(new CompositeFrontendMessage(pending.prepend(factory.createMessages()))).concatWith(requests.asFlux()))
+            .transform(pending::filterResponses)
+            .map(operator::applyDescription)
             .handle(handleReprepare(requests, operator, factory))
             .handle((BackendMessage message, SynchronousSink<BackendMessage> sink) -> {
 
@@ -215,15 +238,18 @@ class ExtendedFlowDelegate {
      * @param portal     the portal
      * @param fetchSize  fetch size per roundtrip
      * @param isCanceled whether the conversation is canceled
+     * @param pending    commands to send ahead of the query
      * @return the resulting message stream
      */
-    private static Flux<BackendMessage> fetchCursoredWithFlush(ExtendedFlowOperator operator, Client client, String portal, int fetchSize, AtomicBoolean isCanceled) {
+    private static Flux<BackendMessage> fetchCursoredWithFlush(ExtendedFlowOperator operator, Client client, String portal, int fetchSize, AtomicBoolean isCanceled, DeferredCommands.Pending pending) {
 
         Sinks.Many<FrontendMessage> requests = Sinks.many().unicast().onBackpressureBuffer(Queues.<FrontendMessage>small().get());
 
         MessageFactory factory = () -> operator.getMessages(Arrays.asList(new Execute(portal, fetchSize), Flush.INSTANCE));
 
-        return client.exchange(operator.takeUntil(), Flux.<FrontendMessage>just(new CompositeFrontendMessage(factory.createMessages())).concatWith(requests.asFlux()))
+        return client.exchange(operator.takeUntil(), Flux.<FrontendMessage>just(new CompositeFrontendMessage(pending.prepend(factory.createMessages()))).concatWith(requests.asFlux()))
+            .transform(pending::filterResponses)
+            .map(operator::applyDescription)
             .handle(handleReprepare(requests, operator, factory))
             .handle((BackendMessage message, SynchronousSink<BackendMessage> sink) -> {
 
@@ -252,6 +278,69 @@ class ExtendedFlowDelegate {
             .as(flux -> Operators.discardOnCancel(flux, () -> isCanceled.set(true)));
     }
 
+    /**
+     * Execute {@code bindings} of the same {@code query} as a single pipelined round of the <a href="https://www.postgresql.org/docs/current/static/protocol-flow.html#PROTOCOL-FLOW-EXT-QUERY">Extended
+     * query</a> message flow. Sends {@code Parse} (if required), {@code Bind/Execute} for each binding and a single {@code Sync} with one write. Error responses are propagated as messages so that
+     * they can be attributed to the failing binding. The server skips all subsequent bindings after an error. {@link DeferredCommands.Pending Pending commands} are sent ahead of the bindings within
+     * the same write.
+     *
+     * @param resources the {@link ConnectionResources} providing access to the {@link Client}
+     * @param query     the query to execute
+     * @param bindings  the {@link Binding bindings} to bind
+     * @param values    the binding values, one list per binding
+     * @param pending   commands to send ahead of the query
+     * @return the messages received in response to the exchange
+     */
+    public static Flux<BackendMessage> runPipelinedQuery(ConnectionResources resources, String query, List<Binding> bindings, List<List<ByteBuf>> values, DeferredCommands.Pending pending) {
+
+        Client client = resources.getClient();
+        PipelinedFlowOperator operator = new PipelinedFlowOperator(query, bindings, resources.getStatementCache(), values, resources.getConfiguration().isForceBinary(),
+            getResultFormatCodecs(resources));
+        Sinks.Many<FrontendMessage> requests = Sinks.many().unicast().onBackpressureBuffer(Queues.<FrontendMessage>small().get());
+
+        return client.exchange(operator.takeUntil(), Flux.<FrontendMessage>just(new CompositeFrontendMessage(pending.prepend(operator.getMessages()))).concatWith(requests.asFlux()))
+            .transform(pending::filterResponses)
+            .map(operator::applyDescription)
+            .handle(operator.handleReprepare(requests))
+            .doFinally(ignore -> operator.close(requests))
+            .as(Operators::discardOnCancel)
+            .doOnSubscribe(it -> QueryLogger.logQuery(client.getContext(), query))
+            .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release)
+            .filter(PIPELINED_RESULT_FRAME_FILTER);
+    }
+
+    /**
+     * Return the {@link Codecs} to negotiate per-column result formats with or {@code null} if result format negotiation is disabled.
+     */
+    @Nullable
+    private static Codecs getResultFormatCodecs(ConnectionResources resources) {
+        PostgresqlConnectionConfiguration configuration = resources.getConfiguration();
+        return configuration.isAdaptiveResultFormats() && !configuration.isForceBinary() ? resources.getCodecs() : null;
+    }
+
+    /**
+     * Return the description to retain in the statement cache. Negotiates per-column result formats if {@code codecs} is not {@code null}.
+     */
+    private static CachedRowDescription getCacheableDescription(CachedRowDescription description, @Nullable Codecs codecs) {
+        return codecs != null ? CachedRowDescription.negotiateResultFormats(description, codecs) : description;
+    }
+
+    /**
+     * Return the result formats to request when binding a statement whose cached result description is {@code cachedDescription}.
+     */
+    private static Collection<Format> getResultFormats(@Nullable BackendMessage cachedDescription, boolean forceBinary) {
+
+        if (cachedDescription instanceof CachedRowDescription) {
+
+            List<Format> resultFormats = ((CachedRowDescription) cachedDescription).getResultFormats();
+            if (resultFormats != null) {
+                return resultFormats;
+            }
+        }
+
+        return ExtendedQueryMessageFlow.resultFormat(forceBinary);
+    }
+
     private static BiConsumer<BackendMessage, SynchronousSink<BackendMessage>> handleReprepare(Sinks.Many<FrontendMessage> requests, ExtendedFlowOperator operator, MessageFactory messageFactory) {
         AtomicBoolean reprepared = new AtomicBoolean();
 
@@ -324,13 +413,23 @@ class ExtendedFlowDelegate {
 
         private final boolean forceBinary;
 
-        public ExtendedFlowOperator(String sql, Binding binding, StatementCache cache, List<ByteBuf> values, String portal, boolean forceBinary) {
+        @Nullable
+        private final Codecs resultFormatCodecs;
+
+        /**
+         * Cached result description to emit in place of {@link BindComplete} if the current round did not describe the portal.
+         */
+        @Nullable
+        private volatile BackendMessage cachedDescription;
+
+        public ExtendedFlowOperator(String sql, Binding binding, StatementCache cache, List<ByteBuf> values, String portal, boolean forceBinary, @Nullable Codecs resultFormatCodecs) {
             this.sql = sql;
             this.binding = binding;
             this.cache = cache;
             this.values = values;
             this.portal = portal;
             this.forceBinary = forceBinary;
+            this.resultFormatCodecs = resultFormatCodecs;
         }
 
         public void close(Sinks.Many<FrontendMessage> requests) {
@@ -349,6 +448,38 @@ class ExtendedFlowDelegate {
             this.cache.put(this.binding, this.sql, getStatementName());
         }
 
+        /**
+         * Reconcile the result description of the statement with the statement cache. If the portal was not described, the cached description is emitted in place of {@link BindComplete}
+         * (which is not propagated to results) so that downstream consumers observe the same message sequence as with {@link Describe}. If the portal was described, the description is cached
+         * for subsequent executions.
+         *
+         * @param message the backend message
+         * @return the message to propagate
+         */
+        public BackendMessage applyDescription(BackendMessage message) {
+
+            BackendMessage cachedDescription = this.cachedDescription;
+
+            if (message == BindComplete.INSTANCE) {
+                return cachedDescription != null ? cachedDescription : message;
+            }
+
+            if (cachedDescription == null) {
+
+                if (message instanceof RowDescription) {
+                    CachedRowDescription description = new CachedRowDescription((RowDescription) message);
+                    this.cache.putDescription(this.binding, this.sql, getCacheableDescription(description, this.resultFormatCodecs));
+                    return description;
+                }
+
+                if (message == NoData.INSTANCE) {
+                    this.cache.putDescription(this.binding, this.sql, message);
+                }
+            }
+
+            return message;
+        }
+
         public Predicate<BackendMessage> takeUntil() {
             return this;
         }
@@ -380,7 +511,8 @@ class ExtendedFlowDelegate {
             incrementAndGet();
             List<FrontendMessage.DirectEncoder> messagesToSend = new ArrayList<>(6);
 
-            if (isPrepareRequired()) {
+            boolean prepareRequired = isPrepareRequired();
+            if (prepareRequired) {
                 messagesToSend.add(new Parse(getStatementName(), this.binding.getParameterTypes(), this.sql));
             }
 
@@ -389,10 +521,15 @@ class ExtendedFlowDelegate {
                 value.touch("ExtendedFlowOperator").retain();
             }
 
-            Bind bind = new Bind(this.portal, this.binding.getParameterFormats(), this.values, ExtendedQueryMessageFlow.resultFormat(this.forceBinary), getStatementName());
+            BackendMessage cachedDescription = prepareRequired ? null : this.cache.getDescription(this.binding, this.sql);
+            this.cachedDescription = cachedDescription;
+
+            Bind bind = new Bind(this.portal, this.binding.getParameterFormats(), this.values, getResultFormats(cachedDescription, this.forceBinary), getStatementName());
 
             messagesToSend.add(bind);
-            messagesToSend.add(new Describe(this.portal, PORTAL));
+            if (cachedDescription == null) {
+                messagesToSend.add(new Describe(this.portal, PORTAL));
+            }
             messagesToSend.addAll(append);
 
             return messagesToSend;
@@ -400,4 +537,222 @@ class ExtendedFlowDelegate {
 
     }
 
+    /**
+     * Operator to encapsulate a pipelined execution of multiple bindings. Bindings are grouped by their parameter types as each group maps to its own prepared statement. Subclasses
+     * {@link AtomicInteger} to capture the number of ReadyForQuery frames.
+     */
+    static class PipelinedFlowOperator extends AtomicInteger implements Predicate<BackendMessage> {
+
+        private final String sql;
+
+        private final List<Binding> bindings;
+
+        private final StatementCache cache;
+
+        private final List<List<ByteBuf>> values;
+
+        private final boolean forceBinary;
+
+        @Nullable
+        private final Codecs resultFormatCodecs;
+
+        private final List<StatementGroup> groups = new ArrayList<>();
+
+        private final StatementGroup[] bindingGroups;
+
+        private final Queue<StatementGroup> pendingParses = new ArrayDeque<>();
+
+        /**
+         * Index of the binding whose {@link BindComplete} was received last within the current round.
+         */
+        private volatile int current = -1;
+
+        PipelinedFlowOperator(String sql, List<Binding> bindings, StatementCache cache, List<List<ByteBuf>> values, boolean forceBinary, @Nullable Codecs resultFormatCodecs) {
+            this.sql = sql;
+            this.bindings = bindings;
+            this.cache = cache;
+            this.values = values;
+            this.forceBinary = forceBinary;
+            this.resultFormatCodecs = resultFormatCodecs;
+            this.bindingGroups = new StatementGroup[bindings.size()];
+        }
+
+        public void close(Sinks.Many<FrontendMessage> requests) {
+            requests.emitComplete(Sinks.EmitFailureHandler.FAIL_FAST);
+            this.values.forEach(it -> it.forEach(ReferenceCountUtil::release));
+        }
+
+        /**
+         * Reconcile parse completions and result descriptions with the statement cache. Emits the description of the statement group in place of {@link BindComplete} for bindings that were
+         * not described so that each binding yields the same message sequence.
+         *
+         * @param message the backend message
+         * @return the message to propagate
+         */
+        public BackendMessage applyDescription(BackendMessage message) {
+
+            if (message == ParseComplete.INSTANCE) {
+                StatementGroup group = this.pendingParses.poll();
+                if (group != null) {
+                    this.cache.put(group.binding, this.sql, group.name);
+                }
+                return message;
+            }
+
+            if (message == BindComplete.INSTANCE) {
+                int current = ++this.current;
+                StatementGroup group = this.bindingGroups[current];
+                return group.describer != current && group.description != null ? group.description : message;
+            }
+
+            if (this.current == -1) {
+                return message;
+            }
+
+            StatementGroup group = this.bindingGroups[this.current];
+            if (group.describer != this.current) {
+                return message;
+            }
+
+            if (message instanceof RowDescription && !(message instanceof CachedRowDescription)) {
+                CachedRowDescription description = new CachedRowDescription((RowDescription) message);
+                group.description = description;
+                this.cache.putDescription(group.binding, this.sql, getCacheableDescription(description, this.resultFormatCodecs));
+                return description;
+            }
+
+            if (message == NoData.INSTANCE) {
+                group.description = message;
+                this.cache.putDescription(group.binding, this.sql, message);
+            }
+
+            return message;
+        }
+
+        /**
+         * Re-prepare and resend the entire round if the server rejected a cached statement before binding any value. Errors after the first {@link BindComplete} are propagated to the
+         * result of the failing binding.
+         *
+         * @param requests the request sink
+         * @return the handler
+         */
+        public BiConsumer<BackendMessage, SynchronousSink<BackendMessage>> handleReprepare(Sinks.Many<FrontendMessage> requests) {
+            AtomicBoolean reprepared = new AtomicBoolean();
+
+            return (message, sink) -> {
+
+                if (message instanceof ErrorResponse && this.current == -1 && requiresReprepare((ErrorResponse) message) && reprepared.compareAndSet(false, true)) {
+
+                    this.cache.evict(this.sql);
+                    requests.emitNext(new CompositeFrontendMessage(getMessages()), Sinks.EmitFailureHandler.FAIL_FAST);
+                    return;
+                }
+
+                sink.next(message);
+            };
+        }
+
+        public Predicate<BackendMessage> takeUntil() {
+            return this;
+        }
+
+        @Override
+        public boolean test(BackendMessage backendMessage) {
+            if (backendMessage instanceof ReadyForQuery) {
+                return decrementAndGet() <= 0;
+            }
+
+            return false;
+        }
+
+        public List<FrontendMessage.DirectEncoder> getMessages() {
+            incrementAndGet();
+            this.groups.clear();
+            this.pendingParses.clear();
+            this.current = -1;
+
+            List<FrontendMessage.DirectEncoder> messagesToSend = new ArrayList<>(this.bindings.size() * 3 + 2);
+            StatementGroup unnamed = null;
+
+            for (int i = 0; i < this.bindings.size(); i++) {
+
+                Binding binding = this.bindings.get(i);
+                StatementGroup group = getGroup(binding);
+                this.bindingGroups[i] = group;
+
+                // the unnamed statement is replaced by each Parse so it must be parsed again when switching groups
+                boolean isUnnamed = group.name.isEmpty();
+                if (group.prepare && (isUnnamed ? unnamed != group : !group.parsed)) {
+                    messagesToSend.add(new Parse(group.name, binding.getParameterTypes(), this.sql));
+                    this.pendingParses.add(group);
+                    group.parsed = true;
+                    if (isUnnamed) {
+                        unnamed = group;
+                    }
+                }
+
+                List<ByteBuf> values = this.values.get(i);
+                for (ByteBuf value : values) {
+                    value.readerIndex(0);
+                    value.touch("PipelinedFlowOperator").retain();
+                }
+
+                messagesToSend.add(new Bind("", binding.getParameterFormats(), values, getResultFormats(group.description, this.forceBinary), group.name));
+
+                if (group.description == null && group.describer == -1) {
+                    group.describer = i;
+                    messagesToSend.add(new Describe("", PORTAL));
+                }
+
+                messagesToSend.add(new Execute("", NO_LIMIT));
+            }
+
+            messagesToSend.add(Sync.INSTANCE);
+            return messagesToSend;
+        }
+
+        private StatementGroup getGroup(Binding binding) {
+
+            int[] parameterTypes = binding.getParameterTypes();
+            for (StatementGroup group : this.groups) {
+                if (Arrays.equals(group.binding.getParameterTypes(), parameterTypes)) {
+                    return group;
+                }
+            }
+
+            boolean prepare = this.cache.requiresPrepare(binding, this.sql);
+            StatementGroup group = new StatementGroup(binding, this.cache.getName(binding, this.sql), prepare, prepare ? null : this.cache.getDescription(binding, this.sql));
+            this.groups.add(group);
+            return group;
+        }
+
+    }
+
+    /**
+     * Bindings sharing the same parameter types and therefore the same prepared statement.
+     */
+    static final class StatementGroup {
+
+        final Binding binding;
+
+        final String name;
+
+        final boolean prepare;
+
+        boolean parsed;
+
+        @Nullable
+        volatile BackendMessage description;
+
+        int describer = -1;
+
+        StatementGroup(Binding binding, String name, boolean prepare, @Nullable BackendMessage description) {
+            this.binding = binding;
+            this.name = name;
+            this.prepare = prepare;
+            this.description = description;
+        }
+
+    }
+
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.util.Assert;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Endpoint of a single cluster node consisting of its host and port. The endpoint caches the resolved {@link InetSocketAddress} for a configurable time-to-live so that connecting to the node does
+ * not require a resolver round-trip.
+ * <p>
+ * Resolution never happens on the calling thread. If no resolved address is cached (or the cached address has expired), {@link #getSocketAddress()} returns an unresolved address to let the
+ * transport resolve the host and schedules an asynchronous resolution to populate the cache for subsequent calls.
+ */
+final class HostEndpoint {
+
+    private static final Logger logger = Loggers.getLogger(HostEndpoint.class);
+
+    private final String host;
+
+    private final int port;
+
+    private final long ttlNanos;
+
+    private final InetSocketAddress unresolved;
+
+    private final AtomicBoolean resolving = new AtomicBoolean();
+
+    @Nullable
+    private volatile ResolvedAddress resolved;
+
+    HostEndpoint(String host, int port, Duration ttl) {
+        this.host = Assert.requireNonNull(host, "host must not be null");
+        Assert.isTrue(port > 0 && port <= 65535, "port must be a valid port number");
+        Assert.requireNonNull(ttl, "ttl must not be null");
+        Assert.isTrue(!ttl.isNegative(), "ttl must not be negative");
+
+        this.port = port;
+        this.ttlNanos = ttl.toNanos();
+        this.unresolved = InetSocketAddress.createUnresolved(host, port);
+    }
+
+    String getHost() {
+        return this.host;
+    }
+
+    int getPort() {
+        return this.port;
+    }
+
+    /**
+     * Return the address to connect to. Returns the cached resolved address if it has not expired, otherwise an unresolved address while a resolution is scheduled in the background.
+     *
+     * @return the address to connect to
+     */
+    SocketAddress getSocketAddress() {
+
+        ResolvedAddress resolved = this.resolved;
+        if (resolved != null && !resolved.isExpired(System.nanoTime())) {
+            return resolved.address;
+        }
+
+        scheduleResolution();
+        return this.unresolved;
+    }
+
+    /**
+     * Drop the cached resolved address, typically because connecting to it failed.
+     */
+    void invalidate() {
+        this.resolved = null;
+    }
+
+    /**
+     * Resolve the host on the calling thread and cache the result. A failed resolution clears the cached address.
+     */
+    void resolve() {
+
+        try {
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getByName(this.host), this.port);
+            this.resolved = new ResolvedAddress(address, System.nanoTime() + this.ttlNanos);
+        } catch (UnknownHostException e) {
+            logger.debug("Cannot resolve {}", this.host, e);
+            this.resolved = null;
+        }
+    }
+
+    private void scheduleResolution() {
+
+        if (!this.resolving.compareAndSet(false, true)) {
+            return;
+        }
+
+        Mono.fromRunnable(this::resolve)
+            .subscribeOn(Schedulers.boundedElastic())
+            .doFinally(signal -> this.resolving.set(false))
+            .subscribe(null, e -> logger.debug("Cannot resolve {}", this.host, e));
+    }
+
+    @Override
+    public String toString() {
+        return "HostEndpoint{" +
+            "host='" + this.host + '\'' +
+            ", port=" + this.port +
+            ", resolved=" + this.resolved +
+            '}';
+    }
+
+    static final class ResolvedAddress {
+
+        final InetSocketAddress address;
+
+        final long expiresAt;
+
+        ResolvedAddress(InetSocketAddress address, long expiresAt) {
+            this.address = address;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - this.expiresAt >= 0;
+        }
+
+        @Override
+        public String toString() {
+            return this.address.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.util.Assert;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent table tracking the number of open connections per host. Host selection and connection counting are lock-free: counters are per-host atomics and the set of eligible hosts is
+ * published as an immutable array that is replaced on refresh (copy-on-write). Only updates to the eligible host set synchronize.
+ * <p>
+ * Hosts are selected by their connection count. Small host sets are scanned completely to find the least-loaded host (ties are broken randomly). Larger host sets use
+ * power-of-two-choices to keep selection {@code O(1)}.
+ */
+final class HostLoadTable {
+
+    /**
+     * Host sets up to this size are scanned completely to select the least-loaded host.
+     */
+    static final int EXACT_SCAN_THRESHOLD = 16;
+
+    private static final HostLoad[] EMPTY = new HostLoad[0];
+
+    private final Map<String, HostLoad> loads = new ConcurrentHashMap<>();
+
+    private volatile HostLoad[] candidates = EMPTY;
+
+    /**
+     * Replace the set of eligible hosts. Connection counts of hosts that were known before are retained, hosts that are no longer part of {@code hosts} are dropped.
+     *
+     * @param hosts    the current hosts
+     * @param eligible predicate to filter hosts that may be selected
+     */
+    synchronized void update(Collection<String> hosts, Predicate<String> eligible) {
+        Assert.requireNonNull(hosts, "hosts must not be null");
+
+        List<HostLoad> candidates = new ArrayList<>(hosts.size());
+        for (String host : hosts) {
+            if (host != null && eligible.test(host)) {
+                HostLoad load = this.loads.computeIfAbsent(host, HostLoad::new);
+                if (!candidates.contains(load)) {
+                    candidates.add(load);
+                }
+            }
+        }
+
+        this.loads.keySet().retainAll(hosts);
+        this.candidates = candidates.toArray(EMPTY);
+    }
+
+    /**
+     * Remove {@code host} from the set of eligible hosts and reset its connection count.
+     *
+     * @param host the host to remove
+     */
+    synchronized void remove(String host) {
+
+        HostLoad load = this.loads.remove(host);
+        if (load == null) {
+            return;
+        }
+
+        HostLoad[] current = this.candidates;
+        List<HostLoad> candidates = new ArrayList<>(current.length);
+        for (HostLoad candidate : current) {
+            if (candidate != load) {
+                candidates.add(candidate);
+            }
+        }
+
+        this.candidates = candidates.toArray(EMPTY);
+    }
+
+    boolean isEmpty() {
+        return this.candidates.length == 0;
+    }
+
+    /**
+     * Select the least-loaded eligible host and account for a new connection to it.
+     *
+     * @return the selected host or {@code null} if there is no eligible host
+     */
+    @Nullable
+    String acquire() {
+        return acquire(Collections.emptySet());
+    }
+
+    /**
+     * Select the least-loaded eligible host that is not contained in {@code excluded} and account for a new connection to it.
+     *
+     * @param excluded hosts that must not be selected
+     * @return the selected host or {@code null} if there is no eligible host
+     */
+    @Nullable
+    String acquire(Set<String> excluded) {
+
+        HostLoad[] hosts = this.candidates;
+        HostLoad chosen = null;
+
+        if (hosts.length > EXACT_SCAN_THRESHOLD) {
+            chosen = powerOfTwoChoices(hosts, excluded);
+        }
+
+        if (chosen == null) {
+            chosen = leastLoaded(hosts, excluded);
+        }
+
+        if (chosen == null) {
+            return null;
+        }
+
+        chosen.connections.incrementAndGet();
+        return chosen.host;
+    }
+
+    /**
+     * Adjust the connection count for {@code host}. Counts never drop below zero. Unknown hosts are ignored.
+     *
+     * @param host  the host
+     * @param delta the count delta
+     */
+    void add(String host, int delta) {
+
+        HostLoad load = this.loads.get(host);
+        if (load == null) {
+            return;
+        }
+
+        if (delta >= 0) {
+            load.connections.addAndGet(delta);
+            return;
+        }
+
+        int current;
+        do {
+            current = load.connections.get();
+            if (current == 0) {
+                return;
+            }
+        } while (!load.connections.compareAndSet(current, Math.max(0, current + delta)));
+    }
+
+    /**
+     * Return the connection count for {@code host}.
+     *
+     * @param host the host
+     * @return the connection count or {@code 0} if the host is unknown
+     */
+    int getConnectionCount(String host) {
+        HostLoad load = this.loads.get(host);
+        return load == null ? 0 : load.connections.get();
+    }
+
+    /**
+     * Return a point-in-time view of the connection counts of all known hosts.
+     *
+     * @return host to connection count mapping
+     */
+    Map<String, Integer> getConnectionCounts() {
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        this.loads.forEach((host, load) -> counts.put(host, load.connections.get()));
+        return counts;
+    }
+
+    /**
+     * Return a point-in-time view of the connection counts of all hosts that are eligible for selection.
+     *
+     * @return host to connection count mapping
+     */
+    Map<String, Integer> getEligibleConnectionCounts() {
+
+        HostLoad[] hosts = this.candidates;
+        Map<String, Integer> counts = new LinkedHashMap<>(hosts.length * 2);
+        for (HostLoad load : hosts) {
+            counts.put(load.host, load.connections.get());
+        }
+        return counts;
+    }
+
+    @Nullable
+    private static HostLoad leastLoaded(HostLoad[] hosts, Set<String> excluded) {
+
+        if (hosts.length == 0) {
+            return null;
+        }
+
+        // start at a random offset so that ties are broken randomly without allocating
+        int offset = hosts.length == 1 ? 0 : ThreadLocalRandom.current().nextInt(hosts.length);
+        HostLoad chosen = null;
+        int least = Integer.MAX_VALUE;
+
+        for (int i = 0; i < hosts.length; i++) {
+            HostLoad candidate = hosts[(offset + i) % hosts.length];
+            int load = candidate.connections.get();
+            if (load < least && !excluded.contains(candidate.host)) {
+                least = load;
+                chosen = candidate;
+            }
+        }
+
+        return chosen;
+    }
+
+    @Nullable
+    private static HostLoad powerOfTwoChoices(HostLoad[] hosts, Set<String> excluded) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(hosts.length);
+        int second = random.nextInt(hosts.length - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        HostLoad a = hosts[first];
+        HostLoad b = hosts[second];
+
+        if (excluded.contains(a.host)) {
+            return excluded.contains(b.host) ? null : b;
+        }
+
+        if (excluded.contains(b.host)) {
+            return a;
+        }
+
+        return a.connections.get() <= b.connections.get() ? a : b;
+    }
+
+    @Override
+    public String toString() {
+        return "HostLoadTable" + getConnectionCounts();
+    }
+
+    private static final class HostLoad {
+
+        final String host;
+
+        final AtomicInteger connections = new AtomicInteger();
+
+        HostLoad(String host) {
+            this.host = host;
+        }
+
+    }
+
+}
@@ -17,7 +17,9 @@
 package io.r2dbc.postgresql;
 
 import io.r2dbc.postgresql.client.Binding;
+import io.r2dbc.postgresql.message.backend.BackendMessage;
 import io.r2dbc.postgresql.util.Assert;
+import reactor.util.annotation.Nullable;
 
 import java.util.Arrays;
 import java.util.Map;
@@ -27,7 +29,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 final class IndefiniteStatementCache implements StatementCache {
 
-    private final Map<String, Map<int[], String>> cache = new ConcurrentHashMap<>();
+    private final Map<String, Map<int[], CachedStatement>> cache = new ConcurrentHashMap<>();
 
     private final AtomicInteger counter = new AtomicInteger();
 
@@ -39,14 +41,14 @@ final class IndefiniteStatementCache implements StatementCache {
         Assert.requireNonNull(binding, "binding must not be null");
         Assert.requireNonNull(sql, "sql must not be null");
 
-        Map<int[], String> typedMap = getTypeMap(sql);
-        String name = typedMap.get(binding.getParameterTypes());
+        Map<int[], CachedStatement> typedMap = getTypeMap(sql);
+        CachedStatement statement = typedMap.get(binding.getParameterTypes());
 
-        if (name == null) {
-            name = "S_" + this.counter.getAndIncrement();
+        if (statement == null) {
+            return "S_" + this.counter.getAndIncrement();
         }
 
-        return name;
+        return statement.name;
     }
 
     @Override
@@ -55,7 +57,7 @@ final class IndefiniteStatementCache implements StatementCache {
         Assert.requireNonNull(binding, "binding must not be null");
         Assert.requireNonNull(sql, "sql must not be null");
 
-        Map<int[], String> typedMap = getTypeMap(sql);
+        Map<int[], CachedStatement> typedMap = getTypeMap(sql);
         return !typedMap.containsKey(binding.getParameterTypes());
     }
 
@@ -65,9 +67,9 @@ final class IndefiniteStatementCache implements StatementCache {
         Assert.requireNonNull(binding, "binding must not be null");
         Assert.requireNonNull(sql, "sql must not be null");
 
-        Map<int[], String> typedMap = getTypeMap(sql);
+        Map<int[], CachedStatement> typedMap = getTypeMap(sql);
 
-        typedMap.put(binding.getParameterTypes(), name);
+        typedMap.put(binding.getParameterTypes(), new CachedStatement(name));
     }
 
     @Override
@@ -75,7 +77,28 @@ final class IndefiniteStatementCache implements StatementCache {
         this.cache.remove(sql);
     }
 
-    private Map<int[], String> getTypeMap(String sql) {
+    @Override
+    @Nullable
+    public BackendMessage getDescription(Binding binding, String sql) {
+
+        Map<int[], CachedStatement> typedMap = this.cache.get(sql);
+        CachedStatement statement = typedMap != null ? typedMap.get(binding.getParameterTypes()) : null;
+
+        return statement != null ? statement.description : null;
+    }
+
+    @Override
+    public void putDescription(Binding binding, String sql, BackendMessage description) {
+
+        Map<int[], CachedStatement> typedMap = this.cache.get(sql);
+        CachedStatement statement = typedMap != null ? typedMap.get(binding.getParameterTypes()) : null;
+
+        if (statement != null) {
+            statement.description = description;
+        }
+    }
+
+    private Map<int[], CachedStatement> getTypeMap(String sql) {
 
         return this.cache.computeIfAbsent(sql, ignore -> new TreeMap<>((o1, o2) -> {
 
@@ -0,0 +1,694 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.util.Assert;
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Connection pool for load-balanced {@link PostgresqlConnectionFactory connection factories}. Pooled connections are kept in per-host sub-pools so that the pool knows which node each connection
+ * belongs to:
+ * <ul>
+ *     <li>Acquiring a connection prefers idle connections to hosts in the most preferred placement (see {@code topologyKeys}). If the only idle connections point to a less preferred placement and
+ *     the pool has capacity left, a new connection is created instead, which the load balancer opens against the preferred placement.</li>
+ *     <li>A background task periodically refreshes the cluster topology and rebalances idle connections: connections to overloaded hosts (or hosts outside the preferred placement) are closed and
+ *     replaced by connections to the least-loaded host.</li>
+ *     <li>Connections to hosts that are no longer reported by {@code yb_servers()} are drained: idle connections are closed right away, acquired connections are closed on release.</li>
+ * </ul>
+ * Acquisitions are served in FIFO order. If the pool is exhausted, acquirers wait until a connection is released.
+ *
+ * @since 1.1
+ */
+public final class LoadBalancedConnectionPool implements ConnectionFactory, Closeable {
+
+    static final int DEFAULT_MAX_SIZE = 10;
+
+    static final Duration DEFAULT_REBALANCE_INTERVAL = Duration.ofSeconds(30);
+
+    /**
+     * Key of the sub-pool for connections that were not created through the load balancer.
+     */
+    private static final String UNKNOWN_HOST = "";
+
+    private static final Logger logger = Loggers.getLogger(LoadBalancedConnectionPool.class);
+
+    private final PostgresqlConnectionFactory connectionFactory;
+
+    /**
+     * Supplies the strategy of the factory's current load balancer. Read on each use as the factory may replace its load balancer when it is closed and used again.
+     */
+    private final Supplier<UniformLoadBalancerConnectionStrategy> connectionStrategy;
+
+    private final Mono<PostgresqlConnection> connectionSource;
+
+    private final Mono<Boolean> topologyRefresh;
+
+    private final int maxSize;
+
+    private final Map<String, HostPool> hostPools = new ConcurrentHashMap<>();
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of connections that are allocated (idle or acquired) or being created.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private final Disposable maintenance;
+
+    private volatile boolean closed;
+
+    private LoadBalancedConnectionPool(PostgresqlConnectionFactory connectionFactory, int maxSize, Duration rebalanceInterval) {
+        this(connectionFactory, () -> connectionFactory.getLoadBalancer().getStrategy(), Mono.defer(connectionFactory::create).cast(PostgresqlConnection.class),
+            Mono.defer(connectionFactory::refreshTopology), maxSize, rebalanceInterval);
+    }
+
+    /**
+     * Create a pool that obtains connections from {@code connectionSource} and refreshes the topology through {@code topologyRefresh}. Both publishers are subscribed to once per connection
+     * respectively per maintenance run.
+     */
+    LoadBalancedConnectionPool(PostgresqlConnectionFactory connectionFactory, Supplier<UniformLoadBalancerConnectionStrategy> connectionStrategy, Mono<PostgresqlConnection> connectionSource,
+                               Mono<Boolean> topologyRefresh, int maxSize, Duration rebalanceInterval) {
+        this.connectionFactory = connectionFactory;
+        this.connectionStrategy = connectionStrategy;
+        this.connectionSource = connectionSource;
+        this.topologyRefresh = topologyRefresh;
+        this.maxSize = maxSize;
+        this.maintenance = rebalanceInterval.isZero() ? Disposables.disposed() : Flux.interval(rebalanceInterval, rebalanceInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> maintain().onErrorResume(e -> {
+                logger.debug("Pool maintenance failed", e);
+                return Mono.empty();
+            }))
+            .subscribe();
+    }
+
+    /**
+     * Create a new {@link Builder} for a pool backed by {@code connectionFactory}.
+     *
+     * @param connectionFactory the load-balanced connection factory to create connections with
+     * @return the builder
+     * @throws IllegalArgumentException if {@code connectionFactory} is {@code null} or not configured for load balancing
+     */
+    public static Builder builder(PostgresqlConnectionFactory connectionFactory) {
+        Assert.requireNonNull(connectionFactory, "connectionFactory must not be null");
+        Assert.isTrue(connectionFactory.getConfiguration().isLoadBalanced(), "connectionFactory must be configured for load balancing");
+
+        return new Builder(connectionFactory);
+    }
+
+    @Override
+    public Mono<io.r2dbc.postgresql.api.PostgresqlConnection> create() {
+        return Mono.create(sink -> {
+
+            Waiter waiter = new Waiter(sink);
+            sink.onCancel(() -> {
+                waiter.cancel();
+                drain();
+            });
+
+            this.waiters.offer(waiter);
+            drain();
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return this.connectionFactory.getMetadata();
+    }
+
+    /**
+     * Close the pool. Idle connections are closed immediately, acquired connections are closed on release. Pending acquisitions fail.
+     *
+     * @return a {@link Mono} that completes once all idle connections are closed
+     */
+    @Override
+    public Mono<Void> close() {
+        return Mono.defer(() -> {
+
+            this.closed = true;
+            this.maintenance.dispose();
+            drain();
+
+            List<Mono<Void>> closes = new ArrayList<>();
+            for (HostPool hostPool : this.hostPools.values()) {
+                closeIdle(hostPool, Integer.MAX_VALUE, closes);
+            }
+
+            return Flux.fromIterable(closes).flatMap(close -> close).then();
+        });
+    }
+
+    /**
+     * Return the number of allocated connections (idle and acquired) per host.
+     *
+     * @return host to connection count mapping
+     */
+    Map<String, Integer> getAllocatedConnections() {
+
+        Map<String, Integer> allocated = new LinkedHashMap<>();
+        this.hostPools.forEach((host, hostPool) -> allocated.put(host, hostPool.allocated.get()));
+        return allocated;
+    }
+
+    /**
+     * Return the number of idle connections.
+     *
+     * @return the number of idle connections
+     */
+    int getIdleSize() {
+
+        int idle = 0;
+        for (HostPool hostPool : this.hostPools.values()) {
+            idle += hostPool.idleCount.get();
+        }
+        return idle;
+    }
+
+    /**
+     * Refresh the topology, drain sub-pools of hosts that left the cluster and rebalance idle connections.
+     */
+    Mono<Void> maintain() {
+        return this.topologyRefresh
+            .onErrorResume(e -> {
+                logger.debug("Cannot refresh topology", e);
+                return Mono.just(false);
+            })
+            .then(Mono.defer(() -> {
+                UniformLoadBalancerConnectionStrategy strategy = this.connectionStrategy.get();
+                drainRemovedHosts(strategy);
+                return rebalance(strategy);
+            }));
+    }
+
+    private void drainRemovedHosts(UniformLoadBalancerConnectionStrategy strategy) {
+
+        Set<String> clusterHosts = strategy.getClusterHosts();
+        if (clusterHosts.isEmpty()) {
+            return;
+        }
+
+        List<Mono<Void>> closes = new ArrayList<>();
+        for (HostPool hostPool : this.hostPools.values()) {
+
+            hostPool.draining = !hostPool.host.equals(UNKNOWN_HOST) && !clusterHosts.contains(hostPool.host);
+            if (hostPool.draining) {
+                closeIdle(hostPool, Integer.MAX_VALUE, closes);
+            }
+        }
+
+        closes.forEach(close -> close.subscribe(null, e -> logger.debug("Cannot close connection", e)));
+    }
+
+    /**
+     * Move idle connections away from overloaded hosts, one connection at a time so that each replacement observes the updated connection counts. The number of moves per run is bounded by the pool
+     * size.
+     */
+    private Mono<Void> rebalance(UniformLoadBalancerConnectionStrategy strategy) {
+        return Flux.range(0, this.maxSize)
+            .concatMap(i -> rebalanceOnce(strategy))
+            .takeWhile(Boolean::booleanValue)
+            .then();
+    }
+
+    private Mono<Boolean> rebalanceOnce(UniformLoadBalancerConnectionStrategy strategy) {
+        return Mono.defer(() -> {
+
+            if (this.closed) {
+                return Mono.just(false);
+            }
+
+            List<String> idleHosts = new ArrayList<>();
+            this.hostPools.forEach((host, hostPool) -> {
+                if (hostPool.idleCount.get() > 0 && !hostPool.draining) {
+                    idleHosts.add(host);
+                }
+            });
+
+            String source = selectRebalanceSource(strategy.hostLoads.getEligibleConnectionCounts(), host -> getPriority(strategy, host), idleHosts);
+            if (source == null) {
+                return Mono.just(false);
+            }
+
+            HostPool hostPool = this.hostPools.get(source);
+            PostgresqlConnection connection = hostPool != null ? hostPool.poll() : null;
+            if (connection == null) {
+                // acquired concurrently, re-evaluate
+                return Mono.just(true);
+            }
+
+            logger.debug("Rebalancing connection from {}", source);
+            return destroy(hostPool, connection).then(replenish()).thenReturn(true);
+        });
+    }
+
+    /**
+     * Select the host to move an idle connection away from. A host qualifies if it has an idle connection and either is not in the most preferred placement or has more than one connection more
+     * than the least-loaded host in its placement. Among qualifying hosts, the least preferred and then most loaded host is selected.
+     *
+     * @param loads      connection counts of the hosts eligible for new connections
+     * @param priorities placement priority per host, lower values are preferred
+     * @param idleHosts  hosts with idle connections
+     * @return the host to move a connection away from or {@code null} if the pool is balanced
+     */
+    @Nullable
+    static String selectRebalanceSource(Map<String, Integer> loads, ToIntFunction<String> priorities, Collection<String> idleHosts) {
+
+        if (loads.isEmpty()) {
+            return null;
+        }
+
+        int preferred = Integer.MAX_VALUE;
+        Map<Integer, Integer> leastLoadByPriority = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : loads.entrySet()) {
+            int priority = priorities.applyAsInt(entry.getKey());
+            preferred = Math.min(preferred, priority);
+            leastLoadByPriority.merge(priority, entry.getValue(), Math::min);
+        }
+
+        String source = null;
+        int sourcePriority = Integer.MIN_VALUE;
+        int sourceLoad = Integer.MIN_VALUE;
+
+        for (String host : idleHosts) {
+
+            Integer load = loads.get(host);
+
+            // hosts that are not eligible for new connections are treated as least preferred
+            int priority = load == null ? Integer.MAX_VALUE : priorities.applyAsInt(host);
+            int hostLoad = load == null ? Integer.MAX_VALUE : load;
+
+            boolean imbalanced = load == null || priority > preferred || hostLoad - leastLoadByPriority.get(priority) > 1;
+            if (imbalanced && (priority > sourcePriority || (priority == sourcePriority && hostLoad > sourceLoad))) {
+                source = host;
+                sourcePriority = priority;
+                sourceLoad = hostLoad;
+            }
+        }
+
+        return source;
+    }
+
+    /**
+     * Create a new idle connection if the pool has capacity left.
+     */
+    private Mono<Void> replenish() {
+        return Mono.defer(() -> {
+
+            if (this.closed || !tryReserve()) {
+                return Mono.empty();
+            }
+
+            return createConnection()
+                .doOnNext(connection -> {
+                    HostPool hostPool = getHostPool(connection);
+                    hostPool.allocated.incrementAndGet();
+                    release(hostPool, connection).subscribe(null, e -> logger.debug("Cannot release connection", e));
+                })
+                .doOnError(e -> {
+                    this.size.decrementAndGet();
+                    drain();
+                })
+                .onErrorResume(e -> Mono.empty())
+                .then();
+        });
+    }
+
+    /**
+     * Match pending acquisitions with idle connections or pool capacity. Invocations are serialized, concurrent invocations cause another pass of the invocation in progress.
+     */
+    private void drain() {
+
+        if (this.wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            for (; ; ) {
+
+                Waiter waiter = this.waiters.peek();
+                if (waiter == null) {
+                    break;
+                }
+
+                if (waiter.isDone()) {
+                    this.waiters.poll();
+                    continue;
+                }
+
+                if (this.closed) {
+                    this.waiters.poll();
+                    waiter.error(new IllegalStateException("Connection pool is closed"));
+                    continue;
+                }
+
+                UniformLoadBalancerConnectionStrategy strategy = this.connectionStrategy.get();
+                HostPool candidate = selectIdle(strategy);
+                boolean preferNewConnection = candidate == null || getPriority(strategy, candidate.host) > getPreferredPriority(strategy);
+
+                if (preferNewConnection && tryReserve()) {
+                    this.waiters.poll();
+                    allocate(waiter);
+                    continue;
+                }
+
+                if (candidate == null) {
+                    break;
+                }
+
+                PostgresqlConnection connection = candidate.poll();
+                if (connection == null) {
+                    continue;
+                }
+
+                if (!connection.getClient().isConnected()) {
+                    destroy(candidate, connection).subscribe(null, e -> logger.debug("Cannot close connection", e));
+                    continue;
+                }
+
+                this.waiters.poll();
+                if (!waiter.complete(new PooledConnection(this, candidate, connection))) {
+                    candidate.offer(connection);
+                }
+            }
+
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void allocate(Waiter waiter) {
+        createConnection().subscribe(connection -> {
+
+            HostPool hostPool = getHostPool(connection);
+            hostPool.allocated.incrementAndGet();
+
+            if (!waiter.complete(new PooledConnection(this, hostPool, connection))) {
+                release(hostPool, connection).subscribe(null, e -> logger.debug("Cannot release connection", e));
+            }
+        }, e -> {
+            this.size.decrementAndGet();
+            waiter.error(e);
+            drain();
+        });
+    }
+
+    private Mono<PostgresqlConnection> createConnection() {
+        return this.connectionSource;
+    }
+
+    /**
+     * Return {@code connection} to its sub-pool. Connections with an open transaction are rolled back. Connections that are broken, belong to a draining sub-pool or are released after the pool was
+     * closed are closed.
+     */
+    Mono<Void> release(HostPool hostPool, PostgresqlConnection connection) {
+        return Mono.defer(() -> {
+
+            if (this.closed || hostPool.draining || !connection.getClient().isConnected()) {
+                return destroy(hostPool, connection);
+            }
+
+            Mono<Void> reset = connection.isAutoCommit() ? Mono.empty() : connection.rollbackTransaction();
+
+            return reset.then(Mono.fromRunnable(() -> {
+                hostPool.offer(connection);
+                drain();
+            })).onErrorResume(e -> destroy(hostPool, connection)).then();
+        });
+    }
+
+    private Mono<Void> destroy(HostPool hostPool, PostgresqlConnection connection) {
+
+        // closing releases the host's connection count before a replacement is allocated
+        Mono<Void> close = connection.close();
+
+        hostPool.allocated.decrementAndGet();
+        this.size.decrementAndGet();
+
+        if (hostPool.draining && hostPool.allocated.get() == 0) {
+            this.hostPools.remove(hostPool.host, hostPool);
+        }
+
+        drain();
+        return close.onErrorResume(e -> Mono.empty());
+    }
+
+    private void closeIdle(HostPool hostPool, int count, List<Mono<Void>> closes) {
+
+        for (int i = 0; i < count; i++) {
+
+            PostgresqlConnection connection = hostPool.poll();
+            if (connection == null) {
+                return;
+            }
+            closes.add(destroy(hostPool, connection));
+        }
+    }
+
+    private boolean tryReserve() {
+
+        for (; ; ) {
+            int current = this.size.get();
+            if (current >= this.maxSize) {
+                return false;
+            }
+            if (this.size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Select the sub-pool to take an idle connection from: the most preferred placement first, then the sub-pool with the most idle connections.
+     */
+    @Nullable
+    private HostPool selectIdle(UniformLoadBalancerConnectionStrategy strategy) {
+
+        HostPool selected = null;
+        int selectedPriority = Integer.MAX_VALUE;
+        int selectedIdle = 0;
+
+        for (HostPool hostPool : this.hostPools.values()) {
+
+            int idle = hostPool.idleCount.get();
+            if (idle == 0 || hostPool.draining) {
+                continue;
+            }
+
+            int priority = getPriority(strategy, hostPool.host);
+            if (selected == null || priority < selectedPriority || (priority == selectedPriority && idle > selectedIdle)) {
+                selected = hostPool;
+                selectedPriority = priority;
+                selectedIdle = idle;
+            }
+        }
+
+        return selected;
+    }
+
+    private HostPool getHostPool(PostgresqlConnection connection) {
+
+        String host = connection.getHostConnectedTo();
+        return this.hostPools.computeIfAbsent(host == null ? UNKNOWN_HOST : host, HostPool::new);
+    }
+
+    private static int getPriority(UniformLoadBalancerConnectionStrategy strategy, String host) {
+        return strategy.hostToPriorityMap.getOrDefault(host, Integer.MAX_VALUE);
+    }
+
+    private static int getPreferredPriority(UniformLoadBalancerConnectionStrategy strategy) {
+
+        int preferred = Integer.MAX_VALUE;
+        for (Integer priority : strategy.hostToPriorityMap.values()) {
+            preferred = Math.min(preferred, priority);
+        }
+        return preferred;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadBalancedConnectionPool{" +
+            "connectionFactory=" + this.connectionFactory +
+            ", maxSize=" + this.maxSize +
+            ", allocated=" + getAllocatedConnections() +
+            '}';
+    }
+
+    /**
+     * Builder for {@link LoadBalancedConnectionPool}.
+     */
+    public static final class Builder {
+
+        private final PostgresqlConnectionFactory connectionFactory;
+
+        private int maxSize = DEFAULT_MAX_SIZE;
+
+        private Duration rebalanceInterval = DEFAULT_REBALANCE_INTERVAL;
+
+        private Builder(PostgresqlConnectionFactory connectionFactory) {
+            this.connectionFactory = connectionFactory;
+        }
+
+        /**
+         * Configure the maximum number of connections held by the pool. Defaults to {@code 10}.
+         *
+         * @param maxSize the maximum pool size
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code maxSize} is less than {@code 1}
+         */
+        public Builder maxSize(int maxSize) {
+            Assert.isTrue(maxSize > 0, "maxSize must be greater than zero");
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Configure the interval at which the topology is refreshed and idle connections are rebalanced. {@link Duration#ZERO} disables background maintenance. Defaults to {@code 30} seconds.
+         *
+         * @param rebalanceInterval the maintenance interval
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code rebalanceInterval} is {@code null} or negative
+         */
+        public Builder rebalanceInterval(Duration rebalanceInterval) {
+            Assert.requireNonNull(rebalanceInterval, "rebalanceInterval must not be null");
+            Assert.isTrue(!rebalanceInterval.isNegative(), "rebalanceInterval must not be negative");
+            this.rebalanceInterval = rebalanceInterval;
+            return this;
+        }
+
+        /**
+         * Returns a configured {@link LoadBalancedConnectionPool}.
+         *
+         * @return a configured {@link LoadBalancedConnectionPool}
+         */
+        public LoadBalancedConnectionPool build() {
+            return new LoadBalancedConnectionPool(this.connectionFactory, this.maxSize, this.rebalanceInterval);
+        }
+
+    }
+
+    /**
+     * Connections to a single host.
+     */
+    static final class HostPool {
+
+        final String host;
+
+        /**
+         * Number of connections to {@link #host} owned by the pool, idle or acquired.
+         */
+        final AtomicInteger allocated = new AtomicInteger();
+
+        final AtomicInteger idleCount = new AtomicInteger();
+
+        private final Deque<PostgresqlConnection> idle = new ConcurrentLinkedDeque<>();
+
+        volatile boolean draining;
+
+        HostPool(String host) {
+            this.host = host;
+        }
+
+        @Nullable
+        PostgresqlConnection poll() {
+
+            PostgresqlConnection connection = this.idle.pollFirst();
+            if (connection != null) {
+                this.idleCount.decrementAndGet();
+            }
+            return connection;
+        }
+
+        void offer(PostgresqlConnection connection) {
+
+            // LIFO to keep recently used connections warm
+            this.idle.offerFirst(connection);
+            this.idleCount.incrementAndGet();
+        }
+
+    }
+
+    /**
+     * A pending acquisition.
+     */
+    static final class Waiter {
+
+        private final MonoSink<io.r2dbc.postgresql.api.PostgresqlConnection> sink;
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        Waiter(MonoSink<io.r2dbc.postgresql.api.PostgresqlConnection> sink) {
+            this.sink = sink;
+        }
+
+        boolean isDone() {
+            return this.done.get();
+        }
+
+        void cancel() {
+            this.done.set(true);
+        }
+
+        boolean complete(io.r2dbc.postgresql.api.PostgresqlConnection connection) {
+
+            if (this.done.compareAndSet(false, true)) {
+                this.sink.success(connection);
+                return true;
+            }
+            return false;
+        }
+
+        void error(Throwable e) {
+            if (this.done.compareAndSet(false, true)) {
+                this.sink.error(e);
+            }
+        }
+
+    }
+
+}
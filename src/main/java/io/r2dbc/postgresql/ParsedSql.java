@@ -16,11 +16,15 @@
 
 package io.r2dbc.postgresql;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
-class ParsedSql {
+/**
+ * Immutable result of {@link PostgresqlSqlParser#parse(String) parsing} a SQL string. Instances can be safely shared across threads.
+ */
+final class ParsedSql {
 
     private final String sql;
 
@@ -32,7 +36,7 @@ class ParsedSql {
 
     public ParsedSql(String sql, List<Statement> statements) {
         this.sql = sql;
-        this.statements = statements;
+        this.statements = Collections.unmodifiableList(statements);
         this.statementCount = statements.size();
         this.parameterCount = getParameterCount(statements);
     }
@@ -76,7 +80,7 @@ class ParsedSql {
         return false;
     }
 
-    static class Token {
+    static final class Token {
 
         private final TokenType type;
 
@@ -129,14 +133,14 @@ class ParsedSql {
 
     }
 
-    static class Statement {
+    static final class Statement {
 
         private final List<Token> tokens;
 
         private final int parameterCount;
 
         public Statement(List<Token> tokens) {
-            this.tokens = tokens;
+            this.tokens = Collections.unmodifiableList(tokens);
             this.parameterCount = readParameterCount(tokens);
         }
 
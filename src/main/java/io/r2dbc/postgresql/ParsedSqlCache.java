@@ -0,0 +1,185 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.util.Assert;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, concurrent cache of {@link ParsedSql} keyed by the SQL text. {@link ParsedSql} is immutable and can therefore be shared across statements and connections. Statements exceeding
+ * {@code maxSqlLength} are parsed without being cached to avoid retaining large, typically generated, SQL text.
+ * <p>Once the cache exceeds {@code maxSize} entries, entries are evicted in insertion order with a second chance: a cache hit marks its entry as referenced, and eviction moves referenced
+ * entries to the end of the queue after clearing the mark instead of evicting them. This approximates LRU while lookups remain free of locking.
+ *
+ * @since 1.1
+ */
+final class ParsedSqlCache {
+
+    static final int DEFAULT_MAX_SIZE = 1024;
+
+    static final int DEFAULT_MAX_SQL_LENGTH = 8192;
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Cached SQL in insertion order. Referenced entries are moved to the end on eviction.
+     */
+    private final Queue<String> evictionQueue = new ConcurrentLinkedQueue<>();
+
+    private final int maxSize;
+
+    private final int maxSqlLength;
+
+    private final Function<String, ParsedSql> parser;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    ParsedSqlCache(int maxSize, int maxSqlLength) {
+        this(maxSize, maxSqlLength, PostgresqlSqlParser::parse);
+    }
+
+    ParsedSqlCache(int maxSize, int maxSqlLength, Function<String, ParsedSql> parser) {
+        Assert.isTrue(maxSize > 0, "maxSize must be greater than zero");
+        Assert.isTrue(maxSqlLength > 0, "maxSqlLength must be greater than zero");
+        this.maxSize = maxSize;
+        this.maxSqlLength = maxSqlLength;
+        this.parser = Assert.requireNonNull(parser, "parser must not be null");
+    }
+
+    /**
+     * Return the {@link ParsedSql} for {@code sql}, parsing and caching it if not yet cached.
+     *
+     * @param sql the SQL to parse
+     * @return the parsed SQL
+     * @throws IllegalArgumentException if {@code sql} is {@code null} or cannot be parsed
+     */
+    ParsedSql get(String sql) {
+        Assert.requireNonNull(sql, "sql must not be null");
+
+        Entry entry = this.cache.get(sql);
+
+        if (entry != null) {
+            this.hits.increment();
+            entry.markReferenced();
+            return entry.parsedSql;
+        }
+
+        this.misses.increment();
+        ParsedSql parsedSql = this.parser.apply(sql);
+
+        if (sql.length() > this.maxSqlLength) {
+            return parsedSql;
+        }
+
+        Entry existing = this.cache.putIfAbsent(sql, new Entry(parsedSql));
+
+        if (existing != null) {
+            return existing.parsedSql;
+        }
+
+        this.evictionQueue.offer(sql);
+
+        if (this.cache.size() > this.maxSize) {
+            evict();
+        }
+
+        return parsedSql;
+    }
+
+    /**
+     * Return the number of lookups served from the cache.
+     */
+    long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Return the number of lookups that required parsing.
+     */
+    long getMissCount() {
+        return this.misses.sum();
+    }
+
+    int size() {
+        return this.cache.size();
+    }
+
+    void clear() {
+        this.cache.clear();
+        this.evictionQueue.clear();
+    }
+
+    private void evict() {
+
+        String sql;
+        while (this.cache.size() > this.maxSize && (sql = this.evictionQueue.poll()) != null) {
+
+            Entry entry = this.cache.get(sql);
+
+            if (entry == null) {
+                continue;
+            }
+
+            if (entry.referenced) {
+                entry.referenced = false;
+                this.evictionQueue.offer(sql);
+            } else {
+                this.cache.remove(sql, entry);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParsedSqlCache{" +
+            "size=" + size() +
+            ", maxSize=" + this.maxSize +
+            ", hits=" + getHitCount() +
+            ", misses=" + getMissCount() +
+            '}';
+    }
+
+    static final class Entry {
+
+        final ParsedSql parsedSql;
+
+        volatile boolean referenced;
+
+        Entry(ParsedSql parsedSql) {
+            this.parsedSql = parsedSql;
+        }
+
+        void markReferenced() {
+
+            // avoid writing to the shared entry on every hit
+            if (!this.referenced) {
+                this.referenced = true;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.api.CopyInBuilder;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlBatch;
+import io.r2dbc.postgresql.api.PostgresqlConnectionMetadata;
+import io.r2dbc.postgresql.api.PostgresqlStatement;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.TransactionDefinition;
+import io.r2dbc.spi.ValidationDepth;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Connection leased from a {@link LoadBalancedConnectionPool}. {@link #close()} returns the underlying connection to its sub-pool instead of closing it.
+ */
+final class PooledConnection implements io.r2dbc.postgresql.api.PostgresqlConnection, Wrapped<io.r2dbc.postgresql.api.PostgresqlConnection> {
+
+    private final LoadBalancedConnectionPool pool;
+
+    private final LoadBalancedConnectionPool.HostPool hostPool;
+
+    private final PostgresqlConnection delegate;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    PooledConnection(LoadBalancedConnectionPool pool, LoadBalancedConnectionPool.HostPool hostPool, PostgresqlConnection delegate) {
+        this.pool = pool;
+        this.hostPool = hostPool;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<Void> beginTransaction() {
+        return this.delegate.beginTransaction();
+    }
+
+    @Override
+    public Mono<Void> beginTransaction(TransactionDefinition definition) {
+        return this.delegate.beginTransaction(definition);
+    }
+
+    @Override
+    public Mono<Void> close() {
+        return Mono.defer(() -> this.released.compareAndSet(false, true) ? this.pool.release(this.hostPool, this.delegate) : Mono.empty());
+    }
+
+    @Override
+    public Mono<Void> commitTransaction() {
+        return this.delegate.commitTransaction();
+    }
+
+    @Override
+    public CopyInBuilder copyIn(String sql) {
+        return this.delegate.copyIn(sql);
+    }
+
+    @Override
+    public PostgresqlBatch createBatch() {
+        return this.delegate.createBatch();
+    }
+
+    @Override
+    public Mono<Void> createSavepoint(String name) {
+        return this.delegate.createSavepoint(name);
+    }
+
+    @Override
+    public PostgresqlStatement createStatement(String sql) {
+        return this.delegate.createStatement(sql);
+    }
+
+    @Override
+    public Flux<Notification> getNotifications() {
+        return this.delegate.getNotifications();
+    }
+
+    @Override
+    public Mono<Void> cancelRequest() {
+        return this.delegate.cancelRequest();
+    }
+
+    @Override
+    public PostgresqlConnectionMetadata getMetadata() {
+        return this.delegate.getMetadata();
+    }
+
+    @Override
+    public IsolationLevel getTransactionIsolationLevel() {
+        return this.delegate.getTransactionIsolationLevel();
+    }
+
+    @Override
+    public boolean isAutoCommit() {
+        return this.delegate.isAutoCommit();
+    }
+
+    @Override
+    public Mono<Void> releaseSavepoint(String name) {
+        return this.delegate.releaseSavepoint(name);
+    }
+
+    @Override
+    public Mono<Void> rollbackTransaction() {
+        return this.delegate.rollbackTransaction();
+    }
+
+    @Override
+    public Mono<Void> rollbackTransactionToSavepoint(String name) {
+        return this.delegate.rollbackTransactionToSavepoint(name);
+    }
+
+    @Override
+    public Mono<Void> setAutoCommit(boolean autoCommit) {
+        return this.delegate.setAutoCommit(autoCommit);
+    }
+
+    @Override
+    public Mono<Void> setLockWaitTimeout(Duration lockTimeout) {
+        return this.delegate.setLockWaitTimeout(lockTimeout);
+    }
+
+    @Override
+    public Mono<Void> setStatementTimeout(Duration statementTimeout) {
+        return this.delegate.setStatementTimeout(statementTimeout);
+    }
+
+    @Override
+    public Mono<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
+        return this.delegate.setTransactionIsolationLevel(isolationLevel);
+    }
+
+    @Override
+    public Mono<Boolean> validate(ValidationDepth depth) {
+        return this.released.get() ? Mono.just(false) : this.delegate.validate(depth);
+    }
+
+    @Override
+    public io.r2dbc.postgresql.api.PostgresqlConnection unwrap() {
+        return this.delegate;
+    }
+
+    @Override
+    public String toString() {
+        return "PooledConnection{" +
+            "host='" + this.hostPool.host + '\'' +
+            ", delegate=" + this.delegate +
+            '}';
+    }
+
+}
@@ -53,9 +53,8 @@ import reactor.util.Loggers;
 import reactor.util.annotation.Nullable;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 import static io.r2dbc.postgresql.client.TransactionStatus.IDLE;
@@ -88,9 +87,9 @@ final class PostgresqlConnection implements io.r2dbc.postgresql.api.PostgresqlCo
 
     private String hostConnectedTo;
 
-    private UniformLoadBalancerConnectionStrategy connectionStrategy;
+    private volatile UniformLoadBalancerConnectionStrategy connectionStrategy;
 
-    private static Lock lock = new ReentrantLock();
+    private final AtomicBoolean connectionCountReleased = new AtomicBoolean();
 
 
     PostgresqlConnection(Client client, Codecs codecs, PortalNameSupplier portalNameSupplier, StatementCache statementCache, IsolationLevel isolationLevel,
@@ -112,6 +111,11 @@ final class PostgresqlConnection implements io.r2dbc.postgresql.api.PostgresqlCo
         return this.resources;
     }
 
+    @Nullable
+    String getHostConnectedTo() {
+        return this.hostConnectedTo;
+    }
+
     @Override
     public Mono<Void> beginTransaction() {
         return beginTransaction(EmptyTransactionDefinition.INSTANCE);
@@ -143,14 +147,24 @@ final class PostgresqlConnection implements io.r2dbc.postgresql.api.PostgresqlCo
                     transactionMode = appendTransactionMode(transactionMode, deferrable ? "" : "NOT", "DEFERRABLE");
                 }
 
-                return exchange(transactionMode.isEmpty() ? begin : (begin + " " + transactionMode)).doOnComplete(() -> {
+                String sql = transactionMode.isEmpty() ? begin : (begin + " " + transactionMode);
+                Runnable onBegin = () -> {
 
                     this.previousIsolationLevel = this.isolationLevel;
 
                     if (isolationLevel != null) {
                         this.isolationLevel = isolationLevel;
                     }
-                });
+                };
+
+                if (this.resources.getConfiguration().isDeferTransactionStart()) {
+                    return Mono.fromRunnable(() -> {
+                        this.resources.getDeferredCommands().addBegin(sql);
+                        onBegin.run();
+                    });
+                }
+
+                return exchange(sql).doOnComplete(onBegin);
             } else {
                 this.logger.debug(this.connectionContext.getMessage("Skipping begin transaction because status is {}"), transactionStatus);
                 return Mono.empty();
@@ -186,11 +200,10 @@ final class PostgresqlConnection implements io.r2dbc.postgresql.api.PostgresqlCo
 
     @Override
     public Mono<Void> close() {
-        lock.lock();
-        if (this.connectionStrategy != null && this.hostConnectedTo != null){
-            connectionStrategy.incDecConnectionCount(hostConnectedTo, -1);
+        UniformLoadBalancerConnectionStrategy connectionStrategy = this.connectionStrategy;
+        if (connectionStrategy != null && this.hostConnectedTo != null && this.connectionCountReleased.compareAndSet(false, true)) {
+            connectionStrategy.incDecConnectionCount(this.hostConnectedTo, -1);
         }
-        lock.unlock();
         return this.client.close().doOnSubscribe(subscription -> {
 
             NotificationAdapter notificationAdapter = this.notificationAdapter.get();
@@ -212,7 +225,15 @@ final class PostgresqlConnection implements io.r2dbc.postgresql.api.PostgresqlCo
         AtomicReference<R2dbcException> ref = new AtomicReference<>();
         return useTransactionStatus(transactionStatus -> {
             if (IDLE != transactionStatus) {
-                return Flux.from(exchange("COMMIT"))
+
+                DeferredCommands deferredCommands = this.resources.getDeferredCommands();
+                if (deferredCommands.hasPendingBegin()) {
+                    // the transaction was not started on the server yet
+                    deferredCommands.clear();
+                    return Mono.fromRunnable(this::cleanupIsolationLevel);
+                }
+
+                return this.<BackendMessage>exchange("COMMIT")
                     .doOnComplete(this::cleanupIsolationLevel)
                     .filter(CommandComplete.class::isInstance)
                     .cast(CommandComplete.class)
@@ -312,7 +333,7 @@ final class PostgresqlConnection implements io.r2dbc.postgresql.api.PostgresqlCo
     @Override
     public boolean isAutoCommit() {
 
-        if (this.client.getTransactionStatus() == IDLE) {
+        if (getTransactionStatus() == IDLE) {
             return true;
         }
 
@@ -337,6 +358,16 @@ final class PostgresqlConnection implements io.r2dbc.postgresql.api.PostgresqlCo
     public Mono<Void> rollbackTransaction() {
         return useTransactionStatus(transactionStatus -> {
             if (IDLE != transactionStatus) {
+
+                DeferredCommands deferredCommands = this.resources.getDeferredCommands();
+                boolean pendingBegin = deferredCommands.hasPendingBegin();
+                deferredCommands.clear();
+
+                if (pendingBegin) {
+                    // the transaction was not started on the server yet
+                    return Mono.fromRunnable(this::cleanupIsolationLevel);
+                }
+
                 return exchange("ROLLBACK").doOnComplete(this::cleanupIsolationLevel);
             } else {
                 this.logger.debug(this.connectionContext.getMessage("Skipping rollback transaction because status is {}"), transactionStatus);
@@ -392,8 +423,7 @@ final class PostgresqlConnection implements io.r2dbc.postgresql.api.PostgresqlCo
         Assert.requireNonNull(isolationLevel, "isolationLevel must not be null");
 
         return withTransactionStatus(getTransactionIsolationLevelQuery(isolationLevel))
-            .flatMapMany(this::exchange)
-            .then()
+            .flatMap(this::executeOrDefer)
             .doOnSuccess(ignore -> this.isolationLevel = isolationLevel);
     }
 
@@ -459,43 +489,74 @@ final class PostgresqlConnection implements io.r2dbc.postgresql.api.PostgresqlCo
     public Mono<Void> setLockWaitTimeout(Duration lockTimeout) {
         Assert.requireNonNull(lockTimeout, "lockTimeout must not be null");
 
-        return Mono.defer(() -> Mono.from(exchange(String.format("SET LOCK_TIMEOUT = %s", lockTimeout.toMillis()))).then());
+        return Mono.defer(() -> executeOrDefer(String.format("SET LOCK_TIMEOUT = %s", lockTimeout.toMillis())));
     }
 
     @Override
     public Mono<Void> setStatementTimeout(Duration statementTimeout) {
         Assert.requireNonNull(statementTimeout, "statementTimeout must not be null");
 
-        return Mono.defer(() -> Mono.from(exchange(String.format("SET STATEMENT_TIMEOUT = %s", statementTimeout.toMillis()))).then());
+        return Mono.defer(() -> executeOrDefer(String.format("SET STATEMENT_TIMEOUT = %s", statementTimeout.toMillis())));
     }
 
     private Mono<Void> useTransactionStatus(Function<TransactionStatus, Publisher<?>> f) {
-        return Flux.defer(() -> f.apply(this.client.getTransactionStatus()))
+        return Flux.defer(() -> f.apply(getTransactionStatus()))
             .as(Operators::discardOnCancel)
             .then();
     }
 
     private <T> Mono<T> withTransactionStatus(Function<TransactionStatus, T> f) {
-        return Mono.defer(() -> Mono.just(f.apply(this.client.getTransactionStatus())));
+        return Mono.defer(() -> Mono.just(f.apply(getTransactionStatus())));
+    }
+
+    /**
+     * Return the transaction status. A transaction is considered {@link TransactionStatus#OPEN open} while its {@code BEGIN} command is deferred.
+     */
+    private TransactionStatus getTransactionStatus() {
+        return this.resources.getDeferredCommands().hasPendingBegin() ? OPEN : this.client.getTransactionStatus();
     }
 
+    /**
+     * Execute {@code sql} or defer its execution to the next statement if deferred transaction start is enabled and a transaction is open. Commands outside of a transaction are executed
+     * immediately as they are not bound to the transaction of the next statement.
+     */
+    private Mono<Void> executeOrDefer(String sql) {
+
+        if (this.resources.getConfiguration().isDeferTransactionStart() && getTransactionStatus() == OPEN) {
+            this.resources.getDeferredCommands().add(sql);
+            return Mono.empty();
+        }
+
+        return Flux.from(exchange(sql)).then();
+    }
+
+    /**
+     * Execute {@code sql} using the simple query flow. Deferred transaction start commands, if any, are sent ahead of {@code sql} within the same query. Errors are associated with the failed
+     * command.
+     */
     @SuppressWarnings("unchecked")
     private <T> Flux<T> exchange(String sql) {
-        AtomicReference<R2dbcException> ref = new AtomicReference<>();
-        return (Flux<T>) SimpleQueryMessageFlow.exchange(this.client, sql)
-            .handle((backendMessage, synchronousSink) -> {
+        return Flux.defer(() -> {
 
-                if (backendMessage instanceof ErrorResponse) {
-                    ref.set(ExceptionFactory.createException((ErrorResponse) backendMessage, sql));
-                } else {
-                    synchronousSink.next(backendMessage);
-                }
-            })
-            .doOnComplete(() -> {
-                if (ref.get() != null) {
-                    throw ref.get();
-                }
-            });
+            DeferredCommands.Pending pending = this.resources.getDeferredCommands().drain();
+            AtomicReference<R2dbcException> ref = new AtomicReference<>();
+
+            return (Flux<T>) SimpleQueryMessageFlow.exchange(this.client, pending.prepend(sql))
+                .transform(pending::filterResponses)
+                .handle((backendMessage, synchronousSink) -> {
+
+                    if (backendMessage instanceof ErrorResponse) {
+                        ref.set(ExceptionFactory.createException((ErrorResponse) backendMessage, pending.getFailedSql(sql)));
+                    } else {
+                        synchronousSink.next(backendMessage);
+                    }
+                })
+                .doOnComplete(() -> {
+                    if (ref.get() != null) {
+                        throw ref.get();
+                    }
+                });
+        });
     }
 
     private void cleanupIsolationLevel() {
@@ -30,12 +30,14 @@ import io.r2dbc.postgresql.client.SingleHostConfiguration;
 import io.r2dbc.postgresql.codec.Codec;
 import io.r2dbc.postgresql.codec.Codecs;
 import io.r2dbc.postgresql.codec.Json;
+import io.r2dbc.postgresql.codec.TypeCatalogCache;
 import io.r2dbc.postgresql.extension.CodecRegistrar;
 import io.r2dbc.postgresql.extension.Extension;
 import io.r2dbc.postgresql.message.backend.ErrorResponse;
 import io.r2dbc.postgresql.message.backend.NoticeResponse;
 import io.r2dbc.postgresql.util.Assert;
 import io.r2dbc.postgresql.util.LogLevel;
+import io.r2dbc.spi.IsolationLevel;
 import reactor.netty.resources.LoopResources;
 import reactor.util.annotation.Nullable;
 
@@ -49,12 +51,14 @@ import java.net.Socket;
 import java.net.URL;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.TimeZone;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
@@ -71,6 +75,14 @@ public final class PostgresqlConnectionConfiguration {
      */
     public static final int DEFAULT_PORT = 5433;
 
+    /**
+     * Startup {@link Builder#options(Map) option} that configures the default transaction isolation level.
+     */
+    static final String DEFAULT_TRANSACTION_ISOLATION_OPTION = "default_transaction_isolation";
+
+    private static final List<IsolationLevel> ISOLATION_LEVELS = Arrays.asList(IsolationLevel.READ_UNCOMMITTED, IsolationLevel.READ_COMMITTED, IsolationLevel.REPEATABLE_READ,
+        IsolationLevel.SERIALIZABLE);
+
     private final String applicationName;
 
     private final boolean autodetectExtensions;
@@ -128,11 +140,32 @@ public final class PostgresqlConnectionConfiguration {
     // YugabyteDB Specific
 
     private final boolean loadBalanceHosts;
-    private static List<String> hosts = null; // Contains the list of all available hosts that can be connected to
+    private final CopyOnWriteArrayList<String> hosts; // Contains the list of all available hosts that can be connected to
     private String hostConnectedTo;
     private final String topologyKeys;
     private final int ybServersRefreshInterval;
 
+    @Nullable
+    private final Duration loadBalanceAttemptDelay;
+
+    private final boolean pipelineBindings;
+
+    private final boolean adaptiveResultFormats;
+
+    private final int writeBatchSize;
+
+    private final int writeBatchBytes;
+
+    private final Duration typeCacheTtl;
+
+    private final boolean fastStart;
+
+    private final boolean deferTransactionStart;
+
+    private final int scramKeyCacheSize;
+
+    private final boolean offloadAuthentication;
+
     public PostgresqlConnectionConfiguration(PostgresqlConnectionConfiguration config) {
         this.applicationName = config.applicationName;
         this.autodetectExtensions = config.autodetectExtensions;
@@ -159,9 +192,20 @@ public final class PostgresqlConnectionConfiguration {
         this.timeZone = config.timeZone;
         this.username = config.username;
         this.loadBalanceHosts = config.loadBalanceHosts;
-        // Ensure this is a deep copy if List<String> is mutable
+        // shared on purpose so that hosts discovered through yb_servers() are visible to all copies
+        this.hosts = config.hosts;
         this.topologyKeys = config.topologyKeys;
         this.ybServersRefreshInterval = config.ybServersRefreshInterval;
+        this.loadBalanceAttemptDelay = config.loadBalanceAttemptDelay;
+        this.pipelineBindings = config.pipelineBindings;
+        this.adaptiveResultFormats = config.adaptiveResultFormats;
+        this.writeBatchSize = config.writeBatchSize;
+        this.writeBatchBytes = config.writeBatchBytes;
+        this.typeCacheTtl = config.typeCacheTtl;
+        this.fastStart = config.fastStart;
+        this.deferTransactionStart = config.deferTransactionStart;
+        this.scramKeyCacheSize = config.scramKeyCacheSize;
+        this.offloadAuthentication = config.offloadAuthentication;
     }
 
     private PostgresqlConnectionConfiguration(String applicationName, boolean autodetectExtensions, @Nullable boolean compatibilityMode, @Nullable Duration connectTimeout, @Nullable String database,
@@ -173,7 +217,7 @@ public final class PostgresqlConnectionConfiguration {
                                               int preparedStatementCacheQueries, @Nullable String schema,
                                               @Nullable SingleHostConfiguration singleHostConfiguration, SSLConfig sslConfig, @Nullable Duration statementTimeout,
                                               boolean tcpKeepAlive, boolean tcpNoDelay, TimeZone timeZone,
-                                              String username, boolean loadBalanceHosts, List<String> hostsavailable, String topologyKeys, int ybserversrefreshinterval) {
+                                              String username, boolean loadBalanceHosts, List<String> hostsavailable, String topologyKeys, int ybserversrefreshinterval, @Nullable Duration loadBalanceAttemptDelay, boolean pipelineBindings, boolean adaptiveResultFormats, int writeBatchSize, int writeBatchBytes, Duration typeCacheTtl, boolean fastStart, boolean deferTransactionStart, int scramKeyCacheSize, boolean offloadAuthentication) {
         this.applicationName = Assert.requireNonNull(applicationName, "applicationName must not be null");
         this.autodetectExtensions = autodetectExtensions;
         this.compatibilityMode = compatibilityMode;
@@ -214,9 +258,19 @@ public final class PostgresqlConnectionConfiguration {
 
         //YugabyteDB Specific
         this.loadBalanceHosts = loadBalanceHosts;
-        hosts = hostsavailable;
+        this.hosts = new CopyOnWriteArrayList<>(hostsavailable);
         this.topologyKeys = topologyKeys;
         this.ybServersRefreshInterval = ybserversrefreshinterval;
+        this.loadBalanceAttemptDelay = loadBalanceAttemptDelay;
+        this.pipelineBindings = pipelineBindings;
+        this.adaptiveResultFormats = adaptiveResultFormats;
+        this.writeBatchSize = writeBatchSize;
+        this.writeBatchBytes = writeBatchBytes;
+        this.typeCacheTtl = typeCacheTtl;
+        this.fastStart = fastStart;
+        this.deferTransactionStart = deferTransactionStart;
+        this.scramKeyCacheSize = scramKeyCacheSize;
+        this.offloadAuthentication = offloadAuthentication;
     }
 
     /**
@@ -254,9 +308,19 @@ public final class PostgresqlConnectionConfiguration {
             ", timeZone=" + this.timeZone +
             ", username='" + this.username + '\'' +
             ", loadBalanceHosts=" + this.loadBalanceHosts +
-            ", hosts=" + hosts +
+            ", hosts=" + this.hosts +
             ", topologyKeys=" + this.topologyKeys +
             ", ybServersRefreshInterval=" + this.ybServersRefreshInterval +
+            ", loadBalanceAttemptDelay=" + this.loadBalanceAttemptDelay +
+            ", pipelineBindings=" + this.pipelineBindings +
+            ", adaptiveResultFormats=" + this.adaptiveResultFormats +
+            ", writeBatchSize=" + this.writeBatchSize +
+            ", writeBatchBytes=" + this.writeBatchBytes +
+            ", typeCacheTtl=" + this.typeCacheTtl +
+            ", fastStart=" + this.fastStart +
+            ", deferTransactionStart=" + this.deferTransactionStart +
+            ", scramKeyCacheSize=" + this.scramKeyCacheSize +
+            ", offloadAuthentication=" + this.offloadAuthentication +
             '}';
     }
 
@@ -377,6 +441,8 @@ public final class PostgresqlConnectionConfiguration {
             .tcpKeepAlive(isTcpKeepAlive())
             .tcpNoDelay(isTcpNoDelay())
             .loopResources(this.loopResources)
+            .writeBatchSize(this.writeBatchSize)
+            .writeBatchBytes(this.writeBatchBytes)
             .build();
     }
 
@@ -397,13 +463,11 @@ public final class PostgresqlConnectionConfiguration {
     }
 
     List<String> getHosts() {
-        return hosts;
+        return this.hosts;
     }
 
     void setHosts(String host){
-        if (!hosts.contains(host)){
-            hosts.add(host);
-        }
+        this.hosts.addIfAbsent(host);
     }
 
     String getTopologyKeys() {
@@ -418,6 +482,71 @@ public final class PostgresqlConnectionConfiguration {
 
     int getYBServersRefreshInterval() { return this.ybServersRefreshInterval; }
 
+    @Nullable
+    Duration getLoadBalanceAttemptDelay() {
+        return this.loadBalanceAttemptDelay;
+    }
+
+    boolean isPipelineBindings() {
+        return this.pipelineBindings;
+    }
+
+    boolean isAdaptiveResultFormats() {
+        return this.adaptiveResultFormats;
+    }
+
+    int getWriteBatchSize() {
+        return this.writeBatchSize;
+    }
+
+    int getWriteBatchBytes() {
+        return this.writeBatchBytes;
+    }
+
+    Duration getTypeCacheTtl() {
+        return this.typeCacheTtl;
+    }
+
+    boolean isFastStart() {
+        return this.fastStart;
+    }
+
+    /**
+     * Return the default transaction isolation level configured through the {@code default_transaction_isolation} startup option.
+     *
+     * @return the configured isolation level or {@code null} if the option is not configured
+     * @throws IllegalArgumentException if the option does not name a transaction isolation level
+     */
+    @Nullable
+    IsolationLevel getDefaultTransactionIsolationLevel() {
+
+        String level = this.options.get(DEFAULT_TRANSACTION_ISOLATION_OPTION);
+        return level != null ? parseIsolationLevel(level) : null;
+    }
+
+    private static IsolationLevel parseIsolationLevel(String level) {
+
+        for (IsolationLevel isolationLevel : ISOLATION_LEVELS) {
+            if (isolationLevel.asSql().equalsIgnoreCase(level.trim())) {
+                return isolationLevel;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("%s option must name a transaction isolation level but was '%s'", DEFAULT_TRANSACTION_ISOLATION_OPTION, level));
+    }
+
+    boolean isDeferTransactionStart() {
+        return this.deferTransactionStart;
+    }
+
+    int getScramKeyCacheSize() {
+        return this.scramKeyCacheSize;
+    }
+
+    boolean isOffloadAuthentication() {
+        return this.offloadAuthentication;
+    }
+
     /**
      * A builder for {@link PostgresqlConnectionConfiguration} instances.
      * <p>
@@ -504,10 +633,31 @@ public final class PostgresqlConnectionConfiguration {
         // YugabyteDB Specific
 
         private boolean loadBalanceHosts = false;
-        private static List<String> hosts = new ArrayList<>();
+        private final List<String> hosts = new ArrayList<>();
         private String topologyKeys = null;
         private int ybServersRefreshInterval;
 
+        @Nullable
+        private Duration loadBalanceAttemptDelay;
+
+        private boolean pipelineBindings = false;
+
+        private boolean adaptiveResultFormats = false;
+
+        private int writeBatchSize = ConnectionSettings.DEFAULT_WRITE_BATCH_SIZE;
+
+        private int writeBatchBytes = ConnectionSettings.DEFAULT_WRITE_BATCH_BYTES;
+
+        private Duration typeCacheTtl = TypeCatalogCache.DEFAULT_TTL;
+
+        private boolean fastStart = false;
+
+        private boolean deferTransactionStart = false;
+
+        private int scramKeyCacheSize = 16;
+
+        private boolean offloadAuthentication = false;
+
         private Builder() {
         }
 
@@ -557,11 +707,15 @@ public final class PostgresqlConnectionConfiguration {
                 throw new IllegalArgumentException("username must not be null");
             }
 
+            if (this.fastStart && this.options != null && this.options.containsKey(DEFAULT_TRANSACTION_ISOLATION_OPTION)) {
+                parseIsolationLevel(this.options.get(DEFAULT_TRANSACTION_ISOLATION_OPTION));
+            }
+
             return new PostgresqlConnectionConfiguration(this.applicationName, this.autodetectExtensions, this.compatibilityMode, this.connectTimeout, this.database, this.errorResponseLogLevel,
                 this.extensions, this.fetchSize, this.forceBinary, this.lockWaitTimeout, this.loopResources, multiHostConfiguration,
                 this.noticeLogLevel, this.options, this.password, this.preferAttachedBuffers,
                 this.preparedStatementCacheQueries, this.schema, singleHostConfiguration,
-                this.createSslConfig(), this.statementTimeout, this.tcpKeepAlive, this.tcpNoDelay, this.timeZone, this.username, this.loadBalanceHosts, hosts, this.topologyKeys, this.ybServersRefreshInterval);
+                this.createSslConfig(), this.statementTimeout, this.tcpKeepAlive, this.tcpNoDelay, this.timeZone, this.username, this.loadBalanceHosts, hosts, this.topologyKeys, this.ybServersRefreshInterval, this.loadBalanceAttemptDelay, this.pipelineBindings, this.adaptiveResultFormats, this.writeBatchSize, this.writeBatchBytes, this.typeCacheTtl, this.fastStart, this.deferTransactionStart, this.scramKeyCacheSize, this.offloadAuthentication);
         }
 
         /**
@@ -1140,6 +1294,158 @@ public final class PostgresqlConnectionConfiguration {
             return this;
         }
 
+        /**
+         * Configure the delay after which a load-balanced connection attempt races an attempt to the next-best host while the previous attempt is still pending. A failed attempt starts the next
+         * attempt immediately. The first attempt that succeeds is used, pending attempts are cancelled. Defaults to unconfigured, trying hosts one after another.
+         *
+         * @param loadBalanceAttemptDelay the delay between staggered connection attempts
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code loadBalanceAttemptDelay} is {@code null} or negative
+         */
+        public Builder loadBalanceAttemptDelay(Duration loadBalanceAttemptDelay) {
+            Assert.requireNonNull(loadBalanceAttemptDelay, "loadBalanceAttemptDelay must not be null");
+            Assert.isTrue(!loadBalanceAttemptDelay.isNegative(), "loadBalanceAttemptDelay must not be negative");
+            this.loadBalanceAttemptDelay = loadBalanceAttemptDelay;
+            return this;
+        }
+
+        /**
+         * Configure whether to pipeline the execution of statements with multiple bindings. Pipelined execution sends {@code Parse} (if required) followed by {@code Bind/Execute} for all
+         * bindings and a single {@code Sync} within one write so that all bindings complete within a single round-trip. Without an explicit transaction, all bindings run within the same
+         * implicit transaction: a failing binding rolls back the bindings preceding it and bindings following it are not executed. Pipelining applies only to statements without a
+         * {@link #fetchSize(int) fetch size}. Defaults to {@code false}.
+         *
+         * @param pipelineBindings whether to pipeline the execution of multiple bindings
+         * @return this {@link Builder}
+         * @since 1.1
+         */
+        public Builder pipelineBindings(boolean pipelineBindings) {
+            this.pipelineBindings = pipelineBindings;
+            return this;
+        }
+
+        /**
+         * Configure whether to negotiate result formats per column. Once the result description of a cached prepared statement is known, subsequent executions request binary results for
+         * all columns whose type can be decoded from its binary representation and text results for all other columns. Columns whose binary representation cannot be read as {@link String}
+         * keep the text format. Has no effect if {@link #forceBinary(boolean) forceBinary} is enabled or the statement cache is disabled. Defaults to {@code false}.
+         *
+         * @param adaptiveResultFormats whether to negotiate result formats per column
+         * @return this {@link Builder}
+         * @since 1.1
+         */
+        public Builder adaptiveResultFormats(boolean adaptiveResultFormats) {
+            this.adaptiveResultFormats = adaptiveResultFormats;
+            return this;
+        }
+
+        /**
+         * Configure the maximum number of frontend messages that are coalesced into a single write and flush. Messages that are ready within the same event loop tick are written together to
+         * reduce the number of system calls. Defaults to {@code 128}.
+         *
+         * @param writeBatchSize the maximum number of messages per write
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code writeBatchSize} is less than {@code 1}
+         * @since 1.1
+         */
+        public Builder writeBatchSize(int writeBatchSize) {
+            Assert.isTrue(writeBatchSize > 0, "writeBatchSize must be greater than zero");
+            this.writeBatchSize = writeBatchSize;
+            return this;
+        }
+
+        /**
+         * Configure the number of bytes after which coalesced frontend messages are written and flushed. Defaults to {@code 65536}.
+         *
+         * @param writeBatchBytes the number of bytes after which to write
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code writeBatchBytes} is less than {@code 1}
+         * @since 1.1
+         */
+        public Builder writeBatchBytes(int writeBatchBytes) {
+            Assert.isTrue(writeBatchBytes > 0, "writeBatchBytes must be greater than zero");
+            this.writeBatchBytes = writeBatchBytes;
+            return this;
+        }
+
+        /**
+         * Configure the time-to-live of {@code pg_type} lookups that are cached by the connection factory to register dynamic codecs without querying the catalog on each new connection.
+         * Types that are not found are not cached. Cached types are not revalidated: call {@link PostgresqlConnectionFactory#invalidateTypeCache()} after dropping and recreating types, e.g. in
+         * schema migrations, so that new connections pick up their new OIDs. Defaults to {@link Duration#ZERO} which disables caching.
+         *
+         * @param typeCacheTtl the time-to-live of cached types
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code typeCacheTtl} is {@code null} or negative
+         * @since 1.1
+         */
+        public Builder typeCacheTtl(Duration typeCacheTtl) {
+            Assert.requireNonNull(typeCacheTtl, "typeCacheTtl must not be null");
+            Assert.isTrue(!typeCacheTtl.isNegative(), "typeCacheTtl must not be negative");
+            this.typeCacheTtl = typeCacheTtl;
+            return this;
+        }
+
+        /**
+         * Enable fast-start connection initialization. The default transaction isolation level is derived from the {@code default_transaction_isolation} startup
+         * {@link #options(Map) option} if configured. Remaining initialization queries, such as the isolation level lookup and the type lookups of {@link CodecRegistrar codec registrars}, are
+         * issued concurrently so that they are pipelined into a single round trip. Codecs are registered in registrar order once all lookups have completed. Defaults to {@code false}.
+         * <p>
+         * {@link #build()} rejects a {@code default_transaction_isolation} option that does not name a transaction isolation level if fast-start is enabled.
+         *
+         * @param fastStart whether to enable fast-start initialization
+         * @return this {@link Builder}
+         * @since 1.1
+         */
+        public Builder fastStart(boolean fastStart) {
+            this.fastStart = fastStart;
+            return this;
+        }
+
+        /**
+         * Defer transaction start commands. When enabled, {@code BEGIN} and transaction-scoped {@code SET} commands issued through
+         * {@link io.r2dbc.postgresql.api.PostgresqlConnection#beginTransaction()}, {@link io.r2dbc.postgresql.api.PostgresqlConnection#setTransactionIsolationLevel(io.r2dbc.spi.IsolationLevel)},
+         * {@link io.r2dbc.postgresql.api.PostgresqlConnection#setStatementTimeout(Duration)} and {@link io.r2dbc.postgresql.api.PostgresqlConnection#setLockWaitTimeout(Duration)}
+         * are queued and sent along with the next statement instead of requiring their own round trip. Defaults to {@code false}.
+         * <p>
+         * Errors caused by deferred commands are reported by the statement that carried them. Committing or rolling back a transaction whose {@code BEGIN} is still deferred discards
+         * the queued commands without contacting the server.
+         *
+         * @param deferTransactionStart whether to defer transaction start commands
+         * @return this {@link Builder}
+         * @since 1.1
+         */
+        public Builder deferTransactionStart(boolean deferTransactionStart) {
+            this.deferTransactionStart = deferTransactionStart;
+            return this;
+        }
+
+        /**
+         * Configure the maximum number of SCRAM keys derived from the password that are cached in memory. Caching derived keys avoids the CPU-intensive {@code PBKDF2} computation when
+         * authenticating further connections with the same credentials and server salt. Evicted keys are overwritten with zeros. Use {@code 0} to disable caching. Defaults to {@code 16}.
+         *
+         * @param scramKeyCacheSize the maximum number of cached keys
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code scramKeyCacheSize} is negative
+         * @since 1.1
+         */
+        public Builder scramKeyCacheSize(int scramKeyCacheSize) {
+            Assert.isTrue(scramKeyCacheSize >= 0, "scramKeyCacheSize must be greater or equal to zero");
+            this.scramKeyCacheSize = scramKeyCacheSize;
+            return this;
+        }
+
+        /**
+         * Compute authentication responses, such as the SCRAM key derivation, on the {@link reactor.core.scheduler.Schedulers#parallel() parallel scheduler} instead of the event loop
+         * thread that handles the connection startup. Offloading keeps CPU-intensive authentication from stalling I/O of other connections sharing the event loop. Defaults to {@code false}.
+         *
+         * @param offloadAuthentication whether to offload authentication
+         * @return this {@link Builder}
+         * @since 1.1
+         */
+        public Builder offloadAuthentication(boolean offloadAuthentication) {
+            this.offloadAuthentication = offloadAuthentication;
+            return this;
+        }
+
         @Override
         public String toString() {
             return "Builder{" +
@@ -1173,9 +1479,19 @@ public final class PostgresqlConnectionConfiguration {
                 ", timeZone='" + this.timeZone + '\'' +
                 ", username='" + this.username + '\'' +
                 ", loadBalanceHosts=" + this.loadBalanceHosts +
-                ", hosts=" + hosts +
+                ", hosts=" + this.hosts +
                 ", topologyKeys=" + this.topologyKeys +
                 ", ybServersRefreshInterval=" + this.ybServersRefreshInterval +
+                ", loadBalanceAttemptDelay=" + this.loadBalanceAttemptDelay +
+                ", pipelineBindings=" + this.pipelineBindings +
+                ", adaptiveResultFormats=" + this.adaptiveResultFormats +
+                ", writeBatchSize=" + this.writeBatchSize +
+                ", writeBatchBytes=" + this.writeBatchBytes +
+                ", typeCacheTtl=" + this.typeCacheTtl +
+                ", fastStart=" + this.fastStart +
+                ", deferTransactionStart=" + this.deferTransactionStart +
+                ", scramKeyCacheSize=" + this.scramKeyCacheSize +
+                ", offloadAuthentication=" + this.offloadAuthentication +
                 '}';
         }
 
@@ -18,14 +18,18 @@ package io.r2dbc.postgresql;
 
 import io.netty.buffer.ByteBufAllocator;
 import io.r2dbc.postgresql.api.ErrorDetails;
+import io.r2dbc.postgresql.api.NotificationHub;
 import io.r2dbc.postgresql.api.PostgresqlException;
+import io.r2dbc.postgresql.authentication.ScramKeyCache;
 import io.r2dbc.postgresql.client.Client;
 import io.r2dbc.postgresql.client.ConnectionSettings;
 import io.r2dbc.postgresql.client.ReactorNettyClient;
 import io.r2dbc.postgresql.codec.DefaultCodecs;
+import io.r2dbc.postgresql.codec.TypeCatalogCache;
 import io.r2dbc.postgresql.extension.CodecRegistrar;
 import io.r2dbc.postgresql.util.Assert;
 import io.r2dbc.postgresql.util.Operators;
+import io.r2dbc.spi.Closeable;
 import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.ConnectionFactoryMetadata;
 import io.r2dbc.spi.IsolationLevel;
@@ -34,17 +38,22 @@ import io.r2dbc.spi.R2dbcNonTransientResourceException;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.util.annotation.Nullable;
 
-import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * An implementation of {@link ConnectionFactory} for creating connections to a PostgreSQL database.
  */
-public final class PostgresqlConnectionFactory implements ConnectionFactory {
+public final class PostgresqlConnectionFactory implements ConnectionFactory, Closeable {
 
     private static final ConnectionFunction DEFAULT_CONNECTION_FUNCTION = (endpoint, settings) ->
         ReactorNettyClient.connect(endpoint, settings).cast(Client.class);
@@ -59,12 +68,23 @@ public final class PostgresqlConnectionFactory implements ConnectionFactory {
 
     private final Extensions extensions;
 
-    // YugabyteDB specific
+    private final TypeCatalogCache typeCatalogCache;
+
+    @Nullable
+    private final ScramKeyCache scramKeyCache;
+
+    @Nullable
+    private volatile DefaultCodecs.Template codecTemplate;
 
-    public static PostgresqlConnection controlConnection = null;
+    @Nullable
+    private volatile DefaultNotificationHub notificationHub;
 
-    private static Map<String, UniformLoadBalancerConnectionStrategy> connectionStrategyMap = new LinkedHashMap<>();
+    // YugabyteDB specific
+
+    private final ConnectionFunction loadBalancedConnectionFunction;
 
+    @Nullable
+    private volatile ConnectionStrategyRegistry.Entry loadBalancer;
 
     /**
      * Create a new connection factory.
@@ -87,6 +107,9 @@ public final class PostgresqlConnectionFactory implements ConnectionFactory {
         this.connectionFunction = Assert.requireNonNull(connectionFunction, "connectionFunction must not be null");
         this.configuration = Assert.requireNonNull(configuration, "configuration must not be null");
         this.extensions = getExtensions(configuration);
+        this.typeCatalogCache = TypeCatalogCache.create(configuration.getTypeCacheTtl());
+        this.scramKeyCache = configuration.getScramKeyCacheSize() > 0 ? new ScramKeyCache(configuration.getScramKeyCacheSize()) : null;
+        this.loadBalancedConnectionFunction = new SingleHostConnectionFunction(this.connectionFunction, this.configuration, this.scramKeyCache);
     }
 
     private static Extensions getExtensions(PostgresqlConnectionConfiguration configuration) {
@@ -107,133 +130,191 @@ public final class PostgresqlConnectionFactory implements ConnectionFactory {
         }
 
         if (this.configuration.isLoadBalanced()) {
-            Mono<io.r2dbc.postgresql.api.PostgresqlConnection> conn = createLoadBalancedConnection();
-            if (conn != null) {
-                return conn;
-            }
+            return createLoadBalancedConnection().cast(io.r2dbc.postgresql.api.PostgresqlConnection.class)
+                .switchIfEmpty(Mono.defer(this::createConnection));
         }
-        ConnectionStrategy connectionStrategy = ConnectionStrategyFactory.getConnectionStrategy(this.connectionFunction, this.configuration, this.configuration.getConnectionSettings());
+
+        return createConnection();
+    }
+
+    private Mono<io.r2dbc.postgresql.api.PostgresqlConnection> createConnection() {
+        ConnectionStrategy connectionStrategy = ConnectionStrategyFactory.getConnectionStrategy(this.connectionFunction, this.configuration, this.configuration.getConnectionSettings(), this.scramKeyCache);
         return doCreateConnection(false, connectionStrategy).cast(io.r2dbc.postgresql.api.PostgresqlConnection.class);
+    }
+
+    private Mono<PostgresqlConnection> createLoadBalancedConnection() {
+        UniformLoadBalancerConnectionStrategy connectionStrategy = getLoadBalancer().getStrategy();
 
+        return refreshTopology()
+            .filter(Boolean::booleanValue)
+            .flatMap(refreshed -> connectToLeastLoadedHost(connectionStrategy));
     }
 
-    private synchronized boolean createControlConnection() {
-        List<String> hosts = this.configuration.getHosts();
-        UniformLoadBalancerConnectionStrategy strategy = getAppropriateLoadBalancer();
-        for (Iterator<String> iterator = hosts.iterator(); iterator.hasNext(); ) {
-            String host = iterator.next();
-            ConnectionFunction connectionFunction = new SingleHostConnectionFunction(this.connectionFunction, this.configuration);
-            try {
-                controlConnection = doCreateConnection(strategy, false, connectionFunction, host, true).block();
-                if (controlConnection != null) {
-                    return true;
-                }
-            } catch (Exception e) {
-                iterator.remove();
-            }
-        }
-        return false;
-    }
-
-    private synchronized Mono<io.r2dbc.postgresql.api.PostgresqlConnection>  createLoadBalancedConnection() {
-        PostgresqlConnection newConn = null;
-        String chosenHost = null;
-        UniformLoadBalancerConnectionStrategy connectionStrategy = getAppropriateLoadBalancer();
-        List<String> hosts = this.configuration.getHosts();
-            if (chosenHost == null && controlConnection == null) {
-                for (Iterator<String> iterator = hosts.iterator(); iterator.hasNext();) {
-                    String host = iterator.next();
-                    ConnectionFunction connectionFunction = new SingleHostConnectionFunction(this.connectionFunction, this.configuration);
-                    try{
-                        controlConnection = doCreateConnection(connectionStrategy,false, connectionFunction, host, true).block();
-                        if (controlConnection != null) {
-                            break;
-                        }
-                    }catch (Exception ex){
-                        iterator.remove();
-                        if (hosts.isEmpty())
-                            throw ex;
-                    }
-                }
+    /**
+     * Refresh the cluster topology through the control connection if the refresh interval has elapsed.
+     *
+     * @return a {@link Mono} emitting {@code true} if the server list is up to date
+     */
+    Mono<Boolean> refreshTopology() {
+        ConnectionStrategyRegistry.Entry loadBalancer = getLoadBalancer();
+        UniformLoadBalancerConnectionStrategy connectionStrategy = loadBalancer.getStrategy();
+        ControlConnection controlConnection = loadBalancer.getControlConnection();
+
+        return controlConnection.get()
+            .flatMap(control -> connectionStrategy.refresh(control)
+                .onErrorResume(R2dbcNonTransientResourceException.class, e -> {
+                    connectionStrategy.updateFailedHosts(control.getResources().getConfiguration().getHostConnectedTo());
+                    controlConnection.invalidate(control);
+                    return controlConnection.get().flatMap(connectionStrategy::refresh);
+                }));
+    }
+
+    Mono<PostgresqlConnection> connectToLeastLoadedHost(UniformLoadBalancerConnectionStrategy connectionStrategy) {
+
+        Duration attemptDelay = this.configuration.getLoadBalanceAttemptDelay();
+
+        return attemptDelay == null ? connectSequentially(connectionStrategy) : connectStaggered(connectionStrategy, attemptDelay, ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * Try the least-loaded host and fall back to the next least-loaded host once the attempt has failed.
+     */
+    private Mono<PostgresqlConnection> connectSequentially(UniformLoadBalancerConnectionStrategy connectionStrategy) {
+        return Mono.defer(() -> {
+
+            String chosenHost = connectionStrategy.getHostWithLeastConnections();
+            if (chosenHost == null) {
+                return Mono.empty();
             }
 
-        while (true) {
-            try {
-                if  (controlConnection == null || !connectionStrategy.refresh(controlConnection)) {
-                    return null;
-                } else {
-                    break;
-                }
-            } catch (R2dbcNonTransientResourceException e) {
-                connectionStrategy.updateFailedHosts(controlConnection.getResources().getConfiguration().getHostConnectedTo());
-                boolean success = createControlConnection();
-                if (success) {
-                    break;
-                } else {
-                    return null;
-                }
+            return connectToHost(connectionStrategy, chosenHost).onErrorResume(e -> connectSequentially(connectionStrategy));
+        });
+    }
+
+    /**
+     * Try the least-loaded host and start an attempt to the next least-loaded host once {@code attemptDelay} has elapsed or the previous attempt has failed, whichever comes first. The first
+     * successful attempt wins. Pending attempts are cancelled, which releases their host reservation and closes their client.
+     */
+    private Mono<PostgresqlConnection> connectStaggered(UniformLoadBalancerConnectionStrategy connectionStrategy, Duration attemptDelay, Set<String> attempted) {
+        return Mono.defer(() -> {
+
+            String chosenHost = connectionStrategy.getHostWithLeastConnections(attempted);
+            if (chosenHost == null) {
+                return Mono.empty();
             }
-        }
+            attempted.add(chosenHost);
 
-        chosenHost = connectionStrategy.getHostWithLeastConnections();
+            Sinks.Empty<Void> failed = Sinks.empty();
+            Mono<PostgresqlConnection> attempt = connectToHost(connectionStrategy, chosenHost).doOnError(e -> failed.tryEmitEmpty());
+            Mono<PostgresqlConnection> next = Mono.firstWithSignal(Mono.delay(attemptDelay).then(), failed.asMono())
+                .then(connectStaggered(connectionStrategy, attemptDelay, attempted));
 
-        if (chosenHost == null)
-            return null;
+            // all attempts failed or no host left
+            return Mono.firstWithValue(attempt, next).onErrorResume(NoSuchElementException.class, e -> Mono.empty());
+        });
+    }
 
-        Mono<PostgresqlConnection> newConnection = null;
-        while(chosenHost != null){
-            try {
-                newConnection = doCreateConnection(connectionStrategy,false, null, chosenHost, false);
-                if (newConnection == null || !connectionStrategy.refresh(newConnection)) {
-                    connectionStrategy.incDecConnectionCount(chosenHost, -1);
-                    connectionStrategy.updateFailedHosts(chosenHost);
-                    connectionStrategy.setForRefresh();
-                }
-                else {
-                    boolean betterNodeAvailable = connectionStrategy.hasMorePreferredNode(chosenHost);
-                    if (betterNodeAvailable){
-                        connectionStrategy.incDecConnectionCount(chosenHost, -1);
-                        return createLoadBalancedConnection();
+    private Mono<PostgresqlConnection> connectToHost(UniformLoadBalancerConnectionStrategy connectionStrategy, String chosenHost) {
+        return doCreateConnection(connectionStrategy, false, this.loadBalancedConnectionFunction, chosenHost, false)
+            .flatMap(connection -> closeUnlessEmitted(connection, connectionStrategy.refresh(connection)
+                .onErrorResume(e -> connection.close().then(Mono.error(e)))
+                .flatMap(refreshed -> {
+
+                    if (!refreshed) {
+                        connectionStrategy.setForRefresh();
+                        return connection.close().then(Mono.error(new PostgresConnectionException(String.format("Cannot refresh servers through %s", chosenHost), null)));
                     }
-                    return newConnection.cast(io.r2dbc.postgresql.api.PostgresqlConnection.class);
-                }
-            }catch (Exception ex){
+
+                    return Mono.just(connection);
+                })))
+            .doOnError(e -> {
                 connectionStrategy.setForRefresh();
-                try {
-                    newConnection.block().close().block();
-                    newConn.close().block();
-                }catch (Exception e) {
-                    // ignore as the connection is already bad that's why we are here. Calling
-                    // close so that client side cleanup can happen.
-                }
                 connectionStrategy.updateFailedHosts(chosenHost);
+            })
+            .flatMap(connection -> connectionStrategy.hasMorePreferredNode(chosenHost) ? connectToPreferredNode(connection) : Mono.just(connection))
+            .doOnDiscard(PostgresqlConnection.class, connection -> connection.close().subscribe());
+    }
+
+    /**
+     * Replace {@code connection} with a connection to a more preferred node. {@code connection} is retained if no such connection can be obtained.
+     */
+    private Mono<PostgresqlConnection> connectToPreferredNode(PostgresqlConnection connection) {
+        return closeUnlessEmitted(connection, createLoadBalancedConnection()
+            .flatMap(preferred -> connection.close().thenReturn(preferred))
+            .onErrorResume(e -> Mono.empty())
+            .defaultIfEmpty(connection));
+    }
+
+    /**
+     * Close {@code connection} if {@code mono} is cancelled or completes without emitting a value. Once a value is emitted, its subscriber is responsible for the connection.
+     */
+    private static <T> Mono<T> closeUnlessEmitted(PostgresqlConnection connection, Mono<T> mono) {
+
+        AtomicBoolean settled = new AtomicBoolean();
+        Runnable close = () -> {
+            if (settled.compareAndSet(false, true)) {
+                connection.close().subscribe();
             }
-            chosenHost = connectionStrategy.getHostWithLeastConnections();
-        }
-        return null;
+        };
+
+        return mono.doOnSuccess(value -> {
+
+            if (value == null) {
+                close.run();
+            } else {
+                settled.set(true);
+            }
+        }).doOnCancel(close);
     }
 
-    private UniformLoadBalancerConnectionStrategy getAppropriateLoadBalancer(){
-        UniformLoadBalancerConnectionStrategy connectionStrategy;
-        if (this.configuration.getTopologyKeys() != null) {
-            synchronized (connectionStrategyMap) {
-                connectionStrategy = connectionStrategyMap.get(this.configuration.getTopologyKeys());
-                if (connectionStrategy == null) {
-                    connectionStrategy = new TopologyAwareLoadBalancerConnectionStrategy(new SingleHostConnectionFunction(this.connectionFunction, this.configuration), this.configuration, this.configuration.getTopologyKeys(), this.configuration.getConnectionSettings(), this.configuration.getYBServersRefreshInterval());
-                    connectionStrategyMap.put(this.configuration.getTopologyKeys(), connectionStrategy);
+    ConnectionStrategyRegistry.Entry getLoadBalancer() {
+
+        ConnectionStrategyRegistry.Entry loadBalancer = this.loadBalancer;
+        if (loadBalancer == null) {
+            synchronized (this) {
+                loadBalancer = this.loadBalancer;
+                if (loadBalancer == null) {
+                    loadBalancer = ConnectionStrategyRegistry.acquire(this.configuration, key -> {
+
+                        UniformLoadBalancerConnectionStrategy strategy = this.configuration.getTopologyKeys() != null
+                            ? new TopologyAwareLoadBalancerConnectionStrategy(this.configuration, this.configuration.getTopologyKeys(), this.configuration.getYBServersRefreshInterval())
+                            : new UniformLoadBalancerConnectionStrategy(this.configuration, this.configuration.getYBServersRefreshInterval());
+
+                        return new ConnectionStrategyRegistry.Entry(key, strategy, new ControlConnection(this.configuration.getHosts(),
+                            host -> doCreateConnection(strategy, false, this.loadBalancedConnectionFunction, host, true)));
+                    });
+                    this.loadBalancer = loadBalancer;
                 }
             }
         }
-        else{
-            synchronized (connectionStrategyMap){
-                connectionStrategy = connectionStrategyMap.get("UniformLoadBalancerConnectionStrategy");
-                if (connectionStrategy == null) {
-                    connectionStrategy = new UniformLoadBalancerConnectionStrategy(new SingleHostConnectionFunction(this.connectionFunction, this.configuration), this.configuration, this.configuration.getConnectionSettings(), this.configuration.getYBServersRefreshInterval());
-                    connectionStrategyMap.put("UniformLoadBalancerConnectionStrategy", connectionStrategy);
-                }
+
+        return loadBalancer;
+    }
+
+    /**
+     * Release resources held by this connection factory. Closes the {@link #getNotificationHub() notification hub} which completes its subscribers. Load-balancing state shared with other
+     * connection factories for the same cluster is evicted and its control connection is closed once the last connection factory using it is closed. Connections created through this factory
+     * are not affected.
+     *
+     * @return a {@link Mono} that completes once the resources are released
+     * @since 1.1
+     */
+    @Override
+    public Mono<Void> close() {
+        return Mono.defer(() -> {
+
+            ConnectionStrategyRegistry.Entry loadBalancer;
+            DefaultNotificationHub notificationHub;
+            synchronized (this) {
+                loadBalancer = this.loadBalancer;
+                notificationHub = this.notificationHub;
+                this.loadBalancer = null;
+                this.notificationHub = null;
             }
-        }
-        return connectionStrategy;
+
+            Mono<Void> closeNotificationHub = notificationHub != null ? notificationHub.close() : Mono.empty();
+            return closeNotificationHub.then(loadBalancer != null ? ConnectionStrategyRegistry.release(loadBalancer) : Mono.empty());
+        });
     }
 
     /**
@@ -248,7 +329,7 @@ public final class PostgresqlConnectionFactory implements ConnectionFactory {
 
         ConnectionSettings connectionSettings = this.configuration.getConnectionSettings().mutate(builder -> builder.startupOptions(options));
 
-        ConnectionStrategy connectionStrategy = ConnectionStrategyFactory.getConnectionStrategy(this.connectionFunction, this.configuration, connectionSettings);
+        ConnectionStrategy connectionStrategy = ConnectionStrategyFactory.getConnectionStrategy(this.connectionFunction, this.configuration, connectionSettings, this.scramKeyCache);
 
         return doCreateConnection(true, connectionStrategy).map(DefaultPostgresqlReplicationConnection::new);
     }
@@ -256,55 +337,39 @@ public final class PostgresqlConnectionFactory implements ConnectionFactory {
     private Mono<PostgresqlConnection> doCreateConnection(UniformLoadBalancerConnectionStrategy connectionStrategy, boolean forReplication, ConnectionFunction connectionFunction, String host, boolean isControlConnection) {
 
         ZoneId defaultZone = TimeZone.getDefault().toZoneId();
-        SocketAddress endpoint = InetSocketAddress.createUnresolved(host, 5433);
+        SocketAddress endpoint = connectionStrategy.getEndpoint(host);
 
         PostgresqlConnectionConfiguration newConfig = new PostgresqlConnectionConfiguration(this.configuration);
         newConfig.setHostConnectedTo(host);
 
-        Mono<Client> connclient = isControlConnection ? connectionFunction.connect(endpoint, newConfig.getConnectionSettings()) : connectionStrategy.connect(host);
+        return Mono.defer(() -> {
+
+            ConnectionAttempt attempt = new ConnectionAttempt(isControlConnection ? null : connectionStrategy, host);
 
-        return connclient
+            return connectionFunction.connect(endpoint, newConfig.getConnectionSettings())
+                .doOnNext(attempt::connected)
                 .flatMap(client -> {
 
-                    DefaultCodecs codecs = new DefaultCodecs(client.getByteBufAllocator(), newConfig.isPreferAttachedBuffers(),
-                            () -> client.getTimeZone().map(TimeZone::toZoneId).orElse(defaultZone));
+                    DefaultCodecs codecs = createCodecs(client, newConfig.isPreferAttachedBuffers(), defaultZone);
                     StatementCache statementCache = StatementCache.fromPreparedStatementCacheQueries(client, newConfig.getPreparedStatementCacheQueries());
 
-                    // early connection object to retrieve initialization details
-                    PostgresqlConnection earlyConnection = new PostgresqlConnection(client, codecs, DefaultPortalNameSupplier.INSTANCE, statementCache, IsolationLevel.READ_COMMITTED,
-                            newConfig);
-
-                    Mono<IsolationLevel> isolationLevelMono = Mono.just(IsolationLevel.READ_COMMITTED);
-                    if (!forReplication) {
-                        isolationLevelMono = getIsolationLevel(earlyConnection);
-                    }
-                    return isolationLevelMono
-                            // actual connection to be used
-                            .map(isolationLevel -> {
-                                PostgresqlConnection conn = new PostgresqlConnection(client, codecs, DefaultPortalNameSupplier.INSTANCE, statementCache, isolationLevel, newConfig);
-                                conn.setConnectionStrategy(connectionStrategy);
-                                return conn;
-                            })
-                            .delayUntil(connection -> {
-                                return prepareConnection(connection, client.getByteBufAllocator(), codecs, forReplication);
-                            });
+                    return initializeConnection(client, codecs, statementCache, newConfig, forReplication, isolationLevel -> {
+                        PostgresqlConnection conn = new PostgresqlConnection(client, codecs, DefaultPortalNameSupplier.INSTANCE, statementCache, isolationLevel, newConfig);
+                        if (attempt.created(conn) && !isControlConnection) {
+                            conn.setConnectionStrategy(connectionStrategy);
+                        }
+                        return conn;
+                    });
                 })
+                .doOnNext(connection -> attempt.delivered())
                 .onErrorResume(throwable -> {
-                    if(!isControlConnection) {
-                        System.out.println(host + " not reachable, adding to failed list");
-                        connectionStrategy.incDecConnectionCount(host, -1);
+                    if (!isControlConnection) {
                         connectionStrategy.updateFailedHosts(host);
-                        Mono<io.r2dbc.postgresql.api.PostgresqlConnection> connectionMono = createLoadBalancedConnection();
-                        return connectionMono == null ? null : connectionMono.cast(PostgresqlConnection.class);
-                    } else {
-                        return null;
                     }
-                    // todo setForceRefresh() needed like in pgjdbc?
+                    return attempt.release().then(Mono.error(throwable));
                 })
-                .flux()
-                .as(Operators::discardOnCancel)
-                .single()
-                .doOnDiscard(PostgresqlConnection.class, client -> client.close().subscribe());
+                .doOnCancel(() -> attempt.release().subscribe());
+        });
     }
 
     private Mono<PostgresqlConnection> doCreateConnection(boolean forReplication, ConnectionStrategy connectionStrategy) {
@@ -314,24 +379,11 @@ public final class PostgresqlConnectionFactory implements ConnectionFactory {
         return connectionStrategy.connect()
             .flatMap(client -> {
 
-                DefaultCodecs codecs = new DefaultCodecs(client.getByteBufAllocator(), this.configuration.isPreferAttachedBuffers(),
-                    () -> client.getTimeZone().map(TimeZone::toZoneId).orElse(defaultZone));
+                DefaultCodecs codecs = createCodecs(client, this.configuration.isPreferAttachedBuffers(), defaultZone);
                 StatementCache statementCache = StatementCache.fromPreparedStatementCacheQueries(client, this.configuration.getPreparedStatementCacheQueries());
 
-                // early connection object to retrieve initialization details
-                PostgresqlConnection earlyConnection = new PostgresqlConnection(client, codecs, DefaultPortalNameSupplier.INSTANCE, statementCache, IsolationLevel.READ_COMMITTED,
-                    this.configuration);
-
-                Mono<IsolationLevel> isolationLevelMono = Mono.just(IsolationLevel.READ_COMMITTED);
-                if (!forReplication) {
-                    isolationLevelMono = getIsolationLevel(earlyConnection);
-                }
-                return isolationLevelMono
-                    // actual connection to be used
-                    .map(isolationLevel -> new PostgresqlConnection(client, codecs, DefaultPortalNameSupplier.INSTANCE, statementCache, isolationLevel, this.configuration))
-                    .delayUntil(connection -> {
-                        return prepareConnection(connection, client.getByteBufAllocator(), codecs, forReplication);
-                    })
+                return Mono.defer(() -> initializeConnection(client, codecs, statementCache, this.configuration, forReplication,
+                        isolationLevel -> new PostgresqlConnection(client, codecs, DefaultPortalNameSupplier.INSTANCE, statementCache, isolationLevel, this.configuration)))
                     .onErrorResume(throwable -> this.closeWithError(client, throwable));
             }).onErrorMap(e -> cannotConnect(e, connectionStrategy))
             .flux()
@@ -345,17 +397,128 @@ public final class PostgresqlConnectionFactory implements ConnectionFactory {
         return REPLICATION_DATABASE.equalsIgnoreCase(options.get(REPLICATION_OPTION));
     }
 
-    private Publisher<?> prepareConnection(PostgresqlConnection connection, ByteBufAllocator byteBufAllocator, DefaultCodecs codecs, boolean forReplication) {
+    /**
+     * Create {@link DefaultCodecs} for {@code client} from the shared {@link DefaultCodecs.Template}. The template is created lazily and replaced if the client uses a different
+     * {@link io.netty.buffer.ByteBufAllocator}.
+     */
+    private DefaultCodecs createCodecs(Client client, boolean preferAttachedBuffers, ZoneId defaultZone) {
+
+        DefaultCodecs.Template template = this.codecTemplate;
+
+        if (template == null || !template.isCompatibleWith(client.getByteBufAllocator(), preferAttachedBuffers)) {
+            template = DefaultCodecs.template(client.getByteBufAllocator(), preferAttachedBuffers);
+            this.codecTemplate = template;
+        }
+
+        return template.createCodecs(() -> client.getTimeZone().map(TimeZone::toZoneId).orElse(defaultZone));
+    }
+
+    /**
+     * Initialize a connection by determining the default isolation level and registering codecs. In {@link PostgresqlConnectionConfiguration#isFastStart() fast-start} mode, the isolation
+     * level is taken from the {@code default_transaction_isolation} startup option if configured, and all initialization queries are issued at once so that they are pipelined instead of
+     * awaiting each response before sending the next query. Codecs are registered in registrar order once all registrars have completed.
+     */
+    private Mono<PostgresqlConnection> initializeConnection(Client client, DefaultCodecs codecs, StatementCache statementCache, PostgresqlConnectionConfiguration configuration,
+                                                            boolean forReplication, Function<IsolationLevel, PostgresqlConnection> connectionFactory) {
+
+        // early connection object to retrieve initialization details
+        PostgresqlConnection earlyConnection = new PostgresqlConnection(client, codecs, DefaultPortalNameSupplier.INSTANCE, statementCache, IsolationLevel.READ_COMMITTED, configuration);
+
+        Mono<IsolationLevel> isolationLevelMono = Mono.just(IsolationLevel.READ_COMMITTED);
+
+        if (configuration.isFastStart()) {
+
+            if (!forReplication) {
+                IsolationLevel configuredIsolationLevel = configuration.getDefaultTransactionIsolationLevel();
+                isolationLevelMono = configuredIsolationLevel != null ? Mono.just(configuredIsolationLevel) : getIsolationLevel(earlyConnection);
+            }
+
+            return Mono.zip(isolationLevelMono, prepareConnection(earlyConnection, client, codecs, forReplication, true).thenReturn(Boolean.TRUE), (isolationLevel, prepared) -> isolationLevel)
+                .map(connectionFactory);
+        }
+
+        if (!forReplication) {
+            isolationLevelMono = getIsolationLevel(earlyConnection);
+        }
+
+        return isolationLevelMono
+            // actual connection to be used
+            .map(connectionFactory)
+            .delayUntil(connection -> {
+                return prepareConnection(connection, client, codecs, forReplication, false);
+            });
+    }
+
+    private Mono<Void> prepareConnection(PostgresqlConnection connection, Client client, DefaultCodecs codecs, boolean forReplication, boolean concurrent) {
 
         List<Publisher<?>> publishers = new ArrayList<>();
+        List<DeferredCodecRegistry> registries = new ArrayList<>();
 
         if (!forReplication) {
             this.extensions.forEach(CodecRegistrar.class, it -> {
-                publishers.add(it.register(connection, byteBufAllocator, codecs));
+
+                if (concurrent) {
+                    // registrars complete in arbitrary order, defer their registrations to retain registrar order
+                    DeferredCodecRegistry registry = new DeferredCodecRegistry(codecs);
+                    registries.add(registry);
+                    publishers.add(it.register(connection, client.getByteBufAllocator(), registry));
+                } else {
+                    publishers.add(it.register(connection, client.getByteBufAllocator(), codecs));
+                }
             });
         }
 
-        return Flux.concat(publishers).then();
+        Mono<Void> registration = concurrent ? Flux.merge(publishers).then(Mono.fromRunnable(() -> registries.forEach(DeferredCodecRegistry::apply))) : Flux.concat(publishers).then();
+        String server = getServerIdentity(client);
+
+        if (server != null) {
+            return registration.contextWrite(context -> this.typeCatalogCache.bind(context, server));
+        }
+
+        return registration;
+    }
+
+    /**
+     * Identify the server {@code client} is connected to for caching purposes.
+     *
+     * @return the server identity or {@code null} if the server cannot be identified
+     */
+    @Nullable
+    private String getServerIdentity(Client client) {
+        return client.getRemoteAddress().map(address -> String.format("%s/%s@%s", address, this.configuration.getDatabase(), client.getVersion().getVersion())).orElse(null);
+    }
+
+    /**
+     * Return the {@link NotificationHub} of this connection factory. The hub multiplexes {@code LISTEN/NOTIFY} subscriptions of all its subscribers over a single connection created by this
+     * connection factory.
+     *
+     * @return the {@link NotificationHub} of this connection factory
+     * @since 1.1
+     */
+    public NotificationHub getNotificationHub() {
+
+        DefaultNotificationHub notificationHub = this.notificationHub;
+
+        if (notificationHub == null) {
+            synchronized (this) {
+                notificationHub = this.notificationHub;
+                if (notificationHub == null) {
+                    notificationHub = new DefaultNotificationHub(create());
+                    this.notificationHub = notificationHub;
+                }
+            }
+        }
+
+        return notificationHub;
+    }
+
+    /**
+     * Discard cached {@code pg_type} lookups so that newly created connections query the type catalog again, e.g. after creating or altering types that are mapped by codecs.
+     *
+     * @since 1.1
+     */
+    public void invalidateTypeCache() {
+        this.typeCatalogCache.invalidate();
     }
 
     private Mono<PostgresqlConnection> closeWithError(Client client, Throwable throwable) {
@@ -403,6 +566,92 @@ public final class PostgresqlConnectionFactory implements ConnectionFactory {
             })).defaultIfEmpty(IsolationLevel.READ_COMMITTED).last();
     }
 
+    /**
+     * Resources of a load-balanced connection attempt: the connection count reserved for the host (if any) and the {@link Client}. Both are handed over to the {@link PostgresqlConnection} once
+     * it is created. An attempt that fails or is cancelled before its connection is delivered releases the reservation and closes the client respective the created connection.
+     */
+    static final class ConnectionAttempt {
+
+        private static final int PENDING = 0;
+
+        private static final int CREATED = 1;
+
+        private static final int DELIVERED = 2;
+
+        private static final int RELEASED = 3;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        @Nullable
+        private final UniformLoadBalancerConnectionStrategy reservedBy;
+
+        private final String host;
+
+        @Nullable
+        private volatile Client client;
+
+        @Nullable
+        private volatile PostgresqlConnection connection;
+
+        /**
+         * @param reservedBy the strategy that has reserved a connection count for {@code host}, {@code null} if no count was reserved
+         * @param host       the host to connect to
+         */
+        ConnectionAttempt(@Nullable UniformLoadBalancerConnectionStrategy reservedBy, String host) {
+            this.reservedBy = reservedBy;
+            this.host = host;
+        }
+
+        void connected(Client client) {
+
+            this.client = client;
+            if (this.state.get() == RELEASED) {
+                client.close().subscribe();
+            }
+        }
+
+        /**
+         * Register the created {@code connection}.
+         *
+         * @return {@code true} if the connection takes over the reservation, {@code false} if the attempt was released already
+         */
+        boolean created(PostgresqlConnection connection) {
+            this.connection = connection;
+            return this.state.compareAndSet(PENDING, CREATED);
+        }
+
+        void delivered() {
+            this.state.compareAndSet(CREATED, DELIVERED);
+        }
+
+        /**
+         * Release the resources of this attempt unless its connection was delivered.
+         *
+         * @return a {@link Mono} that completes once the resources are released
+         */
+        Mono<Void> release() {
+
+            if (this.state.compareAndSet(PENDING, RELEASED)) {
+
+                if (this.reservedBy != null) {
+                    this.reservedBy.incDecConnectionCount(this.host, -1);
+                }
+
+                Client client = this.client;
+                return client != null ? client.close().onErrorResume(e -> Mono.empty()) : Mono.empty();
+            }
+
+            if (this.state.compareAndSet(CREATED, RELEASED)) {
+
+                PostgresqlConnection connection = this.connection;
+                return connection != null ? connection.close().onErrorResume(e -> Mono.empty()) : Mono.empty();
+            }
+
+            return Mono.empty();
+        }
+
+    }
+
     static class PostgresConnectionException extends R2dbcNonTransientResourceException implements PostgresqlException {
 
         private static final String CONNECTION_DOES_NOT_EXIST = "08003";
@@ -58,6 +58,13 @@ public final class PostgresqlConnectionFactoryProvider implements ConnectionFact
      */
     public static final Option<String> APPLICATION_NAME = Option.valueOf("applicationName");
 
+    /**
+     * Configure whether to negotiate binary or text result formats per column based on codec capabilities. The default is {@code false}.
+     *
+     * @since 1.1
+     */
+    public static final Option<Boolean> ADAPTIVE_RESULT_FORMATS = Option.valueOf("adaptiveResultFormats");
+
     /**
      * Auto-detect extensions.
      */
@@ -106,6 +113,13 @@ public final class PostgresqlConnectionFactoryProvider implements ConnectionFact
      */
     public static final Option<Boolean> LOAD_BALANCE_HOSTS = Option.valueOf("loadBalanceHosts");
 
+    /**
+     * Delay after which a load-balanced connection attempt is raced by an attempt to the next-best host.
+     *
+     * @since 1.1
+     */
+    public static final Option<Duration> LOAD_BALANCE_ATTEMPT_DELAY = Option.valueOf("loadBalanceAttemptDelay");
+
     /**
      * Lock timeout.
      *
@@ -145,6 +159,13 @@ public final class PostgresqlConnectionFactoryProvider implements ConnectionFact
      */
     public static final String FAILOVER_PROTOCOL = "failover";
 
+    /**
+     * Configure whether to pipeline the execution of statements with multiple bindings within a single round-trip. The default is {@code false}.
+     *
+     * @since 1.1
+     */
+    public static final Option<Boolean> PIPELINE_BINDINGS = Option.valueOf("pipelineBindings");
+
     /**
      * Configure whether {@link Codecs codecs} should prefer attached data buffers. The default is {@code false}, meaning that codecs will copy data from the input buffer into a {@code byte[]}
      * or similar data structure that is enabled for garbage collection.  Using attached buffers is more efficient but comes with the requirement that decoded values (such as {@link Json}) must
@@ -261,6 +282,56 @@ public final class PostgresqlConnectionFactoryProvider implements ConnectionFact
      */
     public static final Option<TimeZone> TIME_ZONE = Option.valueOf("timeZone");
 
+    /**
+     * Maximum number of frontend messages coalesced into a single write.
+     *
+     * @since 1.1
+     */
+    public static final Option<Integer> WRITE_BATCH_SIZE = Option.valueOf("writeBatchSize");
+
+    /**
+     * Number of bytes after which coalesced frontend messages are written.
+     *
+     * @since 1.1
+     */
+    public static final Option<Integer> WRITE_BATCH_BYTES = Option.valueOf("writeBatchBytes");
+
+    /**
+     * Time-to-live of {@code pg_type} lookups cached by the connection factory. {@link Duration#ZERO} (the default) disables caching. See
+     * {@link PostgresqlConnectionFactory#invalidateTypeCache()} to discard cached types after schema changes.
+     *
+     * @since 1.1
+     */
+    public static final Option<Duration> TYPE_CACHE_TTL = Option.valueOf("typeCacheTtl");
+
+    /**
+     * Enable fast-start connection initialization that pipelines initialization queries.
+     *
+     * @since 1.1
+     */
+    public static final Option<Boolean> FAST_START = Option.valueOf("fastStart");
+
+    /**
+     * Defer {@code BEGIN} and transaction-scoped {@code SET} commands until the next statement.
+     *
+     * @since 1.1
+     */
+    public static final Option<Boolean> DEFER_TRANSACTION_START = Option.valueOf("deferTransactionStart");
+
+    /**
+     * Maximum number of cached SCRAM keys derived from the password.
+     *
+     * @since 1.1
+     */
+    public static final Option<Integer> SCRAM_KEY_CACHE_SIZE = Option.valueOf("scramKeyCacheSize");
+
+    /**
+     * Compute authentication responses off the event loop.
+     *
+     * @since 1.1
+     */
+    public static final Option<Boolean> OFFLOAD_AUTHENTICATION = Option.valueOf("offloadAuthentication");
+
     /**
      * Enable ybServersRefreshInterval.
      *
@@ -345,6 +416,7 @@ public final class PostgresqlConnectionFactoryProvider implements ConnectionFact
         }
 
         mapper.fromTyped(APPLICATION_NAME).to(builder::applicationName);
+        mapper.from(ADAPTIVE_RESULT_FORMATS).map(OptionMapper::toBoolean).to(builder::adaptiveResultFormats);
         mapper.from(AUTODETECT_EXTENSIONS).map(OptionMapper::toBoolean).to(builder::autodetectExtensions);
         mapper.from(COMPATIBILITY_MODE).map(OptionMapper::toBoolean).to(builder::compatibilityMode);
         mapper.from(CONNECT_TIMEOUT).map(OptionMapper::toDuration).to(builder::connectTimeout);
@@ -355,11 +427,13 @@ public final class PostgresqlConnectionFactoryProvider implements ConnectionFact
         mapper.from(FETCH_SIZE).map(OptionMapper::toInteger).to(builder::fetchSize);
         mapper.from(FORCE_BINARY).map(OptionMapper::toBoolean).to(builder::forceBinary);
         mapper.from(LOAD_BALANCE_HOSTS).map(OptionMapper::toBoolean).to(builder::loadBalanceHosts);
+        mapper.from(LOAD_BALANCE_ATTEMPT_DELAY).map(OptionMapper::toDuration).to(builder::loadBalanceAttemptDelay);
         mapper.from(LOCK_WAIT_TIMEOUT).map(OptionMapper::toDuration).to(builder::lockWaitTimeout);
         mapper.fromTyped(LOOP_RESOURCES).to(builder::loopResources);
         mapper.from(NOTICE_LOG_LEVEL).map(it -> OptionMapper.toEnum(it, LogLevel.class)).to(builder::noticeLogLevel);
         mapper.from(OPTIONS).map(PostgresqlConnectionFactoryProvider::convertToMap).to(builder::options);
         mapper.fromTyped(PASSWORD).to(builder::password);
+        mapper.from(PIPELINE_BINDINGS).map(OptionMapper::toBoolean).to(builder::pipelineBindings);
         mapper.from(PORT).map(OptionMapper::toInteger).to(builder::port);
         mapper.from(PREFER_ATTACHED_BUFFERS).map(OptionMapper::toBoolean).to(builder::preferAttachedBuffers);
         mapper.from(PREPARED_STATEMENT_CACHE_QUERIES).map(OptionMapper::toInteger).to(builder::preparedStatementCacheQueries);
@@ -380,6 +454,13 @@ public final class PostgresqlConnectionFactoryProvider implements ConnectionFact
             return TimeZone.getTimeZone(it.toString());
         }).to(builder::timeZone);
         builder.username("" + options.getRequiredValue(USER));
+        mapper.from(WRITE_BATCH_BYTES).map(OptionMapper::toInteger).to(builder::writeBatchBytes);
+        mapper.from(TYPE_CACHE_TTL).map(OptionMapper::toDuration).to(builder::typeCacheTtl);
+        mapper.from(FAST_START).map(OptionMapper::toBoolean).to(builder::fastStart);
+        mapper.from(DEFER_TRANSACTION_START).map(OptionMapper::toBoolean).to(builder::deferTransactionStart);
+        mapper.from(SCRAM_KEY_CACHE_SIZE).map(OptionMapper::toInteger).to(builder::scramKeyCacheSize);
+        mapper.from(OFFLOAD_AUTHENTICATION).map(OptionMapper::toBoolean).to(builder::offloadAuthentication);
+        mapper.from(WRITE_BATCH_SIZE).map(OptionMapper::toInteger).to(builder::writeBatchSize);
         mapper.from(YB_SERVERS_REFRESH_INTERVAL).map(OptionMapper::toInteger).to(builder::ybServersRefreshInterval);
 
         return builder;
@@ -22,6 +22,7 @@ import io.netty.util.ReferenceCountUtil;
 import io.netty.util.ReferenceCounted;
 import io.r2dbc.postgresql.api.CopyInBuilder;
 import io.r2dbc.postgresql.client.Client;
+import io.r2dbc.postgresql.message.backend.BackendMessage;
 import io.r2dbc.postgresql.message.backend.ErrorResponse;
 import io.r2dbc.postgresql.message.backend.ReadyForQuery;
 import io.r2dbc.postgresql.message.frontend.CopyData;
@@ -35,6 +36,7 @@ import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
+import reactor.core.publisher.SynchronousSink;
 import reactor.util.annotation.Nullable;
 
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -70,8 +72,8 @@ final class PostgresqlCopyIn {
                     .doOnNext(toReleaseOnError::set)
                     .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release);
 
-            }).concatWithValues(CopyDone.INSTANCE).startWith(new Query(sql))
-            .as(messages -> copyIn(exceptionFactory, messages))
+            }).concatWithValues(CopyDone.INSTANCE)
+            .as(messages -> Mono.defer(() -> copyIn(sql, exceptionFactory, messages, this.context.getDeferredCommands().drain())))
             .doFinally(signalType -> {
 
                 CopyData copyData = toReleaseOnError.get();
@@ -83,12 +85,16 @@ final class PostgresqlCopyIn {
             });
     }
 
-    private Mono<Long> copyIn(ExceptionFactory exceptionFactory, Flux<FrontendMessage> copyDataMessages) {
+    /**
+     * Execute the {@code COPY} command and send {@code copyDataMessages} once the server enters copy-in mode. {@link DeferredCommands.Pending Pending commands} are sent ahead of the command
+     * within the same query.
+     */
+    private Mono<Long> copyIn(String sql, ExceptionFactory exceptionFactory, Flux<FrontendMessage> copyDataMessages, DeferredCommands.Pending pending) {
 
         Client client = this.context.getClient();
         AtomicBoolean stop = new AtomicBoolean();
         Sinks.Many<FrontendMessage> sink = Sinks.many().unicast().onBackpressureBuffer();
-        Flux<FrontendMessage> requestMessages = sink.asFlux().mergeWith(copyDataMessages
+        Flux<FrontendMessage> requestMessages = sink.asFlux().mergeWith(copyDataMessages.startWith(new Query(pending.prepend(sql)))
             .doOnComplete(sink::tryEmitComplete)
             .filter(it -> !stop.get())
             .onErrorResume(e -> {
@@ -97,6 +103,7 @@ final class PostgresqlCopyIn {
             }));
 
         return client.exchange(backendMessage -> backendMessage instanceof ReadyForQuery, requestMessages)
+            .transform(pending::filterResponses)
             .doOnNext(it -> {
                 if (it instanceof ErrorResponse) {
                     stop.set(true);
@@ -118,6 +125,7 @@ final class PostgresqlCopyIn {
             .doOnCancel(() -> {
                 copyFail(sink, stop, "Copy operation failed: Cancelled");
             })
+            .handle((BackendMessage message, SynchronousSink<BackendMessage> messageSink) -> pending.getExceptionFactory(exceptionFactory).handleErrorResponse(message, messageSink))
             .as(messages -> toResult(this.context, messages, exceptionFactory).getRowsUpdated());
     }
 
@@ -51,7 +51,7 @@ final class PostgresqlResult extends AbstractReferenceCounted implements io.r2db
 
     private volatile PostgresqlRowMetadata metadata;
 
-    private volatile RowDescription rowDescription;
+    private volatile BoundRowDecoder rowDecoder;
 
     PostgresqlResult(ConnectionResources resources, Flux<BackendMessage> messages, ExceptionFactory factory) {
         this.resources = Assert.requireNonNull(resources, "resources must not be null");
@@ -119,13 +119,13 @@ final class PostgresqlResult extends AbstractReferenceCounted implements io.r2db
                     }
 
                     if (message instanceof RowDescription) {
-                        this.rowDescription = (RowDescription) message;
                         this.metadata = PostgresqlRowMetadata.toRowMetadata(this.resources.getCodecs(), (RowDescription) message);
+                        this.rowDecoder = new BoundRowDecoder(this.resources.getCodecs(), ((RowDescription) message).getFields(), this.metadata.getColumnNameIndex());
                         return;
                     }
 
                     if (message instanceof DataRow) {
-                        PostgresqlRow row = PostgresqlRow.toRow(this.resources, (DataRow) message, this.metadata, this.rowDescription);
+                        PostgresqlRow row = PostgresqlRow.toRow(this.resources, (DataRow) message, this.metadata, this.rowDecoder);
                         sink.next(f.apply(row, this.metadata));
                     }
 
@@ -43,15 +43,29 @@ final class PostgresqlRow implements io.r2dbc.postgresql.api.PostgresqlRow {
 
     private final List<RowDescription.Field> fields;
 
+    @Nullable
     private final ByteBuf[] data;
 
+    @Nullable
+    private final DataRow dataRow;
+
+    private final BoundRowDecoder decoder;
+
     private volatile boolean isReleased = false;
 
     PostgresqlRow(ConnectionResources context, io.r2dbc.postgresql.api.PostgresqlRowMetadata metadata, List<RowDescription.Field> fields, ByteBuf[] data) {
+        this(context, metadata, fields, data, null, null);
+    }
+
+    private PostgresqlRow(ConnectionResources context, io.r2dbc.postgresql.api.PostgresqlRowMetadata metadata, List<RowDescription.Field> fields, @Nullable ByteBuf[] data,
+                          @Nullable DataRow dataRow, @Nullable BoundRowDecoder decoder) {
         this.context = Assert.requireNonNull(context, "context must not be null");
         this.metadata = Assert.requireNonNull(metadata, "metadata must not be null");
         this.fields = Assert.requireNonNull(fields, "fields must not be null");
-        this.data = Assert.requireNonNull(data, "data must not be null");
+        Assert.isTrue(data != null || dataRow != null, "data must not be null");
+        this.data = data;
+        this.dataRow = dataRow;
+        this.decoder = decoder != null ? decoder : new BoundRowDecoder(context.getCodecs(), fields);
     }
 
     @Override
@@ -90,26 +104,219 @@ final class PostgresqlRow implements io.r2dbc.postgresql.api.PostgresqlRow {
         return this.metadata;
     }
 
+    @Override
+    public boolean isNull(int index) {
+        requireNotReleased();
+
+        return isNullValue(getColumn(index));
+    }
+
+    @Override
+    public boolean isNull(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        requireNotReleased();
+
+        return isNullValue(getColumn(name));
+    }
+
+    @Override
+    public boolean getBoolean(int index) {
+        requireNotReleased();
+
+        return decodeBoolean(getColumn(index));
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        requireNotReleased();
+
+        return decodeBoolean(getColumn(name));
+    }
+
+    @Override
+    public short getShort(int index) {
+        requireNotReleased();
+
+        return (short) decodeLong(getColumn(index), Short.class);
+    }
+
+    @Override
+    public short getShort(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        requireNotReleased();
+
+        return (short) decodeLong(getColumn(name), Short.class);
+    }
+
+    @Override
+    public int getInt(int index) {
+        requireNotReleased();
+
+        return (int) decodeLong(getColumn(index), Integer.class);
+    }
+
+    @Override
+    public int getInt(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        requireNotReleased();
+
+        return (int) decodeLong(getColumn(name), Integer.class);
+    }
+
+    @Override
+    public long getLong(int index) {
+        requireNotReleased();
+
+        return decodeLong(getColumn(index), Long.class);
+    }
+
+    @Override
+    public long getLong(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        requireNotReleased();
+
+        return decodeLong(getColumn(name), Long.class);
+    }
+
+    @Override
+    public float getFloat(int index) {
+        requireNotReleased();
+
+        return (float) decodeDouble(getColumn(index), Float.class);
+    }
+
+    @Override
+    public float getFloat(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        requireNotReleased();
+
+        return (float) decodeDouble(getColumn(name), Float.class);
+    }
+
+    @Override
+    public double getDouble(int index) {
+        requireNotReleased();
+
+        return decodeDouble(getColumn(index), Double.class);
+    }
+
+    @Override
+    public double getDouble(String name) {
+        Assert.requireNonNull(name, "name must not be null");
+        requireNotReleased();
+
+        return decodeDouble(getColumn(name), Double.class);
+    }
+
     @Nullable
     private <T> T decode(int index, Class<T> type) {
-        ByteBuf data = this.data[index];
+        ByteBuf data = getData(index);
         if (data == null) {
             return null;
         }
 
+        int readerIndex = data.readerIndex();
+        try {
+            T decoded = this.decoder.decode(index, data, type);
+
+            return type.cast(postProcessResult(decoded));
+
+        } finally {
+            data.readerIndex(readerIndex);
+        }
+    }
+
+    private boolean decodeBoolean(int index) {
+        ByteBuf data = requireNonNullValue(index);
+
         int readerIndex = data.readerIndex();
         try {
             RowDescription.Field field = this.fields.get(index);
 
-            T decoded = this.context.getCodecs().decode(data, field.getDataType(), field.getFormat(), type);
+            if (PrimitiveDecodeUtils.isBoolean(field.getDataType())) {
 
-            return type.cast(postProcessResult(decoded));
+                Boolean decoded = PrimitiveDecodeUtils.decodeBoolean(data, field.getFormat());
 
+                if (decoded != null) {
+                    return decoded;
+                }
+            }
+
+            return decodeNonNull(index, data, Boolean.class);
         } finally {
             data.readerIndex(readerIndex);
         }
     }
 
+    private long decodeLong(int index, Class<? extends Number> type) {
+        ByteBuf data = requireNonNullValue(index);
+
+        int readerIndex = data.readerIndex();
+        try {
+            RowDescription.Field field = this.fields.get(index);
+
+            if (PrimitiveDecodeUtils.isIntegral(field.getDataType())) {
+                return PrimitiveDecodeUtils.decodeIntegral(data, field.getDataType(), field.getFormat());
+            }
+
+            return decodeNonNull(index, data, type).longValue();
+        } finally {
+            data.readerIndex(readerIndex);
+        }
+    }
+
+    private double decodeDouble(int index, Class<? extends Number> type) {
+        ByteBuf data = requireNonNullValue(index);
+
+        int readerIndex = data.readerIndex();
+        try {
+            RowDescription.Field field = this.fields.get(index);
+
+            if (PrimitiveDecodeUtils.isFloatingPoint(field.getDataType())) {
+                return PrimitiveDecodeUtils.decodeFloatingPoint(data, field.getDataType(), field.getFormat());
+            }
+
+            if (PrimitiveDecodeUtils.isIntegral(field.getDataType())) {
+                return PrimitiveDecodeUtils.decodeIntegral(data, field.getDataType(), field.getFormat());
+            }
+
+            return decodeNonNull(index, data, type).doubleValue();
+        } finally {
+            data.readerIndex(readerIndex);
+        }
+    }
+
+    private <T> T decodeNonNull(int index, ByteBuf data, Class<T> type) {
+
+        T decoded = this.decoder.decode(index, data, type);
+
+        if (decoded == null) {
+            throw new NullPointerException(String.format("Value of column '%s' decoded to NULL", this.fields.get(index).getName()));
+        }
+
+        return decoded;
+    }
+
+    private ByteBuf requireNonNullValue(int index) {
+        ByteBuf data = getData(index);
+
+        if (data == null) {
+            throw new NullPointerException(String.format("Value of column '%s' is NULL", this.fields.get(index).getName()));
+        }
+
+        return data;
+    }
+
+    private boolean isNullValue(int index) {
+        return this.data != null ? this.data[index] == null : this.dataRow.isNull(index);
+    }
+
+    @Nullable
+    private ByteBuf getData(int index) {
+        return this.data != null ? this.data[index] : this.dataRow.getColumn(index);
+    }
+
     @Nullable
     private Object postProcessResult(@Nullable Object decoded) {
 
@@ -143,34 +350,35 @@ final class PostgresqlRow implements io.r2dbc.postgresql.api.PostgresqlRow {
         Assert.requireNonNull(codecs, "rowDescription must not be null");
         Assert.requireNonNull(rowDescription, "rowDescription must not be null");
 
-        return new PostgresqlRow(context, PostgresqlRowMetadata.toRowMetadata(codecs, rowDescription), rowDescription.getFields(), dataRow.getColumns());
+        return new PostgresqlRow(context, PostgresqlRowMetadata.toRowMetadata(codecs, rowDescription), rowDescription.getFields(), null, dataRow, null);
     }
 
-    static PostgresqlRow toRow(ConnectionResources context, DataRow dataRow, PostgresqlRowMetadata metadata, RowDescription rowDescription) {
+    static PostgresqlRow toRow(ConnectionResources context, DataRow dataRow, PostgresqlRowMetadata metadata, BoundRowDecoder decoder) {
         Assert.requireNonNull(dataRow, "dataRow must not be null");
         Assert.requireNonNull(metadata, "metadata must not be null");
-        Assert.requireNonNull(rowDescription, "rowDescription must not be null");
+        Assert.requireNonNull(decoder, "decoder must not be null");
 
-        return new PostgresqlRow(context, metadata, rowDescription.getFields(), dataRow.getColumns());
+        return new PostgresqlRow(context, metadata, decoder.getFields(), null, dataRow, decoder);
     }
 
     void release() {
 
-        for (ByteBuf datum : this.data) {
-            if (datum != null) {
-                datum.release();
+        // rows backed by a DataRow share its lifecycle, the DataRow is released by the result
+        if (this.data != null) {
+            for (ByteBuf datum : this.data) {
+                if (datum != null) {
+                    datum.release();
+                }
             }
         }
         this.isReleased = true;
     }
 
     private int getColumn(String name) {
-        for (int i = 0; i < this.fields.size(); i++) {
-            RowDescription.Field field = this.fields.get(i);
+        int index = this.decoder.getColumnNameIndex().indexOf(name);
 
-            if (field.getName().equalsIgnoreCase(name)) {
-                return i;
-            }
+        if (index != ColumnNameIndex.NOT_FOUND) {
+            return index;
         }
 
         throw new NoSuchElementException(String.format("Column name '%s' does not exist in column names %s", name, toColumnNames()));
@@ -27,9 +27,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
@@ -40,17 +38,17 @@ final class PostgresqlRowMetadata extends AbstractCollection<String> implements
 
     private final List<PostgresqlColumnMetadata> columnMetadatas;
 
-    private final Map<String, PostgresqlColumnMetadata> nameKeyedColumns;
+    private final ColumnNameIndex columnNameIndex;
 
     PostgresqlRowMetadata(List<PostgresqlColumnMetadata> columnMetadatas) {
         this.columnMetadatas = Assert.requireNonNull(columnMetadatas, "columnMetadatas must not be null");
-        this.nameKeyedColumns = new LinkedHashMap<>();
 
+        List<String> names = new ArrayList<>(columnMetadatas.size());
         for (PostgresqlColumnMetadata columnMetadata : columnMetadatas) {
-            if (!this.nameKeyedColumns.containsKey(columnMetadata.getName())) {
-                this.nameKeyedColumns.put(columnMetadata.getName(), columnMetadata);
-            }
+            names.add(columnMetadata.getName());
         }
+
+        this.columnNameIndex = ColumnNameIndex.of(names);
     }
 
     @Override
@@ -66,11 +64,10 @@ final class PostgresqlRowMetadata extends AbstractCollection<String> implements
     public PostgresqlColumnMetadata getColumnMetadata(String name) {
         Assert.requireNonNull(name, "name must not be null");
 
-        for (PostgresqlColumnMetadata metadata : this.columnMetadatas) {
+        PostgresqlColumnMetadata metadata = findColumn(name);
 
-            if (metadata.getName().equalsIgnoreCase(name)) {
-                return metadata;
-            }
+        if (metadata != null) {
+            return metadata;
         }
 
         throw new NoSuchElementException(String.format("Column name '%s' does not exist in column names %s", name, this));
@@ -171,22 +168,32 @@ final class PostgresqlRowMetadata extends AbstractCollection<String> implements
     @Nullable
     PostgresqlColumnMetadata findColumn(String name) {
 
-        PostgresqlColumnMetadata column = this.nameKeyedColumns.get(name);
+        int index = this.columnNameIndex.indexOf(name);
 
-        if (column == null) {
-            name = EscapeAwareColumnMatcher.findColumn(name, this.nameKeyedColumns.keySet());
-            if (name != null) {
-                column = this.nameKeyedColumns.get(name);
-            }
-        }
+        return index != ColumnNameIndex.NOT_FOUND ? this.columnMetadatas.get(index) : null;
+    }
 
-        return column;
+    /**
+     * Returns the {@link ColumnNameIndex} to resolve column positions by name.
+     *
+     * @return the {@link ColumnNameIndex}
+     */
+    ColumnNameIndex getColumnNameIndex() {
+        return this.columnNameIndex;
     }
 
     static PostgresqlRowMetadata toRowMetadata(Codecs codecs, RowDescription rowDescription) {
         Assert.requireNonNull(codecs, "codecs must not be null");
         Assert.requireNonNull(rowDescription, "rowDescription must not be null");
 
+        if (rowDescription instanceof CachedRowDescription) {
+            return ((CachedRowDescription) rowDescription).getMetadata(codecs);
+        }
+
+        return createRowMetadata(codecs, rowDescription);
+    }
+
+    static PostgresqlRowMetadata createRowMetadata(Codecs codecs, RowDescription rowDescription) {
         return new PostgresqlRowMetadata(getColumnMetadatas(codecs, rowDescription));
     }
 
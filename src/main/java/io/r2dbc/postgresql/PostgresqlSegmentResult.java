@@ -58,15 +58,16 @@ final class PostgresqlSegmentResult extends AbstractReferenceCounted implements
         Assert.requireNonNull(messages, "messages must not be null");
         Assert.requireNonNull(factory, "factory must not be null");
 
-        AtomicReference<RowDescription> rowDescriptionHolder = new AtomicReference<>();
+        AtomicReference<BoundRowDecoder> rowDecoderHolder = new AtomicReference<>();
         AtomicReference<PostgresqlRowMetadata> metadataHolder = new AtomicReference<>();
 
         this.segments = messages
             .doOnNext(message -> {
 
                 if (message instanceof RowDescription) {
-                    rowDescriptionHolder.set((RowDescription) message);
-                    metadataHolder.set(PostgresqlRowMetadata.toRowMetadata(resources.getCodecs(), (RowDescription) message));
+                    PostgresqlRowMetadata metadata = PostgresqlRowMetadata.toRowMetadata(resources.getCodecs(), (RowDescription) message);
+                    metadataHolder.set(metadata);
+                    rowDecoderHolder.set(new BoundRowDecoder(resources.getCodecs(), ((RowDescription) message).getFields(), metadata.getColumnNameIndex()));
                 }
 
             }).handle((message, sink) -> {
@@ -92,10 +93,10 @@ final class PostgresqlSegmentResult extends AbstractReferenceCounted implements
 
                 if (message instanceof DataRow) {
 
-                    RowDescription rowDescription = rowDescriptionHolder.get();
+                    BoundRowDecoder rowDecoder = rowDecoderHolder.get();
                     PostgresqlRowMetadata metadata = metadataHolder.get();
 
-                    if (rowDescription == null) {
+                    if (rowDecoder == null) {
                         sink.error(new IllegalStateException("DataRow without RowDescription"));
                         return;
                     }
@@ -105,7 +106,7 @@ final class PostgresqlSegmentResult extends AbstractReferenceCounted implements
                         return;
                     }
 
-                    sink.next(new PostgresqlRowSegment(PostgresqlRow.toRow(resources, (DataRow) message, metadata, rowDescription), (DataRow) message));
+                    sink.next(new PostgresqlRowSegment(PostgresqlRow.toRow(resources, (DataRow) message, metadata, rowDecoder), (DataRow) message));
                     return;
                 }
 
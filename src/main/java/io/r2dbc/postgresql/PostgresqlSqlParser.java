@@ -43,6 +43,23 @@ class PostgresqlSqlParser {
         }
     }
 
+    private static final ParsedSqlCache CACHE = new ParsedSqlCache(ParsedSqlCache.DEFAULT_MAX_SIZE, ParsedSqlCache.DEFAULT_MAX_SQL_LENGTH);
+
+    /**
+     * Return the {@link ParsedSql} for {@code sql} from the JVM-wide {@link ParsedSqlCache}, parsing {@code sql} if not yet cached.
+     *
+     * @param sql the SQL to parse
+     * @return the parsed SQL
+     * @since 1.1
+     */
+    public static ParsedSql parseCached(String sql) {
+        return CACHE.get(sql);
+    }
+
+    static ParsedSqlCache getCache() {
+        return CACHE;
+    }
+
     public static ParsedSql parse(String sql) {
         List<ParsedSql.Token> tokens = tokenize(sql);
         List<ParsedSql.Statement> statements = new ArrayList<>();
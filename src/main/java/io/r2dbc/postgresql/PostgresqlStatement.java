@@ -39,6 +39,7 @@ import reactor.core.publisher.Sinks;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -74,7 +75,7 @@ final class PostgresqlStatement implements io.r2dbc.postgresql.api.PostgresqlSta
 
     PostgresqlStatement(ConnectionResources resources, String sql) {
         this.resources = Assert.requireNonNull(resources, "resources must not be null");
-        this.parsedSql = PostgresqlSqlParser.parse(Assert.requireNonNull(sql, "sql must not be null"));
+        this.parsedSql = PostgresqlSqlParser.parseCached(Assert.requireNonNull(sql, "sql must not be null"));
         this.connectionContext = resources.getClient().getContext();
         this.bindings = new ArrayDeque<>(this.parsedSql.getParameterCount());
 
@@ -222,6 +223,27 @@ final class PostgresqlStatement implements io.r2dbc.postgresql.api.PostgresqlSta
                     return Flux.just(PostgresqlResult.toResult(this.resources, messages, factory));
                 }
 
+                if (fetchSize == NO_LIMIT && this.resources.getConfiguration().isPipelineBindings()) {
+
+                    List<Binding> bindings = new ArrayList<>(this.bindings);
+                    return Flux.fromIterable(bindings)
+                        .concatMap(PostgresqlStatement::collectBindingParameters)
+                        .collectList()
+                        .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release)
+                        .doOnDiscard(List.class, PostgresqlStatement::releaseValues) // ensure release of values collected before an error or cancellation
+                        .flatMapMany(values -> {
+
+                            DeferredCommands.Pending pending = this.resources.getDeferredCommands().drain();
+
+                            return ExtendedFlowDelegate.runPipelinedQuery(this.resources, sql, bindings, values, pending)
+                                .windowUntil(WINDOW_UNTIL)
+                                .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release) // ensure release of rows within WindowPredicate
+                                .map(messages -> PostgresqlResult.toResult(this.resources, messages, pending.getExceptionFactory(factory)));
+                        })
+                        .doOnCancel(() -> clearBindings(this.bindings.iterator(), canceled))
+                        .doOnError(e -> clearBindings(this.bindings.iterator(), canceled));
+                }
+
                 Iterator<Binding> iterator = this.bindings.iterator();
                 Sinks.Many<Binding> bindings = Sinks.many().unicast().onBackpressureBuffer();
 
@@ -243,17 +265,25 @@ final class PostgresqlStatement implements io.r2dbc.postgresql.api.PostgresqlSta
             }).cast(io.r2dbc.postgresql.api.PostgresqlResult.class);
         }
 
-        Flux<BackendMessage> exchange;
         // Simple Query protocol
         if (this.fetchSize != NO_LIMIT) {
-            exchange = ExtendedFlowDelegate.runQuery(this.resources, factory, sql, Binding.EMPTY, Collections.emptyList(), this.fetchSize, canceled);
-        } else {
-            exchange = SimpleQueryMessageFlow.exchange(this.resources.getClient(), sql);
+            Flux<BackendMessage> exchange = ExtendedFlowDelegate.runQuery(this.resources, factory, sql, Binding.EMPTY, Collections.emptyList(), this.fetchSize, canceled);
+            return toResults(exchange, DeferredCommands.Pending.NONE, factory, canceled, onCancel);
         }
 
+        return Flux.defer(() -> {
+
+            DeferredCommands.Pending pending = this.resources.getDeferredCommands().drain();
+            Flux<BackendMessage> exchange = SimpleQueryMessageFlow.exchange(this.resources.getClient(), pending.prepend(sql)).transform(pending::filterResponses);
+            return toResults(exchange, pending, factory, canceled, onCancel);
+        });
+    }
+
+    private Flux<io.r2dbc.postgresql.api.PostgresqlResult> toResults(Flux<BackendMessage> exchange, DeferredCommands.Pending pending, ExceptionFactory factory, AtomicBoolean canceled,
+                                                                     CompletableFuture<Void> onCancel) {
         return exchange.windowUntil(WINDOW_UNTIL)
             .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release) // ensure release of rows within WindowPredicate
-            .map(messages -> PostgresqlResult.toResult(this.resources, messages, factory))
+            .map(messages -> PostgresqlResult.toResult(this.resources, messages, pending.getExceptionFactory(factory)))
             .as(source -> Operators.discardOnCancel(source, () -> {
                 canceled.set(true);
                 onCancel.complete(null);
@@ -279,6 +309,10 @@ final class PostgresqlStatement implements io.r2dbc.postgresql.api.PostgresqlSta
 
     private static Mono<List<ByteBuf>> collectBindingParameters(Binding binding) {
 
+        if (binding.isSynchronous()) {
+            return Mono.fromSupplier(binding::encodeParameterValues);
+        }
+
         return Flux.fromIterable(binding.getParameterValues())
             .concatMap(f -> {
                 if (f == EncodedParameter.NULL_VALUE) {
@@ -291,6 +325,10 @@ final class PostgresqlStatement implements io.r2dbc.postgresql.api.PostgresqlSta
             .collectList();
     }
 
+    private static void releaseValues(List<?> values) {
+        values.forEach(ReferenceCountUtil::release);
+    }
+
     private void clearBindings(Iterator<Binding> iterator, AtomicBoolean canceled) {
 
         canceled.set(true);
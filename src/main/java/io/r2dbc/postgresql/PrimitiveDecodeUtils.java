@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.postgresql.message.Format;
+import io.r2dbc.postgresql.util.ByteBufUtils;
+import reactor.util.annotation.Nullable;
+
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.BOOL;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT4;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT8;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT2;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT8;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.OID;
+import static io.r2dbc.postgresql.message.Format.FORMAT_BINARY;
+
+/**
+ * Utility methods to decode column values of well-known numeric and boolean types directly into primitives without going through the {@link io.r2dbc.postgresql.codec.Codecs codec} lookup
+ * and without boxing. Callers are expected to retain the reader index of the buffer as decoding consumes the value.
+ */
+final class PrimitiveDecodeUtils {
+
+    /**
+     * Maximum number of characters of a textual integer that cannot overflow a {@code long} including the sign.
+     */
+    private static final int MAX_SAFE_LONG_LENGTH = 18;
+
+    private PrimitiveDecodeUtils() {
+    }
+
+    /**
+     * Returns whether {@code dataType} is an integral type that can be decoded with {@link #decodeIntegral(ByteBuf, int, Format)}.
+     *
+     * @param dataType the type OID
+     * @return {@code true} if the type is {@code int2}, {@code int4}, {@code int8} or {@code oid}
+     */
+    static boolean isIntegral(int dataType) {
+        return dataType == INT2.getObjectId() || dataType == INT4.getObjectId() || dataType == INT8.getObjectId() || dataType == OID.getObjectId();
+    }
+
+    /**
+     * Returns whether {@code dataType} is a floating point type that can be decoded with {@link #decodeFloatingPoint(ByteBuf, int, Format)}.
+     *
+     * @param dataType the type OID
+     * @return {@code true} if the type is {@code float4} or {@code float8}
+     */
+    static boolean isFloatingPoint(int dataType) {
+        return dataType == FLOAT4.getObjectId() || dataType == FLOAT8.getObjectId();
+    }
+
+    /**
+     * Returns whether {@code dataType} is {@code bool}.
+     *
+     * @param dataType the type OID
+     * @return {@code true} if the type is {@code bool}
+     */
+    static boolean isBoolean(int dataType) {
+        return dataType == BOOL.getObjectId();
+    }
+
+    /**
+     * Decode an integral value.
+     *
+     * @param buffer   the data buffer
+     * @param dataType the type OID, must be an {@link #isIntegral(int) integral type}
+     * @param format   the data format
+     * @return the decoded value
+     * @throws NumberFormatException if the textual representation cannot be parsed
+     */
+    static long decodeIntegral(ByteBuf buffer, int dataType, @Nullable Format format) {
+
+        if (format == FORMAT_BINARY) {
+
+            if (dataType == INT2.getObjectId()) {
+                return buffer.readShort();
+            }
+
+            if (dataType == INT4.getObjectId()) {
+                return buffer.readInt();
+            }
+
+            if (dataType == OID.getObjectId()) {
+                return buffer.readUnsignedInt();
+            }
+
+            return buffer.readLong();
+        }
+
+        return parseLong(buffer);
+    }
+
+    /**
+     * Decode a floating point value.
+     *
+     * @param buffer   the data buffer
+     * @param dataType the type OID, must be a {@link #isFloatingPoint(int) floating point type}
+     * @param format   the data format
+     * @return the decoded value
+     * @throws NumberFormatException if the textual representation cannot be parsed
+     */
+    static double decodeFloatingPoint(ByteBuf buffer, int dataType, @Nullable Format format) {
+
+        if (dataType == FLOAT4.getObjectId()) {
+            return format == FORMAT_BINARY ? buffer.readFloat() : Float.parseFloat(ByteBufUtils.decode(buffer));
+        }
+
+        return format == FORMAT_BINARY ? buffer.readDouble() : Double.parseDouble(ByteBufUtils.decode(buffer));
+    }
+
+    /**
+     * Decode a {@code bool} value. Text values are expected in the canonical {@code t}/{@code f} representation sent by the server.
+     *
+     * @param buffer the data buffer
+     * @param format the data format
+     * @return the decoded value or {@code null} if the textual representation is not canonical
+     */
+    @Nullable
+    static Boolean decodeBoolean(ByteBuf buffer, @Nullable Format format) {
+
+        if (format == FORMAT_BINARY) {
+            return buffer.readBoolean();
+        }
+
+        if (buffer.readableBytes() == 1) {
+
+            byte value = buffer.getByte(buffer.readerIndex());
+
+            if (value == 't') {
+                return true;
+            }
+
+            if (value == 'f') {
+                return false;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Parse a textual (ASCII) decimal integer without materializing a {@link String}.
+     */
+    static long parseLong(ByteBuf buffer) {
+
+        int length = buffer.readableBytes();
+
+        if (length == 0 || length > MAX_SAFE_LONG_LENGTH) {
+            return Long.parseLong(ByteBufUtils.decode(buffer));
+        }
+
+        int index = buffer.readerIndex();
+        int end = index + length;
+        boolean negative = false;
+        byte first = buffer.getByte(index);
+
+        if (first == '-' || first == '+') {
+
+            if (length == 1) {
+                throw new NumberFormatException(String.format("For input string: \"%s\"", ByteBufUtils.decode(buffer)));
+            }
+
+            negative = first == '-';
+            index++;
+        }
+
+        long value = 0;
+        for (; index < end; index++) {
+
+            int digit = buffer.getByte(index) - '0';
+
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException(String.format("For input string: \"%s\"", ByteBufUtils.decode(buffer)));
+            }
+
+            value = value * 10 + digit;
+        }
+
+        buffer.skipBytes(length);
+        return negative ? -value : value;
+    }
+
+}
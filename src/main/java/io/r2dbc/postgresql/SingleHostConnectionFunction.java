@@ -19,6 +19,7 @@ package io.r2dbc.postgresql;
 import io.r2dbc.postgresql.authentication.AuthenticationHandler;
 import io.r2dbc.postgresql.authentication.PasswordAuthenticationHandler;
 import io.r2dbc.postgresql.authentication.SASLAuthenticationHandler;
+import io.r2dbc.postgresql.authentication.ScramKeyCache;
 import io.r2dbc.postgresql.client.Client;
 import io.r2dbc.postgresql.client.ConnectionSettings;
 import io.r2dbc.postgresql.client.PostgresStartupParameterProvider;
@@ -26,6 +27,8 @@ import io.r2dbc.postgresql.client.StartupMessageFlow;
 import io.r2dbc.postgresql.message.backend.AuthenticationMessage;
 import io.r2dbc.postgresql.util.Assert;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.annotation.Nullable;
 
 import java.net.SocketAddress;
 
@@ -35,9 +38,17 @@ final class SingleHostConnectionFunction implements ConnectionFunction {
 
     private final PostgresqlConnectionConfiguration configuration;
 
+    @Nullable
+    private final ScramKeyCache scramKeyCache;
+
     SingleHostConnectionFunction(ConnectionFunction upstreamFunction, PostgresqlConnectionConfiguration configuration) {
+        this(upstreamFunction, configuration, null);
+    }
+
+    SingleHostConnectionFunction(ConnectionFunction upstreamFunction, PostgresqlConnectionConfiguration configuration, @Nullable ScramKeyCache scramKeyCache) {
         this.upstreamFunction = upstreamFunction;
         this.configuration = configuration;
+        this.scramKeyCache = scramKeyCache;
     }
 
     @Override
@@ -46,7 +57,7 @@ final class SingleHostConnectionFunction implements ConnectionFunction {
         return this.upstreamFunction.connect(endpoint, settings)
             .delayUntil(client -> StartupMessageFlow
                 .exchange(this::getAuthenticationHandler, client, this.configuration.getDatabase(), this.configuration.getUsername(),
-                    getParameterProvider(this.configuration, settings))
+                    getParameterProvider(this.configuration, settings), this.configuration.isOffloadAuthentication() ? Schedulers.parallel() : null)
                 .handle(ExceptionFactory.INSTANCE::handleErrorResponse));
     }
 
@@ -60,7 +71,7 @@ final class SingleHostConnectionFunction implements ConnectionFunction {
             return new PasswordAuthenticationHandler(password, this.configuration.getUsername());
         } else if (SASLAuthenticationHandler.supports(message)) {
             CharSequence password = Assert.requireNonNull(this.configuration.getPassword(), "Password must not be null");
-            return new SASLAuthenticationHandler(password, this.configuration.getUsername());
+            return new SASLAuthenticationHandler(password, this.configuration.getUsername(), this.scramKeyCache);
         } else {
             throw new IllegalStateException(String.format("Unable to provide AuthenticationHandler capable of handling %s", message));
         }
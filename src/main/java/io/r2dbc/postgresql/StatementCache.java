@@ -18,6 +18,10 @@ package io.r2dbc.postgresql;
 
 import io.r2dbc.postgresql.client.Binding;
 import io.r2dbc.postgresql.client.Client;
+import io.r2dbc.postgresql.message.backend.BackendMessage;
+import io.r2dbc.postgresql.message.backend.NoData;
+import io.r2dbc.postgresql.message.backend.RowDescription;
+import reactor.util.annotation.Nullable;
 
 interface StatementCache {
 
@@ -29,6 +33,26 @@ interface StatementCache {
 
     void evict(String sql);
 
+    /**
+     * Return the description of the result of the cached prepared statement for {@code sql}.
+     *
+     * @param binding the binding
+     * @param sql     the SQL
+     * @return the cached {@link RowDescription} or {@link NoData} if the statement does not return rows. {@code null} if the statement is not cached or was not described yet.
+     */
+    @Nullable
+    BackendMessage getDescription(Binding binding, String sql);
+
+    /**
+     * Associate the result description with the cached prepared statement for {@code sql}. The description is dropped along with the statement on {@link #evict(String) eviction}. Has no
+     * effect if the statement is not cached.
+     *
+     * @param binding     the binding
+     * @param sql         the SQL
+     * @param description the {@link RowDescription} or {@link NoData} received in response to describing the statement's portal
+     */
+    void putDescription(Binding binding, String sql, BackendMessage description);
+
     static StatementCache fromPreparedStatementCacheQueries(Client client, int preparedStatementCacheQueries) {
         if (preparedStatementCacheQueries < 0) {
             return new IndefiniteStatementCache();
@@ -39,4 +63,25 @@ interface StatementCache {
         return new BoundedStatementCache(client, preparedStatementCacheQueries);
     }
 
+    /**
+     * A prepared statement along with the description of its result.
+     */
+    final class CachedStatement {
+
+        final String name;
+
+        @Nullable
+        volatile BackendMessage description;
+
+        CachedStatement(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+
+    }
+
 }
@@ -1,35 +1,27 @@
 package io.r2dbc.postgresql;
 
-import io.r2dbc.postgresql.api.PostgresqlResult;
-import io.r2dbc.postgresql.client.Client;
-import io.r2dbc.postgresql.client.ConnectionSettings;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
 
-import java.net.InetSocketAddress;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class TopologyAwareLoadBalancerConnectionStrategy extends UniformLoadBalancerConnectionStrategy{
 
-    protected final ConnectionFunction connectionFunction;
-    private final ConnectionSettings connectionSettings;
     private final PostgresqlConnectionConfiguration configuration;
     private final String placements;
     private final Map<Integer, Set<CloudPlacement>> allowedPlacements = new HashMap<>();
-    private final Map<Integer, List<String>> fallbackPrivateIPs = new HashMap<>();
-    private final Map<Integer, List<String>> fallbackPublicIPs = new HashMap<>();
+    private final Map<Integer, List<String>> fallbackPrivateIPs = new ConcurrentHashMap<>();
+    private final Map<Integer, List<String>> fallbackPublicIPs = new ConcurrentHashMap<>();
     private final int PRIMARY_PLACEMENTS = 1;
     private final int FIRST_FALLBACK = 2;
     private final int REST_OF_CLUSTER = -1;
     public static final int MAX_PREFERENCE_VALUE = 10;
 
-    public TopologyAwareLoadBalancerConnectionStrategy(ConnectionFunction connectionFunction, PostgresqlConnectionConfiguration configuration, String placementvalues, ConnectionSettings settings, int refreshListSeconds) {
-        super(connectionFunction,configuration,settings, refreshListSeconds);
+    public TopologyAwareLoadBalancerConnectionStrategy(PostgresqlConnectionConfiguration configuration, String placementvalues, int refreshListSeconds) {
+        super(configuration, refreshListSeconds);
         placements = placementvalues;
-        this.connectionFunction = connectionFunction;
         this.configuration = configuration;
-        this.connectionSettings = settings;
         this.refreshListSeconds = refreshListSeconds >= 0 && refreshListSeconds <= 600 ?
                 refreshListSeconds : 300;
         parseGeoLocations();
@@ -83,142 +75,63 @@ public class TopologyAwareLoadBalancerConnectionStrategy extends UniformLoadBala
     }
 
     @Override
-    protected List<String> getCurrentServers(PostgresqlConnection controlConnection){
-        currentPublicIps.clear();
-        hostToPriorityMap.clear();
-        List <String> allPrivateIPs = new ArrayList<>();
-        List <String> allPublicIPs = new ArrayList<>();
-        Flux<PostgresqlResult> Results = controlConnection.createStatement("Select * from yb_servers()").execute();
-        List<String> privateHosts = Results.flatMap(result -> result.map((row, rowMetadata) -> {
-                    String host = row.get("host", String.class);
-                    String cloud = row.get("cloud", String.class);
-                    String region = row.get("region", String.class);
-                    String zone = row.get("zone", String.class);
-                    updatePriorityMap(host, cloud, region, zone);
-                    CloudPlacement cp = new CloudPlacement(cloud, region, zone);
-                    if (cp.isContainedIn(allowedPlacements.get(PRIMARY_PLACEMENTS))){
-                       return host;
-                    }
-                    return "";
-                }))
-                .collectList()
-                .block();
-
-        privateHosts.removeAll(Arrays.asList("", null));
-        allPrivateIPs.addAll(privateHosts);
-
-        currentPublicIps = Results.flatMap(result -> result.map((row, rowMetadata) -> {
-            String host = row.get("public_ip", String.class);
-            String cloud = row.get("cloud", String.class);
-            String region = row.get("region", String.class);
-            String zone = row.get("zone", String.class);
-            CloudPlacement cp = new CloudPlacement(cloud, region, zone);
-            if (cp.isContainedIn(allowedPlacements.get(PRIMARY_PLACEMENTS))){
-                return host;
-            }
-            return "";
-        }))
-                .collectList()
-                .block();
-        currentPublicIps.removeAll(Arrays.asList("", null));
-        allPublicIPs.addAll(currentPublicIps);
-
-        for (Map.Entry<Integer, Set<CloudPlacement>> allowedCPs : allowedPlacements.entrySet()) {
-            List<String> privateIPs = Results.flatMap(result -> result.map((row, rowMetadata) -> {
-                        String host = row.get("host", String.class);
-                        String cloud = row.get("cloud", String.class);
-                        String region = row.get("region", String.class);
-                        String zone = row.get("zone", String.class);
-                        updatePriorityMap(host, cloud, region, zone);
-                        CloudPlacement cp = new CloudPlacement(cloud, region, zone);
-                        if (cp.isContainedIn(allowedCPs.getValue())){
-                            return host;
-                        }
-                        return "";
-                    }))
-                    .collectList()
-                    .block();
-
-            privateIPs.removeAll(Arrays.asList("", null));
-            fallbackPrivateIPs.put(allowedCPs.getKey(), privateIPs);
-            allPrivateIPs.addAll(privateIPs);
-
-            List<String> publicIPs = Results.flatMap(result -> result.map((row, rowMetadata) -> {
-                String host = row.get("public_ip", String.class);
-                String cloud = row.get("cloud", String.class);
-                String region = row.get("region", String.class);
-                String zone = row.get("zone", String.class);
-                CloudPlacement cp = new CloudPlacement(cloud, region, zone);
-                if (cp.isContainedIn(allowedCPs.getValue())){
-                    return host;
+    protected Mono<List<String>> getCurrentServers(PostgresqlConnection controlConnection){
+        return fetchServers(controlConnection).map(snapshot -> {
+
+            hostToPriorityMap.clear();
+            for (YBServersSnapshot.Server server : snapshot.getServers()) {
+                if (server.getHost() != null) {
+                    updatePriorityMap(server.getHost(), server.getPriority());
                 }
-                return "";
-            }))
-                    .collectList()
-                    .block();
-
-            publicIPs.removeAll(Arrays.asList("", null));
-            fallbackPublicIPs.put(allowedCPs.getKey(), publicIPs);
-            allPublicIPs.addAll(publicIPs);
-        }
+            }
 
-        // For rest of the cluster
+            Set<CloudPlacement> primaryPlacements = allowedPlacements.get(PRIMARY_PLACEMENTS);
+            List<String> privateHosts = snapshot.getPrivateHosts(server -> isContainedIn(server, primaryPlacements));
+            List<String> publicHosts = snapshot.getPublicHosts(server -> isContainedIn(server, primaryPlacements));
+            currentPublicIps = publicHosts;
 
-        List<String> restprivateIPs = Results.flatMap(result -> result.map((row, rowMetadata) -> {
-            String host = row.get("host", String.class);
-            String cloud = row.get("cloud", String.class);
-            String region = row.get("region", String.class);
-            String zone = row.get("zone", String.class);
-            updatePriorityMap(host, cloud, region, zone);
-            if(!allPrivateIPs.contains(host)){
-                return host;
-            }
-            return "";
-        }))
-                .collectList()
-                .block();
-
-        restprivateIPs.removeAll(Arrays.asList("", null));
-        fallbackPrivateIPs.put(REST_OF_CLUSTER, restprivateIPs);
-        allPrivateIPs.addAll(restprivateIPs);
-
-        List<String> restpublicIPs = Results.flatMap(result -> result.map((row, rowMetadata) -> {
-            String host = row.get("public_ip", String.class);
-            String cloud = row.get("cloud", String.class);
-            String region = row.get("region", String.class);
-            String zone = row.get("zone", String.class);
-            if (!allPublicIPs.contains(host)){
-                return host;
+            Set<String> allPrivateIPs = new LinkedHashSet<>(privateHosts);
+            Set<String> allPublicIPs = new LinkedHashSet<>(publicHosts);
+
+            for (Map.Entry<Integer, Set<CloudPlacement>> allowedCPs : allowedPlacements.entrySet()) {
+
+                List<String> privateIPs = snapshot.getPrivateHosts(server -> isContainedIn(server, allowedCPs.getValue()));
+                fallbackPrivateIPs.put(allowedCPs.getKey(), privateIPs);
+                allPrivateIPs.addAll(privateIPs);
+
+                List<String> publicIPs = snapshot.getPublicHosts(server -> isContainedIn(server, allowedCPs.getValue()));
+                fallbackPublicIPs.put(allowedCPs.getKey(), publicIPs);
+                allPublicIPs.addAll(publicIPs);
             }
-            return "";
-        }))
-                .collectList()
-                .block();
-
-        restpublicIPs.removeAll(Arrays.asList("", null));
-        fallbackPublicIPs.put(REST_OF_CLUSTER, restpublicIPs);
-        allPublicIPs.addAll(restpublicIPs);
-
-        String hostConnectedTo = controlConnection.getResources().getConfiguration().getHostConnectedTo();
-        List<String> hostsavailable = this.configuration.getHosts();
-        if (allPrivateIPs.contains(hostConnectedTo)){
-            useHostColumn = Boolean.TRUE;
-            for (String privateIP : allPrivateIPs) {
-                if (!hostsavailable.contains(privateIP)) {
+
+            // For rest of the cluster
+            List<String> restPrivateIPs = snapshot.getPrivateHosts(server -> !allPrivateIPs.contains(server.getHost()));
+            fallbackPrivateIPs.put(REST_OF_CLUSTER, restPrivateIPs);
+            allPrivateIPs.addAll(restPrivateIPs);
+
+            List<String> restPublicIPs = snapshot.getPublicHosts(server -> !allPublicIPs.contains(server.getPublicIp()));
+            fallbackPublicIPs.put(REST_OF_CLUSTER, restPublicIPs);
+            allPublicIPs.addAll(restPublicIPs);
+
+            String hostConnectedTo = controlConnection.getResources().getConfiguration().getHostConnectedTo();
+            if (allPrivateIPs.contains(hostConnectedTo)) {
+                useHostColumn = Boolean.TRUE;
+                for (String privateIP : allPrivateIPs) {
                     this.configuration.setHosts(privateIP);
                 }
-            }
-        }
-        else if (allPublicIPs.contains(hostConnectedTo)) {
-            useHostColumn = Boolean.FALSE;
-            for (String publicIP : allPublicIPs) {
-                if (!hostsavailable.contains(publicIP)) {
+            } else if (allPublicIPs.contains(hostConnectedTo)) {
+                useHostColumn = Boolean.FALSE;
+                for (String publicIP : allPublicIPs) {
                     this.configuration.setHosts(publicIP);
                 }
             }
-        }
 
-        return getPrivateOrPublicServers(privateHosts, currentPublicIps);
+            return getPrivateOrPublicServers(privateHosts, publicHosts);
+        });
+    }
+
+    private static boolean isContainedIn(YBServersSnapshot.Server server, @Nullable Set<CloudPlacement> placements) {
+        return placements != null && new CloudPlacement(server.getCloud(), server.getRegion(), server.getZone()).isContainedIn(placements);
     }
 
     @Override
@@ -241,13 +154,12 @@ public class TopologyAwareLoadBalancerConnectionStrategy extends UniformLoadBala
     }
 
     @Override
-    public synchronized boolean hasMorePreferredNode(String chosenHost) {
+    public boolean hasMorePreferredNode(String chosenHost) {
         if (hostToPriorityMap.containsKey(chosenHost)) {
             Integer chosenHostPriority = hostToPriorityMap.get(chosenHost);
             if (chosenHostPriority != null) {
                 for (int i = 1; i < chosenHostPriority; i++) {
-                    if (hostToPriorityMap.values().contains(i)) {
-                        hostToNumConnCountMap.put(chosenHost, hostToNumConnMap.get(chosenHost));
+                    if (hostToPriorityMap.containsValue(i)) {
                         return true;
                     }
                 }
@@ -256,15 +168,14 @@ public class TopologyAwareLoadBalancerConnectionStrategy extends UniformLoadBala
         return false;
     }
 
-    @Override
-    protected void updatePriorityMap(String host, String cloud, String region, String zone) {
+    private void updatePriorityMap(String host, int priority) {
         if (!unreachableHosts.containsKey(host)) {
-            int priority = getPriority(cloud, region, zone);
             hostToPriorityMap.put(host, priority);
         }
     }
 
-    private int getPriority(String cloud, String region, String zone) {
+    @Override
+    protected int getPriority(String cloud, String region, String zone) {
         CloudPlacement cp = new CloudPlacement(cloud, region, zone);
         return getKeysByValue(cp);
     }
@@ -282,52 +193,32 @@ public class TopologyAwareLoadBalancerConnectionStrategy extends UniformLoadBala
     }
 
     @Override
-    public synchronized void updateFailedHosts(String chosenHost) {
+    public void updateFailedHosts(String chosenHost) {
         super.updateFailedHosts(chosenHost);
         for (int i = FIRST_FALLBACK; i <= MAX_PREFERENCE_VALUE; i++) {
-            if (fallbackPrivateIPs.get(i) != null && !fallbackPrivateIPs.get(i).isEmpty()) {
-                if (fallbackPrivateIPs.get(i).contains(chosenHost)) {
-                    List<String> hosts = fallbackPrivateIPs.computeIfAbsent(i, k -> new ArrayList<>());
-                    hosts.remove(chosenHost);
-                    return;
-                }
-            }
-            if (fallbackPublicIPs.get(i) != null && !fallbackPublicIPs.get(i).isEmpty()) {
-                if (fallbackPublicIPs.get(i).contains(chosenHost)) {
-                    List<String> hosts = fallbackPublicIPs.computeIfAbsent(i, k -> new ArrayList<>());
-                    hosts.remove(chosenHost);
-                    return;
-                }
-            }
-        }
-        if (fallbackPrivateIPs.get(REST_OF_CLUSTER) != null) {
-            if (fallbackPrivateIPs.get(REST_OF_CLUSTER).contains(chosenHost)) {
-                List<String> hosts = fallbackPrivateIPs.computeIfAbsent(REST_OF_CLUSTER,
-                        k -> new ArrayList<>());
-                hosts.remove(chosenHost);
+            if (removeHost(fallbackPrivateIPs, i, chosenHost) || removeHost(fallbackPublicIPs, i, chosenHost)) {
                 return;
             }
         }
-
-        if (fallbackPublicIPs.get(REST_OF_CLUSTER) != null) {
-            if (fallbackPublicIPs.get(REST_OF_CLUSTER).contains(chosenHost)) {
-                List<String> hosts = fallbackPublicIPs.computeIfAbsent(REST_OF_CLUSTER,
-                        k -> new ArrayList<>());
-                hosts.remove(chosenHost);
-            }
+        if (!removeHost(fallbackPrivateIPs, REST_OF_CLUSTER, chosenHost)) {
+            removeHost(fallbackPublicIPs, REST_OF_CLUSTER, chosenHost);
         }
     }
 
-    @Override
-    public Mono<Client> connect() {
-        return null;
-    }
-
-    public Mono<Client> connect(String host) {
-        incDecConnectionCount(host, 1);
-        endpoint = InetSocketAddress.createUnresolved(host, 5433);
-        Mono<Client> client = this.connectionFunction.connect(endpoint, this.connectionSettings);
-        return client;
+    /**
+     * Remove {@code host} from the fallback level {@code level}. Lists are replaced instead of modified so that concurrent readers always observe a consistent list.
+     *
+     * @return {@code true} if the host was part of the fallback level
+     */
+    private static boolean removeHost(Map<Integer, List<String>> fallbackIPs, int level, String host) {
+        List<String> hosts = fallbackIPs.get(level);
+        if (hosts == null || !hosts.contains(host)) {
+            return false;
+        }
+        List<String> remaining = new ArrayList<>(hosts);
+        remaining.remove(host);
+        fallbackIPs.put(level, remaining);
+        return true;
     }
 
     static class CloudPlacement {
@@ -1,33 +1,36 @@
 package io.r2dbc.postgresql;
 
-import io.r2dbc.postgresql.api.PostgresqlResult;
 import io.r2dbc.postgresql.client.Client;
-import io.r2dbc.postgresql.client.ConnectionSettings;
-import reactor.core.publisher.Flux;
+import io.r2dbc.postgresql.client.MultiHostConfiguration;
+import io.r2dbc.postgresql.client.SingleHostConfiguration;
 import reactor.core.publisher.Mono;
+import reactor.util.Logger;
+import reactor.util.Loggers;
 
-import java.net.InetSocketAddress;
 import java.net.SocketAddress;
-import java.util.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class UniformLoadBalancerConnectionStrategy implements ConnectionStrategy {
 
-    private final ConnectionFunction connectionFunction;
+    private static final Logger logger = Loggers.getLogger(UniformLoadBalancerConnectionStrategy.class);
 
     private final PostgresqlConnectionConfiguration configuration;
 
-    private final ConnectionSettings connectionSettings;
+    protected volatile List<String> servers = Collections.emptyList();
 
-    protected static List<String> servers = new ArrayList<>();
-
-    ConcurrentHashMap<String, Integer> hostToNumConnMap = new ConcurrentHashMap<>();
-    ConcurrentHashMap<String, Integer> hostToNumConnCountMap = new ConcurrentHashMap<>();
+    final HostLoadTable hostLoads = new HostLoadTable();
     final ConcurrentHashMap<String, Integer> hostToPriorityMap = new ConcurrentHashMap<>();
 
-    protected SocketAddress endpoint;
-
-    private long lastServerListFetchTime = 0L;
+    private volatile long lastServerListFetchTime = 0L;
     protected int refreshListSeconds = 300;
     /**
      * The default value should ideally match the interval at which the server-list is updated at
@@ -35,55 +38,129 @@ public class UniformLoadBalancerConnectionStrategy implements ConnectionStrategy
      * not too low (1s).
      */
     static final int DEFAULT_FAILED_HOST_TTL_SECONDS = 5;
-    Map<String, Long> unreachableHosts = new HashMap<String, Long>();
-    protected Boolean useHostColumn = null;
-    protected List<String> currentPublicIps = new ArrayList<>();
+    final Map<String, Long> unreachableHosts = new ConcurrentHashMap<>();
+    protected volatile Boolean useHostColumn = null;
+    protected volatile List<String> currentPublicIps = new ArrayList<>();
+
+    /**
+     * Time-to-live of resolved host addresses.
+     */
+    static final int DEFAULT_ADDRESS_TTL_SECONDS = 30;
+    final Map<String, HostEndpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile Set<String> clusterHosts = Collections.emptySet();
+    private final Map<String, Integer> seedPorts = new HashMap<>();
+    private final int defaultPort;
+    private final Duration addressTtl = Duration.ofSeconds(Long.getLong("address_cache_ttl_secs", DEFAULT_ADDRESS_TTL_SECONDS));
+
+    private final AtomicReference<Mono<Boolean>> inFlightRefresh = new AtomicReference<>();
 
 
-    UniformLoadBalancerConnectionStrategy(ConnectionFunction connectionFunction, PostgresqlConnectionConfiguration configuration, ConnectionSettings settings, int refreshListSeconds) {
+    UniformLoadBalancerConnectionStrategy(PostgresqlConnectionConfiguration configuration, int refreshListSeconds) {
 
-        this.connectionFunction = connectionFunction;
         this.configuration = configuration;
-        this.connectionSettings = settings;
         this.refreshListSeconds = refreshListSeconds >= 0 && refreshListSeconds <= 600 ?
                 refreshListSeconds : 300;
+
+        SingleHostConfiguration singleHostConfiguration = configuration.getSingleHostConfiguration();
+        MultiHostConfiguration multiHostConfiguration = configuration.getMultiHostConfiguration();
+        int defaultPort = PostgresqlConnectionConfiguration.DEFAULT_PORT;
+
+        if (singleHostConfiguration != null && !singleHostConfiguration.isUseSocket()) {
+            this.seedPorts.put(singleHostConfiguration.getRequiredHost(), singleHostConfiguration.getPort());
+            defaultPort = singleHostConfiguration.getPort();
+        }
+
+        if (multiHostConfiguration != null) {
+            for (MultiHostConfiguration.ServerHost host : multiHostConfiguration.getHosts()) {
+                this.seedPorts.putIfAbsent(host.getHost(), host.getPort());
+            }
+        }
+
+        this.defaultPort = defaultPort;
     }
 
     public void printCurrentConnectionCounts() {
-        for (String host : hostToNumConnMap.keySet()) {
-            System.out.println("Host: " + host + " has " + hostToNumConnMap.get(host) + " connections");
+        if (logger.isDebugEnabled()) {
+            hostLoads.getConnectionCounts().forEach((host, count) -> logger.debug("Host: {} has {} connections", host, count));
         }
     }
 
     // Create a ConcurrentHashMap to store the addresses and their respective
     // connection counts
     // by querying "Select * from yb_servers()" using the control connection
-    protected List<String> getCurrentServers(PostgresqlConnection controlConnection) {
-        currentPublicIps.clear();
-        Flux<PostgresqlResult> Results = controlConnection.createStatement("Select * from yb_servers()").execute();
-        List<String> privateHosts = Results.flatMap(result -> result.map((row, rowMetaData) -> row.get("host", String.class)))
-                 .collectList().block();
-        currentPublicIps = Results.flatMap(result -> result.map((row, rowMetaData) -> row.get("public_ip", String.class)))
-                .collectList().block();
-        String hostConnectedTo = controlConnection.getResources().getConfiguration().getHostConnectedTo();
-        List<String> hostsavailable = this.configuration.getHosts();
-            if (privateHosts.contains(hostConnectedTo)){
-                useHostColumn = Boolean.TRUE;
-                for(String host : privateHosts) {
-                    if (!hostsavailable.contains(host)) {
+    protected Mono<List<String>> getCurrentServers(PostgresqlConnection controlConnection) {
+        return fetchServers(controlConnection)
+            .map(snapshot -> {
+
+                List<String> privateHosts = snapshot.getPrivateHosts(server -> true);
+                List<String> publicIps = snapshot.getPublicHosts(server -> true);
+                currentPublicIps = publicIps;
+
+                String hostConnectedTo = controlConnection.getResources().getConfiguration().getHostConnectedTo();
+                if (privateHosts.contains(hostConnectedTo)) {
+                    useHostColumn = Boolean.TRUE;
+                    for (String host : privateHosts) {
                         this.configuration.setHosts(host);
                     }
-                }
-            }
-            else if (currentPublicIps.contains(hostConnectedTo)) {
-                useHostColumn = Boolean.FALSE;
-                for(String host : currentPublicIps) {
-                    if (!hostsavailable.contains(host)) {
+                } else if (publicIps.contains(hostConnectedTo)) {
+                    useHostColumn = Boolean.FALSE;
+                    for (String host : publicIps) {
                         this.configuration.setHosts(host);
                     }
                 }
-            }
-        return getPrivateOrPublicServers(privateHosts, currentPublicIps);
+                return getPrivateOrPublicServers(privateHosts, publicIps);
+            });
+    }
+
+    /**
+     * Query {@code yb_servers()} and update the per-host endpoints with the reported ports.
+     */
+    protected Mono<YBServersSnapshot> fetchServers(PostgresqlConnection controlConnection) {
+        return YBServersSnapshot.fetch(controlConnection, this::getPriority).doOnNext(this::updateEndpoints);
+    }
+
+    void updateEndpoints(YBServersSnapshot snapshot) {
+
+        Set<String> hosts = new HashSet<>();
+        for (YBServersSnapshot.Server server : snapshot.getServers()) {
+
+            int port = server.getPort() > 0 ? server.getPort() : getConfiguredPort(server.getHost());
+            updateEndpoint(server.getHost(), port, hosts);
+            updateEndpoint(server.getPublicIp(), port, hosts);
+        }
+
+        this.endpoints.keySet().retainAll(hosts);
+        this.clusterHosts = Collections.unmodifiableSet(hosts);
+    }
+
+    /**
+     * Return the private and public hosts of all servers reported by the last {@code yb_servers()} query.
+     *
+     * @return the hosts of the cluster, empty if the topology was not queried yet
+     */
+    Set<String> getClusterHosts() {
+        return this.clusterHosts;
+    }
+
+    private void updateEndpoint(String host, int port, Set<String> hosts) {
+
+        if (host == null || host.isEmpty()) {
+            return;
+        }
+
+        hosts.add(host);
+        this.endpoints.compute(host, (key, endpoint) -> endpoint != null && endpoint.getPort() == port ? endpoint : new HostEndpoint(key, port, this.addressTtl));
+    }
+
+    private int getConfiguredPort(String host) {
+        return this.seedPorts.getOrDefault(host, this.defaultPort);
+    }
+
+    /**
+     * Compute the placement priority of a server. Lower values are preferred.
+     */
+    protected int getPriority(String cloud, String region, String zone) {
+        return 1;
     }
 
 
@@ -104,81 +181,83 @@ public class UniformLoadBalancerConnectionStrategy implements ConnectionStrategy
         return null;
     }
 
-    public Mono<Client> connect(String host) {
-        incDecConnectionCount(host, 1);
-        endpoint = InetSocketAddress.createUnresolved(host, 5433);
-        Mono<Client> client = this.connectionFunction.connect(endpoint, this.connectionSettings);
-        return client;
+    /**
+     * Return the endpoint to connect to for {@code host} using the port reported by {@code yb_servers()} or the configured port for hosts that were not discovered yet. The returned address is
+     * resolved if a cached resolution is available. Connections to the endpoint are expected to be accounted for already through {@link #getHostWithLeastConnections()}.
+     */
+    public SocketAddress getEndpoint(String host) {
+        return this.endpoints.computeIfAbsent(host, key -> new HostEndpoint(key, getConfiguredPort(key), this.addressTtl)).getSocketAddress();
     }
 
-    public synchronized void updateFailedHosts(String chosenHost) {
+    public void updateFailedHosts(String chosenHost) {
+        HostEndpoint endpoint = endpoints.get(chosenHost);
+        if (endpoint != null) {
+            endpoint.invalidate();
+        }
         hostToPriorityMap.remove(chosenHost);
         unreachableHosts.putIfAbsent(chosenHost, System.currentTimeMillis() / 1000);
-        hostToNumConnCountMap.remove(chosenHost);
-        hostToNumConnMap.remove(chosenHost);
+        hostLoads.remove(chosenHost);
     }
 
     public boolean needsRefresh() {
         long currentTimeInMillis = System.currentTimeMillis();
         long diff = (currentTimeInMillis - lastServerListFetchTime) / 1000;
-        boolean firstTime = servers == null;
+        boolean firstTime = servers.isEmpty();
         if (firstTime || diff > refreshListSeconds) {
             return true;
         }
         return false;
     }
 
-    public synchronized boolean refresh( Mono<PostgresqlConnection> controlConn) {
-        if (!needsRefresh()) {
-            return true;
-        }
-        return refresh(controlConn.block());
-    }
+    /**
+     * Refresh the server list through {@code controlConnection} if the refresh interval has elapsed. Concurrent callers share a single in-flight refresh so that {@code yb_servers()} is queried at
+     * most once per refresh cycle.
+     *
+     * @param controlConnection the connection to query {@code yb_servers()} with
+     * @return a {@link Mono} emitting {@code true} if the server list is up to date
+     */
+    public Mono<Boolean> refresh(PostgresqlConnection controlConnection) {
+        return Mono.defer(() -> {
 
-    public synchronized boolean refresh( PostgresqlConnection controlConnection) {
-        if (!needsRefresh()) {
-            return true;
-        }
-        // else clear server list
-        long currTime = System.currentTimeMillis();
-        lastServerListFetchTime = currTime;
-        long now = System.currentTimeMillis() / 1000;
+            Mono<Boolean> inFlight = this.inFlightRefresh.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
 
-        long failedHostTTL = Long.getLong("failed_host_reconnect_delay_secs", DEFAULT_FAILED_HOST_TTL_SECONDS);
-        Set<String> possiblyReachableHosts = new HashSet<>();
-        for (Map.Entry<String, Long> e : unreachableHosts.entrySet()) {
-            if ((now - e.getValue()) > failedHostTTL) {
-                possiblyReachableHosts.add(e.getKey());
+            if (!needsRefresh()) {
+                return Mono.just(true);
             }
-        }
 
-        boolean emptyHostToNumConnMap = false;
-        for (String h : possiblyReachableHosts) {
-            unreachableHosts.remove(h);
-            emptyHostToNumConnMap = true;
-        }
+            Mono<Boolean> refresh = doRefresh(controlConnection)
+                .doFinally(signal -> this.inFlightRefresh.set(null))
+                .cache();
 
-        if (emptyHostToNumConnMap && !hostToNumConnMap.isEmpty()) {
-            for (String h : hostToNumConnMap.keySet()) {
-                hostToNumConnCountMap.put(h, hostToNumConnMap.get(h));
+            if (!this.inFlightRefresh.compareAndSet(null, refresh)) {
+                return refresh(controlConnection);
             }
-            hostToNumConnMap.clear();
-        }
-        servers = getCurrentServers(controlConnection);
-        if (servers == null) {
-            return false;
-        }
 
-        for (String h : servers) {
-            if (!hostToNumConnMap.containsKey(h) && !unreachableHosts.containsKey(h)) {
-                if(hostToNumConnCountMap.containsKey(h)){
-                    hostToNumConnMap.put(h, hostToNumConnCountMap.get(h));
-                }
-                else {
-                    hostToNumConnMap.put(h, 0);
-                }
-            }
-        }
+            return refresh;
+        });
+    }
+
+    private Mono<Boolean> doRefresh(PostgresqlConnection controlConnection) {
+        return Mono.defer(() -> {
+            lastServerListFetchTime = System.currentTimeMillis();
+            expireUnreachableHosts();
+            return getCurrentServers(controlConnection);
+        }).map(this::updateServers);
+    }
+
+    private void expireUnreachableHosts() {
+
+        long now = System.currentTimeMillis() / 1000;
+        long failedHostTTL = Long.getLong("failed_host_reconnect_delay_secs", DEFAULT_FAILED_HOST_TTL_SECONDS);
+        unreachableHosts.entrySet().removeIf(e -> (now - e.getValue()) > failedHostTTL);
+    }
+
+    private boolean updateServers(List<String> currentServers) {
+        servers = currentServers;
+        hostLoads.update(currentServers, host -> !unreachableHosts.containsKey(host));
         return true;
     }
 
@@ -188,59 +267,39 @@ public class UniformLoadBalancerConnectionStrategy implements ConnectionStrategy
 
     // When a connection is closed, decrement the connection count for the host
 
-    public synchronized void incDecConnectionCount(String host, int incDec) {
-        if (hostToNumConnMap.get(host) == null)
-            return;
-        if (hostToNumConnMap.get(host) == 0 && incDec < 0)
-            return;
-        hostToNumConnMap.put(host, hostToNumConnMap.get(host) + incDec);
-    }
-
-    // Get the host with the least number of connections
-    public synchronized String getHostWithLeastConnections() {
-        if(hostToNumConnMap.isEmpty()){
-            servers = getPrivateOrPublicServers(new ArrayList<>(), currentPublicIps);
-            if (servers != null && !servers.isEmpty()) {
-                for (String h : servers) {
-                    if (!hostToNumConnMap.containsKey(h)) {
-                        if(hostToNumConnCountMap.containsKey(h)){
-                            hostToNumConnMap.put(h, hostToNumConnCountMap.get(h));
-                        }
-                        else {
-                            hostToNumConnMap.put(h, 0);
-                        }
-                    }
-                }
-            } else {
+    public void incDecConnectionCount(String host, int incDec) {
+        hostLoads.add(host, incDec);
+    }
+
+    /**
+     * Select the host with the least number of connections and account for a new connection to it. Callers that do not end up using the returned host must release it through
+     * {@link #incDecConnectionCount(String, int)}.
+     *
+     * @return the selected host or {@code null} if no host is available
+     */
+    public String getHostWithLeastConnections() {
+        return getHostWithLeastConnections(Collections.emptySet());
+    }
+
+    /**
+     * Select the host with the least number of connections that is not contained in {@code excluded} and account for a new connection to it.
+     *
+     * @param excluded hosts that must not be selected, typically because a connection attempt to them is already in progress
+     * @return the selected host or {@code null} if no host is available
+     */
+    public String getHostWithLeastConnections(Set<String> excluded) {
+        if (hostLoads.isEmpty()) {
+            List<String> fallback = getPrivateOrPublicServers(new ArrayList<>(), currentPublicIps);
+            if (fallback == null || fallback.isEmpty()) {
                 return null;
             }
+            hostLoads.update(fallback, host -> !unreachableHosts.containsKey(host));
         }
-        String hostWithLeastConnections = null;
-        int leastConnections = Integer.MAX_VALUE;
-        ArrayList<String> minConnectionsHostList = new ArrayList<>();
-        for (String host : hostToNumConnMap.keySet()) {
-            int currLoad = hostToNumConnMap.get(host);
-            if (!unreachableHosts.containsKey(host) && currLoad < leastConnections) {
-                leastConnections = currLoad;
-                minConnectionsHostList.clear();
-                minConnectionsHostList.add(host);
-            }
-            else if (!unreachableHosts.containsKey(host) && currLoad == leastConnections) {
-                minConnectionsHostList.add(host);
-            }
-        }
-        if (minConnectionsHostList.size() > 0) {
-            hostWithLeastConnections = minConnectionsHostList.get(new Random().nextInt(minConnectionsHostList.size()));
-        }
-
-        return hostWithLeastConnections;
+        return hostLoads.acquire(excluded);
     }
 
     public boolean hasMorePreferredNode(String chosenHost) {
         return false;
     }
-
-    protected synchronized void updatePriorityMap(String host, String cloud, String region, String zone) {
-    }
 }
 
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.util.Assert;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Immutable snapshot of the cluster topology as reported by {@code yb_servers()}. The snapshot is obtained with a single query and all placement computations operate on the decoded rows.
+ */
+final class YBServersSnapshot {
+
+    static final String YB_SERVERS_QUERY = "Select * from yb_servers()";
+
+    private final List<Server> servers;
+
+    YBServersSnapshot(List<Server> servers) {
+        this.servers = Collections.unmodifiableList(new ArrayList<>(Assert.requireNonNull(servers, "servers must not be null")));
+    }
+
+    /**
+     * Query {@code yb_servers()} through {@code connection} and decode the result into a {@link YBServersSnapshot}.
+     *
+     * @param connection       the connection to use
+     * @param priorityFunction function computing the placement priority of a server given its cloud, region and zone
+     * @return a {@link Mono} emitting the snapshot
+     */
+    static Mono<YBServersSnapshot> fetch(PostgresqlConnection connection, PriorityFunction priorityFunction) {
+        Assert.requireNonNull(connection, "connection must not be null");
+        Assert.requireNonNull(priorityFunction, "priorityFunction must not be null");
+
+        return connection.createStatement(YB_SERVERS_QUERY).execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> {
+                String cloud = row.get("cloud", String.class);
+                String region = row.get("region", String.class);
+                String zone = row.get("zone", String.class);
+                Long port = row.get("port", Long.class);
+                return new Server(row.get("host", String.class), port == null ? 0 : port.intValue(), row.get("public_ip", String.class), cloud, region, zone,
+                    priorityFunction.getPriority(cloud, region, zone));
+            }))
+            .collectList()
+            .map(YBServersSnapshot::new);
+    }
+
+    List<Server> getServers() {
+        return this.servers;
+    }
+
+    /**
+     * Return the private hosts ({@code host} column) of all servers matching {@code filter}.
+     */
+    List<String> getPrivateHosts(Predicate<Server> filter) {
+        List<String> hosts = new ArrayList<>(this.servers.size());
+        for (Server server : this.servers) {
+            if (isPresent(server.getHost()) && filter.test(server)) {
+                hosts.add(server.getHost());
+            }
+        }
+        return hosts;
+    }
+
+    /**
+     * Return the public hosts ({@code public_ip} column) of all servers matching {@code filter}.
+     */
+    List<String> getPublicHosts(Predicate<Server> filter) {
+        List<String> hosts = new ArrayList<>(this.servers.size());
+        for (Server server : this.servers) {
+            if (isPresent(server.getPublicIp()) && filter.test(server)) {
+                hosts.add(server.getPublicIp());
+            }
+        }
+        return hosts;
+    }
+
+    private static boolean isPresent(@Nullable String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "YBServersSnapshot{" +
+            "servers=" + this.servers +
+            '}';
+    }
+
+    /**
+     * Function computing the placement priority for a {@code cloud.region.zone} placement.
+     */
+    @FunctionalInterface
+    interface PriorityFunction {
+
+        int getPriority(@Nullable String cloud, @Nullable String region, @Nullable String zone);
+
+    }
+
+    /**
+     * A single {@code yb_servers()} row.
+     */
+    static final class Server {
+
+        @Nullable
+        private final String host;
+
+        private final int port;
+
+        @Nullable
+        private final String publicIp;
+
+        @Nullable
+        private final String cloud;
+
+        @Nullable
+        private final String region;
+
+        @Nullable
+        private final String zone;
+
+        private final int priority;
+
+        Server(@Nullable String host, int port, @Nullable String publicIp, @Nullable String cloud, @Nullable String region, @Nullable String zone, int priority) {
+            this.host = host;
+            this.port = port;
+            this.publicIp = publicIp;
+            this.cloud = cloud;
+            this.region = region;
+            this.zone = zone;
+            this.priority = priority;
+        }
+
+        @Nullable
+        String getHost() {
+            return this.host;
+        }
+
+        /**
+         * Return the port the server accepts connections on or {@code 0} if not reported.
+         */
+        int getPort() {
+            return this.port;
+        }
+
+        @Nullable
+        String getPublicIp() {
+            return this.publicIp;
+        }
+
+        @Nullable
+        String getCloud() {
+            return this.cloud;
+        }
+
+        @Nullable
+        String getRegion() {
+            return this.region;
+        }
+
+        @Nullable
+        String getZone() {
+            return this.zone;
+        }
+
+        int getPriority() {
+            return this.priority;
+        }
+
+        @Override
+        public String toString() {
+            return "Server{" +
+                "host='" + this.host + '\'' +
+                ", port=" + this.port +
+                ", publicIp='" + this.publicIp + '\'' +
+                ", cloud='" + this.cloud + '\'' +
+                ", region='" + this.region + '\'' +
+                ", zone='" + this.zone + '\'' +
+                ", priority=" + this.priority +
+                '}';
+        }
+
+    }
+
+}
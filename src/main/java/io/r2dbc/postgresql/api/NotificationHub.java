@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql.api;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+
+/**
+ * Hub multiplexing {@code LISTEN/NOTIFY} subscriptions over a single dedicated connection. Channels are registered with {@code LISTEN} when the first subscriber for a channel subscribes and
+ * unregistered with {@code UNLISTEN} when the last subscriber cancels. The connection is established on demand and closed once no channel is subscribed. A lost connection is re-established and
+ * all subscribed channels are registered again. Notifications sent while the hub is reconnecting are not received.
+ * <p>
+ * Notifications are routed to subscribers by their {@link Notification#getName() channel name}. Each subscriber is associated with a bounded buffer so that slow subscribers do not affect other
+ * subscribers.
+ *
+ * @since 1.1
+ */
+public interface NotificationHub {
+
+    /**
+     * Default number of notifications to buffer per subscriber.
+     */
+    int DEFAULT_BUFFER_SIZE = 256;
+
+    /**
+     * Listen to notifications on {@code channel}. Buffers up to {@link #DEFAULT_BUFFER_SIZE} notifications per subscriber and signals an error if the buffer overflows.
+     *
+     * @param channel the channel name. Channel names are case-sensitive and used as quoted identifiers.
+     * @return a {@link Flux} of {@link Notification notifications} received on {@code channel}
+     * @throws IllegalArgumentException if {@code channel} is {@code null} or empty
+     */
+    default Flux<Notification> listen(String channel) {
+        return listen(channel, DEFAULT_BUFFER_SIZE, BufferOverflowStrategy.ERROR);
+    }
+
+    /**
+     * Listen to notifications on {@code channel} using a bounded buffer per subscriber.
+     *
+     * @param channel          the channel name. Channel names are case-sensitive and used as quoted identifiers.
+     * @param bufferSize       number of notifications to buffer for a subscriber that does not keep up
+     * @param overflowStrategy the strategy to apply if the buffer overflows
+     * @return a {@link Flux} of {@link Notification notifications} received on {@code channel}
+     * @throws IllegalArgumentException if {@code channel} is {@code null} or empty, {@code bufferSize} is not positive or {@code overflowStrategy} is {@code null}
+     */
+    Flux<Notification> listen(String channel, int bufferSize, BufferOverflowStrategy overflowStrategy);
+
+}
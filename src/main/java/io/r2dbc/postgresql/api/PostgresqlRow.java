@@ -19,6 +19,9 @@ package io.r2dbc.postgresql.api;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
 /**
  * A {@link Row} for a PostgreSQL database.
  */
@@ -32,4 +35,191 @@ public interface PostgresqlRow extends Row {
      */
     PostgresqlRowMetadata getMetadata();
 
+    /**
+     * Returns whether the value for a column in this row is {@code NULL}. Use this method to check for {@code NULL} values before calling one of the primitive accessors.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return {@code true} if the column value is {@code NULL}
+     * @throws IndexOutOfBoundsException if {@code index} is out of range (negative or equals/exceeds the number of columns)
+     * @since 1.1
+     */
+    default boolean isNull(int index) {
+        return get(index) == null;
+    }
+
+    /**
+     * Returns whether the value for a column in this row is {@code NULL}. Use this method to check for {@code NULL} values before calling one of the primitive accessors.
+     *
+     * @param name the name of the column
+     * @return {@code true} if the column value is {@code NULL}
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     * @throws NoSuchElementException   if there is no column with the {@code name}
+     * @since 1.1
+     */
+    default boolean isNull(String name) {
+        return get(name) == null;
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code boolean}.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return the value for a column in this row
+     * @throws IndexOutOfBoundsException if {@code index} is out of range (negative or equals/exceeds the number of columns)
+     * @throws NullPointerException      if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default boolean getBoolean(int index) {
+        return Objects.requireNonNull(get(index, Boolean.class), () -> String.format("Value of column %s is NULL", index));
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code boolean}.
+     *
+     * @param name the name of the column
+     * @return the value for a column in this row
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     * @throws NoSuchElementException   if there is no column with the {@code name}
+     * @throws NullPointerException     if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default boolean getBoolean(String name) {
+        return Objects.requireNonNull(get(name, Boolean.class), () -> String.format("Value of column '%s' is NULL", name));
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code short}.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return the value for a column in this row
+     * @throws IndexOutOfBoundsException if {@code index} is out of range (negative or equals/exceeds the number of columns)
+     * @throws NullPointerException      if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default short getShort(int index) {
+        return Objects.requireNonNull(get(index, Short.class), () -> String.format("Value of column %s is NULL", index));
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code short}.
+     *
+     * @param name the name of the column
+     * @return the value for a column in this row
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     * @throws NoSuchElementException   if there is no column with the {@code name}
+     * @throws NullPointerException     if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default short getShort(String name) {
+        return Objects.requireNonNull(get(name, Short.class), () -> String.format("Value of column '%s' is NULL", name));
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code int}.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return the value for a column in this row
+     * @throws IndexOutOfBoundsException if {@code index} is out of range (negative or equals/exceeds the number of columns)
+     * @throws NullPointerException      if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default int getInt(int index) {
+        return Objects.requireNonNull(get(index, Integer.class), () -> String.format("Value of column %s is NULL", index));
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code int}.
+     *
+     * @param name the name of the column
+     * @return the value for a column in this row
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     * @throws NoSuchElementException   if there is no column with the {@code name}
+     * @throws NullPointerException     if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default int getInt(String name) {
+        return Objects.requireNonNull(get(name, Integer.class), () -> String.format("Value of column '%s' is NULL", name));
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code long}.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return the value for a column in this row
+     * @throws IndexOutOfBoundsException if {@code index} is out of range (negative or equals/exceeds the number of columns)
+     * @throws NullPointerException      if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default long getLong(int index) {
+        return Objects.requireNonNull(get(index, Long.class), () -> String.format("Value of column %s is NULL", index));
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code long}.
+     *
+     * @param name the name of the column
+     * @return the value for a column in this row
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     * @throws NoSuchElementException   if there is no column with the {@code name}
+     * @throws NullPointerException     if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default long getLong(String name) {
+        return Objects.requireNonNull(get(name, Long.class), () -> String.format("Value of column '%s' is NULL", name));
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code float}.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return the value for a column in this row
+     * @throws IndexOutOfBoundsException if {@code index} is out of range (negative or equals/exceeds the number of columns)
+     * @throws NullPointerException      if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default float getFloat(int index) {
+        return Objects.requireNonNull(get(index, Float.class), () -> String.format("Value of column %s is NULL", index));
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code float}.
+     *
+     * @param name the name of the column
+     * @return the value for a column in this row
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     * @throws NoSuchElementException   if there is no column with the {@code name}
+     * @throws NullPointerException     if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default float getFloat(String name) {
+        return Objects.requireNonNull(get(name, Float.class), () -> String.format("Value of column '%s' is NULL", name));
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code double}.
+     *
+     * @param index the index of the column starting at {@code 0}
+     * @return the value for a column in this row
+     * @throws IndexOutOfBoundsException if {@code index} is out of range (negative or equals/exceeds the number of columns)
+     * @throws NullPointerException      if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default double getDouble(int index) {
+        return Objects.requireNonNull(get(index, Double.class), () -> String.format("Value of column %s is NULL", index));
+    }
+
+    /**
+     * Returns the value for a column in this row as {@code double}.
+     *
+     * @param name the name of the column
+     * @return the value for a column in this row
+     * @throws IllegalArgumentException if {@code name} is {@code null}
+     * @throws NoSuchElementException   if there is no column with the {@code name}
+     * @throws NullPointerException     if the column value is {@code NULL}
+     * @since 1.1
+     */
+    default double getDouble(String name) {
+        return Objects.requireNonNull(get(name, Double.class), () -> String.format("Value of column '%s' is NULL", name));
+    }
+
 }
@@ -2,6 +2,7 @@ package io.r2dbc.postgresql.authentication;
 
 import com.ongres.scram.client.ScramClient;
 import com.ongres.scram.client.ScramSession;
+import com.ongres.scram.common.ScramMechanism;
 import com.ongres.scram.common.exception.ScramInvalidServerSignatureException;
 import com.ongres.scram.common.exception.ScramParseException;
 import com.ongres.scram.common.exception.ScramServerErrorException;
@@ -26,8 +27,19 @@ public class SASLAuthenticationHandler implements AuthenticationHandler {
 
     private final String username;
 
+    @Nullable
+    private final ScramKeyCache keyCache;
+
+    private ScramMechanism scramMechanism;
+
     private ScramSession.ClientFinalProcessor clientFinalProcessor;
 
+    /**
+     * Keys obtained from {@link #keyCache}. The client final processor retains the {@code ServerKey} to verify the server signature.
+     */
+    @Nullable
+    private ScramKeyCache.Keys keys;
+
     private ScramSession scramSession;
 
     /**
@@ -38,8 +50,22 @@ public class SASLAuthenticationHandler implements AuthenticationHandler {
      * @throws IllegalArgumentException if {@code password} or {@code user} is {@code null}
      */
     public SASLAuthenticationHandler(CharSequence password, String username) {
+        this(password, username, null);
+    }
+
+    /**
+     * Create a new handler.
+     *
+     * @param password the password to use for authentication
+     * @param username the username to use for authentication
+     * @param keyCache the cache for derived SCRAM keys, can be {@code null} to derive keys for each authentication
+     * @throws IllegalArgumentException if {@code password} or {@code user} is {@code null}
+     * @since 1.1
+     */
+    public SASLAuthenticationHandler(CharSequence password, String username, @Nullable ScramKeyCache keyCache) {
         this.password = Assert.requireNonNull(password, "password must not be null");
         this.username = Assert.requireNonNull(username, "username must not be null");
+        this.keyCache = keyCache;
     }
 
     /**
@@ -79,6 +105,7 @@ public class SASLAuthenticationHandler implements AuthenticationHandler {
             .selectMechanismBasedOnServerAdvertised(message.getAuthenticationMechanisms().toArray(new String[0]))
             .setup();
 
+        this.scramMechanism = scramClient.getScramMechanism();
         this.scramSession = scramClient.scramSession(this.username);
 
         return new SASLInitialResponse(ByteBufferUtils.encode(this.scramSession.clientFirstMessage()), scramClient.getScramMechanism().getName());
@@ -86,11 +113,21 @@ public class SASLAuthenticationHandler implements AuthenticationHandler {
 
     private FrontendMessage handleAuthenticationSASLContinue(AuthenticationSASLContinue message) {
         try {
-            this.clientFinalProcessor = this.scramSession
-                .receiveServerFirstMessage(ByteBufferUtils.decode(message.getData()))
-                .clientFinalProcessor(this.password.toString());
+            ScramSession.ServerFirstProcessor serverFirstProcessor = this.scramSession.receiveServerFirstMessage(ByteBufferUtils.decode(message.getData()));
+
+            if (this.keyCache == null) {
+                this.clientFinalProcessor = serverFirstProcessor.clientFinalProcessor(this.password.toString());
+                return new SASLResponse(ByteBufferUtils.encode(this.clientFinalProcessor.clientFinalMessage()));
+            }
+
+            this.keys = this.keyCache.getKeys(this.scramMechanism, this.username, this.password.toString(), serverFirstProcessor.getSalt(), serverFirstProcessor.getIteration());
 
-            return new SASLResponse(ByteBufferUtils.encode(clientFinalProcessor.clientFinalMessage()));
+            try {
+                this.clientFinalProcessor = serverFirstProcessor.clientFinalProcessor(this.keys.getClientKey(), this.keys.getServerKey());
+                return new SASLResponse(ByteBufferUtils.encode(this.clientFinalProcessor.clientFinalMessage()));
+            } finally {
+                this.keys.clearClientKey();
+            }
         } catch (ScramParseException e) {
             throw Exceptions.propagate(e);
         }
@@ -103,6 +140,11 @@ public class SASLAuthenticationHandler implements AuthenticationHandler {
             return null;
         } catch (ScramParseException | ScramInvalidServerSignatureException | ScramServerErrorException e) {
             throw Exceptions.propagate(e);
+        } finally {
+            if (this.keys != null) {
+                this.keys.clear();
+                this.keys = null;
+            }
         }
     }
 
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql.authentication;
+
+import com.ongres.scram.common.ScramFunctions;
+import com.ongres.scram.common.ScramMechanism;
+import io.r2dbc.postgresql.util.Assert;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.ongres.scram.common.stringprep.StringPreparations.NO_PREPARATION;
+
+/**
+ * Bounded in-memory cache of SCRAM {@code ClientKey} and {@code ServerKey} values. Deriving these keys requires computing the salted password using {@code PBKDF2} with the iteration count
+ * provided by the server which is CPU-intensive. Keys are cached by username, password fingerprint, mechanism, salt and iteration count so that subsequent authentications with the same server
+ * credentials skip the derivation. Concurrent lookups of the same keys share a single derivation. The least recently used keys are evicted once the cache exceeds its maximum size. Evicted
+ * keys are overwritten with zeros.
+ *
+ * @since 1.1
+ */
+public final class ScramKeyCache {
+
+    private final int maximumSize;
+
+    private final KeyDerivation keyDerivation;
+
+    private final LinkedHashMap<Key, Keys> cache;
+
+    /**
+     * Derivations in progress. Completes once the derived keys were added to {@link #cache}.
+     */
+    private final Map<Key, CompletableFuture<Void>> derivations = new HashMap<>();
+
+    /**
+     * Create a new {@link ScramKeyCache}.
+     *
+     * @param maximumSize the maximum number of cached keys
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive
+     */
+    public ScramKeyCache(int maximumSize) {
+        this(maximumSize, ScramKeyCache::derive);
+    }
+
+    ScramKeyCache(int maximumSize, KeyDerivation keyDerivation) {
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than zero");
+        this.maximumSize = maximumSize;
+        this.keyDerivation = Assert.requireNonNull(keyDerivation, "keyDerivation must not be null");
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Return the keys for the given credentials and server parameters, deriving them if they are not cached. Callers requesting keys that are being derived by another caller wait for that
+     * derivation instead of deriving the keys themselves.
+     *
+     * @param mechanism  the SCRAM mechanism
+     * @param username   the username
+     * @param password   the password
+     * @param salt       the Base64-encoded salt sent by the server
+     * @param iterations the iteration count sent by the server
+     * @return the keys. The returned {@link Keys} are a copy that is not affected by eviction.
+     */
+    Keys getKeys(ScramMechanism mechanism, String username, String password, String salt, int iterations) {
+
+        Key key = new Key(mechanism.getName(), username, new FluentMessageDigest("SHA-256").update(password).digest(), salt, iterations);
+
+        for (; ; ) {
+
+            CompletableFuture<Void> derivation;
+            boolean derive = false;
+
+            synchronized (this) {
+
+                Keys keys = this.cache.get(key);
+                if (keys != null) {
+                    return keys.copy();
+                }
+
+                derivation = this.derivations.get(key);
+                if (derivation == null) {
+                    derivation = new CompletableFuture<>();
+                    this.derivations.put(key, derivation);
+                    derive = true;
+                }
+            }
+
+            if (derive) {
+                return derive(key, derivation, mechanism, password, salt, iterations);
+            }
+
+            // keys may have been evicted in the meantime, look up again
+            awaitDerivation(derivation);
+        }
+    }
+
+    private Keys derive(Key key, CompletableFuture<Void> derivation, ScramMechanism mechanism, String password, String salt, int iterations) {
+
+        Keys keys;
+        try {
+            keys = this.keyDerivation.derive(mechanism, password, salt, iterations);
+        } catch (RuntimeException e) {
+
+            synchronized (this) {
+                this.derivations.remove(key);
+            }
+            derivation.completeExceptionally(e);
+            throw e;
+        }
+
+        Keys result = keys.copy();
+
+        synchronized (this) {
+            Keys previous = this.cache.put(key, keys);
+            if (previous != null) {
+                previous.clear();
+            }
+            evict();
+            this.derivations.remove(key);
+        }
+
+        derivation.complete(null);
+        return result;
+    }
+
+    private static void awaitDerivation(CompletableFuture<Void> derivation) {
+
+        try {
+            derivation.join();
+        } catch (CompletionException e) {
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Return the number of cached keys.
+     */
+    public synchronized int size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Discard all cached keys.
+     */
+    public synchronized void clear() {
+        this.cache.values().forEach(Keys::clear);
+        this.cache.clear();
+    }
+
+    private void evict() {
+
+        Iterator<Keys> iterator = this.cache.values().iterator();
+
+        while (this.cache.size() > this.maximumSize && iterator.hasNext()) {
+            Keys keys = iterator.next();
+            iterator.remove();
+            keys.clear();
+        }
+    }
+
+    static Keys derive(ScramMechanism mechanism, String password, String salt, int iterations) {
+
+        byte[] saltedPassword = ScramFunctions.saltedPassword(mechanism, NO_PREPARATION, password, Base64.getDecoder().decode(salt), iterations);
+
+        try {
+            return new Keys(ScramFunctions.clientKey(mechanism, saltedPassword), ScramFunctions.serverKey(mechanism, saltedPassword));
+        } finally {
+            Arrays.fill(saltedPassword, (byte) 0);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ScramKeyCache{" +
+            "maximumSize=" + this.maximumSize +
+            ", size=" + this.cache.size() +
+            '}';
+    }
+
+    /**
+     * Derivation of {@link Keys} from the password and server parameters.
+     */
+    @FunctionalInterface
+    interface KeyDerivation {
+
+        Keys derive(ScramMechanism mechanism, String password, String salt, int iterations);
+
+    }
+
+    /**
+     * Derived {@code ClientKey} and {@code ServerKey}.
+     */
+    static final class Keys {
+
+        private final byte[] clientKey;
+
+        private final byte[] serverKey;
+
+        Keys(byte[] clientKey, byte[] serverKey) {
+            this.clientKey = clientKey;
+            this.serverKey = serverKey;
+        }
+
+        byte[] getClientKey() {
+            return this.clientKey;
+        }
+
+        byte[] getServerKey() {
+            return this.serverKey;
+        }
+
+        Keys copy() {
+            return new Keys(this.clientKey.clone(), this.serverKey.clone());
+        }
+
+        void clearClientKey() {
+            Arrays.fill(this.clientKey, (byte) 0);
+        }
+
+        void clear() {
+            Arrays.fill(this.clientKey, (byte) 0);
+            Arrays.fill(this.serverKey, (byte) 0);
+        }
+
+    }
+
+    private static final class Key {
+
+        private final String mechanism;
+
+        private final String username;
+
+        private final String passwordFingerprint;
+
+        private final String salt;
+
+        private final int iterations;
+
+        Key(String mechanism, String username, String passwordFingerprint, String salt, int iterations) {
+            this.mechanism = mechanism;
+            this.username = username;
+            this.passwordFingerprint = passwordFingerprint;
+            this.salt = salt;
+            this.iterations = iterations;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return this.iterations == key.iterations && this.mechanism.equals(key.mechanism) && this.username.equals(key.username)
+                && this.passwordFingerprint.equals(key.passwordFingerprint) && this.salt.equals(key.salt);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.mechanism, this.username, this.passwordFingerprint, this.salt, this.iterations);
+        }
+
+    }
+
+}
@@ -19,6 +19,7 @@ package io.r2dbc.postgresql.client;
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCountUtil;
 import io.r2dbc.postgresql.message.Format;
+import io.r2dbc.postgresql.message.frontend.Bind;
 import io.r2dbc.postgresql.util.Assert;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -87,6 +88,12 @@ public final class Binding {
     public void clear() {
 
         this.parameters.forEach(parameter -> {
+
+            // synchronous parameters allocate their buffers only when encoding
+            if (parameter.isSynchronous()) {
+                return;
+            }
+
             Flux.from(parameter.getValue()).doOnNext(ReferenceCountUtil::release).subscribe(ignore -> {
             }, err -> LOGGER.warn(String.format("Cannot release parameter %s", parameter), err));
         });
@@ -141,6 +148,47 @@ public final class Binding {
         return getTransformedParameters(EncodedParameter::getValue);
     }
 
+    /**
+     * Returns whether all parameter values can be encoded synchronously through {@link #encodeParameterValues()} without subscribing to a {@link Publisher}.
+     *
+     * @return whether all parameter values can be encoded synchronously
+     * @since 1.1
+     */
+    public boolean isSynchronous() {
+
+        for (EncodedParameter parameter : this.parameters) {
+            if (!parameter.isSynchronous()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Encodes the values of the parameters in the binding. {@code NULL} values are represented by {@link Bind#NULL_VALUE}. Buffers that were already encoded are released if encoding a
+     * subsequent value fails.
+     *
+     * @return the encoded values of the parameters in the binding
+     * @throws IllegalStateException if the binding is not {@link #isSynchronous() synchronous}
+     * @since 1.1
+     */
+    public List<ByteBuf> encodeParameterValues() {
+
+        List<ByteBuf> values = new ArrayList<>(this.parameters.size());
+
+        try {
+            for (EncodedParameter parameter : this.parameters) {
+                values.add(parameter.encodeValue());
+            }
+        } catch (RuntimeException e) {
+            values.forEach(ReferenceCountUtil::release);
+            throw e;
+        }
+
+        return values;
+    }
+
     Flux<Publisher<? extends ByteBuf>> parameterValues() {
         return Flux.fromIterable(this.parameters).map(EncodedParameter::getValue);
     }
@@ -29,6 +29,7 @@ import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.net.SocketAddress;
 import java.util.Optional;
 import java.util.TimeZone;
 import java.util.function.Consumer;
@@ -114,6 +115,16 @@ public interface Client {
      */
     ConnectionContext getContext();
 
+    /**
+     * Returns the address of the server this client is connected to.
+     *
+     * @return the remote address if known
+     * @since 1.1
+     */
+    default Optional<SocketAddress> getRemoteAddress() {
+        return Optional.empty();
+    }
+
     /**
      * Returns the connected process id if it has been communicated.
      *
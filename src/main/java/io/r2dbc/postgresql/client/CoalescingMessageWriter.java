@@ -0,0 +1,306 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.util.ReferenceCountUtil;
+import io.r2dbc.postgresql.message.frontend.FrontendMessage;
+import io.r2dbc.postgresql.util.Assert;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.Sinks;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Subscriber writing {@link FrontendMessage frontend messages} to a {@link Channel}. All messages that are ready when the writer runs on the event loop are encoded into a single buffer that is
+ * written with a single flush. A write happens after {@code maxMessages} messages or once the buffer reaches {@code maxBytes}. Messages that cannot be
+ * {@link FrontendMessage.DirectEncoder encoded directly} are written on their own, preserving the message order. Demand is replenished as writes complete so that at most {@code maxMessages}
+ * messages are pending. Subclasses {@link AtomicInteger} to track the work-in-progress of the drain loop.
+ *
+ * @since 1.1
+ */
+final class CoalescingMessageWriter extends AtomicInteger implements CoreSubscriber<FrontendMessage> {
+
+    private final Channel channel;
+
+    private final ByteBufAllocator allocator;
+
+    private final int maxMessages;
+
+    private final int maxBytes;
+
+    private final Consumer<FrontendMessage> onWrite;
+
+    private final Queue<FrontendMessage> queue = Queues.<FrontendMessage>unbounded().get();
+
+    private final Sinks.Empty<Void> completion = Sinks.empty();
+
+    private final AtomicBoolean terminated = new AtomicBoolean();
+
+    private final LongAdder flushes = new LongAdder();
+
+    private final LongAdder messages = new LongAdder();
+
+    @Nullable
+    private Subscription subscription;
+
+    private volatile boolean done;
+
+    @Nullable
+    private volatile Throwable error;
+
+    private volatile boolean writingPublisher;
+
+    /**
+     * Create a new writer.
+     *
+     * @param channel     the channel to write to
+     * @param allocator   the allocator for write buffers
+     * @param maxMessages the maximum number of messages to coalesce into a single write
+     * @param maxBytes    the number of bytes after which to write coalesced messages
+     * @param onWrite     callback invoked with each message before it is encoded
+     */
+    CoalescingMessageWriter(Channel channel, ByteBufAllocator allocator, int maxMessages, int maxBytes, Consumer<FrontendMessage> onWrite) {
+        this.channel = Assert.requireNonNull(channel, "channel must not be null");
+        this.allocator = Assert.requireNonNull(allocator, "allocator must not be null");
+        Assert.isTrue(maxMessages > 0, "maxMessages must be greater than zero");
+        Assert.isTrue(maxBytes > 0, "maxBytes must be greater than zero");
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.onWrite = Assert.requireNonNull(onWrite, "onWrite must not be null");
+    }
+
+    /**
+     * Return a {@link Mono} that completes once all messages were written after the upstream completed or that fails if the upstream or a write fails.
+     *
+     * @return a {@link Mono} signalling termination of this writer
+     */
+    Mono<Void> then() {
+        return this.completion.asMono();
+    }
+
+    /**
+     * Return the number of flushes issued by this writer.
+     *
+     * @return the number of flushes
+     */
+    long getFlushCount() {
+        return this.flushes.sum();
+    }
+
+    /**
+     * Return the number of messages written by this writer.
+     *
+     * @return the number of messages
+     */
+    long getMessageCount() {
+        return this.messages.sum();
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (Operators.validate(this.subscription, s)) {
+            this.subscription = s;
+            s.request(this.maxMessages);
+        }
+    }
+
+    @Override
+    public void onNext(FrontendMessage message) {
+        this.queue.offer(message);
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        this.error = throwable;
+        this.done = true;
+        schedule();
+    }
+
+    @Override
+    public void onComplete() {
+        this.done = true;
+        schedule();
+    }
+
+    /**
+     * Schedule the drain loop on the event loop. Draining is always deferred (even when called on the event loop) so that messages emitted within the current event loop tick are coalesced.
+     */
+    private void schedule() {
+
+        if (getAndIncrement() != 0) {
+            return;
+        }
+
+        try {
+            this.channel.eventLoop().execute(this::drain);
+        } catch (RuntimeException e) {
+            fail(e);
+            this.queue.clear();
+        }
+    }
+
+    private void drain() {
+
+        int missed = 1;
+
+        for (; ; ) {
+
+            Throwable error = this.error;
+            if (error != null) {
+                fail(error);
+            }
+
+            if (this.terminated.get()) {
+                this.queue.clear();
+            } else {
+
+                if (!this.writingPublisher) {
+                    writeAvailable();
+                }
+
+                if (this.done && !this.writingPublisher && this.queue.isEmpty() && this.terminated.compareAndSet(false, true)) {
+                    this.completion.tryEmitEmpty();
+                }
+            }
+
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void writeAvailable() {
+
+        ByteBuf buffer = null;
+        int count = 0;
+
+        try {
+
+            FrontendMessage message;
+            while ((message = this.queue.poll()) != null) {
+
+                this.onWrite.accept(message);
+
+                if (!(message instanceof FrontendMessage.DirectEncoder)) {
+
+                    if (buffer != null) {
+                        flush(buffer, count);
+                        buffer = null;
+                        count = 0;
+                    }
+
+                    writePublisher(message);
+                    return;
+                }
+
+                if (buffer == null) {
+                    buffer = this.allocator.ioBuffer();
+                }
+
+                ((FrontendMessage.DirectEncoder) message).encode(buffer);
+                count++;
+
+                if (count >= this.maxMessages || buffer.readableBytes() >= this.maxBytes) {
+                    flush(buffer, count);
+                    buffer = null;
+                    count = 0;
+                }
+            }
+
+            if (buffer != null) {
+                flush(buffer, count);
+            }
+        } catch (RuntimeException e) {
+
+            if (buffer != null) {
+                ReferenceCountUtil.release(buffer);
+            }
+
+            fail(e);
+        }
+    }
+
+    private void flush(ByteBuf buffer, int count) {
+
+        this.flushes.increment();
+        this.messages.add(count);
+
+        this.channel.writeAndFlush(buffer).addListener(future -> {
+
+            if (future.isSuccess()) {
+                request(count);
+            } else {
+                fail(future.cause());
+            }
+        });
+    }
+
+    private void writePublisher(FrontendMessage message) {
+
+        this.writingPublisher = true;
+
+        Flux.from(message.encode(this.allocator)).subscribe(this.channel::write, this::fail, () -> {
+
+            this.flushes.increment();
+            this.messages.increment();
+            this.channel.flush();
+
+            this.writingPublisher = false;
+            request(1);
+            schedule();
+        });
+    }
+
+    private void request(long n) {
+
+        Subscription subscription = this.subscription;
+        if (subscription != null && !this.terminated.get()) {
+            subscription.request(n);
+        }
+    }
+
+    private void fail(Throwable throwable) {
+
+        if (!this.terminated.compareAndSet(false, true)) {
+            return;
+        }
+
+        Subscription subscription = this.subscription;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+
+        this.completion.tryEmitError(throwable);
+    }
+
+}
@@ -38,6 +38,20 @@ import java.util.function.Consumer;
  */
 public final class ConnectionSettings {
 
+    /**
+     * Default maximum number of frontend messages coalesced into a single write.
+     *
+     * @since 1.1
+     */
+    public static final int DEFAULT_WRITE_BATCH_SIZE = 128;
+
+    /**
+     * Default number of bytes after which coalesced frontend messages are written.
+     *
+     * @since 1.1
+     */
+    public static final int DEFAULT_WRITE_BATCH_BYTES = 64 * 1024;
+
     @Nullable
     private final Duration connectTimeout;
 
@@ -58,8 +72,13 @@ public final class ConnectionSettings {
 
     private final LogLevel noticeLogLevel;
 
+    private final int writeBatchSize;
+
+    private final int writeBatchBytes;
+
     ConnectionSettings(@Nullable Duration connectTimeout, ConnectionProvider connectionProvider, @Nullable LoopResources loopResources,
-                       SSLConfig sslConfig, Map<String, String> startupOptions, boolean tcpKeepAlive, boolean tcpNoDelay, LogLevel errorResponseLogLevel, LogLevel noticeLogLevel) {
+                       SSLConfig sslConfig, Map<String, String> startupOptions, boolean tcpKeepAlive, boolean tcpNoDelay, LogLevel errorResponseLogLevel, LogLevel noticeLogLevel,
+                       int writeBatchSize, int writeBatchBytes) {
         this.connectTimeout = connectTimeout;
         this.connectionProvider = connectionProvider;
         this.loopResources = loopResources;
@@ -69,6 +88,8 @@ public final class ConnectionSettings {
         this.tcpNoDelay = tcpNoDelay;
         this.errorResponseLogLevel = errorResponseLogLevel;
         this.noticeLogLevel = noticeLogLevel;
+        this.writeBatchSize = writeBatchSize;
+        this.writeBatchBytes = writeBatchBytes;
     }
 
     /**
@@ -88,7 +109,8 @@ public final class ConnectionSettings {
     public Builder mutate() {
         return new Builder().connectionProvider(this.connectionProvider).loopResources(this.loopResources)
             .errorResponseLogLevel(this.errorResponseLogLevel).noticeLogLevel(this.noticeLogLevel).sslConfig(this.sslConfig)
-            .connectTimeout(this.connectTimeout).startupOptions(this.startupOptions).tcpKeepAlive(this.tcpKeepAlive).tcpNoDelay(this.tcpNoDelay);
+            .connectTimeout(this.connectTimeout).startupOptions(this.startupOptions).tcpKeepAlive(this.tcpKeepAlive).tcpNoDelay(this.tcpNoDelay)
+            .writeBatchSize(this.writeBatchSize).writeBatchBytes(this.writeBatchBytes);
     }
 
     /**
@@ -157,6 +179,14 @@ public final class ConnectionSettings {
         return this.noticeLogLevel;
     }
 
+    int getWriteBatchSize() {
+        return this.writeBatchSize;
+    }
+
+    int getWriteBatchBytes() {
+        return this.writeBatchBytes;
+    }
+
     /**
      * A builder for {@link ConnectionSettings} instances.
      * <p>
@@ -183,6 +213,10 @@ public final class ConnectionSettings {
 
         private boolean tcpNoDelay;
 
+        private int writeBatchSize = DEFAULT_WRITE_BATCH_SIZE;
+
+        private int writeBatchBytes = DEFAULT_WRITE_BATCH_BYTES;
+
         private Builder() {
         }
 
@@ -193,7 +227,7 @@ public final class ConnectionSettings {
          */
         public ConnectionSettings build() {
             return new ConnectionSettings(this.connectTimeout, this.connectionProvider, this.loopResources, this.sslConfig,
-                this.startupOptions, this.tcpKeepAlive, this.tcpNoDelay, this.errorResponseLogLevel, this.noticeLogLevel);
+                this.startupOptions, this.tcpKeepAlive, this.tcpNoDelay, this.errorResponseLogLevel, this.noticeLogLevel, this.writeBatchSize, this.writeBatchBytes);
         }
 
         /**
@@ -301,6 +335,34 @@ public final class ConnectionSettings {
             return this;
         }
 
+        /**
+         * Configure the maximum number of frontend messages that are coalesced into a single write and flush.
+         *
+         * @param writeBatchSize the maximum number of messages per write
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code writeBatchSize} is less than {@code 1}
+         * @since 1.1
+         */
+        public Builder writeBatchSize(int writeBatchSize) {
+            Assert.isTrue(writeBatchSize > 0, "writeBatchSize must be greater than zero");
+            this.writeBatchSize = writeBatchSize;
+            return this;
+        }
+
+        /**
+         * Configure the number of bytes after which coalesced frontend messages are written and flushed.
+         *
+         * @param writeBatchBytes the number of bytes after which to write
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException if {@code writeBatchBytes} is less than {@code 1}
+         * @since 1.1
+         */
+        public Builder writeBatchBytes(int writeBatchBytes) {
+            Assert.isTrue(writeBatchBytes > 0, "writeBatchBytes must be greater than zero");
+            this.writeBatchBytes = writeBatchBytes;
+            return this;
+        }
+
     }
 
 }
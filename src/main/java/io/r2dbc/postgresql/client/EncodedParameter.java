@@ -18,14 +18,19 @@ package io.r2dbc.postgresql.client;
 
 import io.netty.buffer.ByteBuf;
 import io.r2dbc.postgresql.message.Format;
+import io.r2dbc.postgresql.message.frontend.Bind;
 import io.r2dbc.postgresql.util.Assert;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
 
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
- * A parameter bound to an {@link ExtendedQueryMessageFlow}.
+ * A parameter bound to an {@link ExtendedQueryMessageFlow}. Parameters whose value is already at hand are created {@link #fromSupplier(Format, int, Supplier) from a Supplier} and encoded
+ * synchronously when binding. Streaming values (e.g. {@code Blob} and {@code Clob}) are represented by a {@link Publisher}.
  */
 public final class EncodedParameter {
 
@@ -35,8 +40,12 @@ public final class EncodedParameter {
 
     private final int type;
 
+    @Nullable
     private final Publisher<? extends ByteBuf> value;
 
+    @Nullable
+    private final Supplier<? extends ByteBuf> supplier;
+
     /**
      * Create a new instance.
      *
@@ -49,6 +58,28 @@ public final class EncodedParameter {
         this.format = Assert.requireNonNull(format, "format must not be null");
         this.type = type;
         this.value = Assert.requireNonNull(value, "value must not be null");
+        this.supplier = null;
+    }
+
+    private EncodedParameter(Format format, int type, Supplier<? extends ByteBuf> supplier) {
+        this.format = Assert.requireNonNull(format, "format must not be null");
+        this.type = type;
+        this.value = null;
+        this.supplier = Assert.requireNonNull(supplier, "supplier must not be null");
+    }
+
+    /**
+     * Create a new instance whose value is encoded synchronously by {@code supplier}. The supplier is invoked for each execution and must return a new buffer each time.
+     *
+     * @param format   the {@link Format} of the parameter
+     * @param type     the type of the parameter
+     * @param supplier supplier of the encoded value
+     * @return the encoded parameter
+     * @throws IllegalArgumentException if {@code format}, or {@code supplier} is {@code null}
+     * @since 1.1
+     */
+    public static EncodedParameter fromSupplier(Format format, int type, Supplier<? extends ByteBuf> supplier) {
+        return new EncodedParameter(format, type, supplier);
     }
 
     @Override
@@ -62,12 +93,13 @@ public final class EncodedParameter {
         EncodedParameter that = (EncodedParameter) o;
         return this.format == that.format &&
             Objects.equals(this.type, that.type) &&
-            Objects.equals(this.value, that.value);
+            Objects.equals(this.value, that.value) &&
+            Objects.equals(this.supplier, that.supplier);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.format, this.type, this.value);
+        return Objects.hash(this.format, this.type, this.value, this.supplier);
     }
 
     @Override
@@ -75,7 +107,7 @@ public final class EncodedParameter {
         return "Parameter{" +
             "format=" + this.format +
             ", type=" + this.type +
-            ", value=" + this.value +
+            ", value=" + (this.value != null ? this.value : this.supplier) +
             '}';
     }
 
@@ -103,7 +135,34 @@ public final class EncodedParameter {
      * @return the value of the parameter
      */
     Publisher<? extends ByteBuf> getValue() {
-        return this.value;
+        return this.value != null ? this.value : Mono.fromSupplier(this.supplier);
+    }
+
+    /**
+     * Returns whether the value of the parameter can be encoded synchronously through {@link #encodeValue()}.
+     *
+     * @return whether the value of the parameter can be encoded synchronously
+     */
+    boolean isSynchronous() {
+        return this.supplier != null || this.value == NULL_VALUE;
+    }
+
+    /**
+     * Encode the value of a {@link #isSynchronous() synchronous} parameter.
+     *
+     * @return the encoded value or {@link Bind#NULL_VALUE} for {@code NULL} parameters
+     */
+    ByteBuf encodeValue() {
+
+        if (this.supplier != null) {
+            return this.supplier.get();
+        }
+
+        if (this.value == NULL_VALUE) {
+            return Bind.NULL_VALUE;
+        }
+
+        throw new IllegalStateException("Parameter value is not available synchronously");
     }
 
 }
@@ -111,6 +111,8 @@ public final class ReactorNettyClient implements Client {
 
     private final Sinks.Many<Publisher<FrontendMessage>> requestSink = Sinks.many().unicast().onBackpressureBuffer();
 
+    private final CoalescingMessageWriter writer;
+
     private final Sinks.Many<NotificationResponse> notificationProcessor = Sinks.many().multicast().directBestEffort();
 
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
@@ -165,17 +167,17 @@ public final class ReactorNettyClient implements Client {
             })
             .subscribe(this.messageSubscriber);
 
-        Mono<Void> request = this.requestSink.asFlux()
+        this.writer = new CoalescingMessageWriter(connection.channel(), this.byteBufAllocator, settings.getWriteBatchSize(), settings.getWriteBatchBytes(), message -> {
+            if (DEBUG_ENABLED) {
+                logger.debug(this.context.getMessage(String.format("Request:  %s", message)));
+            }
+        });
+
+        this.requestSink.asFlux()
             .concatMap(Function.identity())
-            .flatMap(message -> {
-                if (DEBUG_ENABLED) {
-                    logger.debug(this.context.getMessage(String.format("Request:  %s", message)));
-                }
-                return connection.outbound().send(message.encode(this.byteBufAllocator));
-            }, 1)
-            .then();
+            .subscribe(this.writer);
 
-        request
+        this.writer.then()
             .onErrorResume(this::resumeError)
             .doAfterTerminate(this::handleClose)
             .subscribe();
@@ -438,6 +440,27 @@ public final class ReactorNettyClient implements Client {
         this.notificationProcessor.asFlux().subscribe(consumer);
     }
 
+    /**
+     * Return the number of flushes issued to the underlying connection. Together with {@link #getWrittenMessageCount()}, this value indicates how many frontend messages were coalesced per
+     * flush.
+     *
+     * @return the number of flushes
+     * @since 1.1
+     */
+    public long getFlushCount() {
+        return this.writer.getFlushCount();
+    }
+
+    /**
+     * Return the number of frontend messages written to the underlying connection.
+     *
+     * @return the number of written messages
+     * @since 1.1
+     */
+    public long getWrittenMessageCount() {
+        return this.writer.getMessageCount();
+    }
+
     @Override
     public ByteBufAllocator getByteBufAllocator() {
         return this.byteBufAllocator;
@@ -458,6 +481,11 @@ public final class ReactorNettyClient implements Client {
         return Optional.ofNullable(this.secretKey);
     }
 
+    @Override
+    public Optional<SocketAddress> getRemoteAddress() {
+        return Optional.ofNullable(this.connection.channel().remoteAddress());
+    }
+
     @Override
     public Optional<TimeZone> getTimeZone() {
         return Optional.ofNullable(this.timeZone);
@@ -24,12 +24,16 @@ import io.r2dbc.postgresql.message.frontend.FrontendMessage;
 import io.r2dbc.postgresql.message.frontend.StartupMessage;
 import io.r2dbc.postgresql.util.Assert;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
 import reactor.util.annotation.Nullable;
 
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 /**
@@ -69,6 +73,26 @@ public final class StartupMessageFlow {
      */
     public static Flux<BackendMessage> exchange(Function<AuthenticationMessage, AuthenticationHandler> authenticationHandlerProvider, Client client,
                                                 @Nullable String database, String username, StartupMessage.StartupParameterProvider parameterProvider) {
+        return exchange(authenticationHandlerProvider, client, database, username, parameterProvider, null);
+    }
+
+    /**
+     * Execute the <a href="https://www.postgresql.org/docs/10/static/protocol-flow.html#idm46428664018352">Start-up</a> message flow.
+     *
+     * @param authenticationHandlerProvider the {@link Function} used to provide an {@link AuthenticationHandler} to use for authentication
+     * @param client                        the {@link Client} to exchange messages with
+     * @param database                      the database to connect to
+     * @param username                      the username to authenticate with
+     * @param parameterProvider             the parameter provider providing connection options
+     * @param authenticationScheduler       the {@link Scheduler} to compute authentication responses on. Responses are computed on the thread receiving the authentication request if
+     *                                      {@code null}.
+     * @return the messages received after authentication is complete, in response to this exchange
+     * @throws IllegalArgumentException if {@code applicationName}, {@code authenticationHandler}, {@code client}, or {@code username} is {@code null}
+     * @since 1.1
+     */
+    public static Flux<BackendMessage> exchange(Function<AuthenticationMessage, AuthenticationHandler> authenticationHandlerProvider, Client client,
+                                                @Nullable String database, String username, StartupMessage.StartupParameterProvider parameterProvider,
+                                                @Nullable Scheduler authenticationScheduler) {
 
         Assert.requireNonNull(authenticationHandlerProvider, "authenticationHandlerProvider must not be null");
         Assert.requireNonNull(client, "client must not be null");
@@ -78,30 +102,44 @@ public final class StartupMessageFlow {
         Sinks.Many<FrontendMessage> requests = Sinks.many().unicast().onBackpressureBuffer();
         AtomicReference<AuthenticationHandler> authenticationHandler = new AtomicReference<>(null);
 
-        return client.exchange(requests.asFlux().startWith(new StartupMessage(database, username, parameterProvider)))
-            .handle((message, sink) -> {
-                if (message instanceof AuthenticationOk) {
-                    requests.emitComplete(Sinks.EmitFailureHandler.FAIL_FAST);
-                } else if (message instanceof AuthenticationMessage) {
-                    try {
-                        AuthenticationMessage authenticationMessage = (AuthenticationMessage) message;
-
-                        if (authenticationHandler.get() == null) {
-                            authenticationHandler.compareAndSet(null, authenticationHandlerProvider.apply(authenticationMessage));
-                        }
-
-                        FrontendMessage response = authenticationHandler.get().handle(authenticationMessage);
-                        if (response != null) {
-                            requests.emitNext(response, Sinks.EmitFailureHandler.FAIL_FAST);
-                        }
-                    } catch (Exception e) {
-                        requests.emitError(e, Sinks.EmitFailureHandler.FAIL_FAST);
-                        sink.error(e);
+        BiConsumer<BackendMessage, SynchronousSink<BackendMessage>> handler = (message, sink) -> {
+            if (message instanceof AuthenticationOk) {
+                requests.emitComplete(Sinks.EmitFailureHandler.FAIL_FAST);
+            } else if (message instanceof AuthenticationMessage) {
+                try {
+                    AuthenticationMessage authenticationMessage = (AuthenticationMessage) message;
+
+                    if (authenticationHandler.get() == null) {
+                        authenticationHandler.compareAndSet(null, authenticationHandlerProvider.apply(authenticationMessage));
+                    }
+
+                    FrontendMessage response = authenticationHandler.get().handle(authenticationMessage);
+                    if (response != null) {
+                        requests.emitNext(response, Sinks.EmitFailureHandler.FAIL_FAST);
                     }
-                } else {
-                    sink.next(message);
+                } catch (Exception e) {
+                    requests.emitError(e, Sinks.EmitFailureHandler.FAIL_FAST);
+                    sink.error(e);
                 }
-            });
+            } else {
+                sink.next(message);
+            }
+        };
+
+        Flux<BackendMessage> messages = client.exchange(requests.asFlux().startWith(new StartupMessage(database, username, parameterProvider)));
+
+        if (authenticationScheduler == null) {
+            return messages.handle(handler);
+        }
+
+        return messages.concatMap(message -> {
+
+            if (message instanceof AuthenticationMessage && !(message instanceof AuthenticationOk)) {
+                return Mono.just(message).publishOn(authenticationScheduler).handle(handler);
+            }
+
+            return Mono.just(message).handle(handler);
+        });
     }
 
 }
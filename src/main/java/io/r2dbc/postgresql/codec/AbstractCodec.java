@@ -147,7 +147,7 @@ abstract class AbstractCodec<T> implements Codec<T>, CodecMetadata {
      * @return the encoded  {@link EncodedParameter}
      */
     static EncodedParameter create(Format format, int type, Supplier<? extends ByteBuf> bufferSupplier) {
-        return new EncodedParameter(format, type, Mono.fromSupplier(bufferSupplier));
+        return EncodedParameter.fromSupplier(format, type, bufferSupplier);
     }
 
     /**
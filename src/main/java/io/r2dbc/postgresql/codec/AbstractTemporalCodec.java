@@ -20,7 +20,6 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.r2dbc.postgresql.message.Format;
 import io.r2dbc.postgresql.util.Assert;
-import io.r2dbc.postgresql.util.ByteBufUtils;
 import reactor.util.annotation.Nullable;
 
 import java.time.LocalDate;
@@ -116,28 +115,28 @@ abstract class AbstractTemporalCodec<T extends Temporal> extends BuiltinCodecSup
                     return EpochTime.fromLong(buffer.readLong()).toLocalDateTime();
                 }
 
-                return PostgresqlDateTimeFormatter.parseLocalDateTime(ByteBufUtils.decode(buffer));
+                return PostgresqlTemporalParser.parseLocalDateTime(buffer);
             case DATE:
             case DATE_ARRAY:
                 if (FORMAT_BINARY == format) {
                     return LocalDate.ofEpochDay(EpochTime.fromInt(buffer.readInt()).getJavaDays());
                 }
 
-                return PostgresqlDateTimeFormatter.parseLocalDate(ByteBufUtils.decode(buffer));
+                return PostgresqlTemporalParser.parseLocalDate(buffer);
             case TIME:
             case TIME_ARRAY:
                 if (FORMAT_BINARY == format) {
                     return LocalTime.ofNanoOfDay(buffer.readLong() * 1000);
                 }
 
-                return PostgresqlTimeFormatter.parseLocalTime(ByteBufUtils.decode(buffer));
+                return PostgresqlTemporalParser.parseLocalTime(buffer);
             case TIMESTAMPTZ:
             case TIMESTAMPTZ_ARRAY:
                 if (FORMAT_BINARY == format) {
                     return EpochTime.fromLong(buffer.readLong()).toInstant().atOffset(OffsetDateTime.now().getOffset());
                 }
 
-                return PostgresqlDateTimeFormatter.parseOffsetDateTime(ByteBufUtils.decode(buffer));
+                return PostgresqlTemporalParser.parseOffsetDateTime(buffer);
             case TIMETZ:
             case TIMETZ_ARRAY:
                 if (FORMAT_BINARY == format) {
@@ -146,7 +145,7 @@ abstract class AbstractTemporalCodec<T extends Temporal> extends BuiltinCodecSup
                     return OffsetTime.of(LocalTime.ofNanoOfDay(timeNano), ZoneOffset.ofTotalSeconds(offsetSec));
                 }
 
-                return PostgresqlTimeFormatter.parseOffsetTime(ByteBufUtils.decode(buffer));
+                return PostgresqlTemporalParser.parseOffsetTime(buffer);
         }
 
         throw new UnsupportedOperationException(String.format("Cannot decode value for type %s, format %s", dataType, format));
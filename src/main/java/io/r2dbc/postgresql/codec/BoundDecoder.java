@@ -0,0 +1,44 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql.codec;
+
+import io.netty.buffer.ByteBuf;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Decoder bound to a data type, format and target type. A bound decoder resolves its {@link Codec} once so that it can be reused to decode the values of a column across rows without repeating
+ * the codec lookup.
+ *
+ * @param <T> the type that is returned by this decoder
+ * @see Codecs#bind(int, io.r2dbc.postgresql.message.Format, Class)
+ * @since 1.1
+ */
+@FunctionalInterface
+public interface BoundDecoder<T> {
+
+    /**
+     * Decode {@code buffer}.
+     *
+     * @param buffer the {@link ByteBuf} to decode
+     * @return the decoded value. Can be {@code null} if the value is {@code null}.
+     * @throws IllegalArgumentException if the value cannot be decoded
+     */
+    @Nullable
+    T decode(@Nullable ByteBuf buffer);
+
+}
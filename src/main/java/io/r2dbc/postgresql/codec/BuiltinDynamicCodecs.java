@@ -18,21 +18,20 @@ package io.r2dbc.postgresql.codec;
 
 import io.netty.buffer.ByteBufAllocator;
 import io.r2dbc.postgresql.api.PostgresqlConnection;
-import io.r2dbc.postgresql.api.PostgresqlStatement;
 import io.r2dbc.postgresql.extension.CodecRegistrar;
 import org.reactivestreams.Publisher;
 import reactor.util.annotation.Nullable;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * {@link CodecRegistrar} to register built-in codecs depending on their availability in {@code pg_type}.
+ * {@link CodecRegistrar} to register built-in codecs depending on their availability in {@code pg_type}. Types are looked up through {@link PostgresTypes} and therefore served from a
+ * {@link TypeCatalogCache} if one is bound.
  */
 public class BuiltinDynamicCodecs implements CodecRegistrar {
 
-    private static final Object EMPTY = new Object();
-
     enum BuiltinCodec {
 
         HSTORE("hstore"),
@@ -87,30 +86,18 @@ public class BuiltinDynamicCodecs implements CodecRegistrar {
     @Override
     public Publisher<Void> register(PostgresqlConnection connection, ByteBufAllocator byteBufAllocator, CodecRegistry registry) {
 
-        PostgresqlStatement statement = createQuery(connection);
-
-        return statement.execute()
-            .flatMap(it -> it.map((row, rowMetadata) -> {
-
-                    int oid = PostgresqlObjectId.toInt(row.get("oid", Long.class));
-                    String typname = row.get("typname", String.class);
-
-                    BuiltinCodec lookup = BuiltinCodec.lookup(typname);
-                    if (lookup.isSupported()) {
-                        registry.addLast(lookup.createCodec(byteBufAllocator, oid));
-                    }
+        return PostgresTypes.from(connection).lookupTypes(getTypeNames())
+            .doOnNext(type -> {
 
-                    return EMPTY;
-                })
-            ).then();
-    }
-
-    private PostgresqlStatement createQuery(PostgresqlConnection connection) {
-        return connection.createStatement(String.format("SELECT oid, typname FROM pg_catalog.pg_type WHERE typname IN (%s)", getPlaceholders()));
+                BuiltinCodec lookup = BuiltinCodec.lookup(type.getName());
+                if (lookup.isSupported()) {
+                    registry.addLast(lookup.createCodec(byteBufAllocator, type.getOid()));
+                }
+            }).then();
     }
 
-    private static String getPlaceholders() {
-        return Arrays.stream(BuiltinCodec.values()).map(s -> "'" + s.getName() + "'").collect(Collectors.joining(","));
+    private static List<String> getTypeNames() {
+        return Arrays.stream(BuiltinCodec.values()).map(BuiltinCodec::getName).collect(Collectors.toList());
     }
 
     private static boolean isPresent(ClassLoader classLoader, String name) {
@@ -16,21 +16,27 @@
 
 package io.r2dbc.postgresql.codec;
 
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
 import io.r2dbc.postgresql.message.Format;
 import io.r2dbc.postgresql.util.Assert;
 import reactor.util.Logger;
 import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
 
 import java.lang.reflect.Array;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Supplier;
 
 /**
  * Cache implementation of the {@link CodecLookup}. This will keep the relevant {@link Codec} for the type, format and database type cached for faster access.
  * In case the {@link Codec} can't be found in the cache, a fallback search using {@link DefaultCodecLookup} will be done.
+ * <p>
+ * Lookups are lock-free. Decode codecs are keyed by the exact {@code (type, format, dataType)} combination without boxing. Cache hits are still verified through
+ * {@link Codec#canDecode(int, Format, Class)} respectively {@link Codec#canEncode(Object)} as codecs may consider more than the cache key. A cached codec that declines a value falls back
+ * to the search. Cache contents are replaced atomically when codecs are added.
  *
  * @since 0.9
  */
@@ -38,11 +44,11 @@ class CachedCodecLookup implements CodecLookup {
 
     private static final Logger LOG = Loggers.getLogger(CachedCodecLookup.class);
 
-    private final Map<Integer, Codec<?>> decodeCodecsCache = new ConcurrentHashMap<>();
+    private volatile Map<Class<?>, DecodeCodecs> decodeCodecsCache = new ConcurrentHashMap<>();
 
-    private final Map<Class<?>, Codec<?>> encodeCodecsCache = new ConcurrentHashMap<>();
+    private volatile Map<Class<?>, Codec<?>> encodeCodecsCache = new ConcurrentHashMap<>();
 
-    private final Map<Class<?>, Codec<?>> encodeNullCodecsCache = new ConcurrentHashMap<>();
+    private volatile Map<Class<?>, Codec<?>> encodeNullCodecsCache = new ConcurrentHashMap<>();
 
     private final CodecLookup delegate;
 
@@ -63,9 +69,9 @@ class CachedCodecLookup implements CodecLookup {
     @Override
     public void afterCodecAdded() {
 
-        this.decodeCodecsCache.clear();
-        this.encodeCodecsCache.clear();
-        this.encodeNullCodecsCache.clear();
+        Map<Class<?>, DecodeCodecs> decodeCodecs = new ConcurrentHashMap<>();
+        Map<Class<?>, Codec<?>> encodeCodecs = new ConcurrentHashMap<>();
+        Map<Class<?>, Codec<?>> encodeNullCodecs = new ConcurrentHashMap<>();
 
         for (Codec<?> c : this.delegate) {
             Optional<Class<?>> arrayClass = Optional.empty();
@@ -76,12 +82,12 @@ class CachedCodecLookup implements CodecLookup {
 
             if (c instanceof CodecMetadata) {
                 CodecMetadata metadata = (CodecMetadata) c;
-                cacheEncode(c, metadata.type());
-                arrayClass.ifPresent(ac -> cacheEncode(c, ac));
+                cacheEncode(encodeCodecs, encodeNullCodecs, c, metadata.type());
+                arrayClass.ifPresent(ac -> cacheEncode(encodeCodecs, encodeNullCodecs, c, ac));
                 for (PostgresTypeIdentifier identifier : metadata.getDataTypes()) {
                     for (Format format : metadata.getFormats()) {
-                        cacheDecode(c, metadata.type(), identifier, format);
-                        arrayClass.ifPresent(ac -> cacheDecode(c, ac, identifier, format));
+                        cacheDecode(decodeCodecs, c, metadata.type(), identifier.getObjectId(), format);
+                        arrayClass.ifPresent(ac -> cacheDecode(decodeCodecs, c, ac, identifier.getObjectId(), format));
                     }
                 }
             }
@@ -91,85 +97,157 @@ class CachedCodecLookup implements CodecLookup {
             for (Format format : Format.all()) {
                 Codec<?> c = this.delegate.findDecodeCodec(identifier.getObjectId(), format, Object.class);
                 if (c != null) {
-                    cacheDecode(c, Object.class, identifier, format);
+                    cacheDecode(decodeCodecs, c, Object.class, identifier.getObjectId(), format);
                 }
             }
         }
+
+        this.decodeCodecsCache = decodeCodecs;
+        this.encodeCodecsCache = encodeCodecs;
+        this.encodeNullCodecsCache = encodeNullCodecs;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> Codec<T> findDecodeCodec(int dataType, Format format, Class<? extends T> type) {
-        Integer hash = generateCodecHash(dataType, format, type);
-        return findCodec(hash, dataType, format, type, this.decodeCodecsCache, () -> {
-            LOG.trace("[codec-finder dataType={}, format={}, type={}] Decode codec not found in cache", dataType, format, type.getName());
-            Codec<T> c = this.delegate.findDecodeCodec(dataType, format, type);
-            if (c != null) {
-                this.decodeCodecsCache.putIfAbsent(hash, c);
-            }
-            return c;
-        });
+
+        Map<Class<?>, DecodeCodecs> cache = this.decodeCodecsCache;
+        DecodeCodecs codecs = cache.get(type);
+        Codec<T> value = codecs != null ? (Codec<T>) codecs.get(dataType, format) : null;
+
+        if (value != null && value.canDecode(dataType, format, type)) {
+            return value;
+        }
+
+        LOG.trace("[codec-finder dataType={}, format={}, type={}] Decode codec not found in cache", dataType, format, type.getName());
+        Codec<T> c = this.delegate.findDecodeCodec(dataType, format, type);
+        if (c != null) {
+            cacheDecode(cache, c, type, dataType, format);
+        }
+        return c;
     }
 
     @Override
     public <T> Codec<T> findEncodeCodec(T value) {
-        return findCodec(value.getClass(), this.encodeCodecsCache, () -> {
-            LOG.trace("[codec-finder type={}] Encode codec not found in cache", value.getClass().getName());
-            Codec<T> c = this.delegate.findEncodeCodec(value);
-            if (c != null) {
-                this.encodeCodecsCache.putIfAbsent(value.getClass(), c);
-            }
-            return c;
-        });
+
+        Map<Class<?>, Codec<?>> cache = this.encodeCodecsCache;
+        Codec<T> cached = findCachedEncodeCodec(cache, value);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        LOG.trace("[codec-finder type={}] Encode codec not found in cache", value.getClass().getName());
+        Codec<T> c = this.delegate.findEncodeCodec(value);
+        if (c != null) {
+            cache.putIfAbsent(value.getClass(), c);
+        }
+        return c;
     }
 
     @Override
     public <T> Codec<T> findEncodeNullCodec(Class<T> type) {
-        return findCodec(type, this.encodeNullCodecsCache, () -> {
-            LOG.trace("[codec-finder type={}] Encode null codec not found in cache", type.getName());
-            Codec<T> c = this.delegate.findEncodeNullCodec(type);
-            if (c != null) {
-                this.encodeNullCodecsCache.putIfAbsent(type, c);
-            }
-            return c;
-        });
+
+        Map<Class<?>, Codec<?>> cache = this.encodeNullCodecsCache;
+        Codec<T> cached = findCachedEncodeNullCodec(cache, type);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        LOG.trace("[codec-finder type={}] Encode null codec not found in cache", type.getName());
+        Codec<T> c = this.delegate.findEncodeNullCodec(type);
+        if (c != null) {
+            cache.putIfAbsent(type, c);
+        }
+        return c;
     }
 
-    private void cacheDecode(Codec<?> c, Class<?> type, PostgresTypeIdentifier identifier, Format format) {
-        Integer decodeHash = generateCodecHash(identifier.getObjectId(), format, type);
-        this.decodeCodecsCache.putIfAbsent(decodeHash, c);
+    /**
+     * Return the cached decode codec for the given combination without falling back to a search across all codecs.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    <T> Codec<T> findCachedDecodeCodec(int dataType, Format format, Class<? extends T> type) {
+        DecodeCodecs codecs = this.decodeCodecsCache.get(type);
+        Codec<T> codec = codecs != null ? (Codec<T>) codecs.get(dataType, format) : null;
+        return codec != null && codec.canDecode(dataType, format, type) ? codec : null;
     }
 
-    private void cacheEncode(Codec<?> c, Class<?> type) {
-        this.encodeCodecsCache.putIfAbsent(type, c);
-        if (c.canEncodeNull(type)) {
-            this.encodeNullCodecsCache.putIfAbsent(type, c);
-        }
+    /**
+     * Return the cached encode codec for {@code value} without falling back to a search across all codecs.
+     */
+    @Nullable
+    <T> Codec<T> findCachedEncodeCodec(T value) {
+        return findCachedEncodeCodec(this.encodeCodecsCache, value);
+    }
+
+    /**
+     * Return the cached codec to encode {@code null} values of {@code type} without falling back to a search across all codecs.
+     */
+    @Nullable
+    <T> Codec<T> findCachedEncodeNullCodec(Class<T> type) {
+        return findCachedEncodeNullCodec(this.encodeNullCodecsCache, type);
     }
 
+    @Nullable
     @SuppressWarnings("unchecked")
-    private synchronized <T> Codec<T> findCodec(Class<?> cacheKey, Map<Class<?>, Codec<?>> cache, Supplier<Codec<T>> fallback) {
-        Codec<T> value = (Codec<T>) cache.get(cacheKey);
-        return value != null ? value : fallback.get();
+    private static <T> Codec<T> findCachedEncodeCodec(Map<Class<?>, Codec<?>> cache, T value) {
+        Codec<T> codec = (Codec<T>) cache.get(value.getClass());
+        return codec != null && codec.canEncode(value) ? codec : null;
     }
 
+    @Nullable
     @SuppressWarnings("unchecked")
-    private synchronized <T> Codec<T> findCodec(Integer cacheKey, int dataType, Format format, Class<? extends T> type, Map<Integer, Codec<?>> cache, Supplier<Codec<T>> fallback) {
-        Codec<T> value = (Codec<T>) cache.get(cacheKey);
-        return (value != null && value.canDecode(dataType, format, type)) ? value : fallback.get();
+    private static <T> Codec<T> findCachedEncodeNullCodec(Map<Class<?>, Codec<?>> cache, Class<T> type) {
+        Codec<T> codec = (Codec<T>) cache.get(type);
+        return codec != null && codec.canEncodeNull(type) ? codec : null;
+    }
+
+    private static void cacheDecode(Map<Class<?>, DecodeCodecs> cache, Codec<?> c, Class<?> type, int dataType, Format format) {
+        cache.computeIfAbsent(type, it -> new DecodeCodecs()).putIfAbsent(dataType, format, c);
+    }
+
+    private static void cacheEncode(Map<Class<?>, Codec<?>> encodeCodecs, Map<Class<?>, Codec<?>> encodeNullCodecs, Codec<?> c, Class<?> type) {
+        encodeCodecs.putIfAbsent(type, c);
+        if (c.canEncodeNull(type)) {
+            encodeNullCodecs.putIfAbsent(type, c);
+        }
     }
 
-    private static Integer generateCodecHash(int dataType, Format format, Class<?> type) {
-        int result = 1;
+    /**
+     * Decode codecs for a single Java type, keyed by format and data type. Lookups read an immutable snapshot; updates copy the snapshot and are expected to be rare.
+     */
+    static final class DecodeCodecs {
+
+        private volatile IntObjectMap<Codec<?>> binary = new IntObjectHashMap<>(4);
+
+        private volatile IntObjectMap<Codec<?>> text = new IntObjectHashMap<>(4);
+
+        @Nullable
+        Codec<?> get(int dataType, Format format) {
+            return (format == Format.FORMAT_BINARY ? this.binary : this.text).get(dataType);
+        }
+
+        synchronized void putIfAbsent(int dataType, Format format, Codec<?> codec) {
+
+            IntObjectMap<Codec<?>> current = format == Format.FORMAT_BINARY ? this.binary : this.text;
 
-        result = 31 * result + dataType;
-        result = 31 * result + format.hashCode();
-        result = 31 * result + type.hashCode();
+            if (current.containsKey(dataType)) {
+                return;
+            }
 
-        if (type.isArray()) {
-            result = 31 * result + type.getComponentType().hashCode();
+            IntObjectMap<Codec<?>> copy = new IntObjectHashMap<>(current.size() + 1);
+            copy.putAll(current);
+            copy.put(dataType, codec);
+
+            if (format == Format.FORMAT_BINARY) {
+                this.binary = copy;
+            } else {
+                this.text = copy;
+            }
         }
 
-        return result;
     }
 
 }
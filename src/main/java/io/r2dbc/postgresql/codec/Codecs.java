@@ -19,6 +19,7 @@ package io.r2dbc.postgresql.codec;
 import io.netty.buffer.ByteBuf;
 import io.r2dbc.postgresql.client.EncodedParameter;
 import io.r2dbc.postgresql.message.Format;
+import io.r2dbc.postgresql.util.Assert;
 import reactor.util.annotation.Nullable;
 
 /**
@@ -40,6 +41,41 @@ public interface Codecs {
     @Nullable
     <T> T decode(@Nullable ByteBuf buffer, int dataType, Format format, Class<? extends T> type);
 
+    /**
+     * Resolve a {@link BoundDecoder} for data of {@code dataType} and {@code format} decoding to {@code type}. Implementations should resolve the codec once so the decoder can be reused for
+     * every value of a column.
+     *
+     * @param dataType the data type of the data
+     * @param format   the format of the data
+     * @param type     the type to decode to
+     * @param <T>      the type of item being returned
+     * @return the bound decoder
+     * @throws IllegalArgumentException if {@code format} or {@code type} is {@code null}
+     * @since 1.1
+     */
+    default <T> BoundDecoder<T> bind(int dataType, Format format, Class<? extends T> type) {
+        Assert.requireNonNull(format, "format must not be null");
+        Assert.requireNonNull(type, "type must not be null");
+
+        return buffer -> decode(buffer, dataType, format, type);
+    }
+
+    /**
+     * Return whether values of {@code dataType} and {@code format} can be decoded to {@code type}. Implementations that cannot tell should return {@code false}.
+     *
+     * @param dataType the data type of the data
+     * @param format   the format of the data
+     * @param type     the type to decode to
+     * @return {@code true} if values can be decoded to {@code type}
+     * @throws IllegalArgumentException if {@code format} or {@code type} is {@code null}
+     * @since 1.1
+     */
+    default boolean canDecode(int dataType, Format format, Class<?> type) {
+        Assert.requireNonNull(format, "format must not be null");
+        Assert.requireNonNull(type, "type must not be null");
+        return false;
+    }
+
     /**
      * Encode a value.
      *
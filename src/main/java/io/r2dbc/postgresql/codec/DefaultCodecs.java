@@ -29,8 +29,12 @@ import reactor.util.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
@@ -44,10 +48,22 @@ import static io.r2dbc.postgresql.client.EncodedParameter.NULL_VALUE;
  */
 public final class DefaultCodecs implements Codecs, CodecRegistry {
 
+    /**
+     * Types whose binary values read as {@link String} render identically to the text format.
+     */
+    private static final Set<PostgresqlObjectId> TEXT_RENDERED_TYPES = EnumSet.of(PostgresqlObjectId.BOOL, PostgresqlObjectId.INT2, PostgresqlObjectId.INT4, PostgresqlObjectId.INT8,
+        PostgresqlObjectId.UUID);
+
     private final List<Codec<?>> codecs;
 
     private final CodecLookup codecLookup;
 
+    @Nullable
+    private final List<Codec<?>> leadingCodecs;
+
+    @Nullable
+    private final List<Codec<?>> trailingCodecs;
+
     /**
      * Create a new instance of {@link DefaultCodecs} preferring detached (copied buffers).
      *
@@ -93,10 +109,45 @@ public final class DefaultCodecs implements Codecs, CodecRegistry {
 
         this.codecLookup = codecLookupFunction.apply(this);
         this.codecs = getDefaultCodecs(byteBufAllocator, preferAttachedBuffers, configuration);
+        this.leadingCodecs = null;
+        this.trailingCodecs = null;
         this.codecLookup.afterCodecAdded();
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
+    private DefaultCodecs(Template template, CodecConfiguration configuration) {
+
+        Map<Codec<?>, Codec<?>> substitutions = new IdentityHashMap<>();
+        List<Codec<?>> codecs = new ArrayList<>(template.codecs.size());
+
+        for (Codec<?> codec : template.codecs) {
+
+            Codec<?> substitute = createConfigurationAwareCodec(template.byteBufAllocator, codec, configuration, substitutions);
+            if (substitute != null) {
+                substitutions.put(codec, substitute);
+                codecs.add(substitute);
+            } else {
+                codecs.add(codec);
+            }
+        }
+
+        this.codecs = new CopyOnWriteArrayList<>(codecs);
+        this.leadingCodecs = new CopyOnWriteArrayList<>();
+        this.trailingCodecs = new CopyOnWriteArrayList<>();
+        this.codecLookup = new LayeredCodecLookup(this.codecs, template.codecLookup, substitutions, this.leadingCodecs, this.trailingCodecs);
+    }
+
+    /**
+     * Create a {@link Template} holding the built-in codecs and their lookup tables so that they can be shared across {@link DefaultCodecs} instances.
+     *
+     * @param byteBufAllocator      the {@link ByteBufAllocator} to use for encoding
+     * @param preferAttachedBuffers whether to prefer attached (pooled) {@link ByteBuf buffers}. Use {@code false} (default) to use detached buffers which minimize the risk of memory leaks.
+     * @return the template
+     * @since 1.1
+     */
+    public static Template template(ByteBufAllocator byteBufAllocator, boolean preferAttachedBuffers) {
+        return new Template(byteBufAllocator, preferAttachedBuffers);
+    }
+
     private static List<Codec<?>> getDefaultCodecs(ByteBufAllocator byteBufAllocator, boolean preferAttachedBuffers, CodecConfiguration configuration) {
 
         List<Codec<?>> codecs = new CopyOnWriteArrayList<>(Arrays.asList(
@@ -149,6 +200,14 @@ public final class DefaultCodecs implements Codecs, CodecRegistry {
             // Array
             new StringArrayCodec(byteBufAllocator),
 
+            // Primitive arrays
+            PrimitiveArrayCodec.forInt(byteBufAllocator),
+            PrimitiveArrayCodec.forLong(byteBufAllocator),
+            PrimitiveArrayCodec.forShort(byteBufAllocator),
+            PrimitiveArrayCodec.forFloat(byteBufAllocator),
+            PrimitiveArrayCodec.forDouble(byteBufAllocator),
+            PrimitiveArrayCodec.forBoolean(byteBufAllocator),
+
             // Geometry
             new CircleCodec(byteBufAllocator),
             new PointCodec(byteBufAllocator),
@@ -164,21 +223,7 @@ public final class DefaultCodecs implements Codecs, CodecRegistry {
         for (Codec<?> codec : codecs) {
 
             if (codec instanceof ArrayCodecDelegate<?>) {
-
-                Assert.requireType(codec, AbstractCodec.class, "Codec " + codec + " must be a subclass of AbstractCodec to be registered as generic array codec");
-                ArrayCodecDelegate<?> delegate = (ArrayCodecDelegate<?>) codec;
-                Class<?> componentType = delegate.type();
-
-                if (codec instanceof BoxCodec) {
-                    // BOX[] uses a ';' as a delimiter (i.e. "{(3.7,4.6),(1.9,2.8);(5,7),(1.5,3.3)}")
-                    defaultArrayCodecs.add(new ArrayCodec(byteBufAllocator, delegate.getArrayDataType(), delegate, componentType, (byte) ';'));
-                } else if (codec instanceof AbstractNumericCodec) {
-                    defaultArrayCodecs.add(new ConvertingArrayCodec(byteBufAllocator, delegate, componentType, ConvertingArrayCodec.NUMERIC_ARRAY_TYPES));
-                } else if (codec instanceof AbstractTemporalCodec) {
-                    defaultArrayCodecs.add(new ConvertingArrayCodec(byteBufAllocator, delegate, componentType, ConvertingArrayCodec.DATE_ARRAY_TYPES));
-                } else {
-                    defaultArrayCodecs.add(new ArrayCodec(byteBufAllocator, delegate, componentType));
-                }
+                defaultArrayCodecs.add(createArrayCodec(byteBufAllocator, codec));
             }
         }
 
@@ -187,10 +232,67 @@ public final class DefaultCodecs implements Codecs, CodecRegistry {
         return codecs;
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Codec<?> createArrayCodec(ByteBufAllocator byteBufAllocator, Codec<?> codec) {
+
+        Assert.requireType(codec, AbstractCodec.class, "Codec " + codec + " must be a subclass of AbstractCodec to be registered as generic array codec");
+        ArrayCodecDelegate<?> delegate = (ArrayCodecDelegate<?>) codec;
+        Class<?> componentType = delegate.type();
+
+        if (codec instanceof BoxCodec) {
+            // BOX[] uses a ';' as a delimiter (i.e. "{(3.7,4.6),(1.9,2.8);(5,7),(1.5,3.3)}")
+            return new ArrayCodec(byteBufAllocator, delegate.getArrayDataType(), delegate, componentType, (byte) ';');
+        }
+
+        if (codec instanceof AbstractNumericCodec) {
+            return new ConvertingArrayCodec(byteBufAllocator, delegate, componentType, ConvertingArrayCodec.NUMERIC_ARRAY_TYPES);
+        }
+
+        if (codec instanceof AbstractTemporalCodec) {
+            return new ConvertingArrayCodec(byteBufAllocator, delegate, componentType, ConvertingArrayCodec.DATE_ARRAY_TYPES);
+        }
+
+        return new ArrayCodec(byteBufAllocator, delegate, componentType);
+    }
+
+    /**
+     * Create a connection-specific replacement for a built-in codec that depends on {@link CodecConfiguration}.
+     *
+     * @return the replacement codec or {@code null} if {@code codec} does not depend on {@link CodecConfiguration}
+     */
+    @Nullable
+    private static Codec<?> createConfigurationAwareCodec(ByteBufAllocator byteBufAllocator, Codec<?> codec, CodecConfiguration configuration, Map<Codec<?>, Codec<?>> replacements) {
+
+        if (codec instanceof InstantCodec) {
+            return new InstantCodec(byteBufAllocator, configuration::getZoneId);
+        }
+
+        if (codec instanceof LocalDateTimeCodec) {
+            return new LocalDateTimeCodec(byteBufAllocator, configuration::getZoneId);
+        }
+
+        if (codec instanceof DateCodec) {
+            return new DateCodec(byteBufAllocator, configuration::getZoneId);
+        }
+
+        if (codec instanceof ArrayCodec) {
+
+            Codec<?> delegate = replacements.get((Codec<?>) ((ArrayCodec<?>) codec).getDelegate());
+            if (delegate != null) {
+                return createArrayCodec(byteBufAllocator, delegate);
+            }
+        }
+
+        return null;
+    }
+
     @Override
     public void addFirst(Codec<?> codec) {
         Assert.requireNonNull(codec, "codec must not be null");
         this.codecs.add(0, codec);
+        if (this.leadingCodecs != null) {
+            this.leadingCodecs.add(0, codec);
+        }
         this.codecLookup.afterCodecAdded();
     }
 
@@ -198,12 +300,14 @@ public final class DefaultCodecs implements Codecs, CodecRegistry {
     public void addLast(Codec<?> codec) {
         Assert.requireNonNull(codec, "codec must not be null");
         this.codecs.add(codec);
+        if (this.trailingCodecs != null) {
+            this.trailingCodecs.add(codec);
+        }
         this.codecLookup.afterCodecAdded();
     }
 
     @Override
     @Nullable
-    @SuppressWarnings("unchecked")
     public <T> T decode(@Nullable ByteBuf buffer, int dataType, Format format, Class<? extends T> type) {
         Assert.requireNonNull(format, "format must not be null");
         Assert.requireNonNull(type, "type must not be null");
@@ -217,23 +321,100 @@ public final class DefaultCodecs implements Codecs, CodecRegistry {
             return codec.decode(buffer, dataType, format, type);
         }
 
-        if (String.class == type) {
+        BoundDecoder<T> fallback = fallbackDecoder(dataType, format, type);
+        if (fallback != null) {
+            return fallback.decode(buffer);
+        }
+
+        throw cannotDecode(dataType, type);
+    }
+
+    @Override
+    public <T> BoundDecoder<T> bind(int dataType, Format format, Class<? extends T> type) {
+        Assert.requireNonNull(format, "format must not be null");
+        Assert.requireNonNull(type, "type must not be null");
+
+        Codec<T> codec = this.codecLookup.findDecodeCodec(dataType, format, type);
+        if (codec != null) {
+            return buffer -> buffer == null ? null : codec.decode(buffer, dataType, format, type);
+        }
+
+        BoundDecoder<T> fallback = fallbackDecoder(dataType, format, type);
+        if (fallback != null) {
+            return buffer -> buffer == null ? null : fallback.decode(buffer);
+        }
+
+        return buffer -> {
+
+            if (buffer == null) {
+                return null;
+            }
+
+            throw cannotDecode(dataType, type);
+        };
+    }
+
+    @Override
+    public boolean canDecode(int dataType, Format format, Class<?> type) {
+        Assert.requireNonNull(format, "format must not be null");
+        Assert.requireNonNull(type, "type must not be null");
+
+        return this.codecLookup.findDecodeCodec(dataType, format, type) != null || fallbackDecoder(dataType, format, type) != null;
+    }
+
+    /**
+     * Return the decoder for values that no codec declares support for or {@code null} if no fallback applies. Binary values of types listed in {@link #TEXT_RENDERED_TYPES} are read as
+     * {@link String} by rendering their decoded value as the server would in text format.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <T> BoundDecoder<T> fallbackDecoder(int dataType, Format format, Class<? extends T> type) {
+
+        if (String.class == type && canDecodeAsString(dataType, format)) {
             int varcharType = PostgresqlObjectId.VARCHAR.getObjectId();
             Codec<T> varcharFallback = this.codecLookup.findDecodeCodec(varcharType, format, type);
             if (varcharFallback != null) {
-                return varcharFallback.decode(buffer, varcharType, format, type);
+                return buffer -> varcharFallback.decode(buffer, varcharType, format, type);
             }
         }
 
-        if (StringCodec.STRING_DECODER.canDecode(dataType, format, type)) {
-            return type.cast(StringCodec.STRING_DECODER.decode(buffer, dataType, format, (Class<String>) type));
+        if (canDecodeAsString(dataType, format) && StringCodec.STRING_DECODER.canDecode(dataType, format, type)) {
+            return buffer -> type.cast(StringCodec.STRING_DECODER.decode(buffer, dataType, format, (Class<String>) type));
         }
 
         if (StringCodec.STRING_ARRAY_DECODER.canDecode(dataType, format, type)) {
-            return type.cast(StringCodec.STRING_ARRAY_DECODER.decode(buffer, dataType, format, (Class<String[]>) type));
+            return buffer -> type.cast(StringCodec.STRING_ARRAY_DECODER.decode(buffer, dataType, format, (Class<String[]>) type));
+        }
+
+        if (String.class == type && format == Format.FORMAT_BINARY && PostgresqlObjectId.isValid(dataType) && TEXT_RENDERED_TYPES.contains(PostgresqlObjectId.valueOf(dataType))) {
+            Codec<Object> valueCodec = this.codecLookup.findDecodeCodec(dataType, format, Object.class);
+            if (valueCodec != null) {
+                return buffer -> type.cast(toText(valueCodec.decode(buffer, dataType, format, Object.class)));
+            }
         }
 
-        throw new IllegalArgumentException(String.format("Cannot decode value of type %s with OID %d", type.getName(), dataType));
+        return null;
+    }
+
+    @Nullable
+    private static String toText(@Nullable Object value) {
+
+        if (value instanceof Boolean) {
+            return (Boolean) value ? "t" : "f";
+        }
+
+        return value != null ? value.toString() : null;
+    }
+
+    private static IllegalArgumentException cannotDecode(int dataType, Class<?> type) {
+        return new IllegalArgumentException(String.format("Cannot decode value of type %s with OID %d", type.getName(), dataType));
+    }
+
+    /**
+     * Return whether a value of {@code dataType} in {@code format} can be decoded as character data. Binary values are character data only for text types.
+     */
+    private static boolean canDecodeAsString(int dataType, Format format) {
+        return format == Format.FORMAT_TEXT || StringCodec.isTextType(dataType);
     }
 
     @Override
@@ -319,4 +500,53 @@ public final class DefaultCodecs implements Codecs, CodecRegistry {
         return Collections.unmodifiableList(new ArrayList<>(this.codecs)).iterator();
     }
 
+    /**
+     * Immutable template of the built-in codecs along with their lookup tables. Built-in codecs and lookup tables are created once per template and shared by all {@link DefaultCodecs} created
+     * from it. Each {@link DefaultCodecs} layers codecs registered through {@link #addFirst(Codec)} and {@link #addLast(Codec)} on top of the template without affecting other instances. Built-in
+     * codecs that depend on {@link CodecConfiguration} are created per {@link DefaultCodecs} instance.
+     *
+     * @since 1.1
+     */
+    public static final class Template {
+
+        private final ByteBufAllocator byteBufAllocator;
+
+        private final boolean preferAttachedBuffers;
+
+        private final List<Codec<?>> codecs;
+
+        private final CachedCodecLookup codecLookup;
+
+        private Template(ByteBufAllocator byteBufAllocator, boolean preferAttachedBuffers) {
+            this.byteBufAllocator = Assert.requireNonNull(byteBufAllocator, "byteBufAllocator must not be null");
+            this.preferAttachedBuffers = preferAttachedBuffers;
+            this.codecs = Collections.unmodifiableList(new ArrayList<>(getDefaultCodecs(byteBufAllocator, preferAttachedBuffers, () -> TimeZone.getDefault().toZoneId())));
+            this.codecLookup = new CachedCodecLookup(this.codecs);
+            this.codecLookup.afterCodecAdded();
+        }
+
+        /**
+         * Create a new {@link DefaultCodecs} instance backed by this template.
+         *
+         * @param configuration the {@link CodecConfiguration} to use for encoding/decoding
+         * @return the new {@link DefaultCodecs}
+         */
+        public DefaultCodecs createCodecs(CodecConfiguration configuration) {
+            Assert.requireNonNull(configuration, "configuration must not be null");
+            return new DefaultCodecs(this, configuration);
+        }
+
+        /**
+         * Return whether this template was created for the given {@link ByteBufAllocator} and buffer preference.
+         *
+         * @param byteBufAllocator      the {@link ByteBufAllocator} to use for encoding
+         * @param preferAttachedBuffers whether to prefer attached (pooled) {@link ByteBuf buffers}
+         * @return {@code true} if this template can be used to create codecs for the given arguments
+         */
+        public boolean isCompatibleWith(ByteBufAllocator byteBufAllocator, boolean preferAttachedBuffers) {
+            return this.byteBufAllocator == byteBufAllocator && this.preferAttachedBuffers == preferAttachedBuffers;
+        }
+
+    }
+
 }
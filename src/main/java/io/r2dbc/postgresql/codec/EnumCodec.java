@@ -98,7 +98,7 @@ public class EnumCodec<T extends Enum<T>> implements Codec<T>, CodecMetadata {
 
         Assert.requireNonNull(value, "value must not be null");
 
-        return new EncodedParameter(FORMAT_TEXT, dataType, Mono.fromSupplier(() -> ByteBufUtils.encode(this.byteBufAllocator, this.type.cast(value).name())));
+        return EncodedParameter.fromSupplier(FORMAT_TEXT, dataType, () -> ByteBufUtils.encode(this.byteBufAllocator, this.type.cast(value).name()));
     }
 
     @Override
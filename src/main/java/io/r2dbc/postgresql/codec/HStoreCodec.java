@@ -22,7 +22,6 @@ import io.netty.util.ByteProcessor;
 import io.r2dbc.postgresql.client.EncodedParameter;
 import io.r2dbc.postgresql.message.Format;
 import io.r2dbc.postgresql.util.Assert;
-import reactor.core.publisher.Mono;
 
 import javax.annotation.Nullable;
 import java.nio.charset.StandardCharsets;
@@ -190,7 +189,7 @@ final class HStoreCodec implements Codec<Map>, CodecMetadata {
         Assert.requireNonNull(value, "value must not be null");
         Map<?, ?> map = (Map<?, ?>) value;
 
-        return new EncodedParameter(FORMAT_BINARY, dataType, Mono.fromSupplier(() -> {
+        return EncodedParameter.fromSupplier(FORMAT_BINARY, dataType, () -> {
             ByteBuf buffer = this.byteBufAllocator.buffer(4 + 10 * map.size());
             buffer.writeInt(map.size());
 
@@ -210,7 +209,7 @@ final class HStoreCodec implements Codec<Map>, CodecMetadata {
                 }
             }
             return buffer;
-        }));
+        });
     }
 
     @Override
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql.codec;
+
+import io.r2dbc.postgresql.message.Format;
+import io.r2dbc.postgresql.util.Assert;
+import reactor.util.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link CodecLookup} that layers connection-specific codecs on top of a shared {@link CachedCodecLookup} for the built-in codecs. Codecs registered through
+ * {@link CodecRegistry#addFirst(Codec)} are considered before and codecs registered through {@link CodecRegistry#addLast(Codec)} are considered after the built-in codecs. Cached lookups are consulted
+ * across all layers before falling back to a search so that lookup precedence matches a single {@link CachedCodecLookup} over the combined codecs.
+ * <p>
+ * Built-in codecs that depend on the connection (such as the session time zone) are replaced by their connection-specific counterparts through {@code substitutions}.
+ *
+ * @since 1.1
+ */
+class LayeredCodecLookup implements CodecLookup {
+
+    private final Iterable<Codec<?>> codecs;
+
+    private final CachedCodecLookup shared;
+
+    private final Map<Codec<?>, Codec<?>> substitutions;
+
+    private final List<Codec<?>> leadingCodecs;
+
+    private final List<Codec<?>> trailingCodecs;
+
+    private final CachedCodecLookup leading;
+
+    private final CachedCodecLookup trailing;
+
+    /**
+     * Create a new {@link LayeredCodecLookup}.
+     *
+     * @param codecs         all codecs in registration order
+     * @param shared         the lookup for built-in codecs shared across connections
+     * @param substitutions  connection-specific replacements for shared codecs, keyed by the shared codec instance
+     * @param leadingCodecs  codecs registered before the built-in codecs
+     * @param trailingCodecs codecs registered after the built-in codecs
+     */
+    LayeredCodecLookup(Iterable<Codec<?>> codecs, CachedCodecLookup shared, Map<Codec<?>, Codec<?>> substitutions, List<Codec<?>> leadingCodecs, List<Codec<?>> trailingCodecs) {
+        this.codecs = Assert.requireNonNull(codecs, "codecs must not be null");
+        this.shared = Assert.requireNonNull(shared, "shared must not be null");
+        this.substitutions = Assert.requireNonNull(substitutions, "substitutions must not be null");
+        this.leadingCodecs = Assert.requireNonNull(leadingCodecs, "leadingCodecs must not be null");
+        this.trailingCodecs = Assert.requireNonNull(trailingCodecs, "trailingCodecs must not be null");
+        this.leading = new CachedCodecLookup(leadingCodecs);
+        this.trailing = new CachedCodecLookup(trailingCodecs);
+    }
+
+    @Override
+    public Iterator<Codec<?>> iterator() {
+        return this.codecs.iterator();
+    }
+
+    @Override
+    public void afterCodecAdded() {
+        this.leading.afterCodecAdded();
+        this.trailing.afterCodecAdded();
+    }
+
+    @Override
+    @Nullable
+    public <T> Codec<T> findDecodeCodec(int dataType, Format format, Class<? extends T> type) {
+
+        Codec<T> codec = hasLeadingCodecs() ? this.leading.findCachedDecodeCodec(dataType, format, type) : null;
+
+        if (codec == null) {
+            codec = substitute(this.shared.findCachedDecodeCodec(dataType, format, type));
+        }
+
+        if (codec == null && hasTrailingCodecs()) {
+            codec = this.trailing.findCachedDecodeCodec(dataType, format, type);
+        }
+
+        if (codec != null) {
+            return codec;
+        }
+
+        codec = hasLeadingCodecs() ? this.leading.findDecodeCodec(dataType, format, type) : null;
+
+        if (codec == null) {
+            codec = substitute(this.shared.findDecodeCodec(dataType, format, type));
+        }
+
+        if (codec == null && hasTrailingCodecs()) {
+            codec = this.trailing.findDecodeCodec(dataType, format, type);
+        }
+
+        return codec;
+    }
+
+    @Override
+    @Nullable
+    public <T> Codec<T> findEncodeCodec(T value) {
+
+        Codec<T> codec = hasLeadingCodecs() ? this.leading.findCachedEncodeCodec(value) : null;
+
+        if (codec == null) {
+            codec = substitute(this.shared.findCachedEncodeCodec(value));
+        }
+
+        if (codec == null && hasTrailingCodecs()) {
+            codec = this.trailing.findCachedEncodeCodec(value);
+        }
+
+        if (codec != null) {
+            return codec;
+        }
+
+        codec = hasLeadingCodecs() ? this.leading.findEncodeCodec(value) : null;
+
+        if (codec == null) {
+            codec = substitute(this.shared.findEncodeCodec(value));
+        }
+
+        if (codec == null && hasTrailingCodecs()) {
+            codec = this.trailing.findEncodeCodec(value);
+        }
+
+        return codec;
+    }
+
+    @Override
+    @Nullable
+    public <T> Codec<T> findEncodeNullCodec(Class<T> type) {
+
+        Codec<T> codec = hasLeadingCodecs() ? this.leading.findCachedEncodeNullCodec(type) : null;
+
+        if (codec == null) {
+            codec = substitute(this.shared.findCachedEncodeNullCodec(type));
+        }
+
+        if (codec == null && hasTrailingCodecs()) {
+            codec = this.trailing.findCachedEncodeNullCodec(type);
+        }
+
+        if (codec != null) {
+            return codec;
+        }
+
+        codec = hasLeadingCodecs() ? this.leading.findEncodeNullCodec(type) : null;
+
+        if (codec == null) {
+            codec = substitute(this.shared.findEncodeNullCodec(type));
+        }
+
+        if (codec == null && hasTrailingCodecs()) {
+            codec = this.trailing.findEncodeNullCodec(type);
+        }
+
+        return codec;
+    }
+
+    private boolean hasLeadingCodecs() {
+        return !this.leadingCodecs.isEmpty();
+    }
+
+    private boolean hasTrailingCodecs() {
+        return !this.trailingCodecs.isEmpty();
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <T> Codec<T> substitute(@Nullable Codec<T> codec) {
+
+        if (codec == null) {
+            return null;
+        }
+
+        Codec<?> substitute = this.substitutions.get(codec);
+        return substitute != null ? (Codec<T>) substitute : codec;
+    }
+
+}
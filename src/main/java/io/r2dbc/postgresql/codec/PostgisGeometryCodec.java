@@ -28,7 +28,6 @@ import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKBReader;
 import org.locationtech.jts.io.WKBWriter;
 import org.locationtech.jts.io.WKTWriter;
-import reactor.core.publisher.Mono;
 
 import javax.annotation.Nullable;
 import java.util.Collections;
@@ -100,9 +99,7 @@ final class PostgisGeometryCodec implements Codec<Geometry>, CodecMetadata {
 
         WKBWriter writer = new WKBWriter(2, true);
 
-        return new EncodedParameter(FORMAT_BINARY, this.oid, Mono.fromSupplier(
-            () -> Unpooled.wrappedBuffer(writer.write(geometry))
-        ));
+        return EncodedParameter.fromSupplier(FORMAT_BINARY, this.oid, () -> Unpooled.wrappedBuffer(writer.write(geometry)));
     }
 
     @Override
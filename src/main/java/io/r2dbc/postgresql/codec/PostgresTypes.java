@@ -18,14 +18,17 @@ package io.r2dbc.postgresql.codec;
 
 import io.r2dbc.postgresql.api.PostgresqlConnection;
 import io.r2dbc.postgresql.util.Assert;
+import io.r2dbc.spi.Row;
 import io.r2dbc.spi.Type;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.StringJoiner;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
 /**
@@ -73,20 +76,31 @@ public class PostgresTypes {
             throw new IllegalArgumentException(String.format("Invalid typename %s", typeName));
         }
 
-        return this.connection.createStatement(String.format(SELECT_PG_TYPE, "=", "'" + typeName + "'", "LIMIT 1")).execute()
-            .flatMap(it -> it.map((row, rowMetadata) -> {
+        return Mono.deferContextual(context -> {
 
-                Long oid = row.get("oid", Long.class);
-                Long typarrayOid = row.get("typarray", Long.class);
-                return new PostgresType(PostgresqlObjectId.toInt(oid), oid.longValue(), PostgresqlObjectId.toInt(typarrayOid), typarrayOid, row.get("typname", String.class), row.get("typcategory",
-                    String.class));
-            })).singleOrEmpty();
+            TypeCatalogCache.Binding cache = TypeCatalogCache.getBinding(context);
+
+            if (cache != null) {
+                return cache.lookup(Collections.singletonList(typeName), this::doLookupTypes).next();
+            }
+
+            return this.connection.createStatement(String.format(SELECT_PG_TYPE, "=", "'" + typeName + "'", "LIMIT 1")).execute()
+                .flatMap(it -> it.map((row, rowMetadata) -> toType(row))).singleOrEmpty();
+        });
     }
 
+    /**
+     * Lookup Postgres types by {@code typname}. Please note that {@code typname} inlined to use simple statements. Therefore, {@code typname} gets verified against {@link #TYPENAME} to prevent SQL
+     * injection.
+     * <p>
+     * Lookups are served from a {@link TypeCatalogCache} if one is bound to the subscriber context.
+     *
+     * @param typeNames the type names. Must comply with the pattern {@code [a-zA-Z0-9_]+}
+     * @return a flux emitting the {@link PostgresType}s that were found
+     */
     public Flux<PostgresType> lookupTypes(Iterable<String> typeNames) {
 
-        StringJoiner joiner = new StringJoiner(",", "(", ")");
-        AtomicBoolean hasType = new AtomicBoolean();
+        List<String> names = new ArrayList<>();
 
         typeNames.forEach(typeName -> {
 
@@ -94,22 +108,43 @@ public class PostgresTypes {
                 throw new IllegalArgumentException(String.format("Invalid typename %s", typeName));
             }
 
-            hasType.set(true);
-            joiner.add("'" + typeName + "'");
+            names.add(typeName);
         });
 
-        if (!hasType.get()) {
+        if (names.isEmpty()) {
             return Flux.empty();
         }
 
+        return Flux.deferContextual(context -> {
+
+            TypeCatalogCache.Binding cache = TypeCatalogCache.getBinding(context);
+
+            if (cache != null) {
+                return cache.lookup(names, this::doLookupTypes);
+            }
+
+            return doLookupTypes(names);
+        });
+    }
+
+    private Flux<PostgresType> doLookupTypes(List<String> typeNames) {
+
+        StringJoiner joiner = new StringJoiner(",", "(", ")");
+
+        for (String typeName : typeNames) {
+            joiner.add("'" + typeName + "'");
+        }
+
         return this.connection.createStatement(String.format(SELECT_PG_TYPE, "IN", joiner, "")).execute()
-            .flatMap(it -> it.map((row, rowMetadata) -> {
+            .flatMap(it -> it.map((row, rowMetadata) -> toType(row)));
+    }
+
+    private static PostgresType toType(Row row) {
 
-                Long oid = row.get("oid", Long.class);
-                Long typarrayOid = row.get("typarray", Long.class);
-                return new PostgresType(PostgresqlObjectId.toInt(oid), oid.longValue(), PostgresqlObjectId.toInt(typarrayOid), typarrayOid, row.get("typname", String.class), row.get("typcategory",
-                    String.class));
-            }));
+        Long oid = row.get("oid", Long.class);
+        Long typarrayOid = row.get("typarray", Long.class);
+        return new PostgresType(PostgresqlObjectId.toInt(oid), oid.longValue(), PostgresqlObjectId.toInt(typarrayOid), typarrayOid, row.get("typname", String.class), row.get("typcategory",
+            String.class));
     }
 
     public static class PostgresType implements Type, PostgresTypeIdentifier {
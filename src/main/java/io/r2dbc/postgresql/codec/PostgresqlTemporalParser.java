@@ -0,0 +1,452 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.postgresql.util.ByteBufUtils;
+import reactor.util.annotation.Nullable;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+
+/**
+ * Parser for the text representation of temporal values ({@code DateStyle=ISO}) reading directly from a {@link ByteBuf}. Values are parsed from the readable bytes without materializing an
+ * intermediate {@link String}. Input that does not match the backend's ISO output (e.g. a different {@code DateStyle}) is handed over to {@link PostgresqlDateTimeFormatter} respective
+ * {@link PostgresqlTimeFormatter} to retain their parsing behavior.
+ * <p>Each method consumes all readable bytes of the given buffer.
+ */
+final class PostgresqlTemporalParser {
+
+    private static final int INVALID = Integer.MIN_VALUE;
+
+    private static final int[] FRACTION_SCALE = {0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private PostgresqlTemporalParser() {
+    }
+
+    /**
+     * Parse {@link LocalDate} from {@code buffer}.
+     *
+     * @param buffer the buffer containing the backend representation
+     * @return the parsed {@link LocalDate}
+     */
+    static LocalDate parseLocalDate(ByteBuf buffer) {
+
+        int start = buffer.readerIndex();
+        int end = buffer.writerIndex();
+        LocalDate result = null;
+
+        int infinity = infinity(buffer, start, end);
+        if (infinity != 0) {
+            result = infinity > 0 ? LocalDate.MAX : LocalDate.MIN;
+        } else {
+
+            boolean bc = isBeforeChrist(buffer, start, end);
+            int dateEnd = dateEnd(buffer, start, bc ? end - 3 : end);
+
+            if (dateEnd != INVALID && dateEnd == (bc ? end - 3 : end)) {
+                result = toLocalDate(buffer, start, dateEnd, bc);
+            }
+        }
+
+        if (result == null) {
+            return PostgresqlDateTimeFormatter.parseLocalDate(ByteBufUtils.decode(buffer));
+        }
+
+        buffer.readerIndex(end);
+        return result;
+    }
+
+    /**
+     * Parse {@link LocalDateTime} from {@code buffer}. A time zone offset, if present, is ignored.
+     *
+     * @param buffer the buffer containing the backend representation
+     * @return the parsed {@link LocalDateTime}
+     */
+    static LocalDateTime parseLocalDateTime(ByteBuf buffer) {
+
+        int start = buffer.readerIndex();
+        int end = buffer.writerIndex();
+        LocalDateTime result = null;
+
+        int infinity = infinity(buffer, start, end);
+        if (infinity != 0) {
+            result = infinity > 0 ? LocalDateTime.MAX : LocalDateTime.MIN;
+        } else {
+
+            boolean bc = isBeforeChrist(buffer, start, end);
+            int valueEnd = bc ? end - 3 : end;
+            int dateEnd = dateEnd(buffer, start, valueEnd);
+
+            if (dateEnd != INVALID && dateEnd < valueEnd && buffer.getByte(dateEnd) == ' ') {
+
+                int timeEnd = timeEnd(buffer, dateEnd + 1, valueEnd);
+                if (timeEnd != INVALID && (timeEnd == valueEnd || offsetSeconds(buffer, timeEnd, valueEnd) != INVALID)) {
+
+                    LocalDate date = toLocalDate(buffer, start, dateEnd, bc);
+                    LocalTime time = toLocalTime(buffer, dateEnd + 1, timeEnd);
+
+                    if (date != null && time != null) {
+                        result = LocalDateTime.of(date, time);
+                    }
+                }
+            }
+        }
+
+        if (result == null) {
+            return PostgresqlDateTimeFormatter.parseLocalDateTime(ByteBufUtils.decode(buffer));
+        }
+
+        buffer.readerIndex(end);
+        return result;
+    }
+
+    /**
+     * Parse {@link OffsetDateTime} from {@code buffer}.
+     *
+     * @param buffer the buffer containing the backend representation
+     * @return the parsed {@link OffsetDateTime}
+     */
+    static OffsetDateTime parseOffsetDateTime(ByteBuf buffer) {
+
+        int start = buffer.readerIndex();
+        int end = buffer.writerIndex();
+        OffsetDateTime result = null;
+
+        int infinity = infinity(buffer, start, end);
+        if (infinity != 0) {
+            result = infinity > 0 ? OffsetDateTime.MAX : OffsetDateTime.MIN;
+        } else {
+
+            boolean bc = isBeforeChrist(buffer, start, end);
+            int valueEnd = bc ? end - 3 : end;
+            int dateEnd = dateEnd(buffer, start, valueEnd);
+
+            if (dateEnd != INVALID && dateEnd < valueEnd && buffer.getByte(dateEnd) == ' ') {
+
+                int timeEnd = timeEnd(buffer, dateEnd + 1, valueEnd);
+                int offsetSeconds = timeEnd != INVALID && timeEnd < valueEnd ? offsetSeconds(buffer, timeEnd, valueEnd) : INVALID;
+
+                if (offsetSeconds != INVALID) {
+
+                    LocalDate date = toLocalDate(buffer, start, dateEnd, bc);
+                    LocalTime time = toLocalTime(buffer, dateEnd + 1, timeEnd);
+                    ZoneOffset offset = toZoneOffset(offsetSeconds);
+
+                    if (date != null && time != null && offset != null) {
+                        result = OffsetDateTime.of(date, time, offset);
+                    }
+                }
+            }
+        }
+
+        if (result == null) {
+            return PostgresqlDateTimeFormatter.parseOffsetDateTime(ByteBufUtils.decode(buffer));
+        }
+
+        buffer.readerIndex(end);
+        return result;
+    }
+
+    /**
+     * Parse {@link LocalTime} from {@code buffer}.
+     *
+     * @param buffer the buffer containing the backend representation
+     * @return the parsed {@link LocalTime}
+     */
+    static LocalTime parseLocalTime(ByteBuf buffer) {
+
+        int start = buffer.readerIndex();
+        int end = buffer.writerIndex();
+        LocalTime result = null;
+
+        if (isEndOfDay(buffer, start, end)) {
+            result = end - start == 8 ? LocalTime.MAX : null;
+        } else if (timeEnd(buffer, start, end) == end) {
+            result = toLocalTime(buffer, start, end);
+        }
+
+        if (result == null) {
+            return PostgresqlTimeFormatter.parseLocalTime(ByteBufUtils.decode(buffer));
+        }
+
+        buffer.readerIndex(end);
+        return result;
+    }
+
+    /**
+     * Parse {@link OffsetTime} from {@code buffer}.
+     *
+     * @param buffer the buffer containing the backend representation
+     * @return the parsed {@link OffsetTime}
+     */
+    static OffsetTime parseOffsetTime(ByteBuf buffer) {
+
+        int start = buffer.readerIndex();
+        int end = buffer.writerIndex();
+        OffsetTime result = null;
+
+        if (isEndOfDay(buffer, start, end)) {
+            result = OffsetTime.MAX;
+        } else {
+
+            int timeEnd = timeEnd(buffer, start, end);
+            int offsetSeconds = timeEnd != INVALID && timeEnd < end ? offsetSeconds(buffer, timeEnd, end) : INVALID;
+
+            if (offsetSeconds != INVALID) {
+
+                LocalTime time = toLocalTime(buffer, start, timeEnd);
+                ZoneOffset offset = toZoneOffset(offsetSeconds);
+
+                if (time != null && offset != null) {
+                    result = OffsetTime.of(time, offset);
+                }
+            }
+        }
+
+        if (result == null) {
+            return PostgresqlTimeFormatter.parseOffsetTime(ByteBufUtils.decode(buffer));
+        }
+
+        buffer.readerIndex(end);
+        return result;
+    }
+
+    /**
+     * Detect {@code infinity}/{@code +infinity} ({@code 1}) and {@code -infinity} ({@code -1}).
+     *
+     * @return {@code 1} for positive infinity, {@code -1} for negative infinity, {@code 0} otherwise
+     */
+    private static int infinity(ByteBuf buffer, int start, int end) {
+
+        int length = end - start;
+
+        if (length == 8) {
+            return matches(buffer, start, "infinity") ? 1 : 0;
+        }
+
+        if (length == 9 && matches(buffer, start + 1, "infinity")) {
+            byte sign = buffer.getByte(start);
+            return sign == '+' ? 1 : sign == '-' ? -1 : 0;
+        }
+
+        return 0;
+    }
+
+    private static boolean isBeforeChrist(ByteBuf buffer, int start, int end) {
+        return end - start > 3 && matches(buffer, end - 3, " BC");
+    }
+
+    private static boolean isEndOfDay(ByteBuf buffer, int start, int end) {
+        return end - start >= 8 && matches(buffer, start, "24:00:00");
+    }
+
+    private static boolean matches(ByteBuf buffer, int index, String literal) {
+
+        for (int i = 0; i < literal.length(); i++) {
+            if (buffer.getByte(index + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Locate the end of a {@code yyyy-MM-dd} date (year with at least four digits) starting at {@code start}.
+     *
+     * @return the index after the day-of-month digits or {@link #INVALID}
+     */
+    private static int dateEnd(ByteBuf buffer, int start, int end) {
+
+        int yearEnd = digitsEnd(buffer, start, end);
+        int yearDigits = yearEnd - start;
+
+        if (yearDigits < 4 || yearDigits > 9 || yearEnd + 6 > end) {
+            return INVALID;
+        }
+
+        if (buffer.getByte(yearEnd) != '-' || buffer.getByte(yearEnd + 3) != '-') {
+            return INVALID;
+        }
+
+        return yearEnd + 6;
+    }
+
+    /**
+     * Locate the end of a {@code HH:mm[:ss[.fraction]]} time starting at {@code start}.
+     *
+     * @return the index after the time or {@link #INVALID}
+     */
+    private static int timeEnd(ByteBuf buffer, int start, int end) {
+
+        if (start + 5 > end || buffer.getByte(start + 2) != ':') {
+            return INVALID;
+        }
+
+        int index = start + 5;
+        if (index == end || buffer.getByte(index) != ':') {
+            return index;
+        }
+
+        index += 3;
+        if (index > end) {
+            return INVALID;
+        }
+
+        if (index == end || buffer.getByte(index) != '.') {
+            return index;
+        }
+
+        int fractionEnd = digitsEnd(buffer, index + 1, end);
+        int fractionDigits = fractionEnd - (index + 1);
+
+        return fractionDigits < 1 || fractionDigits > 9 ? INVALID : fractionEnd;
+    }
+
+    @Nullable
+    private static LocalDate toLocalDate(ByteBuf buffer, int start, int dateEnd, boolean bc) {
+
+        int yearEnd = dateEnd - 6;
+        int yearOfEra = digits(buffer, start, yearEnd);
+        int month = digits(buffer, yearEnd + 1, yearEnd + 3);
+        int day = digits(buffer, yearEnd + 4, dateEnd);
+
+        if (yearOfEra == INVALID || month == INVALID || day == INVALID || (bc && yearOfEra == 0)) {
+            return null;
+        }
+
+        try {
+            return LocalDate.of(bc ? 1 - yearOfEra : yearOfEra, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Convert a time located by {@link #timeEnd(ByteBuf, int, int)} into {@link LocalTime}.
+     */
+    @Nullable
+    private static LocalTime toLocalTime(ByteBuf buffer, int start, int timeEnd) {
+
+        int hour = digits(buffer, start, start + 2);
+        int minute = digits(buffer, start + 3, start + 5);
+        int second = 0;
+        int nanos = 0;
+
+        if (timeEnd > start + 5) {
+
+            second = digits(buffer, start + 6, start + 8);
+
+            if (timeEnd > start + 8) {
+                nanos = digits(buffer, start + 9, timeEnd);
+                if (nanos != INVALID) {
+                    nanos *= FRACTION_SCALE[timeEnd - (start + 9)];
+                }
+            }
+        }
+
+        if (hour == INVALID || minute == INVALID || second == INVALID || nanos == INVALID || hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+
+        return LocalTime.ofNanoOfDay((hour * 3600L + minute * 60L + second) * NANOS_PER_SECOND + nanos);
+    }
+
+    /**
+     * Parse a {@code +HH[:MM[:SS]]} offset spanning exactly {@code start} to {@code end}.
+     *
+     * @return the total offset seconds or {@link #INVALID}
+     */
+    private static int offsetSeconds(ByteBuf buffer, int start, int end) {
+
+        int length = end - start;
+        if (length != 3 && length != 6 && length != 9) {
+            return INVALID;
+        }
+
+        byte sign = buffer.getByte(start);
+        if (sign != '+' && sign != '-') {
+            return INVALID;
+        }
+
+        int hours = digits(buffer, start + 1, start + 3);
+        int minutes = length > 3 && buffer.getByte(start + 3) == ':' ? digits(buffer, start + 4, start + 6) : length > 3 ? INVALID : 0;
+        int seconds = length > 6 && buffer.getByte(start + 6) == ':' ? digits(buffer, start + 7, start + 9) : length > 6 ? INVALID : 0;
+
+        if (hours == INVALID || minutes == INVALID || seconds == INVALID || minutes > 59 || seconds > 59) {
+            return INVALID;
+        }
+
+        int totalSeconds = hours * 3600 + minutes * 60 + seconds;
+        return sign == '-' ? -totalSeconds : totalSeconds;
+    }
+
+    @Nullable
+    private static ZoneOffset toZoneOffset(int totalSeconds) {
+
+        try {
+            return ZoneOffset.ofTotalSeconds(totalSeconds);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digitsEnd(ByteBuf buffer, int start, int end) {
+
+        int index = start;
+        while (index < end && isDigit(buffer.getByte(index))) {
+            index++;
+        }
+
+        return index;
+    }
+
+    /**
+     * Read the decimal number spanning {@code start} to {@code end}.
+     *
+     * @return the number or {@link #INVALID} if the range contains a non-digit character
+     */
+    private static int digits(ByteBuf buffer, int start, int end) {
+
+        int value = 0;
+        for (int i = start; i < end; i++) {
+
+            byte b = buffer.getByte(i);
+            if (!isDigit(b)) {
+                return INVALID;
+            }
+
+            value = value * 10 + (b - '0');
+        }
+
+        return value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+}
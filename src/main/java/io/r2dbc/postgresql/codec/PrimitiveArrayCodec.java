@@ -0,0 +1,591 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.r2dbc.postgresql.client.EncodedParameter;
+import io.r2dbc.postgresql.message.Format;
+import io.r2dbc.postgresql.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.BOOL;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.BOOL_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT4;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT4_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT8;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT8_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT2;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT2_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT8;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT8_ARRAY;
+import static io.r2dbc.postgresql.message.Format.FORMAT_BINARY;
+
+/**
+ * Codec for one-dimensional arrays of fixed-length types mapped to Java primitive arrays ({@code int[]}, {@code long[]}, {@code short[]}, {@code float[]}, {@code double[]} and
+ * {@code boolean[]}). Values are encoded in binary format and decoded directly into the primitive array without materializing boxed elements. Arrays containing {@code NULL} elements or more than
+ * one dimension cannot be represented and are rejected.
+ *
+ * @param <A> the primitive array type
+ * @since 1.1
+ */
+final class PrimitiveArrayCodec<A> extends AbstractCodec<A> {
+
+    /**
+     * Binary array header: dimensions, flags, element type, dimension size and lower bound.
+     */
+    private static final int HEADER_SIZE = 20;
+
+    private final ByteBufAllocator byteBufAllocator;
+
+    private final PostgresqlObjectId dataType;
+
+    private final PostgresqlObjectId elementType;
+
+    private final Elements<A> elements;
+
+    private PrimitiveArrayCodec(Class<A> type, ByteBufAllocator byteBufAllocator, PostgresqlObjectId dataType, PostgresqlObjectId elementType, Elements<A> elements) {
+        super(type);
+        this.byteBufAllocator = Assert.requireNonNull(byteBufAllocator, "byteBufAllocator must not be null");
+        this.dataType = dataType;
+        this.elementType = elementType;
+        this.elements = elements;
+    }
+
+    static PrimitiveArrayCodec<int[]> forInt(ByteBufAllocator byteBufAllocator) {
+        return new PrimitiveArrayCodec<>(int[].class, byteBufAllocator, INT4_ARRAY, INT4, IntElements.INSTANCE);
+    }
+
+    static PrimitiveArrayCodec<long[]> forLong(ByteBufAllocator byteBufAllocator) {
+        return new PrimitiveArrayCodec<>(long[].class, byteBufAllocator, INT8_ARRAY, INT8, LongElements.INSTANCE);
+    }
+
+    static PrimitiveArrayCodec<short[]> forShort(ByteBufAllocator byteBufAllocator) {
+        return new PrimitiveArrayCodec<>(short[].class, byteBufAllocator, INT2_ARRAY, INT2, ShortElements.INSTANCE);
+    }
+
+    static PrimitiveArrayCodec<float[]> forFloat(ByteBufAllocator byteBufAllocator) {
+        return new PrimitiveArrayCodec<>(float[].class, byteBufAllocator, FLOAT4_ARRAY, FLOAT4, FloatElements.INSTANCE);
+    }
+
+    static PrimitiveArrayCodec<double[]> forDouble(ByteBufAllocator byteBufAllocator) {
+        return new PrimitiveArrayCodec<>(double[].class, byteBufAllocator, FLOAT8_ARRAY, FLOAT8, DoubleElements.INSTANCE);
+    }
+
+    static PrimitiveArrayCodec<boolean[]> forBoolean(ByteBufAllocator byteBufAllocator) {
+        return new PrimitiveArrayCodec<>(boolean[].class, byteBufAllocator, BOOL_ARRAY, BOOL, BooleanElements.INSTANCE);
+    }
+
+    @Override
+    public boolean canDecode(int dataType, Format format, Class<?> type) {
+        Assert.requireNonNull(format, "format must not be null");
+        Assert.requireNonNull(type, "type must not be null");
+
+        return this.dataType.getObjectId() == dataType && type() == type;
+    }
+
+    @Override
+    public EncodedParameter encodeNull() {
+        return encodeNull(this.dataType.getObjectId());
+    }
+
+    @Override
+    public Iterable<PostgresTypeIdentifier> getDataTypes() {
+        return Collections.singleton(this.dataType);
+    }
+
+    @Override
+    boolean doCanDecode(PostgresqlObjectId type, Format format) {
+        Assert.requireNonNull(type, "type must not be null");
+
+        return this.dataType == type;
+    }
+
+    @Override
+    A doDecode(ByteBuf buffer, PostgresTypeIdentifier dataType, Format format, Class<? extends A> type) {
+        Assert.requireNonNull(buffer, "byteBuf must not be null");
+
+        return format == FORMAT_BINARY ? decodeBinary(buffer) : decodeText(buffer);
+    }
+
+    @Override
+    EncodedParameter doEncode(A value) {
+        return doEncode(value, this.dataType);
+    }
+
+    @Override
+    EncodedParameter doEncode(A value, PostgresTypeIdentifier dataType) {
+        Assert.requireNonNull(value, "value must not be null");
+
+        if (dataType.getObjectId() != this.dataType.getObjectId()) {
+
+            // let the server convert elements to the requested type
+            return create(Format.FORMAT_TEXT, dataType, () -> {
+                ByteBuf buffer = this.byteBufAllocator.buffer();
+                buffer.writeCharSequence(encodeText(value), StandardCharsets.US_ASCII);
+                return buffer;
+            });
+        }
+
+        return create(FORMAT_BINARY, this.dataType, () -> {
+
+            int length = this.elements.length(value);
+            ByteBuf buffer = this.byteBufAllocator.buffer(HEADER_SIZE + length * (4 + this.elements.size()));
+
+            if (length == 0) {
+                buffer.writeInt(0); // dimensions
+                buffer.writeInt(0); // flags: no nulls
+                buffer.writeInt(this.elementType.getObjectId());
+                return buffer;
+            }
+
+            buffer.writeInt(1); // dimensions
+            buffer.writeInt(0); // flags: no nulls
+            buffer.writeInt(this.elementType.getObjectId());
+            buffer.writeInt(length);
+            buffer.writeInt(1); // lower bound
+            this.elements.write(buffer, value, length);
+
+            return buffer;
+        });
+    }
+
+    private A decodeBinary(ByteBuf buffer) {
+
+        if (!buffer.isReadable()) {
+            return this.elements.newArray(0);
+        }
+
+        int dimensions = buffer.readInt();
+        if (dimensions == 0) {
+            return this.elements.newArray(0);
+        }
+
+        requireOneDimension(dimensions);
+
+        if (buffer.readInt() != 0) {
+            throw new IllegalArgumentException(String.format("Cannot decode array containing NULL elements into %s", type().getSimpleName()));
+        }
+
+        buffer.skipBytes(4); // element oid
+        int length = buffer.readInt();
+        buffer.skipBytes(4); // lower bound
+
+        A array = this.elements.newArray(length);
+        int index = buffer.readerIndex();
+        int elementSize = this.elements.size();
+
+        for (int i = 0; i < length; i++) {
+
+            int size = buffer.getInt(index);
+            if (size != elementSize) {
+                throw new IllegalArgumentException(String.format("Cannot decode element of length %d into %s", size, type().getSimpleName()));
+            }
+
+            this.elements.read(buffer, index + 4, array, i);
+            index += 4 + elementSize;
+        }
+
+        buffer.readerIndex(index);
+        return array;
+    }
+
+    private A decodeText(ByteBuf buffer) {
+
+        int start = buffer.readerIndex();
+        int end = buffer.writerIndex();
+
+        // skip dimension decoration such as "[0:2]="
+        if (start < end && buffer.getByte(start) == '[') {
+            start = buffer.indexOf(start, end, (byte) '=') + 1;
+        }
+
+        if (start >= end || buffer.getByte(start) != '{' || buffer.getByte(end - 1) != '}') {
+            throw new IllegalArgumentException(String.format("Cannot decode %s into %s", buffer.toString(StandardCharsets.US_ASCII), type().getSimpleName()));
+        }
+
+        start++;
+        end--;
+
+        if (start == end) {
+            buffer.readerIndex(buffer.writerIndex());
+            return this.elements.newArray(0);
+        }
+
+        if (buffer.getByte(start) == '{') {
+            requireOneDimension(2);
+        }
+
+        int length = 1;
+        for (int i = start; i < end; i++) {
+            if (buffer.getByte(i) == ',') {
+                length++;
+            }
+        }
+
+        A array = this.elements.newArray(length);
+        int elementStart = start;
+
+        for (int i = 0; i < length; i++) {
+
+            int elementEnd = buffer.indexOf(elementStart, end, (byte) ',');
+            if (elementEnd == -1) {
+                elementEnd = end;
+            }
+
+            String element = buffer.toString(elementStart, elementEnd - elementStart, StandardCharsets.US_ASCII).trim();
+            if (element.length() > 1 && element.charAt(0) == '"') {
+                element = element.substring(1, element.length() - 1);
+            } else if (ArrayCodec.NULL.equalsIgnoreCase(element)) {
+                throw new IllegalArgumentException(String.format("Cannot decode array containing NULL elements into %s", type().getSimpleName()));
+            }
+
+            this.elements.parse(element, array, i);
+            elementStart = elementEnd + 1;
+        }
+
+        buffer.readerIndex(buffer.writerIndex());
+        return array;
+    }
+
+    private String encodeText(A value) {
+
+        int length = this.elements.length(value);
+        StringBuilder builder = new StringBuilder(2 + length * 4).append('{');
+
+        for (int i = 0; i < length; i++) {
+            if (i != 0) {
+                builder.append(',');
+            }
+            this.elements.append(builder, value, i);
+        }
+
+        return builder.append('}').toString();
+    }
+
+    private void requireOneDimension(int dimensions) {
+        if (dimensions != 1) {
+            throw new IllegalArgumentException(String.format("Cannot decode %d-dimensional array into %s", dimensions, type().getSimpleName()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" + type().getSimpleName() + "]";
+    }
+
+    /**
+     * Element access for a primitive array type.
+     *
+     * @param <A> the primitive array type
+     */
+    interface Elements<A> {
+
+        A newArray(int length);
+
+        int length(A array);
+
+        /**
+         * Return the binary size of a single element.
+         */
+        int size();
+
+        /**
+         * Read a single binary element at {@code index} into {@code array} without changing the buffer's reader index.
+         */
+        void read(ByteBuf buffer, int index, A array, int arrayIndex);
+
+        /**
+         * Write {@code length} elements including their length prefix.
+         */
+        void write(ByteBuf buffer, A array, int length);
+
+        void parse(String element, A array, int arrayIndex);
+
+        void append(StringBuilder builder, A array, int arrayIndex);
+
+    }
+
+    enum IntElements implements Elements<int[]> {
+
+        INSTANCE;
+
+        @Override
+        public int[] newArray(int length) {
+            return new int[length];
+        }
+
+        @Override
+        public int length(int[] array) {
+            return array.length;
+        }
+
+        @Override
+        public int size() {
+            return 4;
+        }
+
+        @Override
+        public void read(ByteBuf buffer, int index, int[] array, int arrayIndex) {
+            array[arrayIndex] = buffer.getInt(index);
+        }
+
+        @Override
+        public void write(ByteBuf buffer, int[] array, int length) {
+            for (int i = 0; i < length; i++) {
+                buffer.writeInt(4);
+                buffer.writeInt(array[i]);
+            }
+        }
+
+        @Override
+        public void parse(String element, int[] array, int arrayIndex) {
+            array[arrayIndex] = Integer.parseInt(element);
+        }
+
+        @Override
+        public void append(StringBuilder builder, int[] array, int arrayIndex) {
+            builder.append(array[arrayIndex]);
+        }
+
+    }
+
+    enum LongElements implements Elements<long[]> {
+
+        INSTANCE;
+
+        @Override
+        public long[] newArray(int length) {
+            return new long[length];
+        }
+
+        @Override
+        public int length(long[] array) {
+            return array.length;
+        }
+
+        @Override
+        public int size() {
+            return 8;
+        }
+
+        @Override
+        public void read(ByteBuf buffer, int index, long[] array, int arrayIndex) {
+            array[arrayIndex] = buffer.getLong(index);
+        }
+
+        @Override
+        public void write(ByteBuf buffer, long[] array, int length) {
+            for (int i = 0; i < length; i++) {
+                buffer.writeInt(8);
+                buffer.writeLong(array[i]);
+            }
+        }
+
+        @Override
+        public void parse(String element, long[] array, int arrayIndex) {
+            array[arrayIndex] = Long.parseLong(element);
+        }
+
+        @Override
+        public void append(StringBuilder builder, long[] array, int arrayIndex) {
+            builder.append(array[arrayIndex]);
+        }
+
+    }
+
+    enum ShortElements implements Elements<short[]> {
+
+        INSTANCE;
+
+        @Override
+        public short[] newArray(int length) {
+            return new short[length];
+        }
+
+        @Override
+        public int length(short[] array) {
+            return array.length;
+        }
+
+        @Override
+        public int size() {
+            return 2;
+        }
+
+        @Override
+        public void read(ByteBuf buffer, int index, short[] array, int arrayIndex) {
+            array[arrayIndex] = buffer.getShort(index);
+        }
+
+        @Override
+        public void write(ByteBuf buffer, short[] array, int length) {
+            for (int i = 0; i < length; i++) {
+                buffer.writeInt(2);
+                buffer.writeShort(array[i]);
+            }
+        }
+
+        @Override
+        public void parse(String element, short[] array, int arrayIndex) {
+            array[arrayIndex] = Short.parseShort(element);
+        }
+
+        @Override
+        public void append(StringBuilder builder, short[] array, int arrayIndex) {
+            builder.append(array[arrayIndex]);
+        }
+
+    }
+
+    enum FloatElements implements Elements<float[]> {
+
+        INSTANCE;
+
+        @Override
+        public float[] newArray(int length) {
+            return new float[length];
+        }
+
+        @Override
+        public int length(float[] array) {
+            return array.length;
+        }
+
+        @Override
+        public int size() {
+            return 4;
+        }
+
+        @Override
+        public void read(ByteBuf buffer, int index, float[] array, int arrayIndex) {
+            array[arrayIndex] = buffer.getFloat(index);
+        }
+
+        @Override
+        public void write(ByteBuf buffer, float[] array, int length) {
+            for (int i = 0; i < length; i++) {
+                buffer.writeInt(4);
+                buffer.writeFloat(array[i]);
+            }
+        }
+
+        @Override
+        public void parse(String element, float[] array, int arrayIndex) {
+            array[arrayIndex] = Float.parseFloat(element);
+        }
+
+        @Override
+        public void append(StringBuilder builder, float[] array, int arrayIndex) {
+            builder.append(array[arrayIndex]);
+        }
+
+    }
+
+    enum DoubleElements implements Elements<double[]> {
+
+        INSTANCE;
+
+        @Override
+        public double[] newArray(int length) {
+            return new double[length];
+        }
+
+        @Override
+        public int length(double[] array) {
+            return array.length;
+        }
+
+        @Override
+        public int size() {
+            return 8;
+        }
+
+        @Override
+        public void read(ByteBuf buffer, int index, double[] array, int arrayIndex) {
+            array[arrayIndex] = buffer.getDouble(index);
+        }
+
+        @Override
+        public void write(ByteBuf buffer, double[] array, int length) {
+            for (int i = 0; i < length; i++) {
+                buffer.writeInt(8);
+                buffer.writeDouble(array[i]);
+            }
+        }
+
+        @Override
+        public void parse(String element, double[] array, int arrayIndex) {
+            array[arrayIndex] = Double.parseDouble(element);
+        }
+
+        @Override
+        public void append(StringBuilder builder, double[] array, int arrayIndex) {
+            builder.append(array[arrayIndex]);
+        }
+
+    }
+
+    enum BooleanElements implements Elements<boolean[]> {
+
+        INSTANCE;
+
+        @Override
+        public boolean[] newArray(int length) {
+            return new boolean[length];
+        }
+
+        @Override
+        public int length(boolean[] array) {
+            return array.length;
+        }
+
+        @Override
+        public int size() {
+            return 1;
+        }
+
+        @Override
+        public void read(ByteBuf buffer, int index, boolean[] array, int arrayIndex) {
+            array[arrayIndex] = buffer.getByte(index) != 0;
+        }
+
+        @Override
+        public void write(ByteBuf buffer, boolean[] array, int length) {
+            for (int i = 0; i < length; i++) {
+                buffer.writeInt(1);
+                buffer.writeBoolean(array[i]);
+            }
+        }
+
+        @Override
+        public void parse(String element, boolean[] array, int arrayIndex) {
+            array[arrayIndex] = "t".equalsIgnoreCase(element) || "true".equalsIgnoreCase(element);
+        }
+
+        @Override
+        public void append(StringBuilder builder, boolean[] array, int arrayIndex) {
+            builder.append(array[arrayIndex] ? 't' : 'f');
+        }
+
+    }
+
+}
@@ -64,6 +64,16 @@ public final class StringCodec extends AbstractCodec<String> implements ArrayCod
         this.arrayType = Assert.requireNonNull(arrayType, "arrayType must not be null");
     }
 
+    /**
+     * Return whether values of {@code dataType} are represented as character data in both the text and the binary format.
+     *
+     * @param dataType the type OID
+     * @return {@code true} if the binary representation of {@code dataType} is its text representation
+     */
+    static boolean isTextType(int dataType) {
+        return PostgresqlObjectId.isValid(dataType) && SUPPORTED_TYPES.contains(PostgresqlObjectId.valueOf(dataType));
+    }
+
     @Override
     public EncodedParameter encodeNull() {
         return createNull(FORMAT_TEXT, this.defaultType);
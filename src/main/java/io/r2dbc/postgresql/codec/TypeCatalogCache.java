@@ -0,0 +1,212 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql.codec;
+
+import io.r2dbc.postgresql.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache for {@code pg_type} lookups that is scoped to a connection factory. Cached types are kept per server (identified by its address, database and version) and expire after a configurable
+ * time-to-live. Lookups through {@link PostgresTypes} consult the cache if it is {@link #bind(Context, String) bound} to the subscriber {@link Context}, which is the case while
+ * {@link io.r2dbc.postgresql.extension.CodecRegistrar codec registrars} run during connection initialization. Subsequent connections to the same server therefore register dynamic codecs without
+ * querying the catalog. Cached types are not revalidated before they expire: types that are dropped and recreated require {@link #invalidate() invalidation}.
+ *
+ * @since 1.1
+ */
+public final class TypeCatalogCache {
+
+    /**
+     * Default time-to-live of cached types. Caching is disabled by default.
+     */
+    public static final Duration DEFAULT_TTL = Duration.ZERO;
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Map<String, CachedTypes>> servers = new ConcurrentHashMap<>();
+
+    TypeCatalogCache(Duration ttl, LongSupplier nanoClock) {
+        Assert.requireNonNull(ttl, "ttl must not be null");
+        Assert.isTrue(!ttl.isNegative(), "ttl must not be negative");
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = Assert.requireNonNull(nanoClock, "nanoClock must not be null");
+    }
+
+    /**
+     * Create a new {@link TypeCatalogCache}.
+     *
+     * @param ttl time-to-live of cached types. {@link Duration#ZERO} disables caching.
+     * @return the new cache
+     * @throws IllegalArgumentException if {@code ttl} is {@code null} or negative
+     */
+    public static TypeCatalogCache create(Duration ttl) {
+        return new TypeCatalogCache(ttl, System::nanoTime);
+    }
+
+    /**
+     * Returns whether caching is enabled.
+     *
+     * @return {@code true} if the time-to-live is positive
+     */
+    public boolean isEnabled() {
+        return this.ttlNanos > 0;
+    }
+
+    /**
+     * Bind this cache for {@code server} to {@code context} so that type lookups during the subscription are served from the cache.
+     *
+     * @param context the context to enrich
+     * @param server  the server identity
+     * @return the enriched context. Returns {@code context} if caching is disabled.
+     */
+    public Context bind(Context context, String server) {
+        Assert.requireNonNull(context, "context must not be null");
+        Assert.requireNonNull(server, "server must not be null");
+
+        if (!isEnabled()) {
+            return context;
+        }
+
+        return context.put(Binding.class, new Binding(this, server));
+    }
+
+    /**
+     * Discard all cached types.
+     */
+    public void invalidate() {
+        this.servers.clear();
+    }
+
+    /**
+     * Discard cached types of {@code server}.
+     *
+     * @param server the server identity
+     */
+    public void invalidate(String server) {
+        Assert.requireNonNull(server, "server must not be null");
+        this.servers.remove(server);
+    }
+
+    /**
+     * Lookup types by name. Names that are not cached or whose cache entry has expired are loaded with a single invocation of {@code loader}. Names without a matching type are not cached so
+     * that types created after the lookup, e.g. by {@code CREATE EXTENSION}, are found by subsequent lookups.
+     */
+    Flux<PostgresTypes.PostgresType> lookup(String server, List<String> typeNames, Function<List<String>, Flux<PostgresTypes.PostgresType>> loader) {
+
+        Map<String, CachedTypes> cache = this.servers.computeIfAbsent(server, it -> new ConcurrentHashMap<>());
+        long now = this.nanoClock.getAsLong();
+
+        List<PostgresTypes.PostgresType> cached = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String typeName : typeNames) {
+
+            CachedTypes types = cache.get(typeName);
+
+            if (types != null && !types.isExpired(now, this.ttlNanos)) {
+                cached.addAll(types.types);
+            } else if (!missing.contains(typeName)) {
+                missing.add(typeName);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return Flux.fromIterable(cached);
+        }
+
+        Flux<PostgresTypes.PostgresType> loaded = loader.apply(missing).collectList().flatMapIterable(types -> {
+
+            Map<String, List<PostgresTypes.PostgresType>> byName = new LinkedHashMap<>();
+            for (PostgresTypes.PostgresType type : types) {
+                byName.computeIfAbsent(type.getName(), it -> new ArrayList<>()).add(type);
+            }
+
+            long loadedAt = this.nanoClock.getAsLong();
+            byName.forEach((typeName, namedTypes) -> cache.put(typeName, new CachedTypes(namedTypes, loadedAt)));
+
+            return types;
+        });
+
+        return Flux.fromIterable(cached).concatWith(loaded);
+    }
+
+    @Nullable
+    static Binding getBinding(ContextView context) {
+        return context.getOrDefault(Binding.class, null);
+    }
+
+    @Override
+    public String toString() {
+        return "TypeCatalogCache{" +
+            "ttl=" + Duration.ofNanos(this.ttlNanos) +
+            ", servers=" + this.servers.keySet() +
+            '}';
+    }
+
+    /**
+     * Association of a {@link TypeCatalogCache} with a server identity.
+     */
+    static final class Binding {
+
+        private final TypeCatalogCache cache;
+
+        private final String server;
+
+        Binding(TypeCatalogCache cache, String server) {
+            this.cache = cache;
+            this.server = server;
+        }
+
+        Flux<PostgresTypes.PostgresType> lookup(List<String> typeNames, Function<List<String>, Flux<PostgresTypes.PostgresType>> loader) {
+            return this.cache.lookup(this.server, typeNames, loader);
+        }
+
+    }
+
+    static final class CachedTypes {
+
+        private final List<PostgresTypes.PostgresType> types;
+
+        private final long loadedAt;
+
+        CachedTypes(List<PostgresTypes.PostgresType> types, long loadedAt) {
+            this.types = Collections.unmodifiableList(types);
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(long now, long ttlNanos) {
+            return now - this.loadedAt >= ttlNanos;
+        }
+
+    }
+
+}
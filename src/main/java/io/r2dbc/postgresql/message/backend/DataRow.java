@@ -29,6 +29,9 @@ import java.util.Arrays;
 
 /**
  * The DataRow message.
+ * <p>
+ * Decoded messages retain the message frame once and index column values by offset and length instead of retaining a slice per column. Column buffers are created on access and share the reference
+ * count of this message, so they must not be used after this message has been released.
  */
 public final class DataRow extends AbstractReferenceCounted implements BackendMessage {
 
@@ -38,8 +41,18 @@ public final class DataRow extends AbstractReferenceCounted implements BackendMe
 
     private static final int NULL = -1;
 
+    @Nullable
     private final ByteBuf[] columns;
 
+    @Nullable
+    private final ByteBuf frame;
+
+    /**
+     * Pairs of column offset and length within {@link #frame}. A length of {@link #NULL} denotes a {@code NULL} value.
+     */
+    @Nullable
+    private final int[] offsets;
+
     /**
      * Create a new message.
      *
@@ -50,11 +63,21 @@ public final class DataRow extends AbstractReferenceCounted implements BackendMe
 
         if (columns == null) {
             this.columns = new ByteBuf[0];
+            this.frame = null;
+            this.offsets = null;
             release();
             throw new IllegalArgumentException("columns must not be null");
         }
 
         this.columns = columns;
+        this.frame = null;
+        this.offsets = null;
+    }
+
+    private DataRow(ByteBuf frame, int[] offsets) {
+        this.columns = null;
+        this.frame = frame;
+        this.offsets = offsets;
     }
 
     @Override
@@ -66,7 +89,43 @@ public final class DataRow extends AbstractReferenceCounted implements BackendMe
             return false;
         }
         DataRow dataRow = (DataRow) o;
-        return Arrays.equals(this.columns, dataRow.columns);
+        return Arrays.equals(getColumns(), dataRow.getColumns());
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return the number of columns
+     */
+    public int getColumnCount() {
+        return this.columns != null ? this.columns.length : this.offsets.length / 2;
+    }
+
+    /**
+     * Returns whether the value of the column at {@code index} is {@code NULL}.
+     *
+     * @param index the column index
+     * @return {@code true} if the column value is {@code NULL}
+     */
+    public boolean isNull(int index) {
+        return this.columns != null ? this.columns[index] == null : this.offsets[index * 2 + 1] == NULL;
+    }
+
+    /**
+     * Returns the value of the column at {@code index}. The returned buffer is not retained and is valid as long as this message is not released.
+     *
+     * @param index the column index
+     * @return the value of the column or {@code null} if the column value is {@code NULL}
+     */
+    @Nullable
+    public ByteBuf getColumn(int index) {
+
+        if (this.columns != null) {
+            return this.columns[index];
+        }
+
+        int length = this.offsets[index * 2 + 1];
+        return length == NULL ? null : this.frame.slice(this.offsets[index * 2], length);
     }
 
     /**
@@ -75,18 +134,28 @@ public final class DataRow extends AbstractReferenceCounted implements BackendMe
      * @return the values of the columns
      */
     public ByteBuf[] getColumns() {
-        return this.columns;
+
+        if (this.columns != null) {
+            return this.columns;
+        }
+
+        ByteBuf[] columns = new ByteBuf[getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = getColumn(i);
+        }
+
+        return columns;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(this.columns);
+        return Arrays.hashCode(getColumns());
     }
 
     @Override
     public String toString() {
         return "DataRow{" +
-            "columns=" + Arrays.toString(this.columns) +
+            "columns=" + Arrays.toString(getColumns()) +
             '}';
     }
 
@@ -110,9 +179,15 @@ public final class DataRow extends AbstractReferenceCounted implements BackendMe
     @Override
     protected void deallocate() {
 
-        for (ByteBuf column : this.columns) {
-            if (column != null) {
-                column.release();
+        if (this.frame != null) {
+            this.frame.release();
+        }
+
+        if (this.columns != null) {
+            for (ByteBuf column : this.columns) {
+                if (column != null) {
+                    column.release();
+                }
             }
         }
 
@@ -133,20 +208,27 @@ public final class DataRow extends AbstractReferenceCounted implements BackendMe
         Assert.requireNonNull(in, "in must not be null");
 
         int columnCount = in.readShort();
-        ByteBuf[] columns = new ByteBuf[columnCount];
+        int start = in.readerIndex();
+        int index = start;
+        int[] offsets = new int[columnCount * 2];
 
         for (int i = 0; i < columnCount; i++) {
-            columns[i] = decodeColumn(in);
+
+            int length = in.getInt(index);
+            index += 4;
+
+            offsets[i * 2] = index - start;
+            offsets[i * 2 + 1] = length;
+
+            if (length != NULL) {
+                index += length;
+            }
         }
-        return new DataRow(columns);
-    }
 
-    @Nullable
-    private static ByteBuf decodeColumn(ByteBuf in) {
-        Assert.requireNonNull(in, "in must not be null");
+        ByteBuf frame = in.retainedSlice(start, index - start);
+        in.readerIndex(index);
 
-        int length = in.readInt();
-        return NULL == length ? null : in.readRetainedSlice(length);
+        return new DataRow(frame, offsets);
     }
 
 }
@@ -30,7 +30,7 @@ import static io.r2dbc.postgresql.message.backend.BackendMessageUtils.readCStrin
 /**
  * The RowDescription message.
  */
-public final class RowDescription implements BackendMessage {
+public class RowDescription implements BackendMessage {
 
     private final List<Field> fields;
 
@@ -32,7 +32,7 @@ import static io.r2dbc.postgresql.message.frontend.FrontendMessageUtils.writeSiz
 /**
  * The Query message.
  */
-public final class Query implements FrontendMessage {
+public final class Query implements FrontendMessage, FrontendMessage.DirectEncoder {
 
     private final String query;
 
@@ -53,14 +53,25 @@ public final class Query implements FrontendMessage {
         return Mono.fromSupplier(() -> {
             ByteBuf out = byteBufAllocator.ioBuffer();
 
-            writeByte(out, 'Q');
-            writeLengthPlaceholder(out);
-            writeCStringUTF8(out, this.query);
+            encode(out);
 
-            return writeSize(out);
+            return out;
         });
     }
 
+    @Override
+    public void encode(ByteBuf byteBuf) {
+
+        writeByte(byteBuf, 'Q');
+
+        int writerIndex = byteBuf.writerIndex();
+
+        writeLengthPlaceholder(byteBuf);
+        writeCStringUTF8(byteBuf, this.query);
+
+        writeSize(byteBuf, writerIndex);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.codec.BoundDecoder;
+import io.r2dbc.postgresql.codec.Codecs;
+import io.r2dbc.postgresql.message.backend.RowDescription;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.VARCHAR;
+import static io.r2dbc.postgresql.message.Format.FORMAT_BINARY;
+import static io.r2dbc.postgresql.message.Format.FORMAT_TEXT;
+import static io.r2dbc.postgresql.util.TestByteBufAllocator.TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link BoundRowDecoder}.
+ */
+final class BoundRowDecoderUnitTests {
+
+    private final List<RowDescription.Field> fields = Arrays.asList(
+        new RowDescription.Field((short) 0, INT4.getObjectId(), 0, (short) 4, FORMAT_BINARY, "id", 0),
+        new RowDescription.Field((short) 0, VARCHAR.getObjectId(), 0, (short) -1, FORMAT_TEXT, "name", 0)
+    );
+
+    @Test
+    void constructorNoCodecs() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new BoundRowDecoder(null, this.fields))
+            .withMessage("codecs must not be null");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldBindColumnOnce() {
+        Codecs codecs = mock(Codecs.class);
+        BoundDecoder<Object> decoder = mock(BoundDecoder.class);
+        doReturn(decoder).when(codecs).bind(INT4.getObjectId(), FORMAT_BINARY, Integer.class);
+        when(decoder.decode(any())).thenReturn(1, 2);
+
+        BoundRowDecoder rowDecoder = new BoundRowDecoder(codecs, this.fields);
+
+        assertThat(rowDecoder.decode(0, TEST.buffer(4).writeInt(1), Integer.class)).isEqualTo(1);
+        assertThat(rowDecoder.decode(0, TEST.buffer(4).writeInt(2), Integer.class)).isEqualTo(2);
+
+        verify(codecs, times(1)).bind(INT4.getObjectId(), FORMAT_BINARY, Integer.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRebindOnTypeChange() {
+        Codecs codecs = mock(Codecs.class);
+        BoundDecoder<Object> integerDecoder = mock(BoundDecoder.class);
+        BoundDecoder<Object> longDecoder = mock(BoundDecoder.class);
+        doReturn(integerDecoder).when(codecs).bind(INT4.getObjectId(), FORMAT_BINARY, Integer.class);
+        doReturn(longDecoder).when(codecs).bind(INT4.getObjectId(), FORMAT_BINARY, Long.class);
+        when(integerDecoder.decode(any())).thenReturn(1);
+        when(longDecoder.decode(any())).thenReturn(1L);
+
+        BoundRowDecoder rowDecoder = new BoundRowDecoder(codecs, this.fields);
+
+        assertThat(rowDecoder.decode(0, TEST.buffer(4), Integer.class)).isEqualTo(1);
+        assertThat(rowDecoder.decode(0, TEST.buffer(4), Long.class)).isEqualTo(1L);
+        assertThat(rowDecoder.decode(0, TEST.buffer(4), Integer.class)).isEqualTo(1);
+
+        verify(codecs, times(2)).bind(INT4.getObjectId(), FORMAT_BINARY, Integer.class);
+        verify(codecs, times(1)).bind(INT4.getObjectId(), FORMAT_BINARY, Long.class);
+    }
+
+}
@@ -21,6 +21,7 @@ import io.r2dbc.postgresql.client.Client;
 import io.r2dbc.postgresql.client.TestClient;
 import io.r2dbc.postgresql.message.backend.CloseComplete;
 import io.r2dbc.postgresql.message.backend.ErrorResponse;
+import io.r2dbc.postgresql.message.backend.RowDescription;
 import io.r2dbc.postgresql.message.frontend.Close;
 import io.r2dbc.postgresql.message.frontend.CompositeFrontendMessage;
 import io.r2dbc.postgresql.message.frontend.ExecutionType;
@@ -61,6 +62,23 @@ class BoundedStatementCacheUnitTests {
         assertThat(cache.requiresPrepare(new Binding(0), "foo")).isFalse();
     }
 
+    @Test
+    void description() {
+
+        BoundedStatementCache cache = new BoundedStatementCache(mock(Client.class), 100);
+        RowDescription description = new RowDescription(Collections.emptyList());
+
+        cache.putDescription(new Binding(0), "foo", description);
+        assertThat(cache.getDescription(new Binding(0), "foo")).isNull();
+
+        cache.put(new Binding(0), "foo", "S_0");
+        cache.putDescription(new Binding(0), "foo", description);
+        assertThat(cache.getDescription(new Binding(0), "foo")).isSameAs(description);
+
+        cache.evict("foo");
+        assertThat(cache.getDescription(new Binding(0), "foo")).isNull();
+    }
+
     @Test
     void put() {
 
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.codec.Codecs;
+import io.r2dbc.postgresql.message.backend.RowDescription;
+import io.r2dbc.postgresql.message.backend.RowDescription.Field;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT8;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.MONEY;
+import static io.r2dbc.postgresql.message.Format.FORMAT_BINARY;
+import static io.r2dbc.postgresql.message.Format.FORMAT_TEXT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CachedRowDescription}.
+ */
+final class CachedRowDescriptionUnitTests {
+
+    private final RowDescription rowDescription = new RowDescription(Arrays.asList(
+        new Field((short) 1, INT8.getObjectId(), -1, (short) 8, FORMAT_TEXT, "id", 100),
+        new Field((short) 2, MONEY.getObjectId(), -1, (short) 8, FORMAT_TEXT, "amount", 100)));
+
+    @Test
+    void shouldUseDefaultResultFormats() {
+        assertThat(new CachedRowDescription(this.rowDescription).getResultFormats()).isNull();
+    }
+
+    @Test
+    void shouldNegotiateResultFormatsPerColumn() {
+
+        Codecs codecs = mock(Codecs.class);
+        when(codecs.preferredType(INT8.getObjectId(), FORMAT_BINARY)).thenAnswer(invocation -> Long.class);
+        when(codecs.canDecode(INT8.getObjectId(), FORMAT_BINARY, String.class)).thenReturn(true);
+
+        CachedRowDescription description = CachedRowDescription.negotiateResultFormats(this.rowDescription, codecs);
+
+        assertThat(description.getResultFormats()).containsExactly(FORMAT_BINARY, FORMAT_TEXT);
+        assertThat(description.getFields()).extracting(Field::getFormat).containsExactly(FORMAT_BINARY, FORMAT_TEXT);
+        assertThat(description.getFields()).extracting(Field::getName).containsExactly("id", "amount");
+    }
+
+    @Test
+    void shouldKeepTextFormatForColumnsNotReadableAsString() {
+
+        Codecs codecs = mock(Codecs.class);
+        when(codecs.preferredType(INT8.getObjectId(), FORMAT_BINARY)).thenAnswer(invocation -> Long.class);
+        when(codecs.preferredType(MONEY.getObjectId(), FORMAT_BINARY)).thenAnswer(invocation -> BigDecimal.class);
+        when(codecs.canDecode(INT8.getObjectId(), FORMAT_BINARY, String.class)).thenReturn(true);
+
+        CachedRowDescription description = CachedRowDescription.negotiateResultFormats(this.rowDescription, codecs);
+
+        assertThat(description.getResultFormats()).containsExactly(FORMAT_BINARY, FORMAT_TEXT);
+    }
+
+    @Test
+    void shouldUseDefaultResultFormatsWithoutBinaryDecoders() {
+
+        CachedRowDescription description = CachedRowDescription.negotiateResultFormats(this.rowDescription, mock(Codecs.class));
+
+        assertThat(description.getResultFormats()).isNull();
+        assertThat(description.getFields()).isEqualTo(this.rowDescription.getFields());
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static io.r2dbc.postgresql.ColumnNameIndex.NOT_FOUND;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link ColumnNameIndex}.
+ */
+final class ColumnNameIndexUnitTests {
+
+    @Test
+    void ofNoNames() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ColumnNameIndex.of(null))
+            .withMessage("names must not be null");
+    }
+
+    @Test
+    void emptyIndex() {
+        assertThat(ColumnNameIndex.of(Collections.emptyList()).indexOf("one")).isEqualTo(NOT_FOUND);
+    }
+
+    @Test
+    void resolvesCaseInsensitively() {
+        ColumnNameIndex index = ColumnNameIndex.of(Arrays.asList("one", "Two", "THREE", "one"));
+
+        assertThat(index.indexOf("one")).isZero();
+        assertThat(index.indexOf("ONE")).isZero();
+        assertThat(index.indexOf("two")).isEqualTo(1);
+        assertThat(index.indexOf("three")).isEqualTo(2);
+        assertThat(index.indexOf("four")).isEqualTo(NOT_FOUND);
+    }
+
+    @Test
+    void prefersExactMatch() {
+        ColumnNameIndex index = ColumnNameIndex.of(Arrays.asList("ID", "id"));
+
+        assertThat(index.indexOf("id")).isEqualTo(1);
+        assertThat(index.indexOf("ID")).isZero();
+        assertThat(index.indexOf("Id")).isZero();
+    }
+
+    @Test
+    void considersNamingRules() {
+        ColumnNameIndex index = ColumnNameIndex.of(Arrays.asList("one", "two", "three", "one", "\"Four\""));
+
+        assertThat(index.indexOf("\"one\"")).isZero();
+        assertThat(index.indexOf("\"one")).isEqualTo(NOT_FOUND);
+        assertThat(index.indexOf("one\"")).isEqualTo(NOT_FOUND);
+        assertThat(index.indexOf("\"One\"")).isEqualTo(NOT_FOUND);
+        assertThat(index.indexOf("Four")).isEqualTo(4);
+        assertThat(index.indexOf("four")).isEqualTo(NOT_FOUND);
+        assertThat(index.indexOf("\"")).isEqualTo(NOT_FOUND);
+    }
+
+    @Test
+    void resolvesWideResults() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            names.add("column_" + i);
+        }
+
+        ColumnNameIndex index = ColumnNameIndex.of(names);
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(index.indexOf("COLUMN_" + i)).isEqualTo(i);
+        }
+    }
+
+}
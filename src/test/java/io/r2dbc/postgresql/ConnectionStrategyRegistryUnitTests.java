@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.client.SSLMode;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ConnectionStrategyRegistry}.
+ */
+final class ConnectionStrategyRegistryUnitTests {
+
+    @Test
+    void shouldShareEntryForSameSettings() {
+
+        PostgresqlConnectionConfiguration configuration = configuration("registry-shared", "user", SSLMode.DISABLE);
+
+        ConnectionStrategyRegistry.Entry first = ConnectionStrategyRegistry.acquire(configuration, entryFactory(configuration));
+        ConnectionStrategyRegistry.Entry second = ConnectionStrategyRegistry.acquire(configuration("registry-shared", "user", SSLMode.DISABLE), entryFactory(configuration));
+
+        assertThat(second).isSameAs(first);
+
+        release(first);
+        release(second);
+    }
+
+    @Test
+    void shouldIsolateEntriesByCredentialsAndSsl() {
+
+        PostgresqlConnectionConfiguration configuration = configuration("registry-isolated", "user", SSLMode.DISABLE);
+        PostgresqlConnectionConfiguration otherUser = configuration("registry-isolated", "other", SSLMode.DISABLE);
+        PostgresqlConnectionConfiguration otherSsl = configuration("registry-isolated", "user", SSLMode.REQUIRE);
+
+        ConnectionStrategyRegistry.Entry entry = ConnectionStrategyRegistry.acquire(configuration, entryFactory(configuration));
+        ConnectionStrategyRegistry.Entry otherUserEntry = ConnectionStrategyRegistry.acquire(otherUser, entryFactory(otherUser));
+        ConnectionStrategyRegistry.Entry otherSslEntry = ConnectionStrategyRegistry.acquire(otherSsl, entryFactory(otherSsl));
+
+        assertThat(otherUserEntry).isNotSameAs(entry);
+        assertThat(otherSslEntry).isNotSameAs(entry).isNotSameAs(otherUserEntry);
+
+        release(entry);
+        release(otherUserEntry);
+        release(otherSslEntry);
+    }
+
+    @Test
+    void shouldEvictEntryOnLastRelease() {
+
+        PostgresqlConnectionConfiguration configuration = configuration("registry-evict", "user", SSLMode.DISABLE);
+        int size = ConnectionStrategyRegistry.size();
+
+        ConnectionStrategyRegistry.Entry first = ConnectionStrategyRegistry.acquire(configuration, entryFactory(configuration));
+        ConnectionStrategyRegistry.Entry second = ConnectionStrategyRegistry.acquire(configuration, entryFactory(configuration));
+        assertThat(ConnectionStrategyRegistry.size()).isEqualTo(size + 1);
+
+        release(first);
+        assertThat(ConnectionStrategyRegistry.size()).isEqualTo(size + 1);
+
+        release(second);
+        assertThat(ConnectionStrategyRegistry.size()).isEqualTo(size);
+
+        second.getControlConnection().get()
+            .as(StepVerifier::create)
+            .verifyError(PostgresqlConnectionFactory.PostgresConnectionException.class);
+
+        assertThat(ConnectionStrategyRegistry.acquire(configuration, entryFactory(configuration))).isNotSameAs(first);
+    }
+
+    private static void release(ConnectionStrategyRegistry.Entry entry) {
+        ConnectionStrategyRegistry.release(entry).as(StepVerifier::create).verifyComplete();
+    }
+
+    private static Function<ConnectionStrategyRegistry.ClusterKey, ConnectionStrategyRegistry.Entry> entryFactory(PostgresqlConnectionConfiguration configuration) {
+        return key -> new ConnectionStrategyRegistry.Entry(key, new UniformLoadBalancerConnectionStrategy(configuration, 300),
+            new ControlConnection(Collections.singletonList("localhost"), host -> Mono.empty()));
+    }
+
+    private static PostgresqlConnectionConfiguration configuration(String host, String username, SSLMode sslMode) {
+        return PostgresqlConnectionConfiguration.builder()
+            .host(host)
+            .username(username)
+            .password("secret")
+            .sslMode(sslMode)
+            .loadBalanceHosts(true)
+            .build();
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.client.Client;
+import io.r2dbc.postgresql.codec.MockCodecs;
+import io.r2dbc.spi.IsolationLevel;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link ControlConnection}.
+ */
+final class ControlConnectionUnitTests {
+
+    @Test
+    void shouldReuseConnectedConnection() {
+
+        PostgresqlConnection connection = connection(true);
+        AtomicInteger attempts = new AtomicInteger();
+        ControlConnection controlConnection = new ControlConnection(Collections.singletonList("host"), host -> {
+            attempts.incrementAndGet();
+            return Mono.just(connection);
+        });
+
+        controlConnection.get().as(StepVerifier::create).expectNext(connection).verifyComplete();
+        controlConnection.get().as(StepVerifier::create).expectNext(connection).verifyComplete();
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldReconnectOnceIfDisconnected() {
+
+        PostgresqlConnection disconnected = connection(false);
+        PostgresqlConnection connected = connection(true);
+        AtomicInteger attempts = new AtomicInteger();
+        ControlConnection controlConnection = new ControlConnection(Collections.singletonList("host"), host -> {
+            return Mono.just(attempts.getAndIncrement() == 0 ? disconnected : connected);
+        });
+
+        controlConnection.get().as(StepVerifier::create).expectNext(disconnected).verifyComplete();
+        controlConnection.get().as(StepVerifier::create).expectNext(connected).verifyComplete();
+
+        assertThat(attempts).hasValue(2);
+        verify(disconnected.getClient()).close();
+    }
+
+    @Test
+    void shouldBoundReconnectAttempts() {
+
+        AtomicInteger attempts = new AtomicInteger();
+        ControlConnection controlConnection = new ControlConnection(Collections.singletonList("host"), host -> {
+            attempts.incrementAndGet();
+            return Mono.just(connection(false));
+        });
+
+        controlConnection.get().as(StepVerifier::create).expectNextCount(1).verifyComplete();
+        controlConnection.get().as(StepVerifier::create).expectNextCount(1).verifyComplete();
+
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void shouldCloseConnection() {
+
+        PostgresqlConnection connection = connection(true);
+        ControlConnection controlConnection = new ControlConnection(Collections.singletonList("host"), host -> Mono.just(connection));
+
+        controlConnection.get().as(StepVerifier::create).expectNext(connection).verifyComplete();
+        controlConnection.close().as(StepVerifier::create).verifyComplete();
+
+        verify(connection.getClient()).close();
+        controlConnection.get().as(StepVerifier::create).verifyError(PostgresqlConnectionFactory.PostgresConnectionException.class);
+    }
+
+    private static PostgresqlConnection connection(boolean connected) {
+
+        Client client = mock(Client.class);
+        doReturn(connected).when(client).isConnected();
+        doReturn(Mono.empty()).when(client).close();
+        doReturn(Flux.empty()).when(client).exchange(any());
+
+        PostgresqlConnectionConfiguration configuration = PostgresqlConnectionConfiguration.builder()
+            .host("host")
+            .username("admin")
+            .build();
+
+        return new PostgresqlConnection(client, MockCodecs.empty(), () -> "", mock(StatementCache.class), IsolationLevel.READ_COMMITTED, configuration);
+    }
+
+}
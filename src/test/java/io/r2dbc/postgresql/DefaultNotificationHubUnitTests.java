@@ -0,0 +1,220 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.postgresql.api.PostgresqlStatement;
+import io.r2dbc.postgresql.message.backend.NotificationResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link DefaultNotificationHub}.
+ */
+final class DefaultNotificationHubUnitTests {
+
+    @Test
+    void shouldListenOncePerChannel() {
+
+        MockConnection connection = new MockConnection();
+        DefaultNotificationHub hub = new DefaultNotificationHub(Mono.just(connection.connection));
+
+        Disposable first = hub.listen("foo").subscribe();
+        Disposable second = hub.listen("foo").subscribe();
+        Disposable third = hub.listen("Bar\"").subscribe();
+
+        assertThat(connection.commands).containsExactly("LISTEN \"foo\"", "LISTEN \"Bar\"\"\"");
+
+        first.dispose();
+        assertThat(connection.commands).hasSize(2);
+
+        third.dispose();
+        assertThat(connection.commands).containsExactly("LISTEN \"foo\"", "LISTEN \"Bar\"\"\"", "UNLISTEN \"Bar\"\"\"");
+
+        second.dispose();
+        verify(connection.connection).close();
+        assertThat(hub.getConnection()).isNull();
+    }
+
+    @Test
+    void shouldRouteNotificationsByChannel() {
+
+        MockConnection connection = new MockConnection();
+        DefaultNotificationHub hub = new DefaultNotificationHub(Mono.just(connection.connection));
+
+        hub.listen("foo")
+            .map(Notification::getParameter)
+            .as(StepVerifier::create)
+            .then(() -> {
+                connection.notify("bar", "ignored");
+                connection.notify("foo", "payload");
+            })
+            .expectNext("payload")
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void shouldApplyOverflowStrategy() {
+
+        MockConnection connection = new MockConnection();
+        DefaultNotificationHub hub = new DefaultNotificationHub(Mono.just(connection.connection));
+
+        hub.listen("foo", 1, BufferOverflowStrategy.DROP_OLDEST)
+            .map(Notification::getParameter)
+            .as(it -> StepVerifier.create(it, 0))
+            .then(() -> {
+                connection.notify("foo", "1");
+                connection.notify("foo", "2");
+            })
+            .thenRequest(1)
+            .expectNext("2")
+            .thenCancel()
+            .verify();
+
+        hub.listen("foo", 1, BufferOverflowStrategy.ERROR)
+            .as(it -> StepVerifier.create(it, 0))
+            .then(() -> {
+                connection.notify("foo", "1");
+                connection.notify("foo", "2");
+            })
+            .thenRequest(1)
+            .expectNextCount(1)
+            .verifyError();
+    }
+
+    @Test
+    void shouldReconnectAndListenAgain() {
+
+        MockConnection first = new MockConnection();
+        MockConnection second = new MockConnection();
+        List<MockConnection> connections = new CopyOnWriteArrayList<>();
+        connections.add(first);
+        connections.add(second);
+
+        DefaultNotificationHub hub = new DefaultNotificationHub(Mono.fromSupplier(() -> connections.remove(0).connection), Duration.ofMillis(1));
+
+        Disposable subscription = hub.listen("foo").subscribe();
+        assertThat(first.commands).containsExactly("LISTEN \"foo\"");
+
+        first.notifications.tryEmitComplete();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(second.commands).containsExactly("LISTEN \"foo\""));
+        assertThat(hub.getConnection()).isSameAs(second.connection);
+
+        subscription.dispose();
+    }
+
+    @Test
+    void closeShouldCompleteSubscribersAndCloseConnection() {
+
+        MockConnection connection = new MockConnection();
+        DefaultNotificationHub hub = new DefaultNotificationHub(Mono.just(connection.connection));
+
+        hub.listen("foo")
+            .as(StepVerifier::create)
+            .then(() -> hub.close().as(StepVerifier::create).verifyComplete())
+            .verifyComplete();
+
+        verify(connection.connection).close();
+        assertThat(hub.getConnection()).isNull();
+
+        hub.listen("foo")
+            .as(StepVerifier::create)
+            .verifyErrorMessage("Notification hub is closed");
+    }
+
+    @Test
+    void closeShouldStopReconnecting() {
+
+        MockConnection connection = new MockConnection();
+        AtomicInteger connects = new AtomicInteger();
+        DefaultNotificationHub hub = new DefaultNotificationHub(Mono.fromSupplier(() -> {
+            connects.incrementAndGet();
+            return connection.connection;
+        }), Duration.ofMillis(50));
+
+        Disposable subscription = hub.listen("foo").subscribe();
+        connection.notifications.tryEmitComplete();
+
+        hub.close().as(StepVerifier::create).verifyComplete();
+
+        await().pollDelay(Duration.ofMillis(200)).atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(connects).hasValue(1));
+        assertThat(subscription.isDisposed()).isTrue();
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+
+        DefaultNotificationHub hub = new DefaultNotificationHub(Mono.empty());
+
+        assertThatIllegalArgumentException().isThrownBy(() -> hub.listen(""));
+        assertThatIllegalArgumentException().isThrownBy(() -> hub.listen("foo", 0, BufferOverflowStrategy.ERROR));
+    }
+
+    static final class MockConnection {
+
+        final PostgresqlConnection connection = mock(PostgresqlConnection.class);
+
+        final Sinks.Many<Notification> notifications = Sinks.many().multicast().directBestEffort();
+
+        final List<String> commands = new CopyOnWriteArrayList<>();
+
+        MockConnection() {
+
+            PostgresqlResult result = mock(PostgresqlResult.class);
+            doReturn(Mono.just(0L)).when(result).getRowsUpdated();
+
+            doReturn(this.notifications.asFlux()).when(this.connection).getNotifications();
+            doReturn(Mono.empty()).when(this.connection).close();
+            doAnswer(invocation -> {
+
+                this.commands.add(invocation.getArgument(0));
+                PostgresqlStatement statement = mock(PostgresqlStatement.class);
+                doReturn(Flux.just(result)).when(statement).execute();
+                return statement;
+            }).when(this.connection).createStatement(anyString());
+        }
+
+        void notify(String channel, String payload) {
+            this.notifications.tryEmitNext(new NotificationResponseWrapper(new NotificationResponse(channel, payload, 0)));
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.codec.Codec;
+import io.r2dbc.postgresql.codec.DefaultCodecs;
+import org.junit.jupiter.api.Test;
+
+import static io.r2dbc.postgresql.util.TestByteBufAllocator.TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link DeferredCodecRegistry}.
+ */
+final class DeferredCodecRegistryUnitTests {
+
+    private final DefaultCodecs codecs = new DefaultCodecs(TEST);
+
+    @Test
+    void shouldApplyRegistrationsInOrder() {
+
+        Codec<?> first = mock(Codec.class);
+        Codec<?> last = mock(Codec.class);
+        DeferredCodecRegistry registry = new DeferredCodecRegistry(this.codecs);
+
+        registry.addFirst(first);
+        registry.addLast(last);
+
+        assertThat(this.codecs).doesNotContain(first, last);
+
+        registry.apply();
+
+        assertThat(this.codecs).startsWith(first).endsWith(last);
+    }
+
+    @Test
+    void shouldApplyRegistrationsAfterApplyImmediately() {
+
+        Codec<?> codec = mock(Codec.class);
+        DeferredCodecRegistry registry = new DeferredCodecRegistry(this.codecs);
+
+        registry.apply();
+        registry.addFirst(codec);
+
+        assertThat(this.codecs).startsWith(codec);
+    }
+
+    @Test
+    void shouldIterateTargetRegistry() {
+        assertThat(new DeferredCodecRegistry(this.codecs)).containsExactlyElementsOf(this.codecs);
+    }
+
+}
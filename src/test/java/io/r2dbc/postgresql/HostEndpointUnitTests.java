@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link HostEndpoint} and endpoint tracking in {@link UniformLoadBalancerConnectionStrategy}.
+ */
+final class HostEndpointUnitTests {
+
+    @Test
+    void shouldRejectInvalidPort() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new HostEndpoint("127.0.0.1", 0, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void shouldReturnUnresolvedAddressBeforeResolution() {
+
+        InetSocketAddress address = (InetSocketAddress) new HostEndpoint("127.0.0.1", 5434, Duration.ofMinutes(1)).getSocketAddress();
+
+        assertThat(address.isUnresolved()).isTrue();
+        assertThat(address.getPort()).isEqualTo(5434);
+    }
+
+    @Test
+    void shouldCacheResolvedAddress() {
+
+        HostEndpoint endpoint = new HostEndpoint("127.0.0.1", 5434, Duration.ofMinutes(1));
+        endpoint.resolve();
+
+        InetSocketAddress address = (InetSocketAddress) endpoint.getSocketAddress();
+
+        assertThat(address.isUnresolved()).isFalse();
+        assertThat(address.getPort()).isEqualTo(5434);
+        assertThat(endpoint.getSocketAddress()).isSameAs(address);
+    }
+
+    @Test
+    void shouldExpireResolvedAddress() {
+
+        HostEndpoint endpoint = new HostEndpoint("127.0.0.1", 5434, Duration.ZERO);
+        endpoint.resolve();
+
+        assertThat(((InetSocketAddress) endpoint.getSocketAddress()).isUnresolved()).isTrue();
+    }
+
+    @Test
+    void shouldDropResolvedAddressOnInvalidation() {
+
+        HostEndpoint endpoint = new HostEndpoint("127.0.0.1", 5434, Duration.ofMinutes(1));
+        endpoint.resolve();
+        endpoint.invalidate();
+
+        assertThat(((InetSocketAddress) endpoint.getSocketAddress()).isUnresolved()).isTrue();
+    }
+
+    @Test
+    void strategyShouldUsePortsReportedByServers() {
+
+        PostgresqlConnectionConfiguration configuration = PostgresqlConnectionConfiguration.builder().host("seed").port(5500).username("user").build();
+        UniformLoadBalancerConnectionStrategy strategy = new UniformLoadBalancerConnectionStrategy(configuration, 300);
+
+        assertThat(((InetSocketAddress) strategy.getEndpoint("seed")).getPort()).isEqualTo(5500);
+        assertThat(((InetSocketAddress) strategy.getEndpoint("unknown")).getPort()).isEqualTo(5500);
+
+        strategy.updateEndpoints(new YBServersSnapshot(Arrays.asList(
+            new YBServersSnapshot.Server("10.0.0.1", 5433, "34.0.0.1", "aws", "us-west", "us-west-1a", 1),
+            new YBServersSnapshot.Server("10.0.0.2", 6433, null, "aws", "us-west", "us-west-1b", 1),
+            new YBServersSnapshot.Server("seed", 0, null, "aws", "us-west", "us-west-1c", 1))));
+
+        assertThat(strategy.endpoints).containsOnlyKeys("10.0.0.1", "34.0.0.1", "10.0.0.2", "seed");
+        assertThat(((InetSocketAddress) strategy.getEndpoint("10.0.0.1")).getPort()).isEqualTo(5433);
+        assertThat(((InetSocketAddress) strategy.getEndpoint("34.0.0.1")).getPort()).isEqualTo(5433);
+        assertThat(((InetSocketAddress) strategy.getEndpoint("10.0.0.2")).getPort()).isEqualTo(6433);
+        assertThat(((InetSocketAddress) strategy.getEndpoint("seed")).getPort()).isEqualTo(5500);
+    }
+
+}
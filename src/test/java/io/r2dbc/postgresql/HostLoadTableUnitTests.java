@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link HostLoadTable}.
+ */
+final class HostLoadTableUnitTests {
+
+    HostLoadTable table = new HostLoadTable();
+
+    @Test
+    void shouldReturnNullWithoutHosts() {
+        assertThat(this.table.acquire()).isNull();
+        assertThat(this.table.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldBalanceAcrossHosts() {
+
+        this.table.update(Arrays.asList("a", "b", "c"), host -> true);
+
+        for (int i = 0; i < 12; i++) {
+            this.table.acquire();
+        }
+
+        assertThat(this.table.getConnectionCounts()).containsEntry("a", 4).containsEntry("b", 4).containsEntry("c", 4);
+    }
+
+    @Test
+    void shouldSkipIneligibleHosts() {
+
+        this.table.update(Arrays.asList("a", "b"), "a"::equals);
+
+        assertThat(this.table.acquire()).isEqualTo("a");
+        assertThat(this.table.acquire()).isEqualTo("a");
+    }
+
+    @Test
+    void shouldSkipExcludedHosts() {
+
+        this.table.update(Arrays.asList("a", "b"), host -> true);
+
+        assertThat(this.table.acquire(Collections.singleton("a"))).isEqualTo("b");
+        assertThat(this.table.acquire(Collections.singleton("a"))).isEqualTo("b");
+        assertThat(this.table.acquire(new HashSet<>(Arrays.asList("a", "b")))).isNull();
+        assertThat(this.table.getConnectionCounts()).containsEntry("a", 0).containsEntry("b", 2);
+    }
+
+    @Test
+    void shouldRetainCountsAcrossUpdates() {
+
+        this.table.update(Arrays.asList("a", "b"), host -> true);
+        this.table.add("a", 3);
+        this.table.update(Arrays.asList("a", "b", "c"), host -> true);
+
+        assertThat(this.table.getConnectionCount("a")).isEqualTo(3);
+        assertThat(this.table.acquire()).isNotEqualTo("a");
+
+        this.table.update(Collections.singletonList("c"), host -> true);
+
+        assertThat(this.table.getConnectionCounts()).containsOnlyKeys("c");
+    }
+
+    @Test
+    void shouldNotDecrementBelowZero() {
+
+        this.table.update(Collections.singletonList("a"), host -> true);
+        this.table.add("a", 1);
+        this.table.add("a", -1);
+        this.table.add("a", -1);
+        this.table.add("unknown", -1);
+
+        assertThat(this.table.getConnectionCount("a")).isZero();
+    }
+
+    @Test
+    void shouldResetRemovedHosts() {
+
+        this.table.update(Arrays.asList("a", "b"), host -> true);
+        this.table.add("a", 5);
+        this.table.remove("a");
+
+        assertThat(this.table.getConnectionCount("a")).isZero();
+        assertThat(this.table.acquire()).isEqualTo("b");
+    }
+
+    @Test
+    void shouldUsePowerOfTwoChoicesForLargeHostSets() {
+
+        List<String> hosts = new ArrayList<>();
+        for (int i = 0; i < HostLoadTable.EXACT_SCAN_THRESHOLD * 2; i++) {
+            hosts.add("host-" + i);
+        }
+        this.table.update(hosts, host -> true);
+
+        for (int i = 0; i < hosts.size() * 100; i++) {
+            this.table.acquire();
+        }
+
+        assertThat(this.table.getConnectionCounts().values()).allSatisfy(count -> assertThat(count).isBetween(90, 110));
+    }
+
+    @Test
+    void shouldCountConcurrentAcquisitions() throws InterruptedException {
+
+        this.table.update(Arrays.asList("a", "b", "c", "d"), host -> true);
+
+        int threads = 8;
+        int iterations = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < iterations; j++) {
+                    this.table.add(this.table.acquire(), j % 2 == 0 ? 0 : -1);
+                }
+                latch.countDown();
+            });
+        }
+
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(this.table.getConnectionCounts().values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(threads * iterations / 2);
+    }
+
+}
@@ -17,6 +17,7 @@
 package io.r2dbc.postgresql;
 
 import io.r2dbc.postgresql.client.Binding;
+import io.r2dbc.postgresql.message.backend.NoData;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,4 +49,20 @@ class IndefiniteStatementCacheUnitTests {
         assertThat(this.cache.requiresPrepare(new Binding(0), "foo")).isFalse();
     }
 
+    @Test
+    void description() {
+
+        this.cache.putDescription(new Binding(0), "foo", NoData.INSTANCE);
+        assertThat(this.cache.getDescription(new Binding(0), "foo")).isNull();
+
+        this.cache.put(new Binding(0), "foo", "S_0");
+        assertThat(this.cache.getDescription(new Binding(0), "foo")).isNull();
+
+        this.cache.putDescription(new Binding(0), "foo", NoData.INSTANCE);
+        assertThat(this.cache.getDescription(new Binding(0), "foo")).isSameAs(NoData.INSTANCE);
+
+        this.cache.evict("foo");
+        assertThat(this.cache.getDescription(new Binding(0), "foo")).isNull();
+    }
+
 }
@@ -0,0 +1,343 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import io.r2dbc.postgresql.client.Client;
+import io.r2dbc.postgresql.client.ConnectionContext;
+import io.r2dbc.postgresql.client.TransactionStatus;
+import io.r2dbc.postgresql.codec.MockCodecs;
+import io.r2dbc.postgresql.message.frontend.FrontendMessage;
+import io.r2dbc.postgresql.message.frontend.Query;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.Wrapped;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link LoadBalancedConnectionPool}.
+ */
+final class LoadBalancedConnectionPoolUnitTests {
+
+    private static final PostgresqlConnectionConfiguration CONFIGURATION = PostgresqlConnectionConfiguration.builder().host("seed").username("user").loadBalanceHosts(true).build();
+
+    private final Queue<Sinks.One<PostgresqlConnection>> allocations = new ConcurrentLinkedQueue<>();
+
+    private final Map<PostgresqlConnection, List<FrontendMessage>> requests = new LinkedHashMap<>();
+
+    private Set<String> clusterHosts = Collections.emptySet();
+
+    private UniformLoadBalancerConnectionStrategy strategy = strategy(() -> this.clusterHosts);
+
+    private LoadBalancedConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (this.pool != null) {
+            this.pool.close().block();
+        }
+    }
+
+    @Test
+    void builderShouldRejectConnectionFactoryWithoutLoadBalancing() {
+
+        PostgresqlConnectionFactory connectionFactory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder().host("seed").username("user").build());
+
+        assertThatIllegalArgumentException().isThrownBy(() -> LoadBalancedConnectionPool.builder(connectionFactory));
+    }
+
+    @Test
+    void builderShouldRejectInvalidSettings() {
+
+        PostgresqlConnectionFactory connectionFactory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder().host("seed").username("user").loadBalanceHosts(true).build());
+
+        assertThatIllegalArgumentException().isThrownBy(() -> LoadBalancedConnectionPool.builder(connectionFactory).maxSize(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> LoadBalancedConnectionPool.builder(connectionFactory).rebalanceInterval(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void shouldAllocateUpToMaxSizeAndQueueAcquisitions() {
+
+        this.pool = pool(2);
+        List<io.r2dbc.postgresql.api.PostgresqlConnection> acquired = new CopyOnWriteArrayList<>();
+
+        this.pool.create().subscribe(acquired::add);
+        this.pool.create().subscribe(acquired::add);
+        this.pool.create().subscribe(acquired::add);
+
+        assertThat(this.allocations).hasSize(2);
+
+        PostgresqlConnection first = connection("host-a", TransactionStatus.IDLE);
+        this.allocations.poll().tryEmitValue(first);
+        this.allocations.poll().tryEmitValue(connection("host-a", TransactionStatus.IDLE));
+
+        assertThat(acquired).hasSize(2);
+        assertThat(this.allocations).isEmpty();
+
+        acquired.get(0).close().block();
+
+        assertThat(acquired).hasSize(3);
+        assertThat(unwrap(acquired.get(2))).isSameAs(first);
+        assertThat(this.allocations).isEmpty();
+        assertThat(this.pool.getAllocatedConnections()).containsEntry("host-a", 2);
+    }
+
+    @Test
+    void shouldReturnReleasedConnectionToIdlePool() {
+
+        this.pool = pool(1);
+        PostgresqlConnection connection = connection("host-a", TransactionStatus.IDLE);
+
+        io.r2dbc.postgresql.api.PostgresqlConnection acquired = acquire(connection);
+        acquired.close().block();
+
+        assertThat(this.pool.getIdleSize()).isEqualTo(1);
+        assertThat(this.requests.get(connection)).isEmpty();
+        verify(connection.getClient(), never()).close();
+
+        assertThat(unwrap(this.pool.create().block())).isSameAs(connection);
+        assertThat(this.allocations).isEmpty();
+    }
+
+    @Test
+    void shouldRollbackTransactionOnRelease() {
+
+        this.pool = pool(1);
+        PostgresqlConnection connection = connection("host-a", TransactionStatus.OPEN);
+
+        acquire(connection).close().block();
+
+        assertThat(this.requests.get(connection)).containsExactly(new Query("ROLLBACK"));
+        assertThat(this.pool.getIdleSize()).isEqualTo(1);
+        verify(connection.getClient(), never()).close();
+    }
+
+    @Test
+    void shouldReturnConnectionAllocatedForCancelledAcquisition() {
+
+        this.pool = pool(1);
+        Disposable acquisition = this.pool.create().subscribe();
+        acquisition.dispose();
+
+        PostgresqlConnection connection = connection("host-a", TransactionStatus.IDLE);
+        this.allocations.poll().tryEmitValue(connection);
+
+        assertThat(this.pool.getIdleSize()).isEqualTo(1);
+        assertThat(this.pool.getAllocatedConnections()).containsEntry("host-a", 1);
+        verify(connection.getClient(), never()).close();
+
+        assertThat(unwrap(this.pool.create().block())).isSameAs(connection);
+        assertThat(this.allocations).isEmpty();
+    }
+
+    @Test
+    void shouldReleaseCapacityOnAllocationFailure() {
+
+        this.pool = pool(1);
+        List<Throwable> errors = new ArrayList<>();
+
+        this.pool.create().subscribe(null, errors::add);
+        this.allocations.poll().tryEmitError(new IllegalStateException("host down"));
+
+        assertThat(errors).hasSize(1).first().isInstanceOf(IllegalStateException.class);
+
+        this.pool.create().subscribe();
+
+        assertThat(this.allocations).hasSize(1);
+    }
+
+    @Test
+    void shouldCloseConnectionsOfDrainingHostOnRelease() {
+
+        this.pool = pool(2);
+        PostgresqlConnection connection = connection("host-a", TransactionStatus.IDLE);
+        io.r2dbc.postgresql.api.PostgresqlConnection acquired = acquire(connection);
+
+        this.clusterHosts = Collections.singleton("host-b");
+        this.pool.maintain().block();
+        acquired.close().block();
+
+        verify(connection.getClient()).close();
+        assertThat(this.pool.getIdleSize()).isZero();
+        assertThat(this.pool.getAllocatedConnections()).doesNotContainKey("host-a");
+    }
+
+    @Test
+    void shouldMaintainWithCurrentStrategy() {
+
+        this.pool = pool(2);
+        PostgresqlConnection connection = connection("host-a", TransactionStatus.IDLE);
+        acquire(connection).close().block();
+
+        this.strategy = strategy(() -> Collections.singleton("host-b"));
+        this.pool.maintain().block();
+
+        verify(connection.getClient()).close();
+        assertThat(this.pool.getIdleSize()).isZero();
+    }
+
+    @Test
+    void shouldFailPendingAcquisitionsOnClose() {
+
+        this.pool = pool(1);
+        PostgresqlConnection connection = connection("host-a", TransactionStatus.IDLE);
+        io.r2dbc.postgresql.api.PostgresqlConnection acquired = acquire(connection);
+
+        List<Throwable> errors = new ArrayList<>();
+        this.pool.create().subscribe(null, errors::add);
+
+        this.pool.close().block();
+
+        assertThat(errors).hasSize(1).first().isInstanceOf(IllegalStateException.class);
+
+        acquired.close().block();
+
+        verify(connection.getClient()).close();
+        assertThat(this.pool.getAllocatedConnections()).containsEntry("host-a", 0);
+    }
+
+    @Test
+    void shouldNotRebalanceBalancedHosts() {
+
+        Map<String, Integer> loads = loads("a", 3, "b", 2, "c", 3);
+
+        assertThat(LoadBalancedConnectionPool.selectRebalanceSource(loads, host -> 1, Arrays.asList("a", "b", "c"))).isNull();
+        assertThat(LoadBalancedConnectionPool.selectRebalanceSource(Collections.emptyMap(), host -> 1, Collections.singleton("a"))).isNull();
+    }
+
+    @Test
+    void shouldRebalanceMostLoadedHost() {
+
+        Map<String, Integer> loads = loads("a", 4, "b", 1, "c", 5);
+
+        assertThat(LoadBalancedConnectionPool.selectRebalanceSource(loads, host -> 1, Arrays.asList("a", "b", "c"))).isEqualTo("c");
+        assertThat(LoadBalancedConnectionPool.selectRebalanceSource(loads, host -> 1, Arrays.asList("a", "b"))).isEqualTo("a");
+        assertThat(LoadBalancedConnectionPool.selectRebalanceSource(loads, host -> 1, Collections.singleton("b"))).isNull();
+    }
+
+    @Test
+    void shouldRebalanceWithinPlacement() {
+
+        Map<String, Integer> loads = loads("local-1", 3, "local-2", 2, "remote", 0);
+
+        assertThat(LoadBalancedConnectionPool.selectRebalanceSource(loads, host -> host.startsWith("local") ? 1 : 2, Arrays.asList("local-1", "local-2"))).isNull();
+        assertThat(LoadBalancedConnectionPool.selectRebalanceSource(loads, host -> host.startsWith("local") ? 1 : 2, Arrays.asList("local-1", "remote"))).isEqualTo("remote");
+    }
+
+    @Test
+    void shouldRebalanceHostsNotEligibleForNewConnections() {
+
+        Map<String, Integer> loads = loads("a", 10, "b", 10);
+
+        assertThat(LoadBalancedConnectionPool.selectRebalanceSource(loads, host -> 1, Arrays.asList("a", "fallback"))).isEqualTo("fallback");
+    }
+
+    private LoadBalancedConnectionPool pool(int maxSize) {
+
+        Mono<PostgresqlConnection> connectionSource = Mono.defer(() -> {
+
+            Sinks.One<PostgresqlConnection> allocation = Sinks.one();
+            this.allocations.offer(allocation);
+            return allocation.asMono();
+        });
+
+        return new LoadBalancedConnectionPool(new PostgresqlConnectionFactory(CONFIGURATION), () -> this.strategy, connectionSource, Mono.just(true), maxSize, Duration.ZERO);
+    }
+
+    private static UniformLoadBalancerConnectionStrategy strategy(Supplier<Set<String>> clusterHosts) {
+
+        return new UniformLoadBalancerConnectionStrategy(CONFIGURATION, 300) {
+
+            @Override
+            Set<String> getClusterHosts() {
+                return clusterHosts.get();
+            }
+
+        };
+    }
+
+    private io.r2dbc.postgresql.api.PostgresqlConnection acquire(PostgresqlConnection connection) {
+
+        List<io.r2dbc.postgresql.api.PostgresqlConnection> acquired = new ArrayList<>();
+        this.pool.create().subscribe(acquired::add);
+        this.allocations.poll().tryEmitValue(connection);
+
+        assertThat(acquired).hasSize(1);
+        return acquired.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PostgresqlConnection connection(String host, TransactionStatus transactionStatus) {
+
+        List<FrontendMessage> messages = new ArrayList<>();
+        Client client = mock(Client.class);
+        doReturn(true).when(client).isConnected();
+        doReturn(transactionStatus).when(client).getTransactionStatus();
+        doReturn(new ConnectionContext()).when(client).getContext();
+        doReturn(Mono.empty()).when(client).close();
+        doAnswer(invocation -> Flux.from((Publisher<FrontendMessage>) invocation.getArgument(0)).doOnNext(messages::add).thenMany(Flux.empty())).when(client).exchange(any());
+
+        PostgresqlConnectionConfiguration configuration = new PostgresqlConnectionConfiguration(CONFIGURATION);
+        configuration.setHostConnectedTo(host);
+
+        PostgresqlConnection connection = new PostgresqlConnection(client, MockCodecs.empty(), () -> "", mock(StatementCache.class), IsolationLevel.READ_COMMITTED, configuration);
+        this.requests.put(connection, messages);
+        return connection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PostgresqlConnection unwrap(io.r2dbc.postgresql.api.PostgresqlConnection connection) {
+        return (PostgresqlConnection) ((Wrapped<io.r2dbc.postgresql.api.PostgresqlConnection>) connection).unwrap();
+    }
+
+    private static Map<String, Integer> loads(Object... hostsAndLoads) {
+
+        Map<String, Integer> loads = new LinkedHashMap<>();
+        for (int i = 0; i < hostsAndLoads.length; i += 2) {
+            loads.put((String) hostsAndLoads[i], (Integer) hostsAndLoads[i + 1]);
+        }
+        return loads;
+    }
+
+}
@@ -23,8 +23,10 @@ import io.r2dbc.postgresql.client.TestClient;
 import io.r2dbc.postgresql.codec.Codecs;
 import io.r2dbc.postgresql.codec.MockCodecs;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 final class MockContext {
 
@@ -36,6 +38,15 @@ final class MockContext {
         return builder().build();
     }
 
+    private static StatementCache mockStatementCache() {
+
+        StatementCache statementCache = mock(StatementCache.class, RETURNS_SMART_NULLS);
+
+        // statements are described unless a test stubs a cached description
+        when(statementCache.getDescription(any(), any())).thenReturn(null);
+        return statementCache;
+    }
+
     public static final class Builder {
 
         private Codecs codecs = MockCodecs.empty();
@@ -44,10 +55,14 @@ final class MockContext {
 
         private PostgresqlConnection connection;
 
-        private StatementCache statementCache = mock(StatementCache.class, RETURNS_SMART_NULLS);
+        private StatementCache statementCache = mockStatementCache();
+
+        private boolean adaptiveResultFormats = false;
 
         private boolean forceBinary = false;
 
+        private boolean pipelineBindings = false;
+
         private PortalNameSupplier portalNameSupplier = () -> "";
 
         private Builder() {
@@ -58,11 +73,18 @@ final class MockContext {
                 .host("localhost")
                 .username("admin")
                 .password("password")
+                .adaptiveResultFormats(adaptiveResultFormats)
                 .forceBinary(forceBinary)
+                .pipelineBindings(pipelineBindings)
                 .build();
             return new ConnectionResources(this.client, this.codecs, this.connection, configuration, portalNameSupplier, statementCache);
         }
 
+        public Builder adaptiveResultFormats(boolean adaptiveResultFormats) {
+            this.adaptiveResultFormats = adaptiveResultFormats;
+            return this;
+        }
+
         public Builder codecs(Codecs codecs) {
             this.codecs = codecs;
             return this;
@@ -88,6 +110,11 @@ final class MockContext {
             return this;
         }
 
+        public Builder pipelineBindings(boolean pipelineBindings) {
+            this.pipelineBindings = pipelineBindings;
+            return this;
+        }
+
         public Builder portalNameSupplier(PortalNameSupplier portalNameSupplier) {
             this.portalNameSupplier = portalNameSupplier;
             return this;
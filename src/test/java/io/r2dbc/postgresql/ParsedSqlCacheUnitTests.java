@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link ParsedSqlCache}.
+ */
+final class ParsedSqlCacheUnitTests {
+
+    @Test
+    void constructorInvalidLimits() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ParsedSqlCache(0, 10))
+            .withMessage("maxSize must be greater than zero");
+        assertThatIllegalArgumentException().isThrownBy(() -> new ParsedSqlCache(10, 0))
+            .withMessage("maxSqlLength must be greater than zero");
+    }
+
+    @Test
+    void getNoSql() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ParsedSqlCache(10, 10).get(null))
+            .withMessage("sql must not be null");
+    }
+
+    @Test
+    void shouldReturnCachedParsedSql() {
+        ParsedSqlCache cache = new ParsedSqlCache(10, 100);
+
+        ParsedSql first = cache.get("SELECT * FROM foo WHERE bar = $1");
+        ParsedSql second = cache.get("SELECT * FROM foo WHERE bar = $1");
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getParameterCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheLongSql() {
+        AtomicInteger parsed = new AtomicInteger();
+        ParsedSqlCache cache = new ParsedSqlCache(10, 10, sql -> {
+            parsed.incrementAndGet();
+            return PostgresqlSqlParser.parse(sql);
+        });
+
+        cache.get("SELECT * FROM foo");
+        cache.get("SELECT * FROM foo");
+
+        assertThat(parsed).hasValue(2);
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLimitCacheSize() {
+        ParsedSqlCache cache = new ParsedSqlCache(2, 100);
+
+        cache.get("SELECT 1");
+        cache.get("SELECT 2");
+        cache.get("SELECT 3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldEvictOldestEntries() {
+        AtomicInteger parsed = new AtomicInteger();
+        ParsedSqlCache cache = new ParsedSqlCache(2, 100, sql -> {
+            parsed.incrementAndGet();
+            return PostgresqlSqlParser.parse(sql);
+        });
+
+        cache.get("SELECT 1");
+        cache.get("SELECT 2");
+        cache.get("SELECT 3");
+        cache.get("SELECT 2");
+        cache.get("SELECT 3");
+
+        assertThat(parsed).hasValue(3);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepReferencedEntries() {
+        AtomicInteger parsed = new AtomicInteger();
+        ParsedSqlCache cache = new ParsedSqlCache(2, 100, sql -> {
+            parsed.incrementAndGet();
+            return PostgresqlSqlParser.parse(sql);
+        });
+
+        cache.get("SELECT 1");
+        cache.get("SELECT 2");
+        cache.get("SELECT 1");
+        cache.get("SELECT 3");
+        cache.get("SELECT 1");
+        cache.get("SELECT 3");
+
+        assertThat(parsed).hasValue(3);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheParsingFailures() {
+        ParsedSqlCache cache = new ParsedSqlCache(10, 100);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> cache.get("SELECT /* unclosed"));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void parsedSqlIsImmutable() {
+        ParsedSql parsedSql = new ParsedSqlCache(10, 100).get("SELECT 1; SELECT 2");
+
+        assertThat(parsedSql.getStatements()).isUnmodifiable();
+        assertThat(parsedSql.getStatements().get(0).getTokens()).isUnmodifiable();
+    }
+
+}
@@ -34,21 +34,28 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.TimeZone;
 
+import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.ADAPTIVE_RESULT_FORMATS;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.AUTODETECT_EXTENSIONS;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.COMPATIBILITY_MODE;
+import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.DEFER_TRANSACTION_START;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.ERROR_RESPONSE_LOG_LEVEL;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.EXTENSIONS;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.FAILOVER_PROTOCOL;
+import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.FAST_START;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.FETCH_SIZE;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.FORCE_BINARY;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.HOST_RECHECK_TIME;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.LEGACY_POSTGRESQL_DRIVER;
+import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.LOAD_BALANCE_ATTEMPT_DELAY;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.LOAD_BALANCE_HOSTS;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.LOCK_WAIT_TIMEOUT;
+import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.OFFLOAD_AUTHENTICATION;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.OPTIONS;
+import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.PIPELINE_BINDINGS;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.POSTGRESQL_DRIVER;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.PREFER_ATTACHED_BUFFERS;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.PREPARED_STATEMENT_CACHE_QUERIES;
+import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.SCRAM_KEY_CACHE_SIZE;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.SOCKET;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.SSL_CERT;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.SSL_CONTEXT_BUILDER_CUSTOMIZER;
@@ -60,6 +67,9 @@ import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.TARGET_SER
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.TCP_KEEPALIVE;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.TCP_NODELAY;
 import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.TIME_ZONE;
+import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.TYPE_CACHE_TTL;
+import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.WRITE_BATCH_BYTES;
+import static io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider.WRITE_BATCH_SIZE;
 import static io.r2dbc.spi.ConnectionFactoryOptions.DRIVER;
 import static io.r2dbc.spi.ConnectionFactoryOptions.HOST;
 import static io.r2dbc.spi.ConnectionFactoryOptions.PASSWORD;
@@ -617,6 +627,134 @@ final class PostgresqlConnectionFactoryProviderUnitTests {
         assertThat(factory.getConfiguration().getExtensions()).containsExactly(testExtension1, testExtension2);
     }
 
+    @Test
+    void shouldConfigureLoadBalanceAttemptDelay() {
+
+        PostgresqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, POSTGRESQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(LOAD_BALANCE_ATTEMPT_DELAY, Duration.ofMillis(250))
+            .build());
+
+        assertThat(factory.getConfiguration().getLoadBalanceAttemptDelay()).isEqualTo(Duration.ofMillis(250));
+    }
+
+    @Test
+    void shouldConfigurePipelineBindings() {
+
+        PostgresqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, POSTGRESQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(PIPELINE_BINDINGS, true)
+            .build());
+
+        assertThat(factory.getConfiguration().isPipelineBindings()).isTrue();
+    }
+
+    @Test
+    void shouldConfigureAdaptiveResultFormats() {
+
+        PostgresqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, POSTGRESQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(ADAPTIVE_RESULT_FORMATS, true)
+            .build());
+
+        assertThat(factory.getConfiguration().isAdaptiveResultFormats()).isTrue();
+    }
+
+    @Test
+    void shouldConfigureWriteBatching() {
+
+        PostgresqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, POSTGRESQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(WRITE_BATCH_SIZE, 16)
+            .option(WRITE_BATCH_BYTES, 4096)
+            .build());
+
+        assertThat(factory.getConfiguration().getWriteBatchSize()).isEqualTo(16);
+        assertThat(factory.getConfiguration().getWriteBatchBytes()).isEqualTo(4096);
+    }
+
+    @Test
+    void shouldConfigureTypeCacheTtl() {
+
+        PostgresqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, POSTGRESQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(TYPE_CACHE_TTL, Duration.ofSeconds(30))
+            .build());
+
+        assertThat(factory.getConfiguration().getTypeCacheTtl()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldConfigureFastStart() {
+
+        PostgresqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, POSTGRESQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(FAST_START, true)
+            .build());
+
+        assertThat(factory.getConfiguration().isFastStart()).isTrue();
+    }
+
+    @Test
+    void shouldConfigureDeferTransactionStart() {
+
+        PostgresqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, POSTGRESQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(DEFER_TRANSACTION_START, true)
+            .build());
+
+        assertThat(factory.getConfiguration().isDeferTransactionStart()).isTrue();
+    }
+
+    @Test
+    void shouldConfigureScramKeyCacheSize() {
+
+        PostgresqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, POSTGRESQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(SCRAM_KEY_CACHE_SIZE, 4)
+            .build());
+
+        assertThat(factory.getConfiguration().getScramKeyCacheSize()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldConfigureOffloadAuthentication() {
+
+        PostgresqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, POSTGRESQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(OFFLOAD_AUTHENTICATION, true)
+            .build());
+
+        assertThat(factory.getConfiguration().isOffloadAuthentication()).isTrue();
+    }
+
     private static class TestExtension implements Extension {
 
         private final String name;
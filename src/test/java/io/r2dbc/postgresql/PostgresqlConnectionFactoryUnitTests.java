@@ -20,19 +20,28 @@ import com.ongres.scram.client.ScramClient;
 import io.r2dbc.postgresql.client.Client;
 import io.r2dbc.postgresql.client.TestClient;
 import io.r2dbc.postgresql.client.TestStartupParameterProvider;
+import io.r2dbc.postgresql.codec.Codec;
+import io.r2dbc.postgresql.codec.CodecRegistry;
 import io.r2dbc.postgresql.message.backend.AuthenticationMD5Password;
 import io.r2dbc.postgresql.message.backend.AuthenticationOk;
 import io.r2dbc.postgresql.message.backend.AuthenticationSASL;
+import io.r2dbc.postgresql.message.backend.BackendMessage;
 import io.r2dbc.postgresql.message.backend.ErrorResponse;
 import io.r2dbc.postgresql.message.frontend.PasswordMessage;
 import io.r2dbc.postgresql.message.frontend.SASLInitialResponse;
 import io.r2dbc.postgresql.message.frontend.StartupMessage;
 import io.r2dbc.postgresql.util.ByteBufferUtils;
+import io.r2dbc.spi.IsolationLevel;
 import io.r2dbc.spi.R2dbcNonTransientResourceException;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.annotation.Nullable;
 
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 
 import static com.ongres.scram.client.ScramClient.ChannelBinding.NO;
@@ -40,6 +49,11 @@ import static com.ongres.scram.common.stringprep.StringPreparations.NO_PREPARATI
 import static io.r2dbc.postgresql.util.TestByteBufAllocator.TEST;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Unit tests for {@link PostgresqlConnectionFactory}.
@@ -151,8 +165,144 @@ final class PostgresqlConnectionFactoryUnitTests {
         assertThat(new PostgresqlConnectionFactory(testClientFactory(client, configuration), configuration).getMetadata()).isNotNull();
     }
 
+    @Test
+    void connectStaggeredReleasesPendingAttempt() {
+
+        Client pending = mockClient(Flux.never());
+        Client winner = mockClient(Flux.empty());
+        PostgresqlConnectionConfiguration configuration = loadBalancedConfiguration(Duration.ofMillis(50));
+        PostgresqlConnectionFactory connectionFactory = new PostgresqlConnectionFactory((endpoint, settings) -> {
+            return Mono.just("host-a".equals(((InetSocketAddress) endpoint).getHostString()) ? pending : winner);
+        }, configuration);
+
+        TestLoadBalancerConnectionStrategy strategy = new TestLoadBalancerConnectionStrategy(configuration, false);
+        strategy.hostLoads.update(Arrays.asList("host-a", "host-b"), host -> true);
+        strategy.incDecConnectionCount("host-b", 1);
+
+        connectionFactory.connectToLeastLoadedHost(strategy)
+            .as(StepVerifier::create)
+            .assertNext(connection -> assertThat(connection.getClient()).isSameAs(winner))
+            .verifyComplete();
+
+        assertThat(strategy.hostLoads.getConnectionCounts()).containsEntry("host-a", 0).containsEntry("host-b", 2);
+        assertThat(strategy.unreachableHosts).isEmpty();
+        verify(pending).close();
+        verify(winner, never()).close();
+    }
+
+    @Test
+    void connectToHostRetainsConnectionWithoutMorePreferredNode() {
+
+        Client client = mockClient(Flux.empty());
+        PostgresqlConnectionConfiguration configuration = loadBalancedConfiguration(null);
+        PostgresqlConnectionFactory connectionFactory = new PostgresqlConnectionFactory((endpoint, settings) -> Mono.just(client), configuration);
+
+        TestLoadBalancerConnectionStrategy strategy = new TestLoadBalancerConnectionStrategy(configuration, true);
+        strategy.hostLoads.update(Collections.singletonList("host-a"), host -> true);
+
+        connectionFactory.connectToLeastLoadedHost(strategy)
+            .as(StepVerifier::create)
+            .assertNext(connection -> assertThat(connection.getClient()).isSameAs(client))
+            .verifyComplete();
+
+        assertThat(strategy.hostLoads.getConnectionCounts()).containsEntry("host-a", 1);
+        assertThat(strategy.unreachableHosts).isEmpty();
+        verify(client, never()).close();
+
+        connectionFactory.close().as(StepVerifier::create).verifyComplete();
+    }
+
+    @Test
+    void createFastStartRegistersCodecsInRegistrarOrder() {
+
+        Codec<?> slow = mock(Codec.class);
+        Codec<?> fast = mock(Codec.class);
+        Client client = mockClient(Flux.empty());
+
+        PostgresqlConnectionConfiguration configuration = PostgresqlConnectionConfiguration.builder()
+            .host("test-host")
+            .username("test-username")
+            .autodetectExtensions(false)
+            .fastStart(true)
+            .options(Collections.singletonMap("default_transaction_isolation", "repeatable read"))
+            .codecRegistrar((connection, allocator, registry) -> Mono.delay(Duration.ofMillis(50)).then(Mono.fromRunnable(() -> registry.addFirst(slow))))
+            .codecRegistrar((connection, allocator, registry) -> Mono.fromRunnable(() -> registry.addFirst(fast)))
+            .build();
+
+        new PostgresqlConnectionFactory(testClientFactory(client, configuration), configuration).create()
+            .as(StepVerifier::create)
+            .assertNext(connection -> {
+
+                assertThat(connection.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.REPEATABLE_READ);
+                assertThat((CodecRegistry) ((PostgresqlConnection) connection).getResources().getCodecs()).startsWith(fast, slow);
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void createFastStartRejectsInvalidIsolationLevel() {
+
+        PostgresqlConnectionConfiguration.Builder builder = PostgresqlConnectionConfiguration.builder()
+            .host("test-host")
+            .username("test-username")
+            .fastStart(true)
+            .options(Collections.singletonMap("default_transaction_isolation", "snapshot"));
+
+        assertThatIllegalArgumentException().isThrownBy(builder::build)
+            .withMessage("default_transaction_isolation option must name a transaction isolation level but was 'snapshot'");
+    }
+
+    private static Client mockClient(Flux<BackendMessage> responses) {
+
+        Client client = mock(Client.class);
+        doReturn(Flux.just(AuthenticationOk.INSTANCE), responses).when(client).exchange(any());
+        doReturn(responses).when(client).exchange(any(), any());
+        doReturn(TEST).when(client).getByteBufAllocator();
+        doReturn(true).when(client).isConnected();
+        doReturn(Mono.empty()).when(client).close();
+
+        return client;
+    }
+
+    private static PostgresqlConnectionConfiguration loadBalancedConfiguration(@Nullable Duration attemptDelay) {
+
+        PostgresqlConnectionConfiguration.Builder builder = PostgresqlConnectionConfiguration.builder()
+            .host("host-a")
+            .username("test-username")
+            .password("test-password")
+            .autodetectExtensions(false)
+            .loadBalanceHosts(true);
+
+        if (attemptDelay != null) {
+            builder.loadBalanceAttemptDelay(attemptDelay);
+        }
+
+        return builder.build();
+    }
+
     private ConnectionFunction testClientFactory(Client client, PostgresqlConnectionConfiguration configuration) {
         return new SingleHostConnectionFunction((endpoint, settings) -> Mono.just(client), configuration);
     }
 
+    static final class TestLoadBalancerConnectionStrategy extends UniformLoadBalancerConnectionStrategy {
+
+        private final boolean morePreferredNode;
+
+        TestLoadBalancerConnectionStrategy(PostgresqlConnectionConfiguration configuration, boolean morePreferredNode) {
+            super(configuration, 300);
+            this.morePreferredNode = morePreferredNode;
+        }
+
+        @Override
+        public Mono<Boolean> refresh(PostgresqlConnection controlConnection) {
+            return Mono.just(true);
+        }
+
+        @Override
+        public boolean hasMorePreferredNode(String chosenHost) {
+            return this.morePreferredNode;
+        }
+
+    }
+
 }
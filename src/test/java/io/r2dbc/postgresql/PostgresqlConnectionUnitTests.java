@@ -558,6 +558,113 @@ final class PostgresqlConnectionUnitTests {
             .verifyComplete();
     }
 
+    @Test
+    void beginTransactionDeferred() {
+        PostgresqlConnection connection = createDeferringConnection(NO_OP);
+
+        connection.beginTransaction(PostgresTransactionDefinition.from(IsolationLevel.SERIALIZABLE))
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        assertThat(connection.isAutoCommit()).isFalse();
+        assertThat(connection.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.SERIALIZABLE);
+        assertThat(connection.getResources().getDeferredCommands().drain().getCommands()).containsExactly("BEGIN ISOLATION LEVEL SERIALIZABLE");
+    }
+
+    @Test
+    void commitTransactionDiscardsDeferredCommands() {
+        PostgresqlConnection connection = createDeferringConnection(NO_OP);
+
+        connection.beginTransaction(PostgresTransactionDefinition.from(IsolationLevel.SERIALIZABLE))
+            .then(connection.setStatementTimeout(Duration.ofSeconds(2)))
+            .then(connection.commitTransaction())
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        assertThat(connection.isAutoCommit()).isTrue();
+        assertThat(connection.getTransactionIsolationLevel()).isEqualTo(READ_COMMITTED);
+        assertThat(connection.getResources().getDeferredCommands().isEmpty()).isTrue();
+    }
+
+    @Test
+    void commitTransactionSendsDeferredCommands() {
+        Client client = TestClient.builder()
+            .transactionStatus(OPEN)
+            .expectRequest(new Query("SET STATEMENT_TIMEOUT = 2000; COMMIT"))
+            .thenRespond(new CommandComplete("SET", null, null), new CommandComplete("COMMIT", null, null))
+            .build();
+
+        PostgresqlConnection connection = createDeferringConnection(client);
+
+        connection.setStatementTimeout(Duration.ofSeconds(2))
+            .then(connection.commitTransaction())
+            .as(StepVerifier::create)
+            .verifyComplete();
+    }
+
+    @Test
+    void createSavepointSendsDeferredCommands() {
+        Client client = TestClient.builder()
+            .expectRequest(new Query("BEGIN; SET STATEMENT_TIMEOUT = 2000; SAVEPOINT s1"))
+            .thenRespond(new CommandComplete("BEGIN", null, null), new CommandComplete("SET", null, null), new CommandComplete("SAVEPOINT", null, null))
+            .build();
+
+        PostgresqlConnection connection = createDeferringConnection(client);
+
+        connection.beginTransaction()
+            .then(connection.setStatementTimeout(Duration.ofSeconds(2)))
+            .then(connection.createSavepoint("s1"))
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        assertThat(connection.getResources().getDeferredCommands().isEmpty()).isTrue();
+    }
+
+    @Test
+    void createSavepointDeferredCommandErrorResponse() {
+        Client client = TestClient.builder()
+            .expectRequest(new Query("BEGIN; SET LOCK_TIMEOUT = 4000; SAVEPOINT s1"))
+            .thenRespond(new CommandComplete("BEGIN", null, null), new ErrorResponse(Collections.emptyList()))
+            .build();
+
+        PostgresqlConnection connection = createDeferringConnection(client);
+
+        connection.beginTransaction()
+            .then(connection.setLockWaitTimeout(Duration.ofSeconds(4)))
+            .then(connection.createSavepoint("s1"))
+            .as(StepVerifier::create)
+            .verifyErrorSatisfies(e -> assertThat(e).isInstanceOf(R2dbcNonTransientResourceException.class)
+                .extracting(it -> ((R2dbcNonTransientResourceException) it).getSql()).isEqualTo("SET LOCK_TIMEOUT = 4000"));
+    }
+
+    @Test
+    void rollbackTransactionDiscardsDeferredCommands() {
+        PostgresqlConnection connection = createDeferringConnection(NO_OP);
+
+        connection.beginTransaction(PostgresTransactionDefinition.from(IsolationLevel.SERIALIZABLE))
+            .then(connection.setStatementTimeout(Duration.ofSeconds(2)))
+            .then(connection.rollbackTransaction())
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        assertThat(connection.isAutoCommit()).isTrue();
+        assertThat(connection.getTransactionIsolationLevel()).isEqualTo(READ_COMMITTED);
+        assertThat(connection.getResources().getDeferredCommands().isEmpty()).isTrue();
+    }
+
+    @Test
+    void setStatementTimeoutNotDeferredOutsideTransaction() {
+        Client client = TestClient.builder()
+            .transactionStatus(IDLE)
+            .expectRequest(new Query("SET STATEMENT_TIMEOUT = 2000")).thenRespond(new CommandComplete("SET", null, null))
+            .build();
+
+        createDeferringConnection(client)
+            .setStatementTimeout(Duration.ofSeconds(2))
+            .as(StepVerifier::create)
+            .verifyComplete();
+    }
+
     private PostgresqlConnection createConnection(Client client, MockCodecs codecs, StatementCache cache) {
         PostgresqlConnectionConfiguration configuration = PostgresqlConnectionConfiguration.builder()
             .host("127.0.0.1")
@@ -567,4 +674,14 @@ final class PostgresqlConnectionUnitTests {
         return new PostgresqlConnection(client, codecs, () -> "", cache, IsolationLevel.READ_COMMITTED, configuration);
     }
 
+    private PostgresqlConnection createDeferringConnection(Client client) {
+        PostgresqlConnectionConfiguration configuration = PostgresqlConnectionConfiguration.builder()
+            .host("127.0.0.1")
+            .username("admin")
+            .password("password")
+            .deferTransactionStart(true)
+            .build();
+        return new PostgresqlConnection(client, MockCodecs.empty(), () -> "", this.statementCache, IsolationLevel.READ_COMMITTED, configuration);
+    }
+
 }
@@ -41,6 +41,7 @@ import reactor.test.publisher.TestPublisher;
 import static io.r2dbc.postgresql.message.backend.ReadyForQuery.TransactionStatus.IDLE;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * Unit tests for {@link PostgresqlCopyIn}.
@@ -79,6 +80,49 @@ final class PostgresqlCopyInUnitTests {
             .verify();
     }
 
+    @Test
+    void copyInSendsDeferredCommands() {
+        ByteBuf byteBuffer = byteBuf("a\n");
+        Client client = TestClient.builder()
+            .expectRequest(new Query("BEGIN; some-sql"), new CopyData(byteBuffer), CopyDone.INSTANCE)
+            .thenRespond(
+                new CommandComplete("BEGIN", null, null),
+                new CopyInResponse(emptySet(), Format.FORMAT_TEXT),
+                new CommandComplete("cmd", 1, 1L),
+                new ReadyForQuery(ReadyForQuery.TransactionStatus.TRANSACTION)
+            ).build();
+
+        ConnectionResources context = MockContext.builder().client(client).build();
+        context.getDeferredCommands().addBegin("BEGIN");
+
+        new PostgresqlCopyIn(context)
+            .copy("some-sql", Flux.just(Flux.just(byteBuffer)))
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        assertThat(context.getDeferredCommands().isEmpty()).isTrue();
+    }
+
+    @Test
+    void copyInDeferredCommandErrorResponse() {
+        ByteBuf byteBuffer = byteBuf("a\n");
+        Client client = TestClient.builder()
+            .expectRequest(new Query("BEGIN; SET LOCK_TIMEOUT = 4000; some-sql"))
+            .thenRespond(new CommandComplete("BEGIN", null, null), new ErrorResponse(emptyList()))
+            .build();
+
+        ConnectionResources context = MockContext.builder().client(client).build();
+        context.getDeferredCommands().addBegin("BEGIN");
+        context.getDeferredCommands().add("SET LOCK_TIMEOUT = 4000");
+
+        new PostgresqlCopyIn(context)
+            .copy("some-sql", Flux.just(Flux.just(byteBuffer)))
+            .as(StepVerifier::create)
+            .verifyErrorSatisfies(e -> assertThat(e).isInstanceOf(PostgresqlNonTransientResourceException.class)
+                .extracting(it -> ((PostgresqlNonTransientResourceException) it).getSql()).isEqualTo("SET LOCK_TIMEOUT = 4000"));
+    }
+
     @Test
     void copyInEmpty() {
         Client client = TestClient.builder()
@@ -18,17 +18,26 @@ package io.r2dbc.postgresql;
 
 import io.netty.buffer.ByteBuf;
 import io.r2dbc.postgresql.codec.MockCodecs;
+import io.r2dbc.postgresql.codec.PostgresqlObjectId;
+import io.r2dbc.postgresql.message.Format;
 import io.r2dbc.postgresql.message.backend.DataRow;
 import io.r2dbc.postgresql.message.backend.RowDescription;
 import io.r2dbc.postgresql.util.ReferenceCountedCleaner;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.BOOL;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT4;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT8;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT2;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT8;
 import static io.r2dbc.postgresql.message.Format.FORMAT_BINARY;
 import static io.r2dbc.postgresql.message.Format.FORMAT_TEXT;
 import static io.r2dbc.postgresql.util.TestByteBufAllocator.TEST;
@@ -36,6 +45,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -134,6 +144,21 @@ final class PostgresqlRowUnitTests {
         assertThat(new PostgresqlRow(MockContext.builder().codecs(codecs).build(), new PostgresqlRowMetadata(Collections.emptyList()), this.columns, this.data).get("test-name-2", Object.class)).isSameAs(value);
     }
 
+    @Test
+    void getQuotedName() {
+        Object value = new Object();
+
+        MockCodecs codecs = MockCodecs.builder()
+            .decoding(TEST.buffer(4).writeInt(300), 400, FORMAT_TEXT, Object.class, value)
+            .build();
+
+        PostgresqlRow row = new PostgresqlRow(MockContext.builder().codecs(codecs).build(), new PostgresqlRowMetadata(Collections.emptyList()), this.columns, this.data);
+
+        assertThat(row.get("TEST-NAME-2", Object.class)).isSameAs(value);
+        assertThat(row.get("\"test-name-2\"", Object.class)).isSameAs(value);
+        assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> row.get("\"TEST-NAME-2\"", Object.class));
+    }
+
     @Test
     void getNoIdentifier() {
         assertThatIllegalArgumentException().isThrownBy(() -> new PostgresqlRow(MockContext.empty(), new PostgresqlRowMetadata(Collections.emptyList()), this.columns, new ByteBuf[0]).get(null,
@@ -156,6 +181,104 @@ final class PostgresqlRowUnitTests {
         assertThat(new PostgresqlRow(MockContext.builder().codecs(codecs).build(), new PostgresqlRowMetadata(Collections.emptyList()), this.columns, this.data).get("test-name-3", Object.class)).isNull();
     }
 
+    @Test
+    void getPrimitivesBinary() {
+        List<RowDescription.Field> fields = Arrays.asList(
+            field("bool", BOOL, FORMAT_BINARY),
+            field("int2", INT2, FORMAT_BINARY),
+            field("int4", INT4, FORMAT_BINARY),
+            field("int8", INT8, FORMAT_BINARY),
+            field("float4", FLOAT4, FORMAT_BINARY),
+            field("float8", FLOAT8, FORMAT_BINARY)
+        );
+
+        ByteBuf[] data = new ByteBuf[]{TEST.buffer(1).writeBoolean(true), TEST.buffer(2).writeShort(42), TEST.buffer(4).writeInt(-100), TEST.buffer(8).writeLong(Long.MAX_VALUE),
+            TEST.buffer(4).writeFloat(1.5f), TEST.buffer(8).writeDouble(2.25d)};
+
+        PostgresqlRow row = new PostgresqlRow(MockContext.empty(), new PostgresqlRowMetadata(Collections.emptyList()), fields, data);
+
+        assertThat(row.getBoolean(0)).isTrue();
+        assertThat(row.getShort("int2")).isEqualTo((short) 42);
+        assertThat(row.getInt(2)).isEqualTo(-100);
+        assertThat(row.getLong("INT4")).isEqualTo(-100L);
+        assertThat(row.getLong(3)).isEqualTo(Long.MAX_VALUE);
+        assertThat(row.getFloat(4)).isEqualTo(1.5f);
+        assertThat(row.getDouble("float4")).isEqualTo(1.5d);
+        assertThat(row.getDouble(5)).isEqualTo(2.25d);
+        assertThat(row.getDouble(2)).isEqualTo(-100d);
+
+        // reading a column must not consume its value
+        assertThat(row.getInt(2)).isEqualTo(-100);
+
+        row.release();
+    }
+
+    @Test
+    void getPrimitivesText() {
+        List<RowDescription.Field> fields = Arrays.asList(
+            field("bool", BOOL, FORMAT_TEXT),
+            field("int2", INT2, FORMAT_TEXT),
+            field("int4", INT4, FORMAT_TEXT),
+            field("int8", INT8, FORMAT_TEXT),
+            field("float4", FLOAT4, FORMAT_TEXT),
+            field("float8", FLOAT8, FORMAT_TEXT)
+        );
+
+        ByteBuf[] data = new ByteBuf[]{ascii("f"), ascii("-42"), ascii("+100"), ascii("-9223372036854775808"), ascii("1.5"), ascii("NaN")};
+
+        PostgresqlRow row = new PostgresqlRow(MockContext.empty(), new PostgresqlRowMetadata(Collections.emptyList()), fields, data);
+
+        assertThat(row.getBoolean("bool")).isFalse();
+        assertThat(row.getShort(1)).isEqualTo((short) -42);
+        assertThat(row.getInt(2)).isEqualTo(100);
+        assertThat(row.getLong(3)).isEqualTo(Long.MIN_VALUE);
+        assertThat(row.getFloat(4)).isEqualTo(1.5f);
+        assertThat(row.getDouble(5)).isNaN();
+
+        row.release();
+    }
+
+    @Test
+    void getPrimitiveInvalidText() {
+        List<RowDescription.Field> fields = Collections.singletonList(field("int4", INT4, FORMAT_TEXT));
+
+        PostgresqlRow row = new PostgresqlRow(MockContext.empty(), new PostgresqlRowMetadata(Collections.emptyList()), fields, new ByteBuf[]{ascii("12a")});
+
+        assertThatExceptionOfType(NumberFormatException.class).isThrownBy(() -> row.getInt(0));
+
+        row.release();
+    }
+
+    @Test
+    void getPrimitiveFallsBackToCodecs() {
+        MockCodecs codecs = MockCodecs.builder()
+            .decoding(TEST.buffer(4).writeInt(300), 400, FORMAT_TEXT, Long.class, 42L)
+            .build();
+
+        PostgresqlRow row = new PostgresqlRow(MockContext.builder().codecs(codecs).build(), new PostgresqlRowMetadata(Collections.emptyList()), this.columns, this.data);
+
+        assertThat(row.getLong("test-name-2")).isEqualTo(42L);
+    }
+
+    @Test
+    void getPrimitiveNull() {
+        PostgresqlRow row = new PostgresqlRow(MockContext.empty(), new PostgresqlRowMetadata(Collections.emptyList()), this.columns, this.data);
+
+        assertThat(row.isNull(1)).isFalse();
+        assertThat(row.isNull("test-name-3")).isTrue();
+        assertThatNullPointerException().isThrownBy(() -> row.getInt("test-name-3"))
+            .withMessage("Value of column 'test-name-3' is NULL");
+    }
+
+    @Test
+    void getPrimitiveAfterRelease() {
+        PostgresqlRow row = new PostgresqlRow(MockContext.empty(), new PostgresqlRowMetadata(Collections.emptyList()), this.columns, new ByteBuf[0]);
+        row.release();
+
+        assertThatIllegalStateException().isThrownBy(() -> row.getLong(0))
+            .withMessage("Value cannot be retrieved after row has been released");
+    }
+
     @Test
     void toRow() {
         Object value = new Object();
@@ -183,4 +306,14 @@ final class PostgresqlRowUnitTests {
             .withMessage("rowDescription must not be null");
     }
 
+    private static RowDescription.Field field(String name, PostgresqlObjectId type, Format format) {
+        return new RowDescription.Field((short) 0, type.getObjectId(), 0, (short) 0, format, name, 0);
+    }
+
+    private static ByteBuf ascii(String value) {
+        ByteBuf buffer = TEST.buffer();
+        buffer.writeCharSequence(value, StandardCharsets.US_ASCII);
+        return buffer;
+    }
+
 }
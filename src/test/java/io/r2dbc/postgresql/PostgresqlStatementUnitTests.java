@@ -16,28 +16,40 @@
 
 package io.r2dbc.postgresql;
 
+import io.netty.buffer.ByteBuf;
 import io.r2dbc.postgresql.api.PostgresqlResult;
 import io.r2dbc.postgresql.client.*;
+import io.r2dbc.postgresql.codec.DefaultCodecs;
 import io.r2dbc.postgresql.codec.MockCodecs;
 import io.r2dbc.postgresql.message.backend.*;
 import io.r2dbc.postgresql.message.frontend.*;
+import io.r2dbc.postgresql.util.ByteBufUtils;
 import io.r2dbc.spi.R2dbcNonTransientResourceException;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static io.r2dbc.postgresql.client.EncodedParameter.NULL_VALUE;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT8;
 import static io.r2dbc.postgresql.message.Format.FORMAT_BINARY;
+import static io.r2dbc.postgresql.message.Format.FORMAT_TEXT;
 import static io.r2dbc.postgresql.util.TestByteBufAllocator.TEST;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -168,6 +180,269 @@ final class PostgresqlStatementUnitTests {
             .verifyError(R2dbcNonTransientResourceException.class);
     }
 
+    @Test
+    void executeCachedStatementWithoutDescribe() {
+        Client client = TestClient.builder()
+            .expectRequest(
+                new CompositeFrontendMessage(new Bind("B_0", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(100)), Collections.emptyList(), "test-name"),
+                    new Execute("B_0", 0),
+                    new Close("B_0", ExecutionType.PORTAL),
+                    Sync.INSTANCE))
+            .thenRespond(BindComplete.INSTANCE, new DataRow(), new CommandComplete("SELECT", null, 1L), CloseComplete.INSTANCE, new ReadyForQuery(ReadyForQuery.TransactionStatus.IDLE))
+            .build();
+
+        MockCodecs codecs = MockCodecs.builder()
+            .encoding(100, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.just(TEST.buffer(4).writeInt(100))))
+            .build();
+
+        PortalNameSupplier portalNameSupplier = new LinkedList<>(Arrays.asList("B_0", "B_1"))::remove;
+        ConnectionResources context = MockContext.builder().client(client).codecs(codecs).portalNameSupplier(portalNameSupplier).build();
+
+        CachedRowDescription description = new CachedRowDescription(new RowDescription(Collections.emptyList()));
+
+        when(context.getStatementCache().getName(any(), any())).thenReturn("test-name");
+        when(context.getStatementCache().requiresPrepare(any(), any())).thenReturn(false);
+        when(context.getStatementCache().getDescription(any(), any())).thenReturn(description);
+
+        new PostgresqlStatement(context, "test-query-$1")
+            .bind("$1", 100)
+            .execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> rowMetadata))
+            .as(StepVerifier::create)
+            .expectNext(description.getMetadata(codecs))
+            .verifyComplete();
+    }
+
+    @Test
+    void executeSendsDeferredCommands() {
+        Client client = TestClient.builder()
+            .expectRequest(
+                new CompositeFrontendMessage(new Parse("", new int[0], "BEGIN"),
+                    new Bind("", Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), ""),
+                    new Execute("", 0),
+                    new Bind("B_0", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(100)), Collections.emptyList(), "test-name"),
+                    new Execute("B_0", 0),
+                    new Close("B_0", ExecutionType.PORTAL),
+                    Sync.INSTANCE))
+            .thenRespond(ParseComplete.INSTANCE, BindComplete.INSTANCE, new CommandComplete("BEGIN", null, null), BindComplete.INSTANCE, new CommandComplete("UPDATE", null, 1L),
+                CloseComplete.INSTANCE, new ReadyForQuery(ReadyForQuery.TransactionStatus.TRANSACTION))
+            .build();
+
+        MockCodecs codecs = MockCodecs.builder()
+            .encoding(100, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.just(TEST.buffer(4).writeInt(100))))
+            .build();
+
+        PortalNameSupplier portalNameSupplier = new LinkedList<>(Arrays.asList("B_0", "B_1"))::remove;
+        ConnectionResources context = MockContext.builder().client(client).codecs(codecs).portalNameSupplier(portalNameSupplier).build();
+        context.getDeferredCommands().addBegin("BEGIN");
+
+        when(context.getStatementCache().getName(any(), any())).thenReturn("test-name");
+        when(context.getStatementCache().requiresPrepare(any(), any())).thenReturn(false);
+        when(context.getStatementCache().getDescription(any(), any())).thenReturn(NoData.INSTANCE);
+
+        new PostgresqlStatement(context, "test-query-$1")
+            .bind("$1", 100)
+            .execute()
+            .flatMap(PostgresqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyComplete();
+
+        assertThat(context.getDeferredCommands().isEmpty()).isTrue();
+    }
+
+    @Test
+    void executeReportsDeferredCommandError() {
+        Client client = TestClient.builder()
+            .expectRequest(
+                new CompositeFrontendMessage(new Parse("", new int[0], "BEGIN"),
+                    new Bind("", Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), ""),
+                    new Execute("", 0),
+                    new Parse("", new int[0], "SET STATEMENT_TIMEOUT = -1"),
+                    new Bind("", Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), ""),
+                    new Execute("", 0),
+                    new Bind("B_0", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(100)), Collections.emptyList(), "test-name"),
+                    new Execute("B_0", 0),
+                    new Close("B_0", ExecutionType.PORTAL),
+                    Sync.INSTANCE))
+            .thenRespond(ParseComplete.INSTANCE, BindComplete.INSTANCE, new CommandComplete("BEGIN", null, null), ParseComplete.INSTANCE, BindComplete.INSTANCE,
+                new ErrorResponse(Collections.emptyList()), new ReadyForQuery(ReadyForQuery.TransactionStatus.ERROR))
+            .build();
+
+        MockCodecs codecs = MockCodecs.builder()
+            .encoding(100, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.just(TEST.buffer(4).writeInt(100))))
+            .build();
+
+        PortalNameSupplier portalNameSupplier = new LinkedList<>(Arrays.asList("B_0", "B_1"))::remove;
+        ConnectionResources context = MockContext.builder().client(client).codecs(codecs).portalNameSupplier(portalNameSupplier).build();
+        context.getDeferredCommands().addBegin("BEGIN");
+        context.getDeferredCommands().add("SET STATEMENT_TIMEOUT = -1");
+
+        when(context.getStatementCache().getName(any(), any())).thenReturn("test-name");
+        when(context.getStatementCache().requiresPrepare(any(), any())).thenReturn(false);
+        when(context.getStatementCache().getDescription(any(), any())).thenReturn(NoData.INSTANCE);
+
+        new PostgresqlStatement(context, "test-query-$1")
+            .bind("$1", 100)
+            .execute()
+            .flatMap(PostgresqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .verifyErrorSatisfies(e -> assertThat(e).isInstanceOf(R2dbcNonTransientResourceException.class)
+                .extracting(it -> ((R2dbcNonTransientResourceException) it).getSql()).isEqualTo("SET STATEMENT_TIMEOUT = -1"));
+    }
+
+    @Test
+    void executeSimpleQuerySendsDeferredCommands() {
+        Client client = TestClient.builder()
+            .expectRequest(new Query("BEGIN; SET LOCK_TIMEOUT = 4000; test-query"))
+            .thenRespond(new CommandComplete("BEGIN", null, null), new ErrorResponse(Collections.emptyList()), new ReadyForQuery(ReadyForQuery.TransactionStatus.ERROR))
+            .build();
+
+        ConnectionResources context = MockContext.builder().client(client).build();
+        context.getDeferredCommands().addBegin("BEGIN");
+        context.getDeferredCommands().add("SET LOCK_TIMEOUT = 4000");
+
+        new PostgresqlStatement(context, "test-query")
+            .execute()
+            .flatMap(PostgresqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .verifyErrorSatisfies(e -> assertThat(e).isInstanceOf(R2dbcNonTransientResourceException.class)
+                .extracting(it -> ((R2dbcNonTransientResourceException) it).getSql()).isEqualTo("SET LOCK_TIMEOUT = 4000"));
+
+        assertThat(context.getDeferredCommands().isEmpty()).isTrue();
+    }
+
+    @Test
+    void executeNegotiatesResultFormats() {
+        RowDescription rowDescription = new RowDescription(Collections.singletonList(new RowDescription.Field((short) 1, INT8.getObjectId(), -1, (short) 8, FORMAT_TEXT, "id", 0)));
+
+        Client client = TestClient.builder()
+            .expectRequest(
+                new CompositeFrontendMessage(new Bind("B_0", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(100)), Collections.emptyList(), "test-name"),
+                    new Describe("B_0", ExecutionType.PORTAL),
+                    new Execute("B_0", 0),
+                    new Close("B_0", ExecutionType.PORTAL),
+                    Sync.INSTANCE))
+            .thenRespond(BindComplete.INSTANCE, rowDescription, new CommandComplete("SELECT", null, 0L), CloseComplete.INSTANCE, new ReadyForQuery(ReadyForQuery.TransactionStatus.IDLE))
+            .build();
+
+        MockCodecs codecs = MockCodecs.builder()
+            .encoding(100, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.just(TEST.buffer(4).writeInt(100))))
+            .preferredType(INT8.getObjectId(), FORMAT_BINARY, Long.class)
+            .decoding(null, INT8.getObjectId(), FORMAT_BINARY, String.class, null)
+            .build();
+
+        PortalNameSupplier portalNameSupplier = new LinkedList<>(Arrays.asList("B_0", "B_1"))::remove;
+        ConnectionResources context = MockContext.builder().client(client).codecs(codecs).portalNameSupplier(portalNameSupplier).adaptiveResultFormats(true).build();
+
+        when(context.getStatementCache().getName(any(), any())).thenReturn("test-name");
+        when(context.getStatementCache().requiresPrepare(any(), any())).thenReturn(false);
+
+        new PostgresqlStatement(context, "test-query-$1")
+            .bind("$1", 100)
+            .execute()
+            .flatMap(PostgresqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(0L)
+            .verifyComplete();
+
+        ArgumentCaptor<BackendMessage> description = ArgumentCaptor.forClass(BackendMessage.class);
+        verify(context.getStatementCache()).putDescription(any(), any(), description.capture());
+
+        assertThat(description.getValue()).isInstanceOf(CachedRowDescription.class);
+        assertThat(((CachedRowDescription) description.getValue()).getResultFormats()).containsExactly(FORMAT_BINARY);
+    }
+
+    @Test
+    void executeCachedStatementWithNegotiatedResultFormats() {
+        RowDescription rowDescription = new RowDescription(Collections.singletonList(new RowDescription.Field((short) 1, INT8.getObjectId(), -1, (short) 8, FORMAT_TEXT, "id", 0)));
+
+        Client client = TestClient.builder()
+            .expectRequest(
+                new CompositeFrontendMessage(new Bind("B_0", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(100)),
+                    Collections.singletonList(FORMAT_BINARY), "test-name"),
+                    new Execute("B_0", 0),
+                    new Close("B_0", ExecutionType.PORTAL),
+                    Sync.INSTANCE))
+            .thenRespond(BindComplete.INSTANCE, new CommandComplete("SELECT", null, 0L), CloseComplete.INSTANCE, new ReadyForQuery(ReadyForQuery.TransactionStatus.IDLE))
+            .build();
+
+        MockCodecs codecs = MockCodecs.builder()
+            .encoding(100, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.just(TEST.buffer(4).writeInt(100))))
+            .preferredType(INT8.getObjectId(), FORMAT_BINARY, Long.class)
+            .decoding(null, INT8.getObjectId(), FORMAT_BINARY, String.class, null)
+            .build();
+
+        PortalNameSupplier portalNameSupplier = new LinkedList<>(Arrays.asList("B_0", "B_1"))::remove;
+        ConnectionResources context = MockContext.builder().client(client).codecs(codecs).portalNameSupplier(portalNameSupplier).adaptiveResultFormats(true).build();
+
+        when(context.getStatementCache().getName(any(), any())).thenReturn("test-name");
+        when(context.getStatementCache().requiresPrepare(any(), any())).thenReturn(false);
+        when(context.getStatementCache().getDescription(any(), any())).thenReturn(CachedRowDescription.negotiateResultFormats(rowDescription, codecs));
+
+        new PostgresqlStatement(context, "test-query-$1")
+            .bind("$1", 100)
+            .execute()
+            .flatMap(PostgresqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(0L)
+            .verifyComplete();
+    }
+
+    @Test
+    void executeCachedStatementReadsBinaryColumnsAsString() {
+        RowDescription rowDescription = new RowDescription(Collections.singletonList(new RowDescription.Field((short) 1, INT8.getObjectId(), -1, (short) 8, FORMAT_TEXT, "id", 0)));
+
+        Client describingClient = TestClient.builder()
+            .expectRequest(
+                new CompositeFrontendMessage(new Bind("B_0", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(100)), Collections.emptyList(), "test-name"),
+                    new Describe("B_0", ExecutionType.PORTAL),
+                    new Execute("B_0", 0),
+                    new Close("B_0", ExecutionType.PORTAL),
+                    Sync.INSTANCE))
+            .thenRespond(BindComplete.INSTANCE, rowDescription, new DataRow(ByteBufUtils.encode(TEST, "42")), new CommandComplete("SELECT", null, 1L), CloseComplete.INSTANCE,
+                new ReadyForQuery(ReadyForQuery.TransactionStatus.IDLE))
+            .build();
+
+        Client cachedClient = TestClient.builder()
+            .expectRequest(
+                new CompositeFrontendMessage(new Bind("B_0", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(100)),
+                    Collections.singletonList(FORMAT_BINARY), "test-name"),
+                    new Execute("B_0", 0),
+                    new Close("B_0", ExecutionType.PORTAL),
+                    Sync.INSTANCE))
+            .thenRespond(BindComplete.INSTANCE, new DataRow(TEST.buffer(8).writeLong(42)), new CommandComplete("SELECT", null, 1L), CloseComplete.INSTANCE,
+                new ReadyForQuery(ReadyForQuery.TransactionStatus.IDLE))
+            .build();
+
+        AtomicReference<BackendMessage> cachedDescription = new AtomicReference<>();
+        StatementCache statementCache = mock(StatementCache.class);
+        when(statementCache.getName(any(), any())).thenReturn("test-name");
+        when(statementCache.requiresPrepare(any(), any())).thenReturn(false);
+        when(statementCache.getDescription(any(), any())).thenAnswer(invocation -> cachedDescription.get());
+        doAnswer(invocation -> {
+            cachedDescription.set(invocation.getArgument(2));
+            return null;
+        }).when(statementCache).putDescription(any(), any(), any());
+
+        DefaultCodecs codecs = new DefaultCodecs(TEST);
+
+        for (Client client : Arrays.asList(describingClient, cachedClient)) {
+
+            ConnectionResources context = MockContext.builder().client(client).codecs(codecs).statementCache(statementCache).portalNameSupplier(() -> "B_0").adaptiveResultFormats(true).build();
+
+            new PostgresqlStatement(context, "test-query-$1")
+                .bind("$1", 100)
+                .execute()
+                .flatMap(result -> result.map((row, metadata) -> row.get("id", String.class)))
+                .as(StepVerifier::create)
+                .expectNext("42")
+                .verifyComplete();
+        }
+
+        assertThat(((CachedRowDescription) cachedDescription.get()).getResultFormats()).containsExactly(FORMAT_BINARY);
+    }
+
     @Test
     void executeErrorResponseRows() {
         Client client = TestClient.builder()
@@ -254,6 +529,148 @@ final class PostgresqlStatementUnitTests {
             .verifyError(R2dbcNonTransientResourceException.class);
     }
 
+    @Test
+    void executePipelinedBindings() {
+        Client client = TestClient.builder()
+            .expectRequest(
+                new CompositeFrontendMessage(new Parse("test-name", new int[]{INT4.getObjectId()}, "test-query-$1"),
+                    new Bind("", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(100)), Collections.emptyList(), "test-name"),
+                    new Describe("", ExecutionType.PORTAL),
+                    new Execute("", 0),
+                    new Bind("", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(200)), Collections.emptyList(), "test-name"),
+                    new Execute("", 0),
+                    Sync.INSTANCE))
+            .thenRespond(ParseComplete.INSTANCE, BindComplete.INSTANCE, NoData.INSTANCE, new CommandComplete("INSERT", 0, 1L), BindComplete.INSTANCE, new CommandComplete("INSERT", 0, 1L),
+                new ReadyForQuery(ReadyForQuery.TransactionStatus.IDLE))
+            .build();
+
+        MockCodecs codecs = MockCodecs.builder()
+            .encoding(100, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.just(TEST.buffer(4).writeInt(100))))
+            .encoding(200, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.just(TEST.buffer(4).writeInt(200))))
+            .build();
+
+        ConnectionResources context = MockContext.builder().client(client).codecs(codecs).pipelineBindings(true).build();
+
+        when(context.getStatementCache().getName(any(), any())).thenReturn("test-name");
+        when(context.getStatementCache().requiresPrepare(any(), any())).thenReturn(true);
+
+        new PostgresqlStatement(context, "test-query-$1")
+            .bind("$1", 100).add()
+            .bind("$1", 200)
+            .execute()
+            .concatMap(PostgresqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L, 1L)
+            .verifyComplete();
+    }
+
+    @Test
+    void executePipelinedBindingsAttributesError() {
+        Client client = TestClient.builder()
+            .expectRequest(
+                new CompositeFrontendMessage(new Bind("", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(100)), Collections.emptyList(), "test-name"),
+                    new Execute("", 0),
+                    new Bind("", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(200)), Collections.emptyList(), "test-name"),
+                    new Execute("", 0),
+                    Sync.INSTANCE))
+            .thenRespond(BindComplete.INSTANCE, new CommandComplete("INSERT", 0, 1L), BindComplete.INSTANCE, new ErrorResponse(Collections.emptyList()),
+                new ReadyForQuery(ReadyForQuery.TransactionStatus.IDLE))
+            .build();
+
+        MockCodecs codecs = MockCodecs.builder()
+            .encoding(100, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.just(TEST.buffer(4).writeInt(100))))
+            .encoding(200, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.just(TEST.buffer(4).writeInt(200))))
+            .build();
+
+        ConnectionResources context = MockContext.builder().client(client).codecs(codecs).pipelineBindings(true).build();
+
+        when(context.getStatementCache().getName(any(), any())).thenReturn("test-name");
+        when(context.getStatementCache().requiresPrepare(any(), any())).thenReturn(false);
+        when(context.getStatementCache().getDescription(any(), any())).thenReturn(NoData.INSTANCE);
+
+        new PostgresqlStatement(context, "test-query-$1")
+            .bind("$1", 100).add()
+            .bind("$1", 200)
+            .execute()
+            .concatMap(PostgresqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1L)
+            .verifyError(R2dbcNonTransientResourceException.class);
+    }
+
+    @Test
+    void executePipelinedBindingsSendsDeferredCommands() {
+        Client client = TestClient.builder()
+            .expectRequest(
+                new CompositeFrontendMessage(new Parse("", new int[0], "BEGIN"),
+                    new Bind("", Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), ""),
+                    new Execute("", 0),
+                    new Parse("", new int[0], "SET STATEMENT_TIMEOUT = -1"),
+                    new Bind("", Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), ""),
+                    new Execute("", 0),
+                    new Bind("", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(100)), Collections.emptyList(), "test-name"),
+                    new Execute("", 0),
+                    new Bind("", Collections.singletonList(FORMAT_BINARY), Collections.singletonList(TEST.buffer(4).writeInt(200)), Collections.emptyList(), "test-name"),
+                    new Execute("", 0),
+                    Sync.INSTANCE))
+            .thenRespond(ParseComplete.INSTANCE, BindComplete.INSTANCE, new CommandComplete("BEGIN", null, null), ParseComplete.INSTANCE, BindComplete.INSTANCE,
+                new ErrorResponse(Collections.emptyList()), new ReadyForQuery(ReadyForQuery.TransactionStatus.ERROR))
+            .build();
+
+        MockCodecs codecs = MockCodecs.builder()
+            .encoding(100, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.just(TEST.buffer(4).writeInt(100))))
+            .encoding(200, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.just(TEST.buffer(4).writeInt(200))))
+            .build();
+
+        ConnectionResources context = MockContext.builder().client(client).codecs(codecs).pipelineBindings(true).build();
+        context.getDeferredCommands().addBegin("BEGIN");
+        context.getDeferredCommands().add("SET STATEMENT_TIMEOUT = -1");
+
+        when(context.getStatementCache().getName(any(), any())).thenReturn("test-name");
+        when(context.getStatementCache().requiresPrepare(any(), any())).thenReturn(false);
+        when(context.getStatementCache().getDescription(any(), any())).thenReturn(NoData.INSTANCE);
+
+        new PostgresqlStatement(context, "test-query-$1")
+            .bind("$1", 100).add()
+            .bind("$1", 200)
+            .execute()
+            .concatMap(PostgresqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .verifyErrorSatisfies(e -> assertThat(e).isInstanceOf(R2dbcNonTransientResourceException.class)
+                .extracting(it -> ((R2dbcNonTransientResourceException) it).getSql()).isEqualTo("SET STATEMENT_TIMEOUT = -1"));
+
+        assertThat(context.getDeferredCommands().isEmpty()).isTrue();
+    }
+
+    @Test
+    void executePipelinedBindingsReleasesValuesOnError() {
+        List<ByteBuf> buffers = new ArrayList<>();
+
+        MockCodecs codecs = MockCodecs.builder()
+            .encoding(100, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.defer(() -> {
+
+                ByteBuf buffer = TEST.buffer(4).writeInt(100);
+                buffers.add(buffer);
+                return Flux.just(buffer);
+            })))
+            .encoding(200, new EncodedParameter(FORMAT_BINARY, INT4.getObjectId(), Flux.error(new IllegalStateException("Cannot encode"))))
+            .build();
+
+        ConnectionResources context = MockContext.builder().client(TestClient.NO_OP).codecs(codecs).pipelineBindings(true).build();
+        context.getDeferredCommands().addBegin("BEGIN");
+
+        new PostgresqlStatement(context, "test-query-$1")
+            .bind("$1", 100).add()
+            .bind("$1", 200)
+            .execute()
+            .concatMap(PostgresqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .verifyError(IllegalStateException.class);
+
+        assertThat(buffers).isNotEmpty().allSatisfy(buffer -> assertThat(buffer.refCnt()).isZero());
+        assertThat(context.getDeferredCommands().hasPendingBegin()).isTrue();
+    }
+
     @Test
     void executeWithoutAdd() {
         Client client = TestClient.builder()
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link YBServersSnapshot}.
+ */
+final class YBServersSnapshotUnitTests {
+
+    YBServersSnapshot snapshot = new YBServersSnapshot(Arrays.asList(
+        new YBServersSnapshot.Server("10.0.0.1", 5433, "34.0.0.1", "aws", "us-west", "us-west-1a", 1),
+        new YBServersSnapshot.Server("10.0.0.2", 5433, "", "aws", "us-west", "us-west-1b", 2),
+        new YBServersSnapshot.Server("10.0.0.3", 5434, null, "aws", "us-east", "us-east-1a", 11)));
+
+    @Test
+    void shouldFilterPrivateHosts() {
+
+        assertThat(this.snapshot.getPrivateHosts(server -> true)).containsExactly("10.0.0.1", "10.0.0.2", "10.0.0.3");
+        assertThat(this.snapshot.getPrivateHosts(server -> server.getPriority() == 2)).containsExactly("10.0.0.2");
+        assertThat(this.snapshot.getPrivateHosts(server -> "us-east".equals(server.getRegion()))).containsExactly("10.0.0.3");
+    }
+
+    @Test
+    void shouldSkipAbsentPublicHosts() {
+
+        assertThat(this.snapshot.getPublicHosts(server -> true)).containsExactly("34.0.0.1");
+        assertThat(this.snapshot.getPublicHosts(server -> server.getPriority() > 1)).isEmpty();
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql.authentication;
+
+import com.ongres.scram.common.ScramFunctions;
+import com.ongres.scram.common.ScramMechanism;
+import com.ongres.scram.common.ScramMechanisms;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ongres.scram.common.stringprep.StringPreparations.NO_PREPARATION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link ScramKeyCache}.
+ */
+final class ScramKeyCacheUnitTests {
+
+    private static final ScramMechanism MECHANISM = ScramMechanisms.SCRAM_SHA_256;
+
+    private static final String SALT = Base64.getEncoder().encodeToString(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+    @Test
+    void constructorRejectsNonPositiveSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ScramKeyCache(0))
+            .withMessage("maximumSize must be greater than zero");
+    }
+
+    @Test
+    void shouldDeriveKeys() {
+
+        ScramKeyCache cache = new ScramKeyCache(4);
+        ScramKeyCache.Keys keys = cache.getKeys(MECHANISM, "test-username", "test-password", SALT, 4096);
+
+        byte[] salt = Base64.getDecoder().decode(SALT);
+        assertThat(keys.getClientKey()).isEqualTo(ScramFunctions.clientKey(MECHANISM, NO_PREPARATION, "test-password", salt, 4096));
+        assertThat(keys.getServerKey()).isEqualTo(ScramFunctions.serverKey(MECHANISM, NO_PREPARATION, "test-password", salt, 4096));
+    }
+
+    @Test
+    void shouldReturnCopiesOfCachedKeys() {
+
+        ScramKeyCache cache = new ScramKeyCache(4);
+        ScramKeyCache.Keys first = cache.getKeys(MECHANISM, "test-username", "test-password", SALT, 4096);
+        byte[] clientKey = first.getClientKey().clone();
+        first.clear();
+
+        ScramKeyCache.Keys second = cache.getKeys(MECHANISM, "test-username", "test-password", SALT, 4096);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(second.getClientKey()).isEqualTo(clientKey).isNotSameAs(first.getClientKey());
+    }
+
+    @Test
+    void shouldDistinguishCredentialsAndServerParameters() {
+
+        ScramKeyCache cache = new ScramKeyCache(8);
+        ScramKeyCache.Keys keys = cache.getKeys(MECHANISM, "test-username", "test-password", SALT, 4096);
+
+        assertThat(cache.getKeys(MECHANISM, "test-username", "other-password", SALT, 4096).getClientKey()).isNotEqualTo(keys.getClientKey());
+        assertThat(cache.getKeys(MECHANISM, "test-username", "test-password", SALT, 4097).getClientKey()).isNotEqualTo(keys.getClientKey());
+        assertThat(cache.getKeys(MECHANISM, "other-username", "test-password", SALT, 4096).getClientKey()).isEqualTo(keys.getClientKey());
+        assertThat(cache.size()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldShareConcurrentDerivations() throws Exception {
+
+        AtomicInteger derivations = new AtomicInteger();
+        CountDownLatch derivationStarted = new CountDownLatch(1);
+        CountDownLatch releaseDerivation = new CountDownLatch(1);
+        ScramKeyCache cache = new ScramKeyCache(4, (mechanism, password, salt, iterations) -> {
+            derivations.incrementAndGet();
+            derivationStarted.countDown();
+            try {
+                releaseDerivation.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ScramKeyCache.derive(mechanism, password, salt, iterations);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ScramKeyCache.Keys>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> cache.getKeys(MECHANISM, "test-username", "test-password", SALT, 4096)));
+            assertThat(derivationStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(() -> cache.getKeys(MECHANISM, "test-username", "test-password", SALT, 4096)));
+            }
+
+            releaseDerivation.countDown();
+
+            byte[] clientKey = futures.get(0).get(10, TimeUnit.SECONDS).getClientKey();
+            for (Future<ScramKeyCache.Keys> future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS).getClientKey()).isEqualTo(clientKey);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(derivations).hasValue(1);
+    }
+
+    @Test
+    void shouldPropagateDerivationFailures() {
+
+        ScramKeyCache cache = new ScramKeyCache(4, (mechanism, password, salt, iterations) -> {
+            throw new IllegalStateException("derivation failed");
+        });
+
+        assertThatIllegalStateException().isThrownBy(() -> cache.getKeys(MECHANISM, "test-username", "test-password", SALT, 4096)).withMessage("derivation failed");
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedKeys() {
+
+        ScramKeyCache cache = new ScramKeyCache(2);
+        cache.getKeys(MECHANISM, "user-1", "test-password", SALT, 4096);
+        cache.getKeys(MECHANISM, "user-2", "test-password", SALT, 4096);
+        cache.getKeys(MECHANISM, "user-3", "test-password", SALT, 4096);
+
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.clear();
+
+        assertThat(cache.size()).isZero();
+    }
+
+}
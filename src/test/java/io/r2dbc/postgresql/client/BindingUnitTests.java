@@ -17,6 +17,7 @@
 package io.r2dbc.postgresql.client;
 
 import io.netty.buffer.ByteBuf;
+import io.r2dbc.postgresql.message.frontend.Bind;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
@@ -107,6 +108,39 @@ final class BindingUnitTests {
             .verifyComplete();
     }
 
+    @Test
+    void encodeParameterValues() {
+        Binding binding = new Binding(2);
+        binding.add(0, EncodedParameter.fromSupplier(FORMAT_BINARY, 100, () -> TEST.buffer(4).writeInt(200)));
+        binding.add(1, new EncodedParameter(FORMAT_BINARY, 100, EncodedParameter.NULL_VALUE));
+
+        assertThat(binding.isSynchronous()).isTrue();
+        assertThat(binding.encodeParameterValues()).containsExactly(TEST.buffer(4).writeInt(200), Bind.NULL_VALUE);
+    }
+
+    @Test
+    void encodeParameterValuesReleasesOnFailure() {
+        ByteBuf value = TEST.buffer(4).writeInt(200);
+        Binding binding = new Binding(2);
+        binding.add(0, EncodedParameter.fromSupplier(FORMAT_BINARY, 100, () -> value));
+        binding.add(1, EncodedParameter.fromSupplier(FORMAT_BINARY, 100, () -> {
+            throw new IllegalArgumentException("failed");
+        }));
+
+        assertThatIllegalArgumentException().isThrownBy(binding::encodeParameterValues).withMessage("failed");
+        assertThat(value.refCnt()).isZero();
+    }
+
+    @Test
+    void isSynchronousWithPublisher() {
+        Binding binding = new Binding(2);
+        binding.add(0, EncodedParameter.fromSupplier(FORMAT_BINARY, 100, () -> TEST.buffer(4).writeInt(200)));
+        binding.add(1, new EncodedParameter(FORMAT_BINARY, 100, Flux.just(TEST.buffer(4).writeInt(300))));
+
+        assertThat(binding.isSynchronous()).isFalse();
+        assertThat(new Binding(1).isSynchronous()).isFalse();
+    }
+
     @Test
     void getParameterValuesUnbound() {
         Binding binding = new Binding(3);
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.r2dbc.postgresql.message.frontend.FrontendMessage;
+import io.r2dbc.postgresql.message.frontend.PasswordMessage;
+import io.r2dbc.postgresql.message.frontend.Query;
+import io.r2dbc.postgresql.message.frontend.Sync;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.r2dbc.postgresql.util.TestByteBufAllocator.TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link CoalescingMessageWriter}.
+ */
+final class CoalescingMessageWriterUnitTests {
+
+    private final EmbeddedChannel channel = new EmbeddedChannel();
+
+    @Test
+    void constructorInvalidLimits() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new CoalescingMessageWriter(this.channel, TEST, 0, 10, message -> {
+        })).withMessage("maxMessages must be greater than zero");
+        assertThatIllegalArgumentException().isThrownBy(() -> new CoalescingMessageWriter(this.channel, TEST, 10, 0, message -> {
+        })).withMessage("maxBytes must be greater than zero");
+    }
+
+    @Test
+    void shouldCoalesceReadyMessages() {
+        CoalescingMessageWriter writer = new CoalescingMessageWriter(this.channel, TEST, 128, 1024, message -> {
+        });
+
+        Flux.just(new Query("SELECT 1"), Sync.INSTANCE, Sync.INSTANCE).subscribe(writer);
+        this.channel.runPendingTasks();
+
+        List<ByteBuf> writes = readOutbound();
+
+        assertThat(writes).hasSize(1);
+        assertThat(writes.get(0)).isEqualTo(encode(new Query("SELECT 1"), Sync.INSTANCE, Sync.INSTANCE));
+        assertThat(writer.getFlushCount()).isEqualTo(1);
+        assertThat(writer.getMessageCount()).isEqualTo(3);
+
+        writer.then().as(StepVerifier::create).verifyComplete();
+    }
+
+    @Test
+    void shouldLimitMessagesPerWrite() {
+        CoalescingMessageWriter writer = new CoalescingMessageWriter(this.channel, TEST, 2, 1024, message -> {
+        });
+
+        Flux.just(Sync.INSTANCE, Sync.INSTANCE, Sync.INSTANCE).subscribe(writer);
+        this.channel.runPendingTasks();
+
+        List<ByteBuf> writes = readOutbound();
+
+        assertThat(writes).hasSize(2);
+        assertThat(writes.get(0)).isEqualTo(encode(Sync.INSTANCE, Sync.INSTANCE));
+        assertThat(writes.get(1)).isEqualTo(encode(Sync.INSTANCE));
+        assertThat(writer.getFlushCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLimitBytesPerWrite() {
+        CoalescingMessageWriter writer = new CoalescingMessageWriter(this.channel, TEST, 128, 1, message -> {
+        });
+
+        Flux.just(Sync.INSTANCE, Sync.INSTANCE).subscribe(writer);
+        this.channel.runPendingTasks();
+
+        assertThat(readOutbound()).hasSize(2);
+    }
+
+    @Test
+    void shouldWriteMessagesWithoutDirectEncodingInOrder() {
+        CoalescingMessageWriter writer = new CoalescingMessageWriter(this.channel, TEST, 128, 1024, message -> {
+        });
+
+        PasswordMessage password = new PasswordMessage("secret");
+        Flux.<FrontendMessage>just(Sync.INSTANCE, password, Sync.INSTANCE).subscribe(writer);
+        this.channel.runPendingTasks();
+
+        List<ByteBuf> writes = readOutbound();
+
+        assertThat(writes).hasSize(3);
+        assertThat(writes.get(0)).isEqualTo(encode(Sync.INSTANCE));
+        assertThat(writes.get(1)).isEqualTo(Flux.from(password.encode(TEST)).blockFirst());
+        assertThat(writes.get(2)).isEqualTo(encode(Sync.INSTANCE));
+        assertThat(writer.getMessageCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPropagateUpstreamError() {
+        CoalescingMessageWriter writer = new CoalescingMessageWriter(this.channel, TEST, 128, 1024, message -> {
+        });
+
+        Sinks.Many<FrontendMessage> messages = Sinks.many().unicast().onBackpressureBuffer();
+        messages.asFlux().subscribe(writer);
+        messages.tryEmitError(new IllegalStateException("failed"));
+        this.channel.runPendingTasks();
+
+        writer.then().as(StepVerifier::create).verifyError(IllegalStateException.class);
+    }
+
+    private List<ByteBuf> readOutbound() {
+
+        List<ByteBuf> writes = new ArrayList<>();
+        ByteBuf buffer;
+        while ((buffer = this.channel.readOutbound()) != null) {
+            writes.add(buffer);
+        }
+        return writes;
+    }
+
+    private static ByteBuf encode(FrontendMessage.DirectEncoder... messages) {
+
+        ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+        for (FrontendMessage.DirectEncoder message : messages) {
+            message.encode(buffer);
+        }
+        return buffer;
+    }
+
+}
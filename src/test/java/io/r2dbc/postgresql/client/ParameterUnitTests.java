@@ -16,6 +16,7 @@
 
 package io.r2dbc.postgresql.client;
 
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 
@@ -42,6 +43,24 @@ final class ParameterUnitTests {
             .withMessage("value must not be null");
     }
 
+    @Test
+    void fromSupplierNoSupplier() {
+        assertThatIllegalArgumentException().isThrownBy(() -> EncodedParameter.fromSupplier(FORMAT_TEXT, 100, null))
+            .withMessage("supplier must not be null");
+    }
+
+    @Test
+    void fromSupplier() {
+        EncodedParameter parameter = EncodedParameter.fromSupplier(FORMAT_TEXT, 100, () -> TEST.buffer(4).writeInt(200));
+
+        assertThat(parameter)
+            .hasFormat(FORMAT_TEXT)
+            .hasType(100)
+            .hasValue(TEST.buffer(4).writeInt(200));
+        Assertions.assertThat(parameter.isSynchronous()).isTrue();
+        Assertions.assertThat(parameter.encodeValue()).isEqualTo(TEST.buffer(4).writeInt(200));
+    }
+
     @Test
     void getters() {
         EncodedParameter parameter = new EncodedParameter(FORMAT_TEXT, 100, Flux.just(TEST.buffer(4).writeInt(200)));
@@ -23,10 +23,15 @@ import io.r2dbc.postgresql.message.backend.BackendKeyData;
 import io.r2dbc.postgresql.message.frontend.PasswordMessage;
 import io.r2dbc.postgresql.message.frontend.StartupMessage;
 import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import static io.r2dbc.postgresql.client.TestClient.NO_OP;
 import static io.r2dbc.postgresql.util.TestByteBufAllocator.TEST;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
@@ -58,6 +63,37 @@ final class StartupMessageFlowUnitTests {
             .verifyComplete();
     }
 
+    @Test
+    void exchangeAuthenticationMessageOnScheduler() {
+        // @formatter:off
+        Client client = TestClient.builder()
+            .window()
+                .expectRequest(new StartupMessage("test-database", "test-username", new TestStartupParameterProvider())).thenRespond(new AuthenticationMD5Password(TEST.buffer(4).writeInt(100)))
+                .expectRequest(new PasswordMessage("test-password")).thenRespond(AuthenticationOk.INSTANCE)
+                .done()
+            .build();
+        // @formatter:on
+
+        AtomicReference<String> thread = new AtomicReference<>();
+        Scheduler scheduler = Schedulers.newSingle("test-authentication");
+
+        when(this.authenticationHandler.handle(new AuthenticationMD5Password(TEST.buffer(4).writeInt(100)))).then(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return new PasswordMessage("test-password");
+        });
+
+        try {
+            StartupMessageFlow
+                .exchange(m -> this.authenticationHandler, client, "test-database", "test-username", new TestStartupParameterProvider(), scheduler)
+                .as(StepVerifier::create)
+                .verifyComplete();
+        } finally {
+            scheduler.dispose();
+        }
+
+        assertThat(thread.get()).startsWith("test-authentication");
+    }
+
     @Test
     void exchangeAuthenticationMessageFail() {
         Client client = TestClient.builder()
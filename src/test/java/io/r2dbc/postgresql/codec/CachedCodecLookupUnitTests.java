@@ -27,27 +27,34 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT2;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.UNKNOWN;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.VARCHAR;
+import static io.r2dbc.postgresql.message.Format.FORMAT_BINARY;
 import static io.r2dbc.postgresql.message.Format.FORMAT_TEXT;
 import static io.r2dbc.postgresql.util.TestByteBufAllocator.TEST;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.spy;
 
 /**
  * Unit tests for {@link CachedCodecLookup}.
  */
 @ExtendWith(MockitoExtension.class)
-class CachedCodecLookupUnitTest {
+class CachedCodecLookupUnitTests {
 
     private static final int SOME_OID = PostgresqlObjectId.OID_CACHE_SIZE * 2;
 
@@ -83,6 +90,8 @@ class CachedCodecLookupUnitTest {
         doReturn(Integer.class).when(this.integerCodec).type();
         doReturn(Collections.singleton((PostgresTypeIdentifier) INT4)).when(this.integerCodec).getDataTypes();
         doReturn(EnumSet.of(FORMAT_TEXT)).when(this.integerCodec).getFormats();
+        lenient().doReturn(true).when(this.stringCodec).canDecode(VARCHAR.getObjectId(), FORMAT_TEXT, String.class);
+        lenient().doReturn(true).when(this.integerCodec).canDecode(INT4.getObjectId(), FORMAT_TEXT, Integer.class);
         codecList.forEach(this.codecs::addFirst);
         this.codecFinder.afterCodecAdded();
 
@@ -103,6 +112,41 @@ class CachedCodecLookupUnitTest {
         assertThat(this.codecFinder.findDecodeCodec(INT2.getObjectId(), FORMAT_TEXT, DefaultCodecsUnitTests.class)).isNull();
     }
 
+    @Test
+    void findDecodeCodecDistinguishesTypes() {
+        assertThat(this.codecFinder.findDecodeCodec(INT4.getObjectId(), FORMAT_TEXT, Integer.class)).isInstanceOf(IntegerCodec.class);
+        assertThat(this.codecFinder.findDecodeCodec(INT4.getObjectId(), FORMAT_TEXT, Long.class)).isInstanceOf(LongCodec.class);
+        assertThat(this.codecFinder.findDecodeCodec(INT4.getObjectId(), FORMAT_BINARY, Short.class)).isInstanceOf(ShortCodec.class);
+    }
+
+    @Test
+    void findDecodeCodecConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Codec<?>>> stringCodecs = new ArrayList<>();
+            List<Future<Codec<?>>> shortCodecs = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                stringCodecs.add(executor.submit(() -> this.codecFinder.findDecodeCodec(VARCHAR.getObjectId(), FORMAT_TEXT, String.class)));
+                shortCodecs.add(executor.submit(() -> this.codecFinder.findDecodeCodec(INT2.getObjectId(), FORMAT_TEXT, Short.class)));
+            }
+
+            assertSameCodec(stringCodecs, StringCodec.class);
+            assertSameCodec(shortCodecs, ShortCodec.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertSameCodec(List<Future<Codec<?>>> futures, Class<?> codecType) throws Exception {
+
+        Codec<?> expected = futures.get(0).get(10, TimeUnit.SECONDS);
+        assertThat(expected).isInstanceOf(codecType);
+
+        for (Future<Codec<?>> future : futures) {
+            assertThat(future.get(10, TimeUnit.SECONDS)).isSameAs(expected);
+        }
+    }
+
     @Test
     void findEncodeCodecDouble() {
         CachedCodecLookup spyCodecs = spy(this.codecFinder);
@@ -139,8 +183,74 @@ class CachedCodecLookupUnitTest {
         assertThat(this.codecFinder.findEncodeNullCodec(Health.class)).isEqualTo(EnumCodec.INSTANCE);
     }
 
+    @Test
+    void cachedCodecsAreVerified() {
+
+        this.codecs.addFirst(DecliningCodec.INSTANCE);
+        this.codecFinder.afterCodecAdded();
+
+        assertThat(this.codecFinder.findCachedDecodeCodec(INT4.getObjectId(), FORMAT_TEXT, Integer.class)).isNull();
+        assertThat(this.codecFinder.findDecodeCodec(INT4.getObjectId(), FORMAT_TEXT, Integer.class)).isInstanceOf(IntegerCodec.class);
+        assertThat(this.codecFinder.findCachedEncodeCodec(1)).isNull();
+        assertThat(this.codecFinder.findEncodeCodec(1)).isInstanceOf(IntegerCodec.class);
+        assertThat(this.codecFinder.findCachedEncodeNullCodec(Integer.class)).isInstanceOf(IntegerCodec.class);
+    }
+
     enum Health {OK, NOT_SO_MUCH}
 
+    /**
+     * Codec whose metadata claims {@link Integer} support for {@code INT4} but declines all values.
+     */
+    enum DecliningCodec implements Codec<Integer>, CodecMetadata {
+        INSTANCE;
+
+        @Override
+        public boolean canDecode(int dataType, Format format, Class<?> type) {
+            return false;
+        }
+
+        @Override
+        public boolean canEncode(Object value) {
+            return false;
+        }
+
+        @Override
+        public boolean canEncodeNull(Class<?> type) {
+            return false;
+        }
+
+        @Override
+        public Integer decode(ByteBuf buffer, int dataType, Format format, Class<? extends Integer> type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public EncodedParameter encode(Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public EncodedParameter encode(Object value, int dataType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public EncodedParameter encodeNull() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Class<?> type() {
+            return Integer.class;
+        }
+
+        @Override
+        public Iterable<? extends PostgresTypeIdentifier> getDataTypes() {
+            return Collections.singleton(INT4);
+        }
+
+    }
+
     enum EnumCodec implements Codec<Health> {
         INSTANCE;
 
@@ -27,13 +27,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.EnumSet;
 
 import static io.r2dbc.postgresql.client.EncodedParameter.NULL_VALUE;
 import static io.r2dbc.postgresql.client.ParameterAssert.assertThat;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.BOOL;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.BOOL_ARRAY;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.BOX_ARRAY;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.CIRCLE_ARRAY;
@@ -44,6 +47,7 @@ import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT2;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT2_ARRAY;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT8;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT8_ARRAY;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.LINE_ARRAY;
 import static io.r2dbc.postgresql.codec.PostgresqlObjectId.POINT_ARRAY;
@@ -131,6 +135,60 @@ final class DefaultCodecsUnitTests {
             .isEqualTo("ENUM_VALUE");
     }
 
+    @Test
+    void decodeBinaryFallbackToVarcharCodecOnlyForTextTypes() {
+        assertThat(this.codecs.decode(ByteBufUtils.encode(TEST, "test"), TEXT.getObjectId(), FORMAT_BINARY, String.class)).isEqualTo("test");
+        assertThatIllegalArgumentException().isThrownBy(() -> this.codecs.decode(TEST.buffer(8).writeDouble(42), FLOAT8.getObjectId(), FORMAT_BINARY, String.class))
+            .withMessage("Cannot decode value of type java.lang.String with OID 701");
+        assertThatIllegalArgumentException().isThrownBy(() -> this.codecs.bind(FLOAT8.getObjectId(), FORMAT_BINARY, String.class).decode(TEST.buffer(8).writeDouble(42)))
+            .withMessage("Cannot decode value of type java.lang.String with OID 701");
+    }
+
+    @Test
+    void decodeBinaryValuesAsText() {
+        java.util.UUID uuid = java.util.UUID.randomUUID();
+
+        assertThat(this.codecs.decode(TEST.buffer(8).writeLong(42), INT8.getObjectId(), FORMAT_BINARY, String.class)).isEqualTo("42");
+        assertThat(this.codecs.decode(TEST.buffer(4).writeInt(-7), INT4.getObjectId(), FORMAT_BINARY, String.class)).isEqualTo("-7");
+        assertThat(this.codecs.decode(TEST.buffer(1).writeBoolean(true), BOOL.getObjectId(), FORMAT_BINARY, String.class)).isEqualTo("t");
+        assertThat(this.codecs.bind(PostgresqlObjectId.UUID.getObjectId(), FORMAT_BINARY, String.class)
+            .decode(TEST.buffer(16).writeLong(uuid.getMostSignificantBits()).writeLong(uuid.getLeastSignificantBits()))).isEqualTo(uuid.toString());
+    }
+
+    @Test
+    void canDecode() {
+        assertThat(this.codecs.canDecode(INT8.getObjectId(), FORMAT_BINARY, Long.class)).isTrue();
+        assertThat(this.codecs.canDecode(INT8.getObjectId(), FORMAT_BINARY, String.class)).isTrue();
+        assertThat(this.codecs.canDecode(TEXT.getObjectId(), FORMAT_BINARY, String.class)).isTrue();
+        assertThat(this.codecs.canDecode(FLOAT8.getObjectId(), FORMAT_TEXT, String.class)).isTrue();
+        assertThat(this.codecs.canDecode(FLOAT8.getObjectId(), FORMAT_BINARY, String.class)).isFalse();
+        assertThat(this.codecs.canDecode(TIMESTAMP.getObjectId(), FORMAT_BINARY, String.class)).isFalse();
+    }
+
+    @Test
+    void bind() {
+        BoundDecoder<Integer> decoder = this.codecs.bind(INT4.getObjectId(), FORMAT_BINARY, Integer.class);
+
+        assertThat(decoder.decode(TEST.buffer(4).writeInt(100))).isEqualTo(100);
+        assertThat(decoder.decode(TEST.buffer(4).writeInt(200))).isEqualTo(200);
+        assertThat(decoder.decode(null)).isNull();
+    }
+
+    @Test
+    void bindFallbackToVarcharCodec() {
+        assertThat(this.codecs.bind(TIMESTAMP.getObjectId(), FORMAT_TEXT, String.class).decode(ByteBufUtils.encode(TEST, "2018-11-04 15:35:00.847108")))
+            .isEqualTo("2018-11-04 15:35:00.847108");
+    }
+
+    @Test
+    void bindUnsupportedType() {
+        BoundDecoder<Void> decoder = this.codecs.bind(INT4.getObjectId(), FORMAT_BINARY, Void.class);
+
+        assertThat(decoder.decode(null)).isNull();
+        assertThatIllegalArgumentException().isThrownBy(() -> decoder.decode(TEST.buffer(4)))
+            .withMessage("Cannot decode value of type java.lang.Void with OID 23");
+    }
+
     @Test
     void delegatePriority() {
         assertThat(this.codecs.decode(TEST.buffer(2).writeShort((byte) 100), INT2.getObjectId(), FORMAT_BINARY, Object.class)).isInstanceOf(Short.class);
@@ -247,4 +305,64 @@ final class DefaultCodecsUnitTests {
             .verifyComplete();
     }
 
+    @Test
+    void templateSharesBuiltinCodecs() {
+        DefaultCodecs.Template template = DefaultCodecs.template(TEST, false);
+
+        DefaultCodecs first = template.createCodecs(() -> ZoneOffset.UTC);
+        DefaultCodecs second = template.createCodecs(() -> ZoneOffset.UTC);
+
+        Codec<?> firstStringCodec = new DefaultCodecLookup(first).findEncodeCodec("string");
+        Codec<?> secondStringCodec = new DefaultCodecLookup(second).findEncodeCodec("string");
+
+        assertThat(firstStringCodec).isNotNull().isSameAs(secondStringCodec);
+        assertThat(first).hasSameSizeAs(this.codecs);
+        assertThat(template.isCompatibleWith(TEST, false)).isTrue();
+        assertThat(template.isCompatibleWith(TEST, true)).isFalse();
+    }
+
+    @Test
+    void templateUsesConfigurationPerInstance() {
+        DefaultCodecs.Template template = DefaultCodecs.template(TEST, false);
+
+        DefaultCodecs utc = template.createCodecs(() -> ZoneOffset.UTC);
+        DefaultCodecs plusTwo = template.createCodecs(() -> ZoneOffset.ofHours(2));
+
+        Instant utcInstant = utc.decode(ByteBufUtils.encode(TEST, "2018-11-04 15:37:31"), TIMESTAMP.getObjectId(), FORMAT_TEXT, Instant.class);
+        Instant plusTwoInstant = plusTwo.decode(ByteBufUtils.encode(TEST, "2018-11-04 15:37:31"), TIMESTAMP.getObjectId(), FORMAT_TEXT, Instant.class);
+
+        assertThat(utcInstant).isEqualTo(Instant.parse("2018-11-04T15:37:31Z"));
+        assertThat(plusTwoInstant).isEqualTo(Instant.parse("2018-11-04T13:37:31Z"));
+    }
+
+    @Test
+    void templateIsolatesRegisteredCodecs() {
+        DefaultCodecs.Template template = DefaultCodecs.template(TEST, false);
+
+        DefaultCodecs first = template.createCodecs(() -> ZoneOffset.UTC);
+        DefaultCodecs second = template.createCodecs(() -> ZoneOffset.UTC);
+
+        lenient().when(this.dummyCodec.canDecode(TEXT.getObjectId(), FORMAT_TEXT, String.class)).thenReturn(true);
+        first.addFirst(this.dummyCodec);
+
+        assertThat(first).startsWith(this.dummyCodec);
+        assertThat(second).doesNotContain(this.dummyCodec);
+        assertThat(first.decode(ByteBufUtils.encode(TEST, "foo"), TEXT.getObjectId(), FORMAT_TEXT, String.class)).isNull();
+        assertThat(second.decode(ByteBufUtils.encode(TEST, "foo"), TEXT.getObjectId(), FORMAT_TEXT, String.class)).isEqualTo("foo");
+    }
+
+    @Test
+    void templateResolvesTrailingCodecs() {
+        DefaultCodecs codecs = DefaultCodecs.template(TEST, false).createCodecs(() -> ZoneOffset.UTC);
+
+        lenient().doReturn(Collections.singleton(PostgresqlObjectId.UNSPECIFIED)).when(this.dummyCodec).getDataTypes();
+        lenient().doReturn(Integer.class).when(this.dummyCodec).type();
+        lenient().when(this.dummyCodec.canDecode(PostgresqlObjectId.UNSPECIFIED.getObjectId(), FORMAT_TEXT, Integer.class)).thenReturn(true);
+        codecs.addLast(this.dummyCodec);
+
+        assertThat(codecs).endsWith(this.dummyCodec);
+        assertThat(codecs.decode(ByteBufUtils.encode(TEST, "1"), INT4.getObjectId(), FORMAT_TEXT, Integer.class)).isEqualTo(1);
+        assertThat(codecs.decode(ByteBufUtils.encode(TEST, "1"), PostgresqlObjectId.UNSPECIFIED.getObjectId(), FORMAT_TEXT, Integer.class)).isNull();
+    }
+
 }
@@ -67,6 +67,20 @@ public final class MockCodecs implements Codecs {
         return (T) this.decodings.get(decoding);
     }
 
+    @Override
+    public boolean canDecode(int dataType, Format format, Class<?> type) {
+        Assert.requireNonNull(format, "format must not be null");
+        Assert.requireNonNull(type, "type must not be null");
+
+        for (Decoding decoding : this.decodings.keySet()) {
+            if (decoding.dataType == dataType && decoding.format == format && decoding.type == type) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     @Override
     public EncodedParameter encode(Object value) {
         Assert.requireNonNull(value, "value must not be null");
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql.codec;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+
+import static io.r2dbc.postgresql.util.ByteBufUtils.encode;
+import static io.r2dbc.postgresql.util.TestByteBufAllocator.TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Unit tests for {@link PostgresqlTemporalParser}.
+ */
+final class PostgresqlTemporalParserUnitTests {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2018-11-04", "0001-01-01", "0001-01-01 BC", "4713-01-01 BC", "5874897-12-31", "infinity", "+infinity", "-infinity"})
+    void parseLocalDate(String value) {
+        ByteBuf buffer = encode(TEST, value);
+
+        assertThat(PostgresqlTemporalParser.parseLocalDate(buffer)).isEqualTo(PostgresqlDateTimeFormatter.parseLocalDate(value));
+        assertThat(buffer.isReadable()).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2018-11-04 15:35:00.847108", "2018-11-04 15:35:00", "2018-11-04 15:35:00.1", "2018-11-04 15:35:00.123456789", "0001-12-31 01:01:00 BC",
+        "294276-12-31 23:59:59.999999", "infinity", "-infinity"})
+    void parseLocalDateTime(String value) {
+        ByteBuf buffer = encode(TEST, value);
+
+        assertThat(PostgresqlTemporalParser.parseLocalDateTime(buffer)).isEqualTo(PostgresqlDateTimeFormatter.parseLocalDateTime(value));
+        assertThat(buffer.isReadable()).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2018-11-04 15:35:00.847108+00", "2018-11-04 15:35:00-05", "2018-11-04 15:35:00.5+05:30", "0001-12-31 00:54:28+00:53:28 BC", "1900-01-01 00:00:00-00:01:15",
+        "infinity", "-infinity"})
+    void parseOffsetDateTime(String value) {
+        ByteBuf buffer = encode(TEST, value);
+
+        assertThat(PostgresqlTemporalParser.parseOffsetDateTime(buffer)).isEqualTo(PostgresqlDateTimeFormatter.parseOffsetDateTime(value));
+        assertThat(buffer.isReadable()).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"00:00:00", "15:35:00.847108", "23:59:59.999999999", "15:35", "24:00:00"})
+    void parseLocalTime(String value) {
+        ByteBuf buffer = encode(TEST, value);
+
+        assertThat(PostgresqlTemporalParser.parseLocalTime(buffer)).isEqualTo(PostgresqlTimeFormatter.parseLocalTime(value));
+        assertThat(buffer.isReadable()).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"15:35:00.847108+00", "15:35:00-05", "15:35:00+05:30", "15:35:00+05:30:15", "24:00:00+00"})
+    void parseOffsetTime(String value) {
+        ByteBuf buffer = encode(TEST, value);
+
+        assertThat(PostgresqlTemporalParser.parseOffsetTime(buffer)).isEqualTo(PostgresqlTimeFormatter.parseOffsetTime(value));
+        assertThat(buffer.isReadable()).isFalse();
+    }
+
+    @Test
+    void parseFromReaderIndex() {
+        ByteBuf buffer = encode(TEST, "xx2018-11-04 15:35:00");
+        buffer.skipBytes(2);
+
+        assertThat(PostgresqlTemporalParser.parseLocalDateTime(buffer)).isEqualTo(LocalDateTime.of(2018, 11, 4, 15, 35));
+        assertThat(PostgresqlTemporalParser.parseOffsetTime(encode(TEST, "15:35:00.5-01:30"))).isEqualTo(OffsetTime.of(15, 35, 0, 500_000_000, ZoneOffset.ofHoursMinutes(-1, -30)));
+    }
+
+    @Test
+    void parseDelegatesUnsupportedInputToFormatter() {
+        assertThat(PostgresqlTemporalParser.parseLocalDate(encode(TEST, "2018-11-04 AC"))).isEqualTo(LocalDate.of(2018, 11, 4));
+    }
+
+    @Test
+    void parseRejectsInvalidInput() {
+        assertThatExceptionOfType(DateTimeException.class).isThrownBy(() -> PostgresqlTemporalParser.parseLocalDate(encode(TEST, "2018-13-04")));
+        assertThatExceptionOfType(DateTimeException.class).isThrownBy(() -> PostgresqlTemporalParser.parseOffsetDateTime(encode(TEST, "2018-11-04 15:35:00")));
+        assertThatExceptionOfType(DateTimeException.class).isThrownBy(() -> PostgresqlTemporalParser.parseLocalTime(encode(TEST, "24:00:01")));
+        assertThatExceptionOfType(DateTimeException.class).isThrownBy(() -> PostgresqlTemporalParser.parseOffsetTime(encode(TEST, "15:35:00+19")));
+    }
+
+}
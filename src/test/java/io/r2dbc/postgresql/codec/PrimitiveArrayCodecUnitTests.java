@@ -0,0 +1,178 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.postgresql.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.postgresql.client.Binding;
+import io.r2dbc.postgresql.client.EncodedParameter;
+import io.r2dbc.postgresql.client.ParameterAssert;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import static io.r2dbc.postgresql.client.EncodedParameter.NULL_VALUE;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.BOOL_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT4_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.FLOAT8_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT2_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT4_ARRAY;
+import static io.r2dbc.postgresql.codec.PostgresqlObjectId.INT8_ARRAY;
+import static io.r2dbc.postgresql.message.Format.FORMAT_BINARY;
+import static io.r2dbc.postgresql.message.Format.FORMAT_TEXT;
+import static io.r2dbc.postgresql.util.ByteBufUtils.encode;
+import static io.r2dbc.postgresql.util.TestByteBufAllocator.TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link PrimitiveArrayCodec}.
+ */
+final class PrimitiveArrayCodecUnitTests {
+
+    @Test
+    void decodeIntBinary() {
+        ByteBuf buffer = TEST.buffer()
+            .writeInt(1) // num of dims
+            .writeInt(0) // flag: no nulls
+            .writeInt(23) // oid
+            .writeInt(2) // dim 1 length
+            .writeInt(1) // dim 1 lower bound
+            .writeInt(4)
+            .writeInt(100)
+            .writeInt(4)
+            .writeInt(-200);
+
+        assertThat(PrimitiveArrayCodec.forInt(TEST).decode(buffer, INT4_ARRAY.getObjectId(), FORMAT_BINARY, int[].class)).containsExactly(100, -200);
+        assertThat(buffer.isReadable()).isFalse();
+    }
+
+    @Test
+    void decodeText() {
+        assertThat(PrimitiveArrayCodec.forInt(TEST).decode(encode(TEST, "{100,-200}"), INT4_ARRAY.getObjectId(), FORMAT_TEXT, int[].class)).containsExactly(100, -200);
+        assertThat(PrimitiveArrayCodec.forLong(TEST).decode(encode(TEST, "[0:1]={1,9223372036854775807}"), INT8_ARRAY.getObjectId(), FORMAT_TEXT, long[].class)).containsExactly(1,
+            Long.MAX_VALUE);
+        assertThat(PrimitiveArrayCodec.forShort(TEST).decode(encode(TEST, "{}"), INT2_ARRAY.getObjectId(), FORMAT_TEXT, short[].class)).isEmpty();
+        assertThat(PrimitiveArrayCodec.forFloat(TEST).decode(encode(TEST, "{1.5,NaN,-Infinity}"), FLOAT4_ARRAY.getObjectId(), FORMAT_TEXT, float[].class)).containsExactly(1.5f,
+            Float.NaN, Float.NEGATIVE_INFINITY);
+        assertThat(PrimitiveArrayCodec.forDouble(TEST).decode(encode(TEST, "{1.25,2e10}"), FLOAT8_ARRAY.getObjectId(), FORMAT_TEXT, double[].class)).containsExactly(1.25, 2e10);
+        assertThat(PrimitiveArrayCodec.forBoolean(TEST).decode(encode(TEST, "{t,f}"), BOOL_ARRAY.getObjectId(), FORMAT_TEXT, boolean[].class)).containsExactly(true, false);
+    }
+
+    @Test
+    void decodeRejectsNullElements() {
+        ByteBuf buffer = TEST.buffer()
+            .writeInt(1)
+            .writeInt(1) // flag: has nulls
+            .writeInt(23)
+            .writeInt(1)
+            .writeInt(1)
+            .writeInt(-1);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> PrimitiveArrayCodec.forInt(TEST).decode(buffer, INT4_ARRAY.getObjectId(), FORMAT_BINARY, int[].class));
+        assertThatIllegalArgumentException().isThrownBy(() -> PrimitiveArrayCodec.forInt(TEST).decode(encode(TEST, "{1,NULL}"), INT4_ARRAY.getObjectId(), FORMAT_TEXT, int[].class));
+    }
+
+    @Test
+    void decodeRejectsMultipleDimensions() {
+        assertThatIllegalArgumentException().isThrownBy(() -> PrimitiveArrayCodec.forInt(TEST).decode(encode(TEST, "{{1},{2}}"), INT4_ARRAY.getObjectId(), FORMAT_TEXT, int[].class))
+            .withMessageContaining("2-dimensional");
+    }
+
+    @Test
+    void encodeBinaryRoundTrip() {
+        assertRoundTrip(PrimitiveArrayCodec.forInt(TEST), INT4_ARRAY, new int[]{1, Integer.MIN_VALUE, Integer.MAX_VALUE});
+        assertRoundTrip(PrimitiveArrayCodec.forLong(TEST), INT8_ARRAY, new long[]{1, Long.MIN_VALUE, Long.MAX_VALUE});
+        assertRoundTrip(PrimitiveArrayCodec.forShort(TEST), INT2_ARRAY, new short[]{1, Short.MIN_VALUE, Short.MAX_VALUE});
+        assertRoundTrip(PrimitiveArrayCodec.forFloat(TEST), FLOAT4_ARRAY, new float[]{1.5f, Float.NaN});
+        assertRoundTrip(PrimitiveArrayCodec.forDouble(TEST), FLOAT8_ARRAY, new double[]{1.5, Double.MAX_VALUE});
+        assertRoundTrip(PrimitiveArrayCodec.forBoolean(TEST), BOOL_ARRAY, new boolean[]{true, false});
+        assertRoundTrip(PrimitiveArrayCodec.forInt(TEST), INT4_ARRAY, new int[0]);
+    }
+
+    @Test
+    void encodeBinary() {
+        ByteBuf expected = TEST.buffer()
+            .writeInt(1)
+            .writeInt(0)
+            .writeInt(20) // int8 oid
+            .writeInt(2)
+            .writeInt(1)
+            .writeInt(8)
+            .writeLong(100)
+            .writeInt(8)
+            .writeLong(200);
+
+        ParameterAssert.assertThat(PrimitiveArrayCodec.forLong(TEST).encode(new long[]{100, 200}))
+            .hasFormat(FORMAT_BINARY)
+            .hasType(INT8_ARRAY.getObjectId())
+            .hasValue(expected);
+    }
+
+    @Test
+    void encodeAsOtherType() {
+        ParameterAssert.assertThat(PrimitiveArrayCodec.forInt(TEST).encode(new int[]{1, 2}, INT8_ARRAY.getObjectId()))
+            .hasFormat(FORMAT_TEXT)
+            .hasType(INT8_ARRAY.getObjectId())
+            .hasValue(encode(TEST, "{1,2}"));
+    }
+
+    @Test
+    void encodeNull() {
+        ParameterAssert.assertThat(PrimitiveArrayCodec.forFloat(TEST).encodeNull())
+            .isEqualTo(new EncodedParameter(FORMAT_BINARY, FLOAT4_ARRAY.getObjectId(), NULL_VALUE));
+    }
+
+    @Test
+    void canDecode() {
+        PrimitiveArrayCodec<int[]> codec = PrimitiveArrayCodec.forInt(TEST);
+
+        assertThat(codec.canDecode(INT4_ARRAY.getObjectId(), FORMAT_BINARY, int[].class)).isTrue();
+        assertThat(codec.canDecode(INT4_ARRAY.getObjectId(), FORMAT_TEXT, int[].class)).isTrue();
+        assertThat(codec.canDecode(INT4_ARRAY.getObjectId(), FORMAT_BINARY, Integer[].class)).isFalse();
+        assertThat(codec.canDecode(INT4_ARRAY.getObjectId(), FORMAT_BINARY, Object.class)).isFalse();
+        assertThat(codec.canDecode(INT8_ARRAY.getObjectId(), FORMAT_BINARY, int[].class)).isFalse();
+    }
+
+    @Test
+    void canEncode() {
+        assertThat(PrimitiveArrayCodec.forInt(TEST).canEncode(new int[0])).isTrue();
+        assertThat(PrimitiveArrayCodec.forInt(TEST).canEncode(new Integer[0])).isFalse();
+        assertThat(PrimitiveArrayCodec.forInt(TEST).canEncodeNull(int[].class)).isTrue();
+    }
+
+    @Test
+    void defaultCodecsResolvePrimitiveArrays() {
+        DefaultCodecs codecs = new DefaultCodecs(TEST);
+
+        EncodedParameter parameter = codecs.encode(new double[]{1.5, 2.5});
+        ParameterAssert.assertThat(parameter).hasFormat(FORMAT_BINARY).hasType(FLOAT8_ARRAY.getObjectId());
+
+        assertThat(codecs.decode(encodeBuffer(parameter), FLOAT8_ARRAY.getObjectId(), FORMAT_BINARY, double[].class)).containsExactly(1.5, 2.5);
+        assertThat(codecs.decode(encode(TEST, "{1,2}"), INT4_ARRAY.getObjectId(), FORMAT_TEXT, Integer[].class)).containsExactly(1, 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A> void assertRoundTrip(PrimitiveArrayCodec<A> codec, PostgresqlObjectId dataType, A value) {
+
+        ByteBuf buffer = encodeBuffer(codec.encode(value));
+        assertThat(codec.decode(buffer, dataType.getObjectId(), FORMAT_BINARY, (Class<A>) value.getClass())).isEqualTo(value);
+    }
+
+    private static ByteBuf encodeBuffer(EncodedParameter parameter) {
+        return Flux.from(new Binding(1).add(0, parameter).getParameterValues().get(0)).cast(ByteBuf.class).blockFirst();
+    }
+
+}
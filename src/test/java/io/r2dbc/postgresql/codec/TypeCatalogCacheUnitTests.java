@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.r2dbc.postgresql.codec;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link TypeCatalogCache}.
+ */
+final class TypeCatalogCacheUnitTests {
+
+    static final PostgresTypes.PostgresType HSTORE = new PostgresTypes.PostgresType(16400, 16400, 16405, 16405, "hstore", "U");
+
+    static final PostgresTypes.PostgresType GEOMETRY = new PostgresTypes.PostgresType(17000, 17000, 17005, 17005, "geometry", "U");
+
+    final AtomicLong clock = new AtomicLong();
+
+    final List<List<String>> queries = new ArrayList<>();
+
+    final Function<List<String>, Flux<PostgresTypes.PostgresType>> loader = names -> {
+        this.queries.add(names);
+        return Flux.fromIterable(Arrays.asList(HSTORE, GEOMETRY)).filter(it -> names.contains(it.getName()));
+    };
+
+    final TypeCatalogCache cache = new TypeCatalogCache(Duration.ofSeconds(10), this.clock::get);
+
+    @Test
+    void createNegativeTtl() {
+        assertThatIllegalArgumentException().isThrownBy(() -> TypeCatalogCache.create(Duration.ofSeconds(-1)))
+            .withMessage("ttl must not be negative");
+    }
+
+    @Test
+    void shouldServeCachedTypes() {
+
+        this.cache.lookup("server", Arrays.asList("hstore", "geometry"), this.loader).as(StepVerifier::create).expectNext(HSTORE, GEOMETRY).verifyComplete();
+        this.cache.lookup("server", Arrays.asList("hstore", "geometry"), this.loader).as(StepVerifier::create).expectNext(HSTORE, GEOMETRY).verifyComplete();
+
+        assertThat(this.queries).hasSize(1);
+    }
+
+    @Test
+    void shouldNotCacheAbsentTypes() {
+
+        this.cache.lookup("server", Collections.singletonList("unknown"), this.loader).as(StepVerifier::create).verifyComplete();
+        this.cache.lookup("server", Collections.singletonList("unknown"), this.loader).as(StepVerifier::create).verifyComplete();
+
+        assertThat(this.queries).hasSize(2);
+    }
+
+    @Test
+    void shouldFindTypesCreatedAfterLookup() {
+
+        List<PostgresTypes.PostgresType> catalog = new ArrayList<>();
+        Function<List<String>, Flux<PostgresTypes.PostgresType>> loader = names -> Flux.fromIterable(catalog).filter(it -> names.contains(it.getName()));
+
+        this.cache.lookup("server", Collections.singletonList("hstore"), loader).as(StepVerifier::create).verifyComplete();
+        catalog.add(HSTORE);
+        this.cache.lookup("server", Collections.singletonList("hstore"), loader).as(StepVerifier::create).expectNext(HSTORE).verifyComplete();
+    }
+
+    @Test
+    void shouldBeDisabledByDefault() {
+        assertThat(TypeCatalogCache.create(TypeCatalogCache.DEFAULT_TTL).isEnabled()).isFalse();
+    }
+
+    @Test
+    void shouldLoadOnlyMissingTypes() {
+
+        this.cache.lookup("server", Collections.singletonList("hstore"), this.loader).as(StepVerifier::create).expectNext(HSTORE).verifyComplete();
+        this.cache.lookup("server", Arrays.asList("hstore", "geometry"), this.loader).as(StepVerifier::create).expectNext(HSTORE, GEOMETRY).verifyComplete();
+
+        assertThat(this.queries).containsExactly(Collections.singletonList("hstore"), Collections.singletonList("geometry"));
+    }
+
+    @Test
+    void shouldSeparateServers() {
+
+        this.cache.lookup("server-1", Collections.singletonList("hstore"), this.loader).as(StepVerifier::create).expectNext(HSTORE).verifyComplete();
+        this.cache.lookup("server-2", Collections.singletonList("hstore"), this.loader).as(StepVerifier::create).expectNext(HSTORE).verifyComplete();
+
+        assertThat(this.queries).hasSize(2);
+    }
+
+    @Test
+    void shouldReloadExpiredTypes() {
+
+        this.cache.lookup("server", Collections.singletonList("hstore"), this.loader).as(StepVerifier::create).expectNext(HSTORE).verifyComplete();
+        this.clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        this.cache.lookup("server", Collections.singletonList("hstore"), this.loader).as(StepVerifier::create).expectNext(HSTORE).verifyComplete();
+
+        assertThat(this.queries).hasSize(2);
+    }
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+
+        this.cache.lookup("server", Collections.singletonList("hstore"), this.loader).as(StepVerifier::create).expectNext(HSTORE).verifyComplete();
+        this.cache.invalidate("server");
+        this.cache.lookup("server", Collections.singletonList("hstore"), this.loader).as(StepVerifier::create).expectNext(HSTORE).verifyComplete();
+        this.cache.invalidate();
+        this.cache.lookup("server", Collections.singletonList("hstore"), this.loader).as(StepVerifier::create).expectNext(HSTORE).verifyComplete();
+
+        assertThat(this.queries).hasSize(3);
+    }
+
+    @Test
+    void shouldNotCacheFailedLookups() {
+
+        this.cache.lookup("server", Collections.singletonList("hstore"), names -> Flux.error(new IllegalStateException())).as(StepVerifier::create).verifyError(IllegalStateException.class);
+        this.cache.lookup("server", Collections.singletonList("hstore"), this.loader).as(StepVerifier::create).expectNext(HSTORE).verifyComplete();
+
+        assertThat(this.queries).hasSize(1);
+    }
+
+    @Test
+    void bindShouldRegisterBinding() {
+
+        Context context = this.cache.bind(Context.empty(), "server");
+
+        assertThat(TypeCatalogCache.getBinding(context)).isNotNull();
+        assertThat(TypeCatalogCache.getBinding(Context.empty())).isNull();
+    }
+
+    @Test
+    void bindDisabledCacheShouldRetainContext() {
+
+        Context context = Context.empty();
+
+        assertThat(TypeCatalogCache.create(Duration.ZERO).bind(context, "server")).isSameAs(context);
+    }
+
+}
@@ -18,6 +18,7 @@ package io.r2dbc.postgresql.message.backend;
 
 import io.netty.buffer.ByteBuf;
 import io.r2dbc.postgresql.util.ReferenceCountedCleaner;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
@@ -64,4 +65,29 @@ final class DataRowUnitTests {
             .isEqualTo(this.cleaner.capture(new DataRow(new ByteBuf[]{null})));
     }
 
+    @Test
+    void decodeIndexesColumns() {
+        ByteBuf buffer = TEST.buffer()
+            .writeShort(3)
+            .writeInt(4)
+            .writeInt(100)
+            .writeInt(-1)
+            .writeInt(2)
+            .writeShort(200);
+
+        DataRow dataRow = DataRow.decode(buffer);
+        buffer.release();
+
+        Assertions.assertThat(buffer.refCnt()).isOne();
+        Assertions.assertThat(dataRow.getColumnCount()).isEqualTo(3);
+        Assertions.assertThat(dataRow.isNull(0)).isFalse();
+        Assertions.assertThat(dataRow.isNull(1)).isTrue();
+        Assertions.assertThat(dataRow.getColumn(0).readInt()).isEqualTo(100);
+        Assertions.assertThat(dataRow.getColumn(1)).isNull();
+        Assertions.assertThat(dataRow.getColumn(2).readShort()).isEqualTo((short) 200);
+
+        dataRow.release();
+        Assertions.assertThat(buffer.refCnt()).isZero();
+    }
+
 }